@@ -0,0 +1,99 @@
+package com.novoda.noplayer;
+
+import android.graphics.Paint;
+import android.graphics.Typeface;
+import android.support.test.runner.AndroidJUnit4;
+import android.text.Layout.Alignment;
+import android.text.SpannableString;
+import android.text.Spanned;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.text.style.StyleSpan;
+import android.util.Log;
+
+import java.util.Locale;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Measures the layout cost per cue of roll-up captions, where each cue repeats lines of the previous ones,
+ * with and without the {@link SubtitleLayoutCache}. Every cue is a new spanned instance, as decoders create them.
+ * Results are logged under {@link #TAG}, run with {@code ./gradlew core:connectedAndroidTest} on a device.
+ */
+@RunWith(AndroidJUnit4.class)
+public class SubtitleLayoutCacheBenchmark {
+
+    private static final String TAG = "SubtitleLayoutBenchmark";
+    private static final int WARM_UP_CUES = 200;
+    private static final int MEASURED_CUES = 2000;
+    private static final int LINES_PER_CUE = 2;
+    private static final int WIDTH_IN_PIXELS = 1080;
+    private static final float TEXT_SIZE_IN_PIXELS = 48;
+    private static final float SPACING_MULT = 1;
+    private static final float SPACING_ADD = 0;
+    private static final String[] CAPTION_LINES = {
+            "Previously on the show, the crew",
+            "made it out of the storm",
+            "but the engine was badly damaged",
+            "and nobody knew where they were.",
+            "Tonight, they finally see land",
+            "and the harbour lights beyond it."
+    };
+
+    private TextPaint textPaint;
+
+    @Before
+    public void setUp() {
+        textPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+        textPaint.setTextSize(TEXT_SIZE_IN_PIXELS);
+    }
+
+    @Test
+    public void layoutCostPerCue() {
+        SubtitleLayoutCache uncached = new SubtitleLayoutCache() {
+            @Override
+            StaticLayout obtain(CharSequence text, TextPaint textPaint, int width, Alignment alignment, float spacingMult, float spacingAdd) {
+                return createLayout(text, textPaint, width, alignment, spacingMult, spacingAdd);
+            }
+        };
+        SubtitleLayoutCache cached = new SubtitleLayoutCache();
+
+        measureNanosPerCue(uncached, WARM_UP_CUES);
+        long uncachedNanosPerCue = measureNanosPerCue(uncached, MEASURED_CUES);
+        measureNanosPerCue(cached, WARM_UP_CUES);
+        long cachedNanosPerCue = measureNanosPerCue(cached, MEASURED_CUES);
+
+        Log.i(TAG, String.format(Locale.US, "Layout per cue: %d ns without cache, %d ns with cache", uncachedNanosPerCue, cachedNanosPerCue));
+        assertTrue(cachedNanosPerCue < uncachedNanosPerCue);
+    }
+
+    private long measureNanosPerCue(SubtitleLayoutCache cache, int cueCount) {
+        Spanned[] cues = rollUpCues(cueCount);
+        long startNanos = System.nanoTime();
+        for (Spanned cue : cues) {
+            cache.obtain(cue, textPaint, WIDTH_IN_PIXELS, Alignment.ALIGN_CENTER, SPACING_MULT, SPACING_ADD);
+        }
+        return (System.nanoTime() - startNanos) / cueCount;
+    }
+
+    private static Spanned[] rollUpCues(int cueCount) {
+        Spanned[] cues = new Spanned[cueCount];
+        for (int i = 0; i < cueCount; i++) {
+            StringBuilder text = new StringBuilder();
+            for (int line = 0; line < LINES_PER_CUE; line++) {
+                if (line > 0) {
+                    text.append('\n');
+                }
+                text.append(CAPTION_LINES[(i + line) % CAPTION_LINES.length]);
+            }
+            SpannableString cue = new SpannableString(text);
+            cue.setSpan(new StyleSpan(Typeface.ITALIC), 0, cue.length(), Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+            cues[i] = cue;
+        }
+        return cues;
+    }
+}
@@ -0,0 +1,343 @@
+package com.novoda.noplayer;
+
+import com.novoda.noplayer.internal.Clock;
+import com.novoda.noplayer.internal.SystemClock;
+import com.novoda.utils.NoPlayerLog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Passively records the last player events into a fixed size ring buffer so that they can be inspected
+ * when playback fails. Recording writes a handful of primitives into preallocated arrays and never locks,
+ * so it can be left on in production. The recorded history is logged with {@link NoPlayerLog} whenever
+ * the player reports an error, and can be retrieved at any time with {@link #dump()}.
+ */
+public final class FlightRecorder implements NoPlayer.PlayerEventListener,
+        NoPlayer.StateChangedListener,
+        NoPlayer.PreparedListener,
+        NoPlayer.BufferStateListener,
+        NoPlayer.CompletionListener,
+        NoPlayer.ErrorListener,
+        NoPlayer.HeartbeatCallback {
+
+    private static final long WRITING = -1;
+
+    public enum Kind {
+        PLAYER_EVENT,
+        PREPARED,
+        PLAYING,
+        PAUSED,
+        STOPPED,
+        BUFFER_STARTED,
+        BUFFER_COMPLETED,
+        COMPLETED,
+        HEARTBEAT,
+        ERROR
+    }
+
+    private static final Kind[] KINDS = Kind.values();
+    private static final PlayerEvent.Type[] EVENT_TYPES = PlayerEvent.Type.values();
+    private static final PlayerErrorType[] ERROR_TYPES = PlayerErrorType.values();
+
+    private final Clock clock;
+    private final int mask;
+    private final AtomicLong cursor = new AtomicLong();
+    private final AtomicLongArray sequences;
+    private final long[] timestamps;
+    private final int[] kinds;
+    private final int[] codes;
+    private final long[] firstValues;
+    private final long[] secondValues;
+    private final long[] thirdValues;
+    private final Object[] details;
+
+    /**
+     * Creates the {@link FlightRecorder} of each {@link NoPlayer} built, so that players never share one.
+     */
+    public interface Factory {
+
+        /**
+         * @param player the built player whose events are recorded.
+         * @return a new {@link FlightRecorder}, e.g. from {@link #newInstance(int)}.
+         */
+        FlightRecorder create(NoPlayer player);
+    }
+
+    /**
+     * @param capacity number of entries kept by each recorder, rounded up to the next power of two.
+     * @return a {@link Factory} to pass to {@link PlayerBuilder#withFlightRecorder(Factory)}.
+     */
+    public static Factory factory(final int capacity) {
+        assertValidCapacity(capacity);
+        return new Factory() {
+            @Override
+            public FlightRecorder create(NoPlayer player) {
+                return newInstance(capacity);
+            }
+        };
+    }
+
+    /**
+     * @param capacity number of entries kept, rounded up to the next power of two.
+     * @return a {@link FlightRecorder}, to be attached to a single player.
+     */
+    public static FlightRecorder newInstance(int capacity) {
+        assertValidCapacity(capacity);
+        return new FlightRecorder(new SystemClock(), capacity);
+    }
+
+    private static void assertValidCapacity(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Flight recorder capacity must be positive but was: " + capacity);
+        }
+    }
+
+    FlightRecorder(Clock clock, int capacity) {
+        this.clock = clock;
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        mask = size - 1;
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, WRITING);
+        }
+        timestamps = new long[size];
+        kinds = new int[size];
+        codes = new int[size];
+        firstValues = new long[size];
+        secondValues = new long[size];
+        thirdValues = new long[size];
+        details = new Object[size];
+    }
+
+    /**
+     * Starts recording the events of the given player listeners.
+     */
+    public void attach(Listeners listeners) {
+        listeners.addPlayerEventListener(this);
+        listeners.addStateChangedListener(this);
+        listeners.addPreparedListener(this);
+        listeners.addBufferStateListener(this);
+        listeners.addCompletionListener(this);
+        listeners.addErrorListener(this);
+        listeners.addHeartbeatCallback(this);
+    }
+
+    public void detach(Listeners listeners) {
+        listeners.removePlayerEventListener(this);
+        listeners.removeStateChangedListener(this);
+        listeners.removePreparedListener(this);
+        listeners.removeBufferStateListener(this);
+        listeners.removeCompletionListener(this);
+        listeners.removeErrorListener(this);
+        listeners.removeHeartbeatCallback(this);
+    }
+
+    @Override
+    public void onPlayerEvent(PlayerEvent event) {
+        switch (event.type()) {
+            case PLAYER_STATE_CHANGED:
+                record(Kind.PLAYER_EVENT, event.type().ordinal(), event.state(), event.flag() ? 1 : 0, 0, null);
+                break;
+            case LOADING_CHANGED:
+                record(Kind.PLAYER_EVENT, event.type().ordinal(), event.flag() ? 1 : 0, 0, 0, null);
+                break;
+            case DROPPED_FRAMES:
+                record(Kind.PLAYER_EVENT, event.type().ordinal(), event.count(), event.durationMs(), 0, null);
+                break;
+            case VIDEO_SIZE_CHANGED:
+                record(Kind.PLAYER_EVENT, event.type().ordinal(), event.width(), event.height(), 0, null);
+                break;
+            case DOWNSTREAM_FORMAT_CHANGED:
+            case VIDEO_INPUT_FORMAT_CHANGED:
+                record(Kind.PLAYER_EVENT, event.type().ordinal(), event.trackType(), event.bitrate(), event.height(), null);
+                break;
+            case SEGMENT_CACHE_HIT:
+            case SEGMENT_CACHE_MISS:
+                record(Kind.PLAYER_EVENT, event.type().ordinal(), event.bytes(), event.totalBytes(), 0, null);
+                break;
+            default:
+                record(Kind.PLAYER_EVENT, event.type().ordinal(), event.trackType(), event.bitrate(), event.bytes(), event.error());
+                break;
+        }
+    }
+
+    @Override
+    public void onVideoPlaying() {
+        record(Kind.PLAYING);
+    }
+
+    @Override
+    public void onVideoPaused() {
+        record(Kind.PAUSED);
+    }
+
+    @Override
+    public void onVideoStopped() {
+        record(Kind.STOPPED);
+    }
+
+    @Override
+    public void onPrepared(PlayerState playerState) {
+        record(Kind.PREPARED);
+    }
+
+    @Override
+    public void onBufferStarted() {
+        record(Kind.BUFFER_STARTED);
+    }
+
+    @Override
+    public void onBufferCompleted() {
+        record(Kind.BUFFER_COMPLETED);
+    }
+
+    @Override
+    public void onCompletion() {
+        record(Kind.COMPLETED);
+    }
+
+    @Override
+    public void onBeat(NoPlayer player) {
+        record(Kind.HEARTBEAT, 0, player.getPlayheadPosition().inMillis(), 0, 0, null);
+    }
+
+    @Override
+    public void onError(NoPlayer.PlayerError error) {
+        record(Kind.ERROR, error.type().ordinal(), 0, 0, 0, error.message());
+        if (NoPlayerLog.isLoggable(NoPlayerLog.ERROR)) {
+            NoPlayerLog.e("Flight recorder at %s:\n%s", error.type(), dumpAsString());
+        }
+    }
+
+    private void record(Kind kind) {
+        record(kind, 0, 0, 0, 0, null);
+    }
+
+    private void record(Kind kind, int code, long first, long second, long third, Object detail) {
+        long sequence = cursor.getAndIncrement();
+        int slot = (int) (sequence & mask);
+        sequences.set(slot, WRITING);
+        timestamps[slot] = clock.getCurrentTime();
+        kinds[slot] = kind.ordinal();
+        codes[slot] = code;
+        firstValues[slot] = first;
+        secondValues[slot] = second;
+        thirdValues[slot] = third;
+        details[slot] = detail;
+        sequences.lazySet(slot, sequence);
+    }
+
+    /**
+     * Copies the recorded entries, oldest first. Entries overwritten while copying are skipped.
+     */
+    public List<Entry> dump() {
+        long end = cursor.get();
+        long start = Math.max(0, end - (mask + 1));
+        List<Entry> entries = new ArrayList<>((int) (end - start));
+        for (long sequence = start; sequence < end; sequence++) {
+            int slot = (int) (sequence & mask);
+            if (sequences.get(slot) != sequence) {
+                continue;
+            }
+            Entry entry = new Entry(
+                    timestamps[slot],
+                    KINDS[kinds[slot]],
+                    codes[slot],
+                    firstValues[slot],
+                    secondValues[slot],
+                    thirdValues[slot],
+                    details[slot]
+            );
+            if (sequences.get(slot) == sequence) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    public String dumpAsString() {
+        StringBuilder builder = new StringBuilder();
+        for (Entry entry : dump()) {
+            builder.append(entry).append('\n');
+        }
+        return builder.toString();
+    }
+
+    public static final class Entry {
+
+        private final long timestampMillis;
+        private final Kind kind;
+        private final int code;
+        private final long firstValue;
+        private final long secondValue;
+        private final long thirdValue;
+        private final Object detail;
+
+        Entry(long timestampMillis, Kind kind, int code, long firstValue, long secondValue, long thirdValue, Object detail) {
+            this.timestampMillis = timestampMillis;
+            this.kind = kind;
+            this.code = code;
+            this.firstValue = firstValue;
+            this.secondValue = secondValue;
+            this.thirdValue = thirdValue;
+            this.detail = detail;
+        }
+
+        public long timestampMillis() {
+            return timestampMillis;
+        }
+
+        public Kind kind() {
+            return kind;
+        }
+
+        /**
+         * @return the {@link PlayerEvent.Type} ordinal of a {@link Kind#PLAYER_EVENT}
+         * or the {@link PlayerErrorType} ordinal of a {@link Kind#ERROR}.
+         */
+        public int code() {
+            return code;
+        }
+
+        public long firstValue() {
+            return firstValue;
+        }
+
+        public long secondValue() {
+            return secondValue;
+        }
+
+        public long thirdValue() {
+            return thirdValue;
+        }
+
+        /**
+         * @return the error message or {@link Throwable} of the entry, if any.
+         */
+        public Object detail() {
+            return detail;
+        }
+
+        @Override
+        public String toString() {
+            return timestampMillis + " " + describeKind() + " " + firstValue + " " + secondValue + " " + thirdValue
+                    + (detail == null ? "" : " " + detail);
+        }
+
+        private String describeKind() {
+            if (kind == Kind.PLAYER_EVENT) {
+                return EVENT_TYPES[code].name();
+            } else if (kind == Kind.ERROR) {
+                return kind.name() + " " + ERROR_TYPES[code].name();
+            } else {
+                return kind.name();
+            }
+        }
+    }
+}
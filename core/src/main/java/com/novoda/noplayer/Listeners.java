@@ -26,12 +26,22 @@ public interface Listeners {
 
     void removeInfoListener(NoPlayer.InfoListener infoListener);
 
+    void addPlayerEventListener(NoPlayer.PlayerEventListener playerEventListener);
+
+    void removePlayerEventListener(NoPlayer.PlayerEventListener playerEventListener);
+
     void addBitrateChangedListener(NoPlayer.BitrateChangedListener bitrateChangedListener);
 
     void removeBitrateChangedListener(NoPlayer.BitrateChangedListener bitrateChangedListener);
 
     void addHeartbeatCallback(NoPlayer.HeartbeatCallback heartbeatCallback);
 
+    /**
+     * Receives heartbeats at most every given interval instead of following the pace of the player,
+     * which beats faster while buffering or seeking.
+     */
+    void addHeartbeatCallback(NoPlayer.HeartbeatCallback heartbeatCallback, long intervalInMillis);
+
     void removeHeartbeatCallback(NoPlayer.HeartbeatCallback heartbeatCallback);
 
     void addVideoSizeChangedListener(NoPlayer.VideoSizeChangedListener videoSizeChangedListener);
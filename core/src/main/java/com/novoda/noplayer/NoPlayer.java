@@ -4,8 +4,10 @@ import android.net.Uri;
 
 import com.novoda.noplayer.model.AudioTracks;
 import com.novoda.noplayer.model.Bitrate;
+import com.novoda.noplayer.model.MediaItem;
 import com.novoda.noplayer.model.PlayerAudioTrack;
 import com.novoda.noplayer.model.PlayerSubtitleTrack;
+import com.novoda.noplayer.model.SidecarSubtitle;
 import com.novoda.noplayer.model.Timeout;
 import com.novoda.noplayer.model.VideoPosition;
 
@@ -42,6 +44,8 @@ public interface NoPlayer extends PlayerState {
     /**
      * Seeks content of a prepared Player to a given position.
      * Will not cause content to play if not already playing.
+     * Seeks requested while a previous seek is still being processed, e.g. while scrubbing,
+     * are coalesced so that only the latest position is sought.
      *
      * @param position to seek content to.
      * @throws IllegalStateException - if called before {@link NoPlayer#loadVideo(Uri, ContentType)}.
@@ -69,6 +73,28 @@ public interface NoPlayer extends PlayerState {
      */
     void loadVideo(Uri uri, ContentType contentType) throws IllegalStateException;
 
+    /**
+     * Loads the video content along with subtitle files that are not part of it, and triggers the
+     * {@link NoPlayer.PreparedListener}. The subtitles are parsed in the background and are listed by
+     * {@link NoPlayer#getSubtitleTracks()} next to any subtitles the content carries itself.
+     *
+     * @param uri              link to the content.
+     * @param contentType      format of the content.
+     * @param sidecarSubtitles subtitle files to offer alongside the content.
+     * @throws IllegalStateException - if called before {@link NoPlayer#attach(PlayerView)}.
+     */
+    void loadVideo(Uri uri, ContentType contentType, List<SidecarSubtitle> sidecarSubtitles) throws IllegalStateException;
+
+    /**
+     * Starts fetching the beginning of content that is likely to be loaded next, so that a later
+     * {@link NoPlayer#loadVideo(Uri, ContentType)} with the same uri can prepare without waiting on the network.
+     * Preloading new content cancels any preload still in progress.
+     *
+     * @param uri         link to the content.
+     * @param contentType format of the content.
+     */
+    void preload(Uri uri, ContentType contentType);
+
     /**
      * Loads the video content and triggers the {@link NoPlayer.PreparedListener}.
      *
@@ -80,6 +106,33 @@ public interface NoPlayer extends PlayerState {
      */
     void loadVideoWithTimeout(Uri uri, ContentType contentType, Timeout timeout, LoadTimeoutCallback loadTimeoutCallback);
 
+    /**
+     * Loads content to be played back to back and triggers the {@link NoPlayer.PreparedListener} for the first item.
+     * With ExoPlayer the next item is buffered before the current one ends, so that moving on is gapless,
+     * and the {@link NoPlayer.CompletionListener} is only notified at the end of the last item.
+     * With MediaPlayer each item is loaded once the previous one completes, notifying the
+     * {@link NoPlayer.CompletionListener} in between.
+     *
+     * @param mediaItems content to play, in order.
+     * @throws IllegalStateException - if called before {@link NoPlayer#attach(PlayerView)}.
+     */
+    void loadPlaylist(List<MediaItem> mediaItems) throws IllegalStateException;
+
+    /**
+     * Adds content to the end of the playlist.
+     *
+     * @param mediaItem content to play after the current playlist.
+     * @throws IllegalStateException - if called before {@link NoPlayer#loadPlaylist(List)}.
+     */
+    void enqueue(MediaItem mediaItem) throws IllegalStateException;
+
+    /**
+     * Moves on to the start of the next item of the playlist, if there is one.
+     *
+     * @throws IllegalStateException - if called before {@link NoPlayer#loadPlaylist(List)}.
+     */
+    void skipToNext() throws IllegalStateException;
+
     /**
      * Supplies information about the underlying player.
      *
@@ -216,6 +269,19 @@ public interface NoPlayer extends PlayerState {
         void onNewInfo(String callingMethod, Map<String, String> callingMethodParams);
     }
 
+    /**
+     * A typed listener for debugging information that avoids formatting and allocating per event.
+     */
+    interface PlayerEventListener {
+
+        /**
+         * Receives the same information as {@link InfoListener} as primitive fields.
+         *
+         * @param event Only valid for the duration of this call, it is recycled afterwards.
+         */
+        void onPlayerEvent(PlayerEvent event);
+    }
+
     interface LoadTimeoutCallback {
 
         LoadTimeoutCallback NULL_IMPL = new LoadTimeoutCallback() {
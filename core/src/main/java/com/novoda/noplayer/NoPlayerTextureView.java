@@ -0,0 +1,38 @@
+package com.novoda.noplayer;
+
+import android.content.Context;
+import android.util.AttributeSet;
+import android.view.SurfaceHolder;
+import android.view.TextureView;
+import android.view.View;
+
+/**
+ * A {@link PlayerView} that renders into a {@link TextureView} rather than a {@link android.view.SurfaceView}.
+ * The video is composed like any other view, so it can be translated, scaled and alpha-blended cheaply,
+ * e.g. for autoplay in lists or animated transitions, at the cost of an extra GPU composition per frame.
+ * Requires a hardware accelerated window.
+ */
+public class NoPlayerTextureView extends PlayerFrameLayout {
+
+    public NoPlayerTextureView(Context context, AttributeSet attrs) {
+        this(context, attrs, 0);
+    }
+
+    public NoPlayerTextureView(Context context, AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr, R.layout.noplayer_texture_view);
+    }
+
+    @Override
+    View bindContainerView(SurfaceHolder.Callback surfaceHolderCallback) {
+        TextureView textureView = (TextureView) findViewById(R.id.texture_view);
+        return bindTextureView(textureView, new TextureViewSurfaceHolder(textureView), surfaceHolderCallback);
+    }
+
+    static TextureView bindTextureView(TextureView textureView,
+                                       TextureViewSurfaceHolder textureViewSurfaceHolder,
+                                       SurfaceHolder.Callback surfaceHolderCallback) {
+        textureViewSurfaceHolder.addCallback(surfaceHolderCallback);
+        textureView.setSurfaceTextureListener(textureViewSurfaceHolder);
+        return textureView;
+    }
+}
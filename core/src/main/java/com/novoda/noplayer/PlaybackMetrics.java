@@ -0,0 +1,423 @@
+package com.novoda.noplayer;
+
+import com.novoda.noplayer.internal.Clock;
+import com.novoda.noplayer.internal.SystemClock;
+import com.novoda.noplayer.model.Bitrate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Computes quality of experience metrics for the content loaded into a {@link NoPlayer}.
+ * Metrics are reset every time a video is loaded and can be read at any time with {@link #snapshot()}
+ * or received periodically while playing through a {@link ReportListener}.
+ * <p>
+ * Dropped frames and bitrates are only reported by ExoPlayer.
+ */
+public final class PlaybackMetrics implements NoPlayer.PlayerEventListener,
+        NoPlayer.StateChangedListener,
+        NoPlayer.PreparedListener,
+        NoPlayer.BufferStateListener,
+        NoPlayer.BitrateChangedListener,
+        NoPlayer.HeartbeatCallback {
+
+    public static final long UNKNOWN = -1;
+
+    private static final long ONE_MINUTE_IN_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final ReportListener NO_REPORT_LISTENER = new ReportListener() {
+        @Override
+        public void onReport(Snapshot snapshot) {
+            // do nothing
+        }
+    };
+
+    private final Clock clock;
+
+    private ReportListener reportListener = NO_REPORT_LISTENER;
+    private long reportIntervalMillis;
+    private long lastReportAt;
+
+    private long loadRequestedAt;
+    private long timeToFirstFrameMillis;
+    private long joinTimeMillis;
+    private boolean joined;
+
+    private boolean playing;
+    private long lastAccumulatedAt;
+    private long playingTimeMillis;
+
+    private long bufferingStartedAt;
+    private int rebufferCount;
+    private long rebufferDurationMillis;
+
+    private long droppedFrames;
+
+    private long videoBitrate;
+    private long videoBitrateSum;
+    private int videoBitrateSamples;
+    private int bitrateSwitchCount;
+    private double weightedVideoBitrateSum;
+    private long weightedVideoBitrateMillis;
+
+    private long seekRequestedAt;
+    private int seekCount;
+    private long seekLatencySumMillis;
+
+    public interface ReportListener {
+
+        void onReport(Snapshot snapshot);
+    }
+
+    /**
+     * Creates the {@link PlaybackMetrics} of each {@link NoPlayer} built, so that players never share them.
+     */
+    public interface Factory {
+
+        /**
+         * @param player the built player the metrics are computed for.
+         * @return new {@link PlaybackMetrics}, e.g. from {@link #newInstance()}.
+         */
+        PlaybackMetrics create(NoPlayer player);
+    }
+
+    public static PlaybackMetrics newInstance() {
+        return new PlaybackMetrics(new SystemClock());
+    }
+
+    PlaybackMetrics(Clock clock) {
+        this.clock = clock;
+        reset();
+    }
+
+    /**
+     * Starts computing metrics from the events of the given player listeners.
+     */
+    public void attach(Listeners listeners) {
+        listeners.addPlayerEventListener(this);
+        listeners.addStateChangedListener(this);
+        listeners.addPreparedListener(this);
+        listeners.addBufferStateListener(this);
+        listeners.addBitrateChangedListener(this);
+        listeners.addHeartbeatCallback(this);
+    }
+
+    public void detach(Listeners listeners) {
+        listeners.removePlayerEventListener(this);
+        listeners.removeStateChangedListener(this);
+        listeners.removePreparedListener(this);
+        listeners.removeBufferStateListener(this);
+        listeners.removeBitrateChangedListener(this);
+        listeners.removeHeartbeatCallback(this);
+    }
+
+    /**
+     * Receives a {@link Snapshot} at most every interval while the video is playing.
+     *
+     * @param reportListener       to notify.
+     * @param reportIntervalMillis minimum time between two reports, rounded up to the heartbeat.
+     */
+    public synchronized void setReportListener(ReportListener reportListener, long reportIntervalMillis) {
+        this.reportListener = reportListener == null ? NO_REPORT_LISTENER : reportListener;
+        this.reportIntervalMillis = reportIntervalMillis;
+    }
+
+    private void reset() {
+        loadRequestedAt = UNKNOWN;
+        timeToFirstFrameMillis = UNKNOWN;
+        joinTimeMillis = UNKNOWN;
+        joined = false;
+        playing = false;
+        lastAccumulatedAt = UNKNOWN;
+        playingTimeMillis = 0;
+        bufferingStartedAt = UNKNOWN;
+        rebufferCount = 0;
+        rebufferDurationMillis = 0;
+        droppedFrames = 0;
+        videoBitrate = 0;
+        videoBitrateSum = 0;
+        videoBitrateSamples = 0;
+        bitrateSwitchCount = 0;
+        weightedVideoBitrateSum = 0;
+        weightedVideoBitrateMillis = 0;
+        seekRequestedAt = UNKNOWN;
+        seekCount = 0;
+        seekLatencySumMillis = 0;
+        lastReportAt = UNKNOWN;
+    }
+
+    @Override
+    public synchronized void onPlayerEvent(PlayerEvent event) {
+        long now = clock.getCurrentTime();
+        switch (event.type()) {
+            case VIDEO_LOAD_REQUESTED:
+                reset();
+                loadRequestedAt = now;
+                break;
+            case RENDERED_FIRST_FRAME:
+                if (timeToFirstFrameMillis == UNKNOWN && loadRequestedAt != UNKNOWN) {
+                    timeToFirstFrameMillis = now - loadRequestedAt;
+                }
+                joined = true;
+                break;
+            case DROPPED_FRAMES:
+                droppedFrames += event.count();
+                break;
+            case SEEK_REQUESTED:
+                if (seekRequestedAt == UNKNOWN) {
+                    seekRequestedAt = now;
+                }
+                break;
+            case SEEK_COMPLETED:
+                completeSeek(now, event.durationMs());
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * The seek coordinator measures the whole burst of coalesced seeks, so its duration is preferred over our own.
+     */
+    private void completeSeek(long now, long seekDurationMillis) {
+        if (seekRequestedAt != UNKNOWN) {
+            seekCount++;
+            seekLatencySumMillis += seekDurationMillis == PlayerEvent.UNSET ? now - seekRequestedAt : seekDurationMillis;
+            seekRequestedAt = UNKNOWN;
+        }
+    }
+
+    @Override
+    public synchronized void onPrepared(PlayerState playerState) {
+        if (joinTimeMillis == UNKNOWN && loadRequestedAt != UNKNOWN) {
+            joinTimeMillis = clock.getCurrentTime() - loadRequestedAt;
+        }
+    }
+
+    @Override
+    public synchronized void onVideoPlaying() {
+        accumulate(clock.getCurrentTime());
+        playing = true;
+    }
+
+    @Override
+    public synchronized void onVideoPaused() {
+        accumulate(clock.getCurrentTime());
+        playing = false;
+    }
+
+    @Override
+    public synchronized void onVideoStopped() {
+        long now = clock.getCurrentTime();
+        accumulate(now);
+        playing = false;
+        completeBuffering(now);
+    }
+
+    @Override
+    public synchronized void onBufferStarted() {
+        if (joined && seekRequestedAt == UNKNOWN && bufferingStartedAt == UNKNOWN) {
+            bufferingStartedAt = clock.getCurrentTime();
+            rebufferCount++;
+        }
+    }
+
+    @Override
+    public synchronized void onBufferCompleted() {
+        completeBuffering(clock.getCurrentTime());
+    }
+
+    private void completeBuffering(long now) {
+        if (bufferingStartedAt != UNKNOWN) {
+            rebufferDurationMillis += now - bufferingStartedAt;
+            bufferingStartedAt = UNKNOWN;
+        }
+    }
+
+    @Override
+    public synchronized void onBitrateChanged(Bitrate audioBitrate, Bitrate videoBitrate) {
+        long bitsPerSecond = videoBitrate.asBitsPerSecond();
+        if (bitsPerSecond == this.videoBitrate) {
+            return;
+        }
+        accumulate(clock.getCurrentTime());
+        if (this.videoBitrate != 0) {
+            bitrateSwitchCount++;
+        }
+        this.videoBitrate = bitsPerSecond;
+        videoBitrateSum += bitsPerSecond;
+        videoBitrateSamples++;
+    }
+
+    @Override
+    public void onBeat(NoPlayer player) {
+        Snapshot snapshot;
+        ReportListener listener;
+        synchronized (this) {
+            long now = clock.getCurrentTime();
+            if (lastReportAt != UNKNOWN && now - lastReportAt < reportIntervalMillis) {
+                return;
+            }
+            lastReportAt = now;
+            snapshot = snapshotAt(now);
+            listener = reportListener;
+        }
+        listener.onReport(snapshot);
+    }
+
+    private void accumulate(long now) {
+        if (playing && lastAccumulatedAt != UNKNOWN) {
+            long elapsed = now - lastAccumulatedAt;
+            playingTimeMillis += elapsed;
+            if (videoBitrate != 0) {
+                weightedVideoBitrateSum += (double) videoBitrate * elapsed;
+                weightedVideoBitrateMillis += elapsed;
+            }
+        }
+        lastAccumulatedAt = now;
+    }
+
+    public synchronized Snapshot snapshot() {
+        return snapshotAt(clock.getCurrentTime());
+    }
+
+    private Snapshot snapshotAt(long now) {
+        accumulate(now);
+        long currentRebufferMillis = bufferingStartedAt == UNKNOWN ? 0 : now - bufferingStartedAt;
+        long totalRebufferMillis = rebufferDurationMillis + currentRebufferMillis;
+        return new Snapshot(
+                timeToFirstFrameMillis,
+                joinTimeMillis,
+                playingTimeMillis,
+                rebufferCount,
+                totalRebufferMillis,
+                playingTimeMillis == 0 ? 0 : (double) totalRebufferMillis / playingTimeMillis,
+                droppedFrames,
+                playingTimeMillis == 0 ? 0 : (double) droppedFrames * ONE_MINUTE_IN_MILLIS / playingTimeMillis,
+                Bitrate.fromBitsPerSecond(videoBitrateSamples == 0 ? 0 : videoBitrateSum / videoBitrateSamples),
+                Bitrate.fromBitsPerSecond(weightedVideoBitrateMillis == 0 ? 0 : (long) (weightedVideoBitrateSum / weightedVideoBitrateMillis)),
+                bitrateSwitchCount,
+                seekCount,
+                seekCount == 0 ? UNKNOWN : seekLatencySumMillis / seekCount
+        );
+    }
+
+    /**
+     * Metrics of the currently loaded video at a point in time.
+     */
+    public static final class Snapshot {
+
+        private final long timeToFirstFrameMillis;
+        private final long joinTimeMillis;
+        private final long playingTimeMillis;
+        private final int rebufferCount;
+        private final long rebufferDurationMillis;
+        private final double rebufferRatio;
+        private final long droppedFrames;
+        private final double droppedFramesPerMinute;
+        private final Bitrate averageVideoBitrate;
+        private final Bitrate timeWeightedVideoBitrate;
+        private final int bitrateSwitchCount;
+        private final int seekCount;
+        private final long averageSeekLatencyMillis;
+
+        Snapshot(long timeToFirstFrameMillis,
+                 long joinTimeMillis,
+                 long playingTimeMillis,
+                 int rebufferCount,
+                 long rebufferDurationMillis,
+                 double rebufferRatio,
+                 long droppedFrames,
+                 double droppedFramesPerMinute,
+                 Bitrate averageVideoBitrate,
+                 Bitrate timeWeightedVideoBitrate,
+                 int bitrateSwitchCount,
+                 int seekCount,
+                 long averageSeekLatencyMillis) {
+            this.timeToFirstFrameMillis = timeToFirstFrameMillis;
+            this.joinTimeMillis = joinTimeMillis;
+            this.playingTimeMillis = playingTimeMillis;
+            this.rebufferCount = rebufferCount;
+            this.rebufferDurationMillis = rebufferDurationMillis;
+            this.rebufferRatio = rebufferRatio;
+            this.droppedFrames = droppedFrames;
+            this.droppedFramesPerMinute = droppedFramesPerMinute;
+            this.averageVideoBitrate = averageVideoBitrate;
+            this.timeWeightedVideoBitrate = timeWeightedVideoBitrate;
+            this.bitrateSwitchCount = bitrateSwitchCount;
+            this.seekCount = seekCount;
+            this.averageSeekLatencyMillis = averageSeekLatencyMillis;
+        }
+
+        /**
+         * @return time from loading the video to rendering its first frame, or {@link #UNKNOWN}.
+         */
+        public long timeToFirstFrameMillis() {
+            return timeToFirstFrameMillis;
+        }
+
+        /**
+         * @return time from loading the video until it is prepared and ready to play, or {@link #UNKNOWN}.
+         */
+        public long joinTimeMillis() {
+            return joinTimeMillis;
+        }
+
+        public long playingTimeMillis() {
+            return playingTimeMillis;
+        }
+
+        /**
+         * @return number of times playback stalled after the first frame, excluding seeks.
+         */
+        public int rebufferCount() {
+            return rebufferCount;
+        }
+
+        public long rebufferDurationMillis() {
+            return rebufferDurationMillis;
+        }
+
+        /**
+         * @return time spent rebuffering divided by time spent playing.
+         */
+        public double rebufferRatio() {
+            return rebufferRatio;
+        }
+
+        public long droppedFrames() {
+            return droppedFrames;
+        }
+
+        public double droppedFramesPerMinute() {
+            return droppedFramesPerMinute;
+        }
+
+        /**
+         * @return the mean of the video bitrates that have been selected.
+         */
+        public Bitrate averageVideoBitrate() {
+            return averageVideoBitrate;
+        }
+
+        /**
+         * @return the video bitrate averaged over the time spent playing each one.
+         */
+        public Bitrate timeWeightedVideoBitrate() {
+            return timeWeightedVideoBitrate;
+        }
+
+        public int bitrateSwitchCount() {
+            return bitrateSwitchCount;
+        }
+
+        public int seekCount() {
+            return seekCount;
+        }
+
+        /**
+         * @return average time from requesting a seek until the player is ready again, or {@link #UNKNOWN}.
+         */
+        public long averageSeekLatencyMillis() {
+            return averageSeekLatencyMillis;
+        }
+    }
+}
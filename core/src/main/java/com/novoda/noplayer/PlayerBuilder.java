@@ -8,11 +8,15 @@ import com.novoda.noplayer.drm.DownloadedModularDrm;
 import com.novoda.noplayer.drm.DrmHandler;
 import com.novoda.noplayer.drm.DrmType;
 import com.novoda.noplayer.drm.StreamingModularDrm;
+import com.novoda.noplayer.internal.PlaybackThread;
 import com.novoda.noplayer.internal.drm.provision.ProvisionExecutorCreator;
 import com.novoda.noplayer.internal.exoplayer.NoPlayerExoPlayerCreator;
 import com.novoda.noplayer.internal.exoplayer.drm.DrmSessionCreatorFactory;
 import com.novoda.noplayer.internal.mediaplayer.NoPlayerMediaPlayerCreator;
+import com.novoda.noplayer.model.AdaptiveBitrate;
+import com.novoda.noplayer.model.BufferProfile;
 import com.novoda.utils.AndroidDeviceVersion;
+import com.novoda.utils.Optional;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -27,6 +31,12 @@ public class PlayerBuilder {
     private DrmHandler drmHandler = DrmHandler.NO_DRM;
     private List<PlayerType> prioritizedPlayerTypes = Arrays.asList(PlayerType.EXO_PLAYER, PlayerType.MEDIA_PLAYER);
     private boolean downgradeSecureDecoder = false;
+    private long segmentCacheSizeInBytes = NoPlayerExoPlayerCreator.NO_SEGMENT_CACHE;
+    private BufferProfile bufferProfile = BufferProfile.DEFAULT;
+    private Optional<AdaptiveBitrate> adaptiveBitrate = Optional.absent();
+    private Optional<FlightRecorder.Factory> flightRecorderFactory = Optional.absent();
+    private Optional<PlaybackMetrics.Factory> playbackMetricsFactory = Optional.absent();
+    private boolean backgroundEventThread = false;
 
     /**
      * Sets {@link PlayerBuilder} to build a {@link NoPlayer} which supports Widevine classic DRM.
@@ -101,6 +111,89 @@ public class PlayerBuilder {
         return this;
     }
 
+    /**
+     * Caches downloaded media segments on disk so that replaying or seeking back over content does not
+     * download it again. The cache is shared by every {@link NoPlayer} in the process and evicts the least
+     * recently used segments once full. Only the first size requested in a process is applied.
+     * Hits and misses are reported to the {@link NoPlayer.InfoListener}. Only supported by ExoPlayer.
+     *
+     * @param maxSizeInBytes maximum size of the cache on disk.
+     * @return {@link PlayerBuilder}
+     */
+    public PlayerBuilder withSegmentCache(long maxSizeInBytes) {
+        if (maxSizeInBytes <= 0) {
+            throw new IllegalArgumentException("Segment cache size must be positive but was: " + maxSizeInBytes);
+        }
+        segmentCacheSizeInBytes = maxSizeInBytes;
+        return this;
+    }
+
+    /**
+     * Sets how much content the {@link NoPlayer} buffers, e.g. {@link BufferProfile#FAST_START},
+     * {@link BufferProfile#LOW_MEMORY}, {@link BufferProfile#HIGH_RESILIENCE} or a {@link BufferProfile#custom} profile.
+     * Only supported by ExoPlayer.
+     *
+     * @param bufferProfile {@link BufferProfile}
+     * @return {@link PlayerBuilder}
+     */
+    public PlayerBuilder withBufferProfile(BufferProfile bufferProfile) {
+        this.bufferProfile = bufferProfile;
+        return this;
+    }
+
+    /**
+     * Lets the {@link NoPlayer} switch video quality based on the measured network throughput, instead of
+     * playing a single fixed quality. Every switch is reported to the {@link NoPlayer.BitrateChangedListener}.
+     * The throughput measured by previous players on the same network type replaces the initial bitrate estimate.
+     * Only supported by ExoPlayer.
+     *
+     * @param adaptiveBitrate {@link AdaptiveBitrate#DEFAULT} or a configured {@link AdaptiveBitrate}.
+     * @return {@link PlayerBuilder}
+     */
+    public PlayerBuilder withAdaptiveBitrate(AdaptiveBitrate adaptiveBitrate) {
+        this.adaptiveBitrate = Optional.of(adaptiveBitrate);
+        return this;
+    }
+
+    /**
+     * Records the last events of each built {@link NoPlayer} into its own {@link FlightRecorder},
+     * which logs them when an error is reported.
+     *
+     * @param flightRecorderFactory {@link FlightRecorder.Factory}, e.g. {@link FlightRecorder#factory(int)}.
+     * @return {@link PlayerBuilder}
+     */
+    public PlayerBuilder withFlightRecorder(FlightRecorder.Factory flightRecorderFactory) {
+        this.flightRecorderFactory = Optional.of(flightRecorderFactory);
+        return this;
+    }
+
+    /**
+     * Computes quality of experience metrics such as time to first frame, rebuffering and bitrate
+     * for the videos played by each built {@link NoPlayer}, into its own {@link PlaybackMetrics}.
+     *
+     * @param playbackMetricsFactory {@link PlaybackMetrics.Factory}
+     * @return {@link PlayerBuilder}
+     */
+    public PlayerBuilder withPlaybackMetrics(PlaybackMetrics.Factory playbackMetricsFactory) {
+        this.playbackMetricsFactory = Optional.of(playbackMetricsFactory);
+        return this;
+    }
+
+    /**
+     * Processes media source, DRM and load timeout events on a background thread owned by NoPlayer
+     * instead of the main looper, so that a busy UI does not delay them. Events that touch views, i.e.
+     * the {@link PlayerView} state, video size and subtitles, as well as errors and heartbeats, are still delivered
+     * on the UI thread. Listeners for anything else, e.g. {@link NoPlayer.LoadTimeoutCallback},
+     * {@link NoPlayer.BitrateChangedListener} or {@link NoPlayer.InfoListener}, must post to the UI thread themselves
+     * before touching views. Only supported by ExoPlayer.
+     *
+     * @return {@link PlayerBuilder}
+     */
+    public PlayerBuilder withBackgroundEventThread() {
+        backgroundEventThread = true;
+        return this;
+    }
+
     /**
      * Builds a new {@link NoPlayer} instance.
      *
@@ -111,19 +204,27 @@ public class PlayerBuilder {
      */
     public NoPlayer build(Context context) throws UnableToCreatePlayerException {
         Handler handler = new Handler(Looper.getMainLooper());
+        Handler eventHandler = backgroundEventThread ? PlaybackThread.obtainHandler() : handler;
         ProvisionExecutorCreator provisionExecutorCreator = new ProvisionExecutorCreator();
         DrmSessionCreatorFactory drmSessionCreatorFactory = new DrmSessionCreatorFactory(
                 AndroidDeviceVersion.newInstance(),
                 provisionExecutorCreator,
-                handler
+                eventHandler
         );
         NoPlayerCreator noPlayerCreator = new NoPlayerCreator(
                 context,
                 prioritizedPlayerTypes,
-                NoPlayerExoPlayerCreator.newInstance(handler),
+                NoPlayerExoPlayerCreator.newInstance(handler, eventHandler, segmentCacheSizeInBytes, bufferProfile, adaptiveBitrate),
                 NoPlayerMediaPlayerCreator.newInstance(handler),
                 drmSessionCreatorFactory
         );
-        return noPlayerCreator.create(drmType, drmHandler, downgradeSecureDecoder);
+        NoPlayer player = noPlayerCreator.create(drmType, drmHandler, downgradeSecureDecoder);
+        if (flightRecorderFactory.isPresent()) {
+            flightRecorderFactory.get().create(player).attach(player.getListeners());
+        }
+        if (playbackMetricsFactory.isPresent()) {
+            playbackMetricsFactory.get().create(player).attach(player.getListeners());
+        }
+        return player;
     }
 }
@@ -0,0 +1,335 @@
+package com.novoda.noplayer;
+
+/**
+ * A typed, allocation-free alternative to {@link NoPlayer.InfoListener}.
+ * <p>
+ * Instances are recycled from a small pool once every {@link NoPlayer.PlayerEventListener}
+ * has been notified, so they are only valid for the duration of
+ * {@link NoPlayer.PlayerEventListener#onPlayerEvent(PlayerEvent)}. Copy out any values that are needed later.
+ * Fields that do not apply to a given {@link Type} are left at their default values.
+ */
+public final class PlayerEvent {
+
+    public static final int UNSET = -1;
+
+    private static final int MAX_POOL_SIZE = 8;
+    private static final Object POOL_LOCK = new Object();
+    private static final PlayerEvent[] POOL = new PlayerEvent[MAX_POOL_SIZE];
+    private static int poolSize;
+
+    public enum Type {
+        TIMELINE_CHANGED,
+        TRACKS_CHANGED,
+        LOADING_CHANGED,
+        PLAYER_STATE_CHANGED,
+        REPEAT_MODE_CHANGED,
+        PLAYER_ERROR,
+        POSITION_DISCONTINUITY,
+        PLAYBACK_PARAMETERS_CHANGED,
+        LOAD_STARTED,
+        LOAD_COMPLETED,
+        LOAD_CANCELED,
+        LOAD_ERROR,
+        UPSTREAM_DISCARDED,
+        DOWNSTREAM_FORMAT_CHANGED,
+        VIDEO_ENABLED,
+        VIDEO_DECODER_INITIALIZED,
+        VIDEO_INPUT_FORMAT_CHANGED,
+        VIDEO_SIZE_CHANGED,
+        RENDERED_FIRST_FRAME,
+        DROPPED_FRAMES,
+        VIDEO_DISABLED,
+        EXTRACTOR_LOAD_ERROR,
+        SEGMENT_CACHE_HIT,
+        SEGMENT_CACHE_MISS,
+        DRM_KEYS_LOADED,
+        DRM_KEYS_RESTORED,
+        DRM_KEYS_REMOVED,
+        DRM_SESSION_MANAGER_ERROR,
+        VIDEO_LOAD_REQUESTED,
+        SEEK_REQUESTED,
+        SEEK_COMPLETED
+    }
+
+    private Type type;
+    private int dataType;
+    private int trackType;
+    private int trackSelectionReason;
+    private int bitrate;
+    private int width;
+    private int height;
+    private int unappliedRotationDegrees;
+    private float pixelWidthHeightRatio;
+    private float speed;
+    private int state;
+    private int count;
+    private boolean flag;
+    private long mediaStartTimeMs;
+    private long mediaEndTimeMs;
+    private long elapsedRealtimeMs;
+    private long durationMs;
+    private long bytes;
+    private long totalBytes;
+    private Throwable error;
+
+    /**
+     * Retrieves a cleared event from the pool, creating one if the pool is empty.
+     * Intended for use by {@link NoPlayer} implementations only.
+     *
+     * @param type of the event.
+     * @return {@link PlayerEvent} owned by the caller until it is recycled.
+     */
+    public static PlayerEvent obtain(Type type) {
+        PlayerEvent event = null;
+        synchronized (POOL_LOCK) {
+            if (poolSize > 0) {
+                poolSize--;
+                event = POOL[poolSize];
+                POOL[poolSize] = null;
+            }
+        }
+        if (event == null) {
+            event = new PlayerEvent();
+        }
+        event.type = type;
+        return event;
+    }
+
+    private PlayerEvent() {
+        clear();
+    }
+
+    /**
+     * Returns this event to the pool. It must not be touched afterwards.
+     */
+    public void recycle() {
+        clear();
+        synchronized (POOL_LOCK) {
+            if (poolSize < MAX_POOL_SIZE) {
+                POOL[poolSize] = this;
+                poolSize++;
+            }
+        }
+    }
+
+    private void clear() {
+        type = null;
+        dataType = UNSET;
+        trackType = UNSET;
+        trackSelectionReason = UNSET;
+        bitrate = UNSET;
+        width = UNSET;
+        height = UNSET;
+        unappliedRotationDegrees = 0;
+        pixelWidthHeightRatio = 1f;
+        speed = 1f;
+        state = UNSET;
+        count = 0;
+        flag = false;
+        mediaStartTimeMs = UNSET;
+        mediaEndTimeMs = UNSET;
+        elapsedRealtimeMs = UNSET;
+        durationMs = UNSET;
+        bytes = 0;
+        totalBytes = 0;
+        error = null;
+    }
+
+    public PlayerEvent withDataType(int dataType) {
+        this.dataType = dataType;
+        return this;
+    }
+
+    public PlayerEvent withTrackType(int trackType) {
+        this.trackType = trackType;
+        return this;
+    }
+
+    public PlayerEvent withTrackSelectionReason(int trackSelectionReason) {
+        this.trackSelectionReason = trackSelectionReason;
+        return this;
+    }
+
+    public PlayerEvent withBitrate(int bitrate) {
+        this.bitrate = bitrate;
+        return this;
+    }
+
+    public PlayerEvent withVideoSize(int width, int height, int unappliedRotationDegrees, float pixelWidthHeightRatio) {
+        this.width = width;
+        this.height = height;
+        this.unappliedRotationDegrees = unappliedRotationDegrees;
+        this.pixelWidthHeightRatio = pixelWidthHeightRatio;
+        return this;
+    }
+
+    public PlayerEvent withSpeed(float speed) {
+        this.speed = speed;
+        return this;
+    }
+
+    public PlayerEvent withState(int state) {
+        this.state = state;
+        return this;
+    }
+
+    public PlayerEvent withCount(int count) {
+        this.count = count;
+        return this;
+    }
+
+    public PlayerEvent withFlag(boolean flag) {
+        this.flag = flag;
+        return this;
+    }
+
+    public PlayerEvent withMediaTimes(long mediaStartTimeMs, long mediaEndTimeMs) {
+        this.mediaStartTimeMs = mediaStartTimeMs;
+        this.mediaEndTimeMs = mediaEndTimeMs;
+        return this;
+    }
+
+    public PlayerEvent withElapsedRealtimeMs(long elapsedRealtimeMs) {
+        this.elapsedRealtimeMs = elapsedRealtimeMs;
+        return this;
+    }
+
+    public PlayerEvent withDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+        return this;
+    }
+
+    public PlayerEvent withBytes(long bytes) {
+        this.bytes = bytes;
+        return this;
+    }
+
+    public PlayerEvent withTotalBytes(long totalBytes) {
+        this.totalBytes = totalBytes;
+        return this;
+    }
+
+    public PlayerEvent withError(Throwable error) {
+        this.error = error;
+        return this;
+    }
+
+    public Type type() {
+        return type;
+    }
+
+    /**
+     * @return the ExoPlayer {@code C.DATA_TYPE_*} of a load event.
+     */
+    public int dataType() {
+        return dataType;
+    }
+
+    /**
+     * @return the ExoPlayer {@code C.TRACK_TYPE_*} the event refers to.
+     */
+    public int trackType() {
+        return trackType;
+    }
+
+    public int trackSelectionReason() {
+        return trackSelectionReason;
+    }
+
+    /**
+     * @return the bitrate in bits per second of the format the event refers to.
+     */
+    public int bitrate() {
+        return bitrate;
+    }
+
+    /**
+     * @return the width of the video, or of the format the event refers to.
+     */
+    public int width() {
+        return width;
+    }
+
+    /**
+     * @return the height of the video, or of the format the event refers to.
+     */
+    public int height() {
+        return height;
+    }
+
+    public int unappliedRotationDegrees() {
+        return unappliedRotationDegrees;
+    }
+
+    public float pixelWidthHeightRatio() {
+        return pixelWidthHeightRatio;
+    }
+
+    /**
+     * @return the playback speed of a {@link Type#PLAYBACK_PARAMETERS_CHANGED} event.
+     */
+    public float speed() {
+        return speed;
+    }
+
+    /**
+     * @return the playback state of a {@link Type#PLAYER_STATE_CHANGED} event
+     * or the repeat mode of a {@link Type#REPEAT_MODE_CHANGED} event.
+     */
+    public int state() {
+        return state;
+    }
+
+    /**
+     * @return the number of frames dropped in a {@link Type#DROPPED_FRAMES} event.
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * @return playWhenReady for {@link Type#PLAYER_STATE_CHANGED}, isLoading for {@link Type#LOADING_CHANGED}
+     * and wasCanceled for {@link Type#LOAD_ERROR}.
+     */
+    public boolean flag() {
+        return flag;
+    }
+
+    public long mediaStartTimeMs() {
+        return mediaStartTimeMs;
+    }
+
+    public long mediaEndTimeMs() {
+        return mediaEndTimeMs;
+    }
+
+    public long elapsedRealtimeMs() {
+        return elapsedRealtimeMs;
+    }
+
+    /**
+     * @return the load duration of a load event, the elapsed time of a {@link Type#DROPPED_FRAMES} event
+     * or the initialisation duration of a {@link Type#VIDEO_DECODER_INITIALIZED} event.
+     */
+    public long durationMs() {
+        return durationMs;
+    }
+
+    /**
+     * @return bytes loaded by a load event or read by a segment cache event.
+     */
+    public long bytes() {
+        return bytes;
+    }
+
+    /**
+     * @return the size of the segment cache for a {@link Type#SEGMENT_CACHE_HIT} event.
+     */
+    public long totalBytes() {
+        return totalBytes;
+    }
+
+    public Throwable error() {
+        return error;
+    }
+}
@@ -0,0 +1,124 @@
+package com.novoda.noplayer;
+
+import android.content.Context;
+import android.support.annotation.LayoutRes;
+import android.util.AttributeSet;
+import android.view.SurfaceHolder;
+import android.view.View;
+import android.widget.FrameLayout;
+
+import com.google.android.exoplayer2.ui.AspectRatioFrameLayout;
+import com.novoda.noplayer.model.TextCues;
+
+/**
+ * The parts of a {@link PlayerView} that do not depend on what the video is rendered into: resizing to the
+ * aspect ratio of the video, the shutter shown while stopped and the subtitles drawn on top.
+ */
+abstract class PlayerFrameLayout extends FrameLayout implements AspectRatioChangeCalculator.Listener, PlayerView {
+
+    private final PlayerViewSurfaceHolder surfaceHolderProvider;
+    private final AspectRatioChangeCalculator aspectRatioChangeCalculator;
+    @LayoutRes
+    private final int layoutId;
+
+    private AspectRatioFrameLayout videoFrame;
+    private View containerView;
+    private SubtitleView subtitleView;
+    private View shutterView;
+
+    PlayerFrameLayout(Context context, AttributeSet attrs, int defStyleAttr, @LayoutRes int layoutId) {
+        super(context, attrs, defStyleAttr);
+        this.layoutId = layoutId;
+        surfaceHolderProvider = new PlayerViewSurfaceHolder();
+        aspectRatioChangeCalculator = new AspectRatioChangeCalculator(this);
+    }
+
+    @Override
+    protected void onFinishInflate() {
+        super.onFinishInflate();
+        View.inflate(getContext(), layoutId, this);
+        videoFrame = (AspectRatioFrameLayout) findViewById(R.id.video_frame);
+        shutterView = findViewById(R.id.shutter);
+        containerView = bindContainerView(surfaceHolderProvider);
+        subtitleView = (SubtitleView) findViewById(R.id.subtitles_layout);
+    }
+
+    /**
+     * Called once the layout has been inflated.
+     *
+     * @param surfaceHolderCallback to be told when the surface the video is rendered into comes and goes.
+     * @return the view the video is rendered into.
+     */
+    abstract View bindContainerView(SurfaceHolder.Callback surfaceHolderCallback);
+
+    @Override
+    public void onNewAspectRatio(float aspectRatio) {
+        videoFrame.setAspectRatio(aspectRatio);
+    }
+
+    @Override
+    public View getContainerView() {
+        return containerView;
+    }
+
+    @Override
+    public SurfaceHolderRequester getSurfaceHolderRequester() {
+        return surfaceHolderProvider;
+    }
+
+    @Override
+    public NoPlayer.VideoSizeChangedListener getVideoSizeChangedListener() {
+        return videoSizeChangedListener;
+    }
+
+    @Override
+    public NoPlayer.StateChangedListener getStateChangedListener() {
+        return stateChangedListener;
+    }
+
+    @Override
+    public void showSubtitles() {
+        subtitleView.setVisibility(VISIBLE);
+    }
+
+    @Override
+    public void hideSubtitles() {
+        subtitleView.setVisibility(GONE);
+    }
+
+    @Override
+    public void setSubtitleCue(TextCues textCues) {
+        subtitleView.setCues(textCues);
+    }
+
+    /**
+     * @see SubtitleView#setOffscreenRendering(boolean)
+     */
+    public void setSubtitleOffscreenRendering(boolean offscreenRendering) {
+        subtitleView.setOffscreenRendering(offscreenRendering);
+    }
+
+    private final NoPlayer.VideoSizeChangedListener videoSizeChangedListener = new NoPlayer.VideoSizeChangedListener() {
+        @Override
+        public void onVideoSizeChanged(int width, int height, int unappliedRotationDegrees, float pixelWidthHeightRatio) {
+            aspectRatioChangeCalculator.onVideoSizeChanged(width, height, pixelWidthHeightRatio);
+        }
+    };
+
+    private final NoPlayer.StateChangedListener stateChangedListener = new NoPlayer.StateChangedListener() {
+        @Override
+        public void onVideoPlaying() {
+            shutterView.setVisibility(INVISIBLE);
+        }
+
+        @Override
+        public void onVideoPaused() {
+            // We don't care
+        }
+
+        @Override
+        public void onVideoStopped() {
+            shutterView.setVisibility(VISIBLE);
+        }
+    };
+}
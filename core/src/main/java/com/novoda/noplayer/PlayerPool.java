@@ -0,0 +1,149 @@
+package com.novoda.noplayer;
+
+import android.content.Context;
+
+import com.novoda.noplayer.internal.DecoderBudget;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hands out players while keeping within the number of video decoders the device can run at once,
+ * e.g. for a feed of autoplaying tiles. When the budget is used up, the player with the lowest priority
+ * is stopped and reclaimed to make room for a more important one, rather than letting creation fail
+ * somewhere inside the decoder.
+ * <p>
+ * The budget is shared by every player in the process, so keep a single instance. Must be used from the main thread.
+ */
+public final class PlayerPool {
+
+    private final List<Lease> leases = new ArrayList<>();
+    private final Context context;
+    private final PlayerBuilder playerBuilder;
+    private final int decoderBudget;
+
+    public static PlayerPool newInstance(Context context, PlayerBuilder playerBuilder) {
+        return newInstance(context, playerBuilder, DecoderBudget.maxConcurrentVideoDecoders());
+    }
+
+    /**
+     * @param decoderBudget the maximum number of players that may be handed out at once.
+     */
+    public static PlayerPool newInstance(Context context, PlayerBuilder playerBuilder, int decoderBudget) {
+        return new PlayerPool(context.getApplicationContext(), playerBuilder, decoderBudget);
+    }
+
+    PlayerPool(Context context, PlayerBuilder playerBuilder, int decoderBudget) {
+        this.context = context;
+        this.playerBuilder = playerBuilder;
+        this.decoderBudget = decoderBudget;
+    }
+
+    /**
+     * Builds a player, reclaiming the player with the lowest priority if every decoder is in use.
+     *
+     * @param priority        how important the player is, e.g. how visible its tile is. Higher wins.
+     * @param reclaimListener notified if the player is later reclaimed for a player with a higher priority.
+     * @return a {@link NoPlayer} instance.
+     * @throws UnableToCreatePlayerException if every decoder is in use by players with an equal or higher priority.
+     */
+    public NoPlayer acquire(int priority, ReclaimListener reclaimListener) throws UnableToCreatePlayerException {
+        if (leases.size() >= decoderBudget) {
+            Lease lowestPriorityLease = lowestPriorityLease();
+            if (lowestPriorityLease == null || lowestPriorityLease.priority >= priority) {
+                throw UnableToCreatePlayerException.decoderBudgetExhausted(decoderBudget);
+            }
+            reclaim(lowestPriorityLease);
+        }
+        NoPlayer player = playerBuilder.build(context);
+        leases.add(new Lease(player, priority, reclaimListener));
+        return player;
+    }
+
+    private Lease lowestPriorityLease() {
+        Lease lowestPriorityLease = null;
+        for (Lease lease : leases) {
+            if (lowestPriorityLease == null || lease.priority < lowestPriorityLease.priority) {
+                lowestPriorityLease = lease;
+            }
+        }
+        return lowestPriorityLease;
+    }
+
+    private void reclaim(Lease lease) {
+        leases.remove(lease);
+        lease.player.stop();
+        lease.reclaimListener.onReclaimed(lease.player);
+        lease.player.release();
+    }
+
+    /**
+     * Changes the priority of a player, e.g. as its tile scrolls in or out of view.
+     */
+    public void updatePriority(NoPlayer player, int priority) {
+        Lease lease = leaseFor(player);
+        if (lease != null) {
+            lease.priority = priority;
+        }
+    }
+
+    /**
+     * Releases a player handed out by this pool, freeing its decoder for another player.
+     */
+    public void release(NoPlayer player) {
+        Lease lease = leaseFor(player);
+        if (lease != null) {
+            leases.remove(lease);
+            player.release();
+        }
+    }
+
+    public void releaseAll() {
+        for (Lease lease : leases) {
+            lease.player.release();
+        }
+        leases.clear();
+    }
+
+    public int availableDecoders() {
+        return Math.max(0, decoderBudget - leases.size());
+    }
+
+    private Lease leaseFor(NoPlayer player) {
+        for (Lease lease : leases) {
+            if (lease.player == player) {
+                return lease;
+            }
+        }
+        return null;
+    }
+
+    public interface ReclaimListener {
+
+        /**
+         * Called once the player has been stopped to free its decoder. Detach any {@link PlayerView}
+         * and stop using the player, as it is released straight after this call.
+         */
+        void onReclaimed(NoPlayer player);
+
+        ReclaimListener NULL_IMPL = new ReclaimListener() {
+            @Override
+            public void onReclaimed(NoPlayer player) {
+                // do nothing
+            }
+        };
+    }
+
+    private static class Lease {
+
+        private final NoPlayer player;
+        private final ReclaimListener reclaimListener;
+        private int priority;
+
+        Lease(NoPlayer player, int priority, ReclaimListener reclaimListener) {
+            this.player = player;
+            this.priority = priority;
+            this.reclaimListener = reclaimListener;
+        }
+    }
+}
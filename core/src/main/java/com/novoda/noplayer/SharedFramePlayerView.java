@@ -0,0 +1,188 @@
+package com.novoda.noplayer;
+
+import android.annotation.TargetApi;
+import android.graphics.SurfaceTexture;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.TextureView;
+import android.view.View;
+
+import com.novoda.noplayer.internal.preview.SharedFrameRenderer;
+import com.novoda.noplayer.model.TextCues;
+import com.novoda.utils.AndroidDeviceVersion;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link PlayerView} that feeds the frames of a single decoder to a {@link NoPlayerTextureView} and to any
+ * number of small previews, e.g. the tiles of a carousel, rather than needing a player for each of them.
+ * Must be attached to the player in place of the wrapped view. Requires API 18.
+ */
+@TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
+public class SharedFramePlayerView implements PlayerView {
+
+    private final NoPlayerTextureView playerView;
+    private final SharedFrameRenderer renderer;
+    private final PlayerViewSurfaceHolder surfaceHolderProvider;
+    private final TextureViewSurfaceHolder inputSurfaceHolder;
+    private final OutputListener outputListener;
+    private final List<TextureView> outputViews = new ArrayList<>();
+
+    private SurfaceTexture input;
+
+    public static boolean isSupported() {
+        return AndroidDeviceVersion.newInstance().isJellyBeanEighteenOrAbove();
+    }
+
+    public static SharedFramePlayerView newInstance(NoPlayerTextureView playerView) {
+        TextureView textureView = (TextureView) playerView.getContainerView();
+        SharedFrameRenderer renderer = SharedFrameRenderer.newInstance(new Handler(Looper.getMainLooper()));
+        PlayerViewSurfaceHolder surfaceHolderProvider = new PlayerViewSurfaceHolder();
+        TextureViewSurfaceHolder inputSurfaceHolder = new TextureViewSurfaceHolder(textureView);
+        inputSurfaceHolder.addCallback(surfaceHolderProvider);
+        SharedFramePlayerView sharedFramePlayerView = new SharedFramePlayerView(
+                playerView,
+                renderer,
+                surfaceHolderProvider,
+                inputSurfaceHolder,
+                new OutputListener(renderer)
+        );
+        sharedFramePlayerView.start(textureView);
+        return sharedFramePlayerView;
+    }
+
+    SharedFramePlayerView(NoPlayerTextureView playerView,
+                          SharedFrameRenderer renderer,
+                          PlayerViewSurfaceHolder surfaceHolderProvider,
+                          TextureViewSurfaceHolder inputSurfaceHolder,
+                          OutputListener outputListener) {
+        this.playerView = playerView;
+        this.renderer = renderer;
+        this.surfaceHolderProvider = surfaceHolderProvider;
+        this.inputSurfaceHolder = inputSurfaceHolder;
+        this.outputListener = outputListener;
+    }
+
+    private void start(final TextureView textureView) {
+        addOutput(textureView);
+        renderer.start(new SharedFrameRenderer.Callback() {
+            @Override
+            public void onInputAvailable(SurfaceTexture input) {
+                SharedFramePlayerView.this.input = input;
+                inputSurfaceHolder.onSurfaceTextureAvailable(input, textureView.getWidth(), textureView.getHeight());
+            }
+        });
+    }
+
+    /**
+     * Renders the video into the preview as well, for as long as its texture is available.
+     */
+    public void addPreview(TextureView preview) {
+        addOutput(preview);
+    }
+
+    private void addOutput(TextureView textureView) {
+        outputViews.add(textureView);
+        textureView.setSurfaceTextureListener(outputListener);
+        if (textureView.isAvailable()) {
+            outputListener.onSurfaceTextureAvailable(textureView.getSurfaceTexture(), textureView.getWidth(), textureView.getHeight());
+        }
+    }
+
+    /**
+     * Stops rendering into the preview, which releases its own texture again once detached.
+     */
+    public void removePreview(TextureView preview) {
+        outputViews.remove(preview);
+        preview.setSurfaceTextureListener(null);
+        if (preview.isAvailable()) {
+            renderer.removeOutput(preview.getSurfaceTexture());
+        }
+    }
+
+    /**
+     * Tells the player its surface is gone and releases the decoder texture. Every view rendered into,
+     * including the wrapped one, is left to release its own texture.
+     */
+    public void release() {
+        if (input != null) {
+            inputSurfaceHolder.onSurfaceTextureDestroyed(input);
+            input = null;
+        }
+        for (TextureView outputView : outputViews) {
+            outputView.setSurfaceTextureListener(null);
+        }
+        outputViews.clear();
+        renderer.release();
+    }
+
+    @Override
+    public View getContainerView() {
+        return playerView.getContainerView();
+    }
+
+    @Override
+    public SurfaceHolderRequester getSurfaceHolderRequester() {
+        return surfaceHolderProvider;
+    }
+
+    @Override
+    public NoPlayer.VideoSizeChangedListener getVideoSizeChangedListener() {
+        return playerView.getVideoSizeChangedListener();
+    }
+
+    @Override
+    public NoPlayer.StateChangedListener getStateChangedListener() {
+        return playerView.getStateChangedListener();
+    }
+
+    @Override
+    public void showSubtitles() {
+        playerView.showSubtitles();
+    }
+
+    @Override
+    public void hideSubtitles() {
+        playerView.hideSubtitles();
+    }
+
+    @Override
+    public void setSubtitleCue(TextCues textCues) {
+        playerView.setSubtitleCue(textCues);
+    }
+
+    /**
+     * The renderer releases the textures of its outputs itself, once it has stopped drawing into them.
+     */
+    static class OutputListener implements TextureView.SurfaceTextureListener {
+
+        private final SharedFrameRenderer renderer;
+
+        OutputListener(SharedFrameRenderer renderer) {
+            this.renderer = renderer;
+        }
+
+        @Override
+        public void onSurfaceTextureAvailable(SurfaceTexture surfaceTexture, int width, int height) {
+            renderer.addOutput(surfaceTexture, width, height);
+        }
+
+        @Override
+        public void onSurfaceTextureSizeChanged(SurfaceTexture surfaceTexture, int width, int height) {
+            renderer.resizeOutput(surfaceTexture, width, height);
+        }
+
+        @Override
+        public boolean onSurfaceTextureDestroyed(SurfaceTexture surfaceTexture) {
+            renderer.releaseOutput(surfaceTexture);
+            return false;
+        }
+
+        @Override
+        public void onSurfaceTextureUpdated(SurfaceTexture surfaceTexture) {
+            // do nothing
+        }
+    }
+}
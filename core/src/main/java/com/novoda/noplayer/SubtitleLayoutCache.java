@@ -0,0 +1,197 @@
+package com.novoda.noplayer;
+
+import android.graphics.Typeface;
+import android.text.Layout.Alignment;
+import android.text.Spanned;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.text.style.AbsoluteSizeSpan;
+import android.text.style.AlignmentSpan;
+import android.text.style.BackgroundColorSpan;
+import android.text.style.ForegroundColorSpan;
+import android.text.style.RelativeSizeSpan;
+import android.text.style.StrikethroughSpan;
+import android.text.style.StyleSpan;
+import android.text.style.TypefaceSpan;
+import android.text.style.UnderlineSpan;
+
+import com.google.android.exoplayer2.util.Util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least recently used store of the {@link StaticLayout}s built by a single {@link SubtitlePainter}, so that text
+ * repeated across cue changes, e.g. roll-up captions, is only shaped once. Each painter needs its own cache,
+ * as a layout keeps drawing with the {@link TextPaint} it was built with.
+ * <p>
+ * Layouts are keyed on the characters of the text and a description of its spans, as spanned text and most
+ * spans only compare by identity. Text with spans that cannot be described is laid out without caching.
+ */
+class SubtitleLayoutCache {
+
+    private static final int MAX_ENTRIES = 32;
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final boolean ACCESS_ORDER = true;
+    private static final boolean INCLUDE_PAD = true;
+    private static final String NO_SPANS = "";
+
+    private final Map<Key, StaticLayout> layouts = new LinkedHashMap<>(MAX_ENTRIES, LOAD_FACTOR, ACCESS_ORDER);
+
+    /**
+     * A layout keeps its line breaks when laid out again at a narrower width that still fits its widest line.
+     */
+    static boolean keepsLineBreaksAt(StaticLayout layout, int width) {
+        if (width > layout.getWidth()) {
+            return false;
+        }
+        int lineCount = layout.getLineCount();
+        for (int i = 0; i < lineCount; i++) {
+            if (Math.ceil(layout.getLineWidth(i)) > width) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    StaticLayout obtain(CharSequence text, TextPaint textPaint, int width, Alignment alignment, float spacingMult, float spacingAdd) {
+        String spans = describeSpans(text);
+        if (spans == null) {
+            return createLayout(text, textPaint, width, alignment, spacingMult, spacingAdd);
+        }
+        Key key = new Key(text.toString(), spans, width, alignment, textPaint.getTextSize(), textPaint.getTypeface(), spacingMult, spacingAdd);
+        StaticLayout layout = layouts.get(key);
+        if (layout == null) {
+            layout = createLayout(text, textPaint, width, alignment, spacingMult, spacingAdd);
+            layouts.put(key, layout);
+            trimToSize();
+        }
+        return layout;
+    }
+
+    /**
+     * @return the type, range, flags and styling of each span in order, or null if the text holds a span
+     * whose styling is unknown.
+     */
+    static String describeSpans(CharSequence text) {
+        if (!(text instanceof Spanned)) {
+            return NO_SPANS;
+        }
+        Spanned spanned = (Spanned) text;
+        Object[] spans = spanned.getSpans(0, spanned.length(), Object.class);
+        if (spans.length == 0) {
+            return NO_SPANS;
+        }
+        StringBuilder description = new StringBuilder();
+        for (Object span : spans) {
+            description.append(span.getClass().getName())
+                    .append(' ').append(spanned.getSpanStart(span))
+                    .append(' ').append(spanned.getSpanEnd(span))
+                    .append(' ').append(spanned.getSpanFlags(span))
+                    .append(' ');
+            if (!appendStyling(span, description)) {
+                return null;
+            }
+            description.append(';');
+        }
+        return description.toString();
+    }
+
+    private static boolean appendStyling(Object span, StringBuilder description) {
+        if (span instanceof UnderlineSpan || span instanceof StrikethroughSpan) {
+            return true;
+        } else if (span instanceof StyleSpan) {
+            description.append(((StyleSpan) span).getStyle());
+        } else if (span instanceof ForegroundColorSpan) {
+            description.append(((ForegroundColorSpan) span).getForegroundColor());
+        } else if (span instanceof BackgroundColorSpan) {
+            description.append(((BackgroundColorSpan) span).getBackgroundColor());
+        } else if (span instanceof RelativeSizeSpan) {
+            description.append(((RelativeSizeSpan) span).getSizeChange());
+        } else if (span instanceof AbsoluteSizeSpan) {
+            AbsoluteSizeSpan absoluteSizeSpan = (AbsoluteSizeSpan) span;
+            description.append(absoluteSizeSpan.getSize()).append(absoluteSizeSpan.getDip() ? "dip" : "px");
+        } else if (span instanceof TypefaceSpan) {
+            description.append(((TypefaceSpan) span).getFamily());
+        } else if (span instanceof AlignmentSpan) {
+            description.append(((AlignmentSpan) span).getAlignment());
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    StaticLayout createLayout(CharSequence text, TextPaint textPaint, int width, Alignment alignment, float spacingMult, float spacingAdd) {
+        return new StaticLayout(text, textPaint, width, alignment, spacingMult, spacingAdd, INCLUDE_PAD);
+    }
+
+    void clear() {
+        layouts.clear();
+    }
+
+    private void trimToSize() {
+        Iterator<StaticLayout> iterator = layouts.values().iterator();
+        while (layouts.size() > MAX_ENTRIES && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static final class Key {
+
+        private final String text;
+        private final String spans;
+        private final int width;
+        private final Alignment alignment;
+        private final float textSize;
+        private final Typeface typeface;
+        private final float spacingMult;
+        private final float spacingAdd;
+
+        Key(String text, String spans, int width, Alignment alignment, float textSize, Typeface typeface, float spacingMult, float spacingAdd) {
+            this.text = text;
+            this.spans = spans;
+            this.width = width;
+            this.alignment = alignment;
+            this.textSize = textSize;
+            this.typeface = typeface;
+            this.spacingMult = spacingMult;
+            this.spacingAdd = spacingAdd;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            Key key = (Key) o;
+
+            return width == key.width
+                    && Float.compare(key.textSize, textSize) == 0
+                    && Float.compare(key.spacingMult, spacingMult) == 0
+                    && Float.compare(key.spacingAdd, spacingAdd) == 0
+                    && alignment == key.alignment
+                    && Util.areEqual(typeface, key.typeface)
+                    && text.equals(key.text)
+                    && spans.equals(key.spans);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = text.hashCode();
+            result = 31 * result + spans.hashCode();
+            result = 31 * result + width;
+            result = 31 * result + alignment.hashCode();
+            result = 31 * result + Float.floatToIntBits(textSize);
+            result = 31 * result + (typeface == null ? 0 : typeface.hashCode());
+            result = 31 * result + Float.floatToIntBits(spacingMult);
+            result = 31 * result + Float.floatToIntBits(spacingAdd);
+            return result;
+        }
+    }
+}
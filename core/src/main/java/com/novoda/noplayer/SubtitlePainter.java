@@ -59,6 +59,7 @@ final class SubtitlePainter {
 
     private final TextPaint textPaint;
     private final Paint paint;
+    private final SubtitleLayoutCache layoutCache;
 
     // Previous input variables.
     private CharSequence cueText;
@@ -91,13 +92,16 @@ final class SubtitlePainter {
 
     // Derived drawing variables.
     private StaticLayout textLayout;
+    private int textLayoutWidth;
+    private float textLayoutOffsetX;
     private int textLeft;
     private int textTop;
     private int textPaddingX;
     private Rect bitmapRect;
 
     @SuppressWarnings("ResourceType")
-    SubtitlePainter(Context context) {
+    SubtitlePainter(Context context, SubtitleLayoutCache layoutCache) {
+        this.layoutCache = layoutCache;
         int[] viewAttr = {android.R.attr.lineSpacingExtra, android.R.attr.lineSpacingMultiplier};
         TypedArray styledAttributes = context.obtainStyledAttributes(null, viewAttr, 0, 0);
         spacingAdd = styledAttributes.getDimensionPixelSize(0, 0);
@@ -256,8 +260,8 @@ final class SubtitlePainter {
         }
 
         Alignment textAlignment = cueTextAlignment == null ? Alignment.ALIGN_CENTER : cueTextAlignment;
-        textLayout = new StaticLayout(cueText, textPaint, availableWidth, textAlignment, spacingMult,
-                spacingAdd, true);
+        StaticLayout measuredLayout = layoutCache.obtain(cueText, textPaint, availableWidth, textAlignment, spacingMult, spacingAdd);
+        textLayout = measuredLayout;
         int textHeight = textLayout.getHeight();
         int textWidth = 0;
         int lineCount = textLayout.getLineCount();
@@ -315,14 +319,28 @@ final class SubtitlePainter {
             textTop = parentBottom - textHeight - (int) (parentHeight * bottomPaddingFraction);
         }
 
-        // Update the derived drawing variables.
-        this.textLayout = new StaticLayout(cueText, textPaint, textWidth, textAlignment, spacingMult,
-                spacingAdd, true);
+        // Update the derived drawing variables, only laying the text out again if that would change how it is drawn.
+        // Centred lines that keep their breaks only move by half the difference in width, so are shifted instead.
+        if (textWidth == measuredLayout.getWidth()) {
+            this.textLayout = measuredLayout;
+            this.textLayoutOffsetX = 0;
+        } else if (textAlignment == Alignment.ALIGN_CENTER && SubtitleLayoutCache.keepsLineBreaksAt(measuredLayout, textWidth)) {
+            this.textLayout = measuredLayout;
+            this.textLayoutOffsetX = (textWidth - measuredLayout.getWidth()) / 2f;
+        } else {
+            this.textLayout = layoutCache.obtain(cueText, textPaint, textWidth, textAlignment, spacingMult, spacingAdd);
+            this.textLayoutOffsetX = 0;
+        }
+        this.textLayoutWidth = textWidth;
         this.textLeft = textLeft;
         this.textTop = textTop;
         this.textPaddingX = textPaddingX;
     }
 
+    void clearLayoutCache() {
+        layoutCache.clear();
+    }
+
     private void setupBitmapLayout() {
         int parentWidth = parentRight - parentLeft;
         int parentHeight = parentBottom - parentTop;
@@ -358,9 +376,10 @@ final class SubtitlePainter {
 
         if (Color.alpha(windowColor) > 0) {
             paint.setColor(windowColor);
-            canvas.drawRect(-textPaddingX, 0, layout.getWidth() + textPaddingX, layout.getHeight(),
+            canvas.drawRect(-textPaddingX, 0, textLayoutWidth + textPaddingX, layout.getHeight(),
                     paint);
         }
+        canvas.translate(textLayoutOffsetX, 0);
 
         if (Color.alpha(backgroundColor) > 0) {
             paint.setColor(backgroundColor);
@@ -1,7 +1,9 @@
 package com.novoda.noplayer;
 
 import android.content.Context;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
+import android.graphics.Color;
 import android.util.AttributeSet;
 import android.view.View;
 
@@ -24,11 +26,32 @@ public final class SubtitleView extends View {
 
     private TextCues textCues;
 
+    private boolean offscreenRendering;
+    private boolean offscreenFrameStale;
+    private Bitmap offscreenBitmap;
+    private Canvas offscreenCanvas;
+
     public SubtitleView(Context context, AttributeSet attrs) {
         super(context, attrs);
         painters = new ArrayList<>();
     }
 
+    /**
+     * Composes the cues into an offscreen bitmap once per change and draws only that bitmap afterwards.
+     * This saves redrawing backgrounds, outlines and shadows on every frame, at the cost of a bitmap the size of the view.
+     */
+    public void setOffscreenRendering(boolean offscreenRendering) {
+        if (this.offscreenRendering == offscreenRendering) {
+            return;
+        }
+        this.offscreenRendering = offscreenRendering;
+        if (!offscreenRendering) {
+            releaseOffscreenBitmap();
+        }
+        offscreenFrameStale = true;
+        invalidate();
+    }
+
     public void setCues(TextCues textCues) {
         if (textCues.equals(this.textCues)) {
             return;
@@ -38,9 +61,10 @@ public final class SubtitleView extends View {
         int cueCount = textCues.size();
 
         while (painters.size() < cueCount) {
-            painters.add(new SubtitlePainter(getContext()));
+            painters.add(new SubtitlePainter(getContext(), new SubtitleLayoutCache()));
         }
 
+        offscreenFrameStale = true;
         invalidate();
     }
 
@@ -50,6 +74,54 @@ public final class SubtitleView extends View {
             return;
         }
 
+        if (offscreenRendering) {
+            drawOffscreenFrame(canvas);
+        } else {
+            drawCues(canvas);
+        }
+    }
+
+    private void drawOffscreenFrame(Canvas canvas) {
+        int width = getWidth();
+        int height = getHeight();
+        if (width <= ZERO_PIXELS || height <= ZERO_PIXELS) {
+            return;
+        }
+
+        if (offscreenBitmap == null || offscreenBitmap.getWidth() != width || offscreenBitmap.getHeight() != height) {
+            releaseOffscreenBitmap();
+            offscreenBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            offscreenCanvas = new Canvas(offscreenBitmap);
+            offscreenFrameStale = true;
+        }
+
+        if (offscreenFrameStale) {
+            offscreenBitmap.eraseColor(Color.TRANSPARENT);
+            drawCues(offscreenCanvas);
+            offscreenFrameStale = false;
+        }
+
+        canvas.drawBitmap(offscreenBitmap, 0, 0, null);
+    }
+
+    private void releaseOffscreenBitmap() {
+        if (offscreenBitmap != null) {
+            offscreenBitmap.recycle();
+            offscreenBitmap = null;
+            offscreenCanvas = null;
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        releaseOffscreenBitmap();
+        for (SubtitlePainter painter : painters) {
+            painter.clearLayoutCache();
+        }
+    }
+
+    private void drawCues(Canvas canvas) {
         int cueCount = textCues.size();
         int rawTop = getTop();
         int rawBottom = getBottom();
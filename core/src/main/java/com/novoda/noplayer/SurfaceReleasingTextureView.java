@@ -0,0 +1,76 @@
+package com.novoda.noplayer;
+
+import android.content.Context;
+import android.graphics.SurfaceTexture;
+import android.util.AttributeSet;
+import android.view.TextureView;
+
+/**
+ * A {@link TextureView} that lets go of its {@link SurfaceTexture} when hidden with {@link #GONE}, as a
+ * {@link android.view.SurfaceView} would. The {@link android.view.TextureView.SurfaceTextureListener} is told the
+ * texture is destroyed and, as on detach, the texture is released if the listener returns true.
+ * A new texture is handed over with {@link #setSurfaceTexture(SurfaceTexture)} once it is shown again.
+ */
+public class SurfaceReleasingTextureView extends TextureView {
+
+    private static final int NO_TEXTURE_NAME = 0;
+
+    private boolean surfaceTextureReleased;
+
+    public SurfaceReleasingTextureView(Context context) {
+        super(context);
+    }
+
+    public SurfaceReleasingTextureView(Context context, AttributeSet attrs) {
+        super(context, attrs);
+    }
+
+    public SurfaceReleasingTextureView(Context context, AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+    }
+
+    @Override
+    public void setVisibility(int visibility) {
+        boolean hiding = visibility == GONE && getVisibility() != GONE;
+        boolean showing = visibility != GONE && getVisibility() == GONE;
+        if (hiding) {
+            releaseSurfaceTexture();
+        }
+        SurfaceTexture restoredSurfaceTexture = showing && surfaceTextureReleased ? restoreSurfaceTexture() : null;
+        super.setVisibility(visibility);
+        if (restoredSurfaceTexture != null) {
+            notifySurfaceTextureAvailable(restoredSurfaceTexture);
+        }
+    }
+
+    private void releaseSurfaceTexture() {
+        SurfaceTexture surfaceTexture = getSurfaceTexture();
+        if (surfaceTexture == null) {
+            return;
+        }
+        SurfaceTextureListener listener = getSurfaceTextureListener();
+        if (listener == null || listener.onSurfaceTextureDestroyed(surfaceTexture)) {
+            surfaceTexture.release();
+        }
+        surfaceTextureReleased = true;
+    }
+
+    /**
+     * Set while still hidden, so that the view never draws the released texture.
+     */
+    private SurfaceTexture restoreSurfaceTexture() {
+        SurfaceTexture surfaceTexture = new SurfaceTexture(NO_TEXTURE_NAME);
+        surfaceTexture.detachFromGLContext();
+        surfaceTexture.setDefaultBufferSize(getWidth(), getHeight());
+        setSurfaceTexture(surfaceTexture);
+        surfaceTextureReleased = false;
+        return surfaceTexture;
+    }
+
+    private void notifySurfaceTextureAvailable(SurfaceTexture surfaceTexture) {
+        SurfaceTextureListener listener = getSurfaceTextureListener();
+        if (listener != null) {
+            listener.onSurfaceTextureAvailable(surfaceTexture, getWidth(), getHeight());
+        }
+    }
+}
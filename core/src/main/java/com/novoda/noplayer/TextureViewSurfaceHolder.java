@@ -0,0 +1,149 @@
+package com.novoda.noplayer;
+
+import android.graphics.Canvas;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.SurfaceTexture;
+import android.view.Surface;
+import android.view.SurfaceHolder;
+import android.view.TextureView;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Presents the {@link SurfaceTexture} of a {@link TextureView} as a {@link SurfaceHolder}, so that both players
+ * can render into it exactly as they would into a {@link android.view.SurfaceView}.
+ */
+class TextureViewSurfaceHolder implements SurfaceHolder, TextureView.SurfaceTextureListener {
+
+    private static final int SURFACE_FORMAT = PixelFormat.RGBA_8888;
+
+    private final List<Callback> callbacks = new CopyOnWriteArrayList<>();
+    private final TextureView textureView;
+
+    private Surface surface;
+    private int width;
+    private int height;
+
+    TextureViewSurfaceHolder(TextureView textureView) {
+        this.textureView = textureView;
+    }
+
+    @Override
+    public void onSurfaceTextureAvailable(SurfaceTexture surfaceTexture, int width, int height) {
+        surface = createSurface(surfaceTexture);
+        this.width = width;
+        this.height = height;
+        for (Callback callback : callbacks) {
+            callback.surfaceCreated(this);
+        }
+        for (Callback callback : callbacks) {
+            callback.surfaceChanged(this, SURFACE_FORMAT, width, height);
+        }
+    }
+
+    @Override
+    public void onSurfaceTextureSizeChanged(SurfaceTexture surfaceTexture, int width, int height) {
+        this.width = width;
+        this.height = height;
+        for (Callback callback : callbacks) {
+            callback.surfaceChanged(this, SURFACE_FORMAT, width, height);
+        }
+    }
+
+    Surface createSurface(SurfaceTexture surfaceTexture) {
+        return new Surface(surfaceTexture);
+    }
+
+    /**
+     * May be called again for a texture that was already destroyed, e.g. when a hidden
+     * {@link SurfaceReleasingTextureView} is detached.
+     *
+     * @return true, as nothing renders into the texture once the callbacks have been told it is destroyed.
+     */
+    @Override
+    public boolean onSurfaceTextureDestroyed(SurfaceTexture surfaceTexture) {
+        if (surface == null) {
+            return true;
+        }
+        for (Callback callback : callbacks) {
+            callback.surfaceDestroyed(this);
+        }
+        surface.release();
+        surface = null;
+        return true;
+    }
+
+    @Override
+    public void onSurfaceTextureUpdated(SurfaceTexture surfaceTexture) {
+        // do nothing
+    }
+
+    @Override
+    public void addCallback(Callback callback) {
+        callbacks.add(callback);
+    }
+
+    @Override
+    public void removeCallback(Callback callback) {
+        callbacks.remove(callback);
+    }
+
+    @Override
+    public boolean isCreating() {
+        return false;
+    }
+
+    @Override
+    public void setType(int type) {
+        // deprecated and ignored by the framework
+    }
+
+    @Override
+    public void setFixedSize(int width, int height) {
+        // the size follows the layout of the TextureView
+    }
+
+    @Override
+    public void setSizeFromLayout() {
+        // the size always follows the layout of the TextureView
+    }
+
+    @Override
+    public void setFormat(int format) {
+        // the format is decided by the TextureView
+    }
+
+    @Override
+    public void setKeepScreenOn(boolean screenOn) {
+        textureView.setKeepScreenOn(screenOn);
+    }
+
+    @Override
+    public Canvas lockCanvas() {
+        return lockCanvas(null);
+    }
+
+    @Override
+    public Canvas lockCanvas(Rect dirty) {
+        return surface == null ? null : surface.lockCanvas(dirty);
+    }
+
+    @Override
+    public void unlockCanvasAndPost(Canvas canvas) {
+        if (surface != null) {
+            surface.unlockCanvasAndPost(canvas);
+        }
+    }
+
+    @Override
+    public Rect getSurfaceFrame() {
+        return new Rect(0, 0, width, height);
+    }
+
+    @Override
+    public Surface getSurface() {
+        return surface;
+    }
+}
@@ -0,0 +1,214 @@
+package com.novoda.noplayer;
+
+import android.graphics.Bitmap;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+
+import com.novoda.noplayer.internal.preview.ThumbnailCache;
+import com.novoda.noplayer.internal.preview.VideoFrameThumbnailSource;
+import com.novoda.noplayer.model.VideoPosition;
+import com.novoda.utils.NoPlayerLog;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shows where the user is scrubbing to without seeking the {@link NoPlayer}, so that previewing does not
+ * throw away its buffer. Thumbnails are loaded from a {@link ThumbnailSource} on a background thread,
+ * one per interval of the content, kept in a least recently used cache bounded by their size in bytes and
+ * prefetched on both sides of the scrub point.
+ */
+public final class ThumbnailPreview {
+
+    private static final long DEFAULT_INTERVAL_IN_MILLIS = TimeUnit.SECONDS.toMillis(10);
+    private static final int DEFAULT_PREFETCH_WINDOW = 2;
+    private static final int DEFAULT_CACHE_SIZE_IN_BYTES = 8 * 1024 * 1024;
+    private static final int DEFAULT_THUMBNAIL_WIDTH_IN_PIXELS = 320;
+
+    private final ThumbnailSource thumbnailSource;
+    private final ThumbnailCache cache;
+    private final ExecutorService executor;
+    private final Handler callbackHandler;
+    private final long intervalInMillis;
+    private final int prefetchWindow;
+    private final Set<Long> bucketsInFlight = Collections.newSetFromMap(new ConcurrentHashMap<Long, Boolean>());
+
+    private volatile long scrubBucket;
+    private volatile Callback callback = Callback.NULL_IMPL;
+    private volatile boolean released;
+
+    /**
+     * Previews progressive content, e.g. {@link ContentType#H264}, from its closest key frames.
+     *
+     * @param uri link to the content.
+     * @return {@link ThumbnailPreview}
+     */
+    public static ThumbnailPreview newInstance(Uri uri) {
+        return newInstance(uri, DEFAULT_THUMBNAIL_WIDTH_IN_PIXELS);
+    }
+
+    /**
+     * Previews progressive content, e.g. {@link ContentType#H264}, from its closest key frames,
+     * scaled down to the width they are shown at.
+     *
+     * @param uri                    link to the content.
+     * @param thumbnailWidthInPixels the widest the thumbnails need to be.
+     * @return {@link ThumbnailPreview}
+     */
+    public static ThumbnailPreview newInstance(Uri uri, int thumbnailWidthInPixels) {
+        return newInstance(new VideoFrameThumbnailSource(uri, thumbnailWidthInPixels));
+    }
+
+    /**
+     * @param thumbnailSource loads thumbnails, e.g. from tiles published alongside DASH or HLS content.
+     * @return {@link ThumbnailPreview}
+     */
+    public static ThumbnailPreview newInstance(ThumbnailSource thumbnailSource) {
+        return new ThumbnailPreview(
+                thumbnailSource,
+                new ThumbnailCache(DEFAULT_CACHE_SIZE_IN_BYTES),
+                Executors.newSingleThreadExecutor(),
+                new Handler(Looper.getMainLooper()),
+                DEFAULT_INTERVAL_IN_MILLIS,
+                DEFAULT_PREFETCH_WINDOW
+        );
+    }
+
+    ThumbnailPreview(ThumbnailSource thumbnailSource,
+                     ThumbnailCache cache,
+                     ExecutorService executor,
+                     Handler callbackHandler,
+                     long intervalInMillis,
+                     int prefetchWindow) {
+        this.thumbnailSource = thumbnailSource;
+        this.cache = cache;
+        this.executor = executor;
+        this.callbackHandler = callbackHandler;
+        this.intervalInMillis = intervalInMillis;
+        this.prefetchWindow = prefetchWindow;
+    }
+
+    /**
+     * Requests the thumbnail for the position being scrubbed to. Only the latest request is answered,
+     * on the main thread, immediately if the thumbnail is already cached.
+     *
+     * @param position the scrub point.
+     * @param callback receives the thumbnail.
+     */
+    public void requestThumbnail(VideoPosition position, Callback callback) {
+        long bucket = bucketOf(position);
+        this.scrubBucket = bucket;
+        this.callback = callback;
+
+        Bitmap cached = cache.get(bucket);
+        if (cached == null) {
+            load(bucket);
+        } else {
+            callback.onThumbnailLoaded(positionOf(bucket), cached);
+        }
+        for (int distance = 1; distance <= prefetchWindow; distance++) {
+            load(bucket + distance);
+            if (bucket - distance >= 0) {
+                load(bucket - distance);
+            }
+        }
+    }
+
+    private void load(final long bucket) {
+        if (cache.contains(bucket) || !bucketsInFlight.add(bucket)) {
+            return;
+        }
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        loadIfStillInWindow(bucket);
+                    } finally {
+                        bucketsInFlight.remove(bucket);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            bucketsInFlight.remove(bucket);
+        }
+    }
+
+    private void loadIfStillInWindow(long bucket) {
+        if (released || Math.abs(bucket - scrubBucket) > prefetchWindow) {
+            // The user has scrubbed away since this was requested.
+            return;
+        }
+        try {
+            Bitmap thumbnail = thumbnailSource.loadThumbnail(positionOf(bucket));
+            cache.put(bucket, thumbnail);
+            deliver(bucket, thumbnail);
+        } catch (IOException e) {
+            NoPlayerLog.w(e, "Unable to load thumbnail at %s", positionOf(bucket));
+        }
+    }
+
+    private void deliver(final long bucket, final Bitmap thumbnail) {
+        callbackHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                if (bucket == scrubBucket) {
+                    callback.onThumbnailLoaded(positionOf(bucket), thumbnail);
+                }
+            }
+        });
+    }
+
+    private long bucketOf(VideoPosition position) {
+        return Math.max(0, position.inMillis()) / intervalInMillis;
+    }
+
+    private VideoPosition positionOf(long bucket) {
+        return VideoPosition.fromMillis(bucket * intervalInMillis);
+    }
+
+    /**
+     * Stops loading and drops all cached thumbnails. The instance should not be used afterwards.
+     * The {@link ThumbnailSource} is released on the loading thread once any thumbnail in flight has loaded,
+     * so that the caller is not blocked.
+     */
+    public void release() {
+        released = true;
+        callback = Callback.NULL_IMPL;
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    thumbnailSource.release();
+                    cache.evictAll();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            NoPlayerLog.w(e, "ThumbnailPreview already released");
+        }
+        executor.shutdown();
+    }
+
+    public interface Callback {
+
+        /**
+         * @param position  the position the thumbnail was taken at, the start of the interval containing the scrub point.
+         * @param thumbnail the preview image.
+         */
+        void onThumbnailLoaded(VideoPosition position, Bitmap thumbnail);
+
+        Callback NULL_IMPL = new Callback() {
+            @Override
+            public void onThumbnailLoaded(VideoPosition position, Bitmap thumbnail) {
+                // do nothing
+            }
+        };
+    }
+}
@@ -0,0 +1,22 @@
+package com.novoda.noplayer;
+
+import android.graphics.Bitmap;
+
+import com.novoda.noplayer.model.VideoPosition;
+
+import java.io.IOException;
+
+/**
+ * Loads the preview image shown while scrubbing to a position, e.g. from thumbnail tiles published
+ * alongside the content or from the closest key frame of the video.
+ * Called on a background thread by {@link ThumbnailPreview}.
+ */
+public interface ThumbnailSource {
+
+    Bitmap loadThumbnail(VideoPosition position) throws IOException;
+
+    /**
+     * Releases any resources held, no thumbnails are loaded afterwards.
+     */
+    void release();
+}
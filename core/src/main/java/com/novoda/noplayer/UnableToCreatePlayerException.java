@@ -13,6 +13,10 @@ public class UnableToCreatePlayerException extends RuntimeException {
         return new UnableToCreatePlayerException("Unhandled player type: " + playerType.name());
     }
 
+    static UnableToCreatePlayerException decoderBudgetExhausted(int decoderBudget) {
+        return new UnableToCreatePlayerException("All " + decoderBudget + " decoders are in use by players of equal or higher priority");
+    }
+
     public static UnableToCreatePlayerException deviceDoesNotMeetTargetApiException(DrmType drmType,
                                                                                     int targetApiLevel,
                                                                                     AndroidDeviceVersion actualApiLevel) {
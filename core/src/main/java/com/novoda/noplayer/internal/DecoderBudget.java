@@ -0,0 +1,51 @@
+package com.novoda.noplayer.internal;
+
+import android.annotation.TargetApi;
+import android.media.MediaCodecInfo;
+import android.media.MediaCodecList;
+import android.os.Build;
+
+import com.google.android.exoplayer2.util.MimeTypes;
+
+/**
+ * Works out how many video decoders the device can run at the same time.
+ * Devices before Marshmallow do not report it, in which case a conservative guess is used.
+ */
+public final class DecoderBudget {
+
+    private static final int FALLBACK_BUDGET = 2;
+    private static final String SOFTWARE_DECODER_PREFIX = "OMX.google.";
+
+    private DecoderBudget() {
+        // static utility
+    }
+
+    public static int maxConcurrentVideoDecoders() {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.M) {
+            return FALLBACK_BUDGET;
+        }
+        int budget = maxSupportedInstances(MimeTypes.VIDEO_H264);
+        return budget > 0 ? budget : FALLBACK_BUDGET;
+    }
+
+    @TargetApi(Build.VERSION_CODES.M)
+    private static int maxSupportedInstances(String mimeType) {
+        int budget = 0;
+        for (MediaCodecInfo codecInfo : new MediaCodecList(MediaCodecList.REGULAR_CODECS).getCodecInfos()) {
+            if (codecInfo.isEncoder() || codecInfo.getName().startsWith(SOFTWARE_DECODER_PREFIX) || !supports(codecInfo, mimeType)) {
+                continue;
+            }
+            budget = Math.max(budget, codecInfo.getCapabilitiesForType(mimeType).getMaxSupportedInstances());
+        }
+        return budget;
+    }
+
+    private static boolean supports(MediaCodecInfo codecInfo, String mimeType) {
+        for (String supportedType : codecInfo.getSupportedTypes()) {
+            if (supportedType.equalsIgnoreCase(mimeType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,118 @@
+package com.novoda.noplayer.internal;
+
+import android.os.Build;
+
+import com.novoda.noplayer.internal.mediaplayer.AndroidMediaPlayerType;
+import com.novoda.utils.Optional;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Registry of the workarounds that only some devices need, keyed on the device, SDK version
+ * and {@link AndroidMediaPlayerType}, so that every other device does not pay for them.
+ */
+public class DeviceQuirks {
+
+    public enum Quirk {
+        /**
+         * The MediaPlayer natively crashes when seeked before it has been started, e.g. on the Nexus 7 2013.
+         */
+        START_BEFORE_INITIAL_SEEK,
+        /**
+         * A new player cannot reliably connect to a surface that a previous player rendered into,
+         * failing with "native_window_api_connect" errors, so the surface has to be destroyed between videos.
+         */
+        DESTROY_SURFACE_BETWEEN_VIDEOS
+    }
+
+    private static final List<Entry> KNOWN_QUIRKS = Arrays.asList(
+            Entry.forQuirk(Quirk.START_BEFORE_INITIAL_SEEK).onDevices("flo", "deb"),
+            Entry.forQuirk(Quirk.DESTROY_SURFACE_BETWEEN_VIDEOS).onSdks(Entry.ANY_SDK, Build.VERSION_CODES.JELLY_BEAN_MR1)
+    );
+
+    private final String device;
+    private final int sdkInt;
+    private final Optional<AndroidMediaPlayerType> mediaPlayerType;
+    private final List<Entry> entries;
+
+    public static DeviceQuirks newInstance() {
+        return new DeviceQuirks(Build.DEVICE, Build.VERSION.SDK_INT, Optional.<AndroidMediaPlayerType>absent(), KNOWN_QUIRKS);
+    }
+
+    public static DeviceQuirks newInstance(AndroidMediaPlayerType mediaPlayerType) {
+        return new DeviceQuirks(Build.DEVICE, Build.VERSION.SDK_INT, Optional.of(mediaPlayerType), KNOWN_QUIRKS);
+    }
+
+    DeviceQuirks(String device, int sdkInt, Optional<AndroidMediaPlayerType> mediaPlayerType, List<Entry> entries) {
+        this.device = device == null ? "" : device.toLowerCase(Locale.US);
+        this.sdkInt = sdkInt;
+        this.mediaPlayerType = mediaPlayerType;
+        this.entries = entries;
+    }
+
+    public boolean has(Quirk quirk) {
+        for (Entry entry : entries) {
+            if (entry.quirk == quirk && entry.matches(device, sdkInt, mediaPlayerType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static final class Entry {
+
+        private static final int ANY_SDK = -1;
+
+        private final Quirk quirk;
+        private final List<String> devices;
+        private final int minSdk;
+        private final int maxSdk;
+        private final Optional<AndroidMediaPlayerType> mediaPlayerType;
+
+        static Entry forQuirk(Quirk quirk) {
+            return new Entry(quirk, Collections.<String>emptyList(), ANY_SDK, ANY_SDK, Optional.<AndroidMediaPlayerType>absent());
+        }
+
+        private Entry(Quirk quirk, List<String> devices, int minSdk, int maxSdk, Optional<AndroidMediaPlayerType> mediaPlayerType) {
+            this.quirk = quirk;
+            this.devices = devices;
+            this.minSdk = minSdk;
+            this.maxSdk = maxSdk;
+            this.mediaPlayerType = mediaPlayerType;
+        }
+
+        /**
+         * @param devices values of {@link Build#DEVICE}, in lower case.
+         */
+        Entry onDevices(String... devices) {
+            return new Entry(quirk, Arrays.asList(devices), minSdk, maxSdk, mediaPlayerType);
+        }
+
+        Entry onSdks(int minSdk, int maxSdk) {
+            return new Entry(quirk, devices, minSdk, maxSdk, mediaPlayerType);
+        }
+
+        Entry withMediaPlayerType(AndroidMediaPlayerType mediaPlayerType) {
+            return new Entry(quirk, devices, minSdk, maxSdk, Optional.of(mediaPlayerType));
+        }
+
+        boolean matches(String device, int sdkInt, Optional<AndroidMediaPlayerType> mediaPlayerType) {
+            return matchesDevice(device) && matchesSdk(sdkInt) && matchesMediaPlayerType(mediaPlayerType);
+        }
+
+        private boolean matchesDevice(String device) {
+            return devices.isEmpty() || devices.contains(device);
+        }
+
+        private boolean matchesSdk(int sdkInt) {
+            return (minSdk == ANY_SDK || sdkInt >= minSdk) && (maxSdk == ANY_SDK || sdkInt <= maxSdk);
+        }
+
+        private boolean matchesMediaPlayerType(Optional<AndroidMediaPlayerType> mediaPlayerType) {
+            return this.mediaPlayerType.isAbsent() || this.mediaPlayerType.equals(mediaPlayerType);
+        }
+    }
+}
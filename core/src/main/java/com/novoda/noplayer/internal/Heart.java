@@ -3,35 +3,53 @@ package com.novoda.noplayer.internal;
 import android.os.Handler;
 
 import com.novoda.noplayer.NoPlayer;
-
+import com.novoda.noplayer.internal.listeners.HeartbeatCallbacks;
+
+/**
+ * Beats at the pace its callbacks ask for. It speeds up while buffering and just after a seek,
+ * and stops posting altogether while paused or when nobody is listening.
+ * <p>
+ * The heart can be started and stopped from any thread, but beats are only ever scheduled on the handler
+ * and only while beating, so that stopping mid-beat cannot leave a beat behind.
+ */
 public class Heart {
 
     private static final long HEART_BEAT_FREQUENCY_IN_MILLIS = 500;
+    private static final long FAST_HEART_BEAT_FREQUENCY_IN_MILLIS = 100;
+    private static final int FAST_BEATS_AFTER_SEEK = 20;
 
     private final Handler handler;
     private final long heartbeatFrequency;
+    private final long fastHeartbeatFrequency;
 
-    private Heartbeat heartbeatAction;
+    private volatile Heartbeat heartbeatAction;
 
-    private boolean beating;
+    private volatile boolean beating;
+    private volatile boolean buffering;
+    private volatile int fastBeatsRemaining;
 
     public static Heart newInstance(Handler handler) {
-        return new Heart(handler, HEART_BEAT_FREQUENCY_IN_MILLIS);
+        return new Heart(handler, HEART_BEAT_FREQUENCY_IN_MILLIS, FAST_HEART_BEAT_FREQUENCY_IN_MILLIS);
     }
 
-    private Heart(Handler handler, long heartbeatFrequencyInMillis) {
+    Heart(Handler handler, long heartbeatFrequencyInMillis, long fastHeartbeatFrequencyInMillis) {
         this.handler = handler;
         this.heartbeatFrequency = heartbeatFrequencyInMillis;
+        this.fastHeartbeatFrequency = fastHeartbeatFrequencyInMillis;
     }
 
     public void bind(Heartbeat onHeartbeat) {
         this.heartbeatAction = onHeartbeat;
+        onHeartbeat.callbacks.setOnDemandChanged(new Runnable() {
+            @Override
+            public void run() {
+                reschedule();
+            }
+        });
     }
 
     public void startBeatingHeart() {
-        if (heartbeatAction == null) {
-            throw new IllegalStateException("You must call bind() with a valid non-null " + Heartbeat.class.getSimpleName());
-        }
+        assertIsBound();
         stopBeatingHeart();
         beating = true;
         handler.post(heartbeat);
@@ -40,25 +58,89 @@ public class Heart {
     private final Runnable heartbeat = new Runnable() {
         @Override
         public void run() {
-            handler.post(heartbeatAction);
+            if (!beating) {
+                return;
+            }
+            heartbeatAction.run();
+            if (fastBeatsRemaining > 0) {
+                fastBeatsRemaining--;
+            }
             scheduleNextBeat();
         }
     };
 
+    /**
+     * Only called on the handler, replacing any pending beat so that there is a single chain of beats.
+     */
     private void scheduleNextBeat() {
-        handler.postDelayed(heartbeat, heartbeatFrequency);
+        handler.removeCallbacks(heartbeat);
+        if (!beating) {
+            return;
+        }
+        long delay = heartbeatAction.callbacks.nextBeatDelayInMillis(currentFrequency());
+        if (delay == HeartbeatCallbacks.NO_DEMAND) {
+            return;
+        }
+        handler.postDelayed(heartbeat, delay);
+    }
+
+    private long currentFrequency() {
+        return buffering || fastBeatsRemaining > 0 ? fastHeartbeatFrequency : heartbeatFrequency;
+    }
+
+    private void reschedule() {
+        if (beating) {
+            handler.post(rescheduleBeat);
+        }
+    }
+
+    private final Runnable rescheduleBeat = new Runnable() {
+        @Override
+        public void run() {
+            scheduleNextBeat();
+        }
+    };
+
+    /**
+     * Beats faster while buffering so that the end of buffering is noticed sooner.
+     */
+    public void setBuffering(boolean buffering) {
+        if (this.buffering != buffering) {
+            this.buffering = buffering;
+            reschedule();
+        }
+    }
+
+    /**
+     * Beats faster for a short while, as positions change abruptly around a seek.
+     */
+    public void onSeekRequested() {
+        fastBeatsRemaining = FAST_BEATS_AFTER_SEEK;
+        reschedule();
     }
 
     public void stopBeatingHeart() {
         beating = false;
         handler.removeCallbacks(heartbeat);
+        handler.removeCallbacks(rescheduleBeat);
     }
 
     public void forceBeat() {
+        assertIsBound();
+        handler.post(forcedHeartbeat);
+    }
+
+    private final Runnable forcedHeartbeat = new Runnable() {
+        @Override
+        public void run() {
+            heartbeatAction.forceRun();
+        }
+    };
+
+    private void assertIsBound() {
         if (heartbeatAction == null) {
             throw new IllegalStateException("You must call bind() with a valid non-null " + Heartbeat.class.getSimpleName());
         }
-        handler.post(heartbeatAction);
     }
 
     public boolean isBeating() {
@@ -67,17 +149,21 @@ public class Heart {
 
     public static class Heartbeat implements Runnable {
 
-        private final NoPlayer.HeartbeatCallback callback;
+        private final HeartbeatCallbacks callbacks;
         private final NoPlayer player;
 
-        public Heartbeat(NoPlayer.HeartbeatCallback callback, NoPlayer player) {
-            this.callback = callback;
+        public Heartbeat(HeartbeatCallbacks callbacks, NoPlayer player) {
+            this.callbacks = callbacks;
             this.player = player;
         }
 
         @Override
         public void run() {
-            callback.onBeat(player);
+            callbacks.onBeat(player);
+        }
+
+        void forceRun() {
+            callbacks.onForcedBeat(player);
         }
     }
 }
@@ -0,0 +1,32 @@
+package com.novoda.noplayer.internal;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Process;
+
+/**
+ * A single background thread, shared by every {@link com.novoda.noplayer.NoPlayer} in the process,
+ * on which media source, DRM and timeout events are processed instead of the main looper.
+ */
+public final class PlaybackThread {
+
+    private static final String THREAD_NAME = "NoPlayer-Playback";
+    private static final Object LOCK = new Object();
+
+    private static Handler handler;
+
+    private PlaybackThread() {
+        // static utility
+    }
+
+    public static Handler obtainHandler() {
+        synchronized (LOCK) {
+            if (handler == null) {
+                HandlerThread thread = new HandlerThread(THREAD_NAME, Process.THREAD_PRIORITY_DISPLAY);
+                thread.start();
+                handler = new Handler(thread.getLooper());
+            }
+            return handler;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.novoda.noplayer.internal;
+
+import com.novoda.noplayer.PlayerEvent;
+import com.novoda.noplayer.internal.listeners.InfoListeners;
+import com.novoda.noplayer.model.VideoPosition;
+
+/**
+ * Sits in front of the seek of the underlying player. While a seek is being processed, further seeks are
+ * coalesced to the latest position, so dragging a seek bar does not throw away the buffer and restart loading
+ * for every intermediate position. Once the player is ready at the final position, a
+ * {@link PlayerEvent.Type#SEEK_COMPLETED} event reports the time since the first seek of the burst.
+ */
+public class SeekCoordinator {
+
+    private static final long NOT_SEEKING = -1;
+
+    private final Clock clock;
+    private final Seeker seeker;
+    private final InfoListeners infoListeners;
+
+    private VideoPosition targetPosition = VideoPosition.INVALID;
+    private VideoPosition pendingPosition = VideoPosition.INVALID;
+    private boolean seekInFlight;
+    private long seekRequestedAt = NOT_SEEKING;
+
+    public static SeekCoordinator newInstance(Seeker seeker, InfoListeners infoListeners) {
+        return new SeekCoordinator(new SystemClock(), seeker, infoListeners);
+    }
+
+    public SeekCoordinator(Clock clock, Seeker seeker, InfoListeners infoListeners) {
+        this.clock = clock;
+        this.seeker = seeker;
+        this.infoListeners = infoListeners;
+    }
+
+    public void seekTo(VideoPosition position) throws IllegalStateException {
+        if (seekInFlight) {
+            pendingPosition = position;
+        } else {
+            issue(position);
+        }
+        targetPosition = position;
+        if (seekRequestedAt == NOT_SEEKING) {
+            seekRequestedAt = clock.getCurrentTime();
+            infoListeners.notifyPlayerEvent(PlayerEvent.Type.SEEK_REQUESTED);
+        }
+    }
+
+    /**
+     * Marks the seek as in flight before handing it over, as some players report back synchronously.
+     */
+    private void issue(VideoPosition position) throws IllegalStateException {
+        seekInFlight = true;
+        pendingPosition = VideoPosition.INVALID;
+        seeker.seekTo(position);
+    }
+
+    /**
+     * To be called when the underlying player reports that it has processed the last seek it was given,
+     * for players that do so separately from becoming ready.
+     *
+     * @return true if a coalesced seek has been issued in its place.
+     */
+    public boolean onSeekProcessed() {
+        if (!seekInFlight) {
+            return false;
+        }
+        seekInFlight = false;
+        if (pendingPosition.isValid()) {
+            issue(pendingPosition);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * To be called when the underlying player is ready to play. The first time after a seek, this issues
+     * the coalesced seek if there is one, or otherwise completes the seek.
+     */
+    public void onReady() {
+        if (seekRequestedAt == NOT_SEEKING) {
+            return;
+        }
+        seekInFlight = false;
+        if (pendingPosition.isValid()) {
+            issue(pendingPosition);
+            return;
+        }
+        long latencyInMillis = clock.getCurrentTime() - seekRequestedAt;
+        reset();
+        if (infoListeners.hasPlayerEventListeners()) {
+            infoListeners.onPlayerEvent(PlayerEvent.obtain(PlayerEvent.Type.SEEK_COMPLETED).withDurationMs(latencyInMillis));
+        }
+    }
+
+    public boolean isSeeking() {
+        return seekRequestedAt != NOT_SEEKING;
+    }
+
+    /**
+     * @return the latest position requested, or {@link VideoPosition#INVALID} when not seeking.
+     */
+    public VideoPosition targetPosition() {
+        return targetPosition;
+    }
+
+    public void reset() {
+        targetPosition = VideoPosition.INVALID;
+        pendingPosition = VideoPosition.INVALID;
+        seekInFlight = false;
+        seekRequestedAt = NOT_SEEKING;
+    }
+
+    public interface Seeker {
+
+        void seekTo(VideoPosition position) throws IllegalStateException;
+    }
+}
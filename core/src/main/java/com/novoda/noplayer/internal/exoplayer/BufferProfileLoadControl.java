@@ -0,0 +1,80 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.DefaultLoadControl;
+import com.google.android.exoplayer2.LoadControl;
+import com.google.android.exoplayer2.Renderer;
+import com.google.android.exoplayer2.source.TrackGroupArray;
+import com.google.android.exoplayer2.trackselection.TrackSelectionArray;
+import com.google.android.exoplayer2.upstream.Allocator;
+import com.google.android.exoplayer2.upstream.DefaultAllocator;
+import com.novoda.noplayer.model.BufferProfile;
+
+/**
+ * Applies a {@link BufferProfile} on top of the {@link DefaultLoadControl}, additionally stopping loading
+ * once the allocator holds the profile's target buffer size.
+ * Playback is allowed to start once the target is reached, otherwise a small target could stall playback forever.
+ */
+class BufferProfileLoadControl implements LoadControl {
+
+    private final DefaultAllocator allocator;
+    private final LoadControl loadControl;
+    private final BufferProfile bufferProfile;
+
+    static LoadControl newInstance(BufferProfile bufferProfile) {
+        DefaultAllocator allocator = new DefaultAllocator(true, C.DEFAULT_BUFFER_SEGMENT_SIZE);
+        DefaultLoadControl loadControl = new DefaultLoadControl(
+                allocator,
+                bufferProfile.minBufferMillis(),
+                bufferProfile.maxBufferMillis(),
+                bufferProfile.bufferForPlaybackMillis(),
+                bufferProfile.bufferForPlaybackAfterRebufferMillis()
+        );
+        return new BufferProfileLoadControl(allocator, loadControl, bufferProfile);
+    }
+
+    BufferProfileLoadControl(DefaultAllocator allocator, LoadControl loadControl, BufferProfile bufferProfile) {
+        this.allocator = allocator;
+        this.loadControl = loadControl;
+        this.bufferProfile = bufferProfile;
+    }
+
+    @Override
+    public void onPrepared() {
+        loadControl.onPrepared();
+    }
+
+    @Override
+    public void onTracksSelected(Renderer[] renderers, TrackGroupArray trackGroups, TrackSelectionArray trackSelections) {
+        loadControl.onTracksSelected(renderers, trackGroups, trackSelections);
+    }
+
+    @Override
+    public void onStopped() {
+        loadControl.onStopped();
+    }
+
+    @Override
+    public void onReleased() {
+        loadControl.onReleased();
+    }
+
+    @Override
+    public Allocator getAllocator() {
+        return allocator;
+    }
+
+    @Override
+    public boolean shouldStartPlayback(long bufferedDurationUs, boolean rebuffering) {
+        return loadControl.shouldStartPlayback(bufferedDurationUs, rebuffering) || isTargetBufferSizeReached();
+    }
+
+    @Override
+    public boolean shouldContinueLoading(long bufferedDurationUs) {
+        return loadControl.shouldContinueLoading(bufferedDurationUs) && !isTargetBufferSizeReached();
+    }
+
+    private boolean isTargetBufferSizeReached() {
+        return bufferProfile.hasTargetBufferSize() && allocator.getTotalBytesAllocated() >= bufferProfile.targetBufferSizeInBytes();
+    }
+}
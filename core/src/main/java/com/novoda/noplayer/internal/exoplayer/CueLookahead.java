@@ -0,0 +1,42 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import com.google.android.exoplayer2.text.Cue;
+import com.novoda.noplayer.model.NoPlayerCue;
+import com.novoda.noplayer.model.TextCues;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Holds cues mapped ahead of their display time on the playback thread, so that when the
+ * {@link com.google.android.exoplayer2.text.TextRenderer} outputs them on the UI thread they only need to be looked up.
+ * Cues are held weakly and disappear along with the subtitles that own them.
+ */
+class CueLookahead {
+
+    private final Map<Cue, NoPlayerCue> preparedCues = Collections.synchronizedMap(new WeakHashMap<Cue, NoPlayerCue>());
+
+    void prepare(List<Cue> cues) {
+        for (Cue cue : cues) {
+            if (!preparedCues.containsKey(cue)) {
+                preparedCues.put(cue, ExoPlayerCueMapper.map(cue));
+            }
+        }
+    }
+
+    TextCues obtain(List<Cue> cues) {
+        if (cues == null) {
+            return TextCues.of(Collections.<NoPlayerCue>emptyList());
+        }
+
+        List<NoPlayerCue> noPlayerCues = new ArrayList<>(cues.size());
+        for (Cue cue : cues) {
+            NoPlayerCue noPlayerCue = preparedCues.get(cue);
+            noPlayerCues.add(noPlayerCue == null ? ExoPlayerCueMapper.map(cue) : noPlayerCue);
+        }
+        return TextCues.of(noPlayerCues);
+    }
+}
@@ -3,8 +3,8 @@ package com.novoda.noplayer.internal.exoplayer;
 import android.content.Context;
 import android.support.annotation.NonNull;
 
-import com.google.android.exoplayer2.DefaultLoadControl;
 import com.google.android.exoplayer2.ExoPlayerFactory;
+import com.google.android.exoplayer2.LoadControl;
 import com.google.android.exoplayer2.RenderersFactory;
 import com.google.android.exoplayer2.SimpleExoPlayer;
 import com.google.android.exoplayer2.drm.DefaultDrmSessionManager;
@@ -13,6 +13,7 @@ import com.google.android.exoplayer2.drm.FrameworkMediaCrypto;
 import com.google.android.exoplayer2.mediacodec.MediaCodecSelector;
 import com.google.android.exoplayer2.trackselection.DefaultTrackSelector;
 import com.novoda.noplayer.internal.exoplayer.drm.DrmSessionCreator;
+import com.novoda.noplayer.model.BufferProfile;
 
 import static com.novoda.noplayer.internal.exoplayer.SimpleRenderersFactory.EXTENSION_RENDERER_MODE_OFF;
 
@@ -22,10 +23,14 @@ class ExoPlayerCreator {
 
     private final Context context;
     private final DefaultTrackSelector trackSelector;
+    private final BufferProfile bufferProfile;
+    private final CueLookahead cueLookahead;
 
-    ExoPlayerCreator(Context context, DefaultTrackSelector trackSelector) {
+    ExoPlayerCreator(Context context, DefaultTrackSelector trackSelector, BufferProfile bufferProfile, CueLookahead cueLookahead) {
         this.context = context;
         this.trackSelector = trackSelector;
+        this.bufferProfile = bufferProfile;
+        this.cueLookahead = cueLookahead;
     }
 
     @NonNull
@@ -36,10 +41,15 @@ class ExoPlayerCreator {
                 drmSessionManager,
                 EXTENSION_RENDERER_MODE_OFF,
                 DEFAULT_ALLOWED_VIDEO_JOINING_TIME_MS,
-                mediaCodecSelector
+                mediaCodecSelector,
+                cueLookahead
         );
 
-        DefaultLoadControl loadControl = new DefaultLoadControl();
+        LoadControl loadControl = BufferProfileLoadControl.newInstance(bufferProfile);
         return ExoPlayerFactory.newSimpleInstance(renderersFactory, trackSelector, loadControl);
     }
+
+    void resetTrackSelection() {
+        trackSelector.clearSelectionOverrides();
+    }
 }
@@ -8,7 +8,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
-final class ExoPlayerCueMapper {
+public final class ExoPlayerCueMapper {
 
     private ExoPlayerCueMapper() {
         // static class.
@@ -22,22 +22,25 @@ final class ExoPlayerCueMapper {
         List<NoPlayerCue> noPlayerCues = new ArrayList<>(cues.size());
 
         for (Cue cue : cues) {
-            NoPlayerCue noPlayerCue = new NoPlayerCue(
-                    cue.text,
-                    cue.textAlignment,
-                    cue.bitmap,
-                    cue.line,
-                    cue.lineType,
-                    cue.lineAnchor,
-                    cue.position,
-                    cue.positionAnchor,
-                    cue.size,
-                    cue.bitmapHeight,
-                    cue.windowColorSet,
-                    cue.windowColor
-            );
-            noPlayerCues.add(noPlayerCue);
+            noPlayerCues.add(map(cue));
         }
         return TextCues.of(noPlayerCues);
     }
+
+    public static NoPlayerCue map(Cue cue) {
+        return new NoPlayerCue(
+                cue.text,
+                cue.textAlignment,
+                cue.bitmap,
+                cue.line,
+                cue.lineType,
+                cue.lineAnchor,
+                cue.position,
+                cue.positionAnchor,
+                cue.size,
+                cue.bitmapHeight,
+                cue.windowColorSet,
+                cue.windowColor
+        );
+    }
 }
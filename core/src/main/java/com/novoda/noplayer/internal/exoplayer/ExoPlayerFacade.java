@@ -4,16 +4,21 @@ import android.net.Uri;
 import android.support.annotation.Nullable;
 import android.view.SurfaceHolder;
 
+import com.google.android.exoplayer2.C;
 import com.google.android.exoplayer2.SimpleExoPlayer;
+import com.google.android.exoplayer2.Timeline;
 import com.google.android.exoplayer2.mediacodec.MediaCodecSelector;
+import com.google.android.exoplayer2.source.DynamicConcatenatingMediaSource;
 import com.google.android.exoplayer2.source.MediaSource;
 import com.novoda.noplayer.ContentType;
+import com.novoda.noplayer.internal.SeekCoordinator;
 import com.novoda.noplayer.internal.exoplayer.drm.DrmSessionCreator;
 import com.novoda.noplayer.internal.exoplayer.forwarder.ExoPlayerForwarder;
 import com.novoda.noplayer.internal.exoplayer.mediasource.ExoPlayerAudioTrackSelector;
 import com.novoda.noplayer.internal.exoplayer.mediasource.ExoPlayerSubtitleTrackSelector;
 import com.novoda.noplayer.internal.exoplayer.mediasource.MediaSourceFactory;
 import com.novoda.noplayer.model.AudioTracks;
+import com.novoda.noplayer.model.MediaItem;
 import com.novoda.noplayer.model.PlayerAudioTrack;
 import com.novoda.noplayer.model.PlayerSubtitleTrack;
 import com.novoda.noplayer.model.VideoDuration;
@@ -21,7 +26,7 @@ import com.novoda.noplayer.model.VideoPosition;
 
 import java.util.List;
 
-class ExoPlayerFacade {
+class ExoPlayerFacade implements SeekCoordinator.Seeker {
 
     private static final boolean RESET_POSITION = true;
     private static final boolean DO_NOT_RESET_STATE = false;
@@ -29,23 +34,27 @@ class ExoPlayerFacade {
     private final MediaSourceFactory mediaSourceFactory;
     private final ExoPlayerAudioTrackSelector audioTrackSelector;
     private final ExoPlayerSubtitleTrackSelector subtitleTrackSelector;
-    private final ExoPlayerCreator exoPlayerCreator;
+    private final ExoPlayerPool exoPlayerPool;
     private final RendererTypeRequesterCreator rendererTypeRequesterCreator;
 
     @Nullable
     private SimpleExoPlayer exoPlayer;
     @Nullable
     private RendererTypeRequester rendererTypeRequester;
+    @Nullable
+    private ExoPlayerForwarder forwarder;
+    @Nullable
+    private DynamicConcatenatingMediaSource playlist;
 
     ExoPlayerFacade(MediaSourceFactory mediaSourceFactory,
                     ExoPlayerAudioTrackSelector audioTrackSelector,
                     ExoPlayerSubtitleTrackSelector subtitleTrackSelector,
-                    ExoPlayerCreator exoPlayerCreator,
+                    ExoPlayerPool exoPlayerPool,
                     RendererTypeRequesterCreator rendererTypeRequesterCreator) {
         this.mediaSourceFactory = mediaSourceFactory;
         this.audioTrackSelector = audioTrackSelector;
         this.subtitleTrackSelector = subtitleTrackSelector;
-        this.exoPlayerCreator = exoPlayerCreator;
+        this.exoPlayerPool = exoPlayerPool;
         this.rendererTypeRequesterCreator = rendererTypeRequesterCreator;
     }
 
@@ -83,28 +92,46 @@ class ExoPlayerFacade {
         exoPlayer.setPlayWhenReady(false);
     }
 
-    void seekTo(VideoPosition position) throws IllegalStateException {
+    @Override
+    public void seekTo(VideoPosition position) throws IllegalStateException {
         assertVideoLoaded();
         exoPlayer.seekTo(position.inMillis());
     }
 
     void release() {
+        playlist = null;
         if (exoPlayer != null) {
-            exoPlayer.release();
+            detachFromForwarder();
+            exoPlayerPool.recycle(exoPlayer);
             exoPlayer = null;
         }
     }
 
+    private void detachFromForwarder() {
+        if (forwarder != null) {
+            exoPlayer.removeListener(forwarder.exoPlayerEventListener());
+            forwarder = null;
+        }
+        exoPlayer.setVideoDebugListener(null);
+        exoPlayer.setTextOutput(null);
+        exoPlayer.setVideoSurfaceHolder(null);
+    }
+
+    void prewarm(DrmSessionCreator drmSessionCreator, ExoPlayerForwarder forwarder, MediaCodecSelector mediaCodecSelector) {
+        exoPlayerPool.prewarm(drmSessionCreator, forwarder.drmSessionEventListener(), mediaCodecSelector);
+    }
+
+    void releasePooledPlayers() {
+        exoPlayerPool.releaseIdlePlayers();
+    }
+
     void loadVideo(SurfaceHolder surfaceHolder,
                    DrmSessionCreator drmSessionCreator,
                    Uri uri,
                    ContentType contentType,
                    ExoPlayerForwarder forwarder,
                    MediaCodecSelector mediaCodecSelector) {
-        exoPlayer = exoPlayerCreator.create(drmSessionCreator, forwarder.drmSessionEventListener(), mediaCodecSelector);
-        rendererTypeRequester = rendererTypeRequesterCreator.createfrom(exoPlayer);
-        exoPlayer.addListener(forwarder.exoPlayerEventListener());
-        exoPlayer.setVideoDebugListener(forwarder.videoRendererEventListener());
+        acquirePlayer(drmSessionCreator, forwarder, mediaCodecSelector);
         MediaSource mediaSource = mediaSourceFactory.create(
                 contentType,
                 uri,
@@ -115,6 +142,51 @@ class ExoPlayerFacade {
         exoPlayer.prepare(mediaSource, RESET_POSITION, DO_NOT_RESET_STATE);
     }
 
+    void loadPlaylist(SurfaceHolder surfaceHolder,
+                      DrmSessionCreator drmSessionCreator,
+                      List<MediaItem> mediaItems,
+                      ExoPlayerForwarder forwarder,
+                      MediaCodecSelector mediaCodecSelector) {
+        acquirePlayer(drmSessionCreator, forwarder, mediaCodecSelector);
+        playlist = mediaSourceFactory.createPlaylist(
+                mediaItems,
+                forwarder.extractorMediaSourceListener(),
+                forwarder.mediaSourceEventListener()
+        );
+        attachToSurface(surfaceHolder);
+        exoPlayer.prepare(playlist, RESET_POSITION, DO_NOT_RESET_STATE);
+    }
+
+    private void acquirePlayer(DrmSessionCreator drmSessionCreator, ExoPlayerForwarder forwarder, MediaCodecSelector mediaCodecSelector) {
+        exoPlayer = exoPlayerPool.acquire(drmSessionCreator, forwarder.drmSessionEventListener(), mediaCodecSelector);
+        this.forwarder = forwarder;
+        rendererTypeRequester = rendererTypeRequesterCreator.createfrom(exoPlayer);
+        exoPlayer.addListener(forwarder.exoPlayerEventListener());
+        exoPlayer.setVideoDebugListener(forwarder.videoRendererEventListener());
+    }
+
+    void enqueue(MediaItem mediaItem) throws IllegalStateException {
+        assertPlaylistLoaded();
+        playlist.addMediaSource(mediaSourceFactory.create(
+                mediaItem.contentType(),
+                mediaItem.uri(),
+                forwarder.extractorMediaSourceListener(),
+                forwarder.mediaSourceEventListener()
+        ));
+    }
+
+    void skipToNext() throws IllegalStateException {
+        assertPlaylistLoaded();
+        Timeline timeline = exoPlayer.getCurrentTimeline();
+        if (timeline.isEmpty()) {
+            return;
+        }
+        int nextWindowIndex = timeline.getNextWindowIndex(exoPlayer.getCurrentWindowIndex(), exoPlayer.getRepeatMode());
+        if (nextWindowIndex != C.INDEX_UNSET) {
+            exoPlayer.seekToDefaultPosition(nextWindowIndex);
+        }
+    }
+
     private void attachToSurface(SurfaceHolder surfaceHolder) {
         exoPlayer.setVideoSurfaceHolder(surfaceHolder);
     }
@@ -158,6 +230,13 @@ class ExoPlayerFacade {
         subtitleTrackSelector.clearSubtitleTrack(rendererTypeRequester);
     }
 
+    private void assertPlaylistLoaded() {
+        assertVideoLoaded();
+        if (playlist == null) {
+            throw new IllegalStateException("A playlist must be loaded before trying to change it");
+        }
+    }
+
     private void assertVideoLoaded() {
         if (exoPlayer == null) {
             throw new IllegalStateException("Video must be loaded before trying to interact with the player");
@@ -0,0 +1,137 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import com.google.android.exoplayer2.SimpleExoPlayer;
+import com.google.android.exoplayer2.drm.DefaultDrmSessionManager;
+import com.google.android.exoplayer2.mediacodec.MediaCodecSelector;
+import com.novoda.noplayer.internal.exoplayer.drm.DrmSessionCreator;
+import com.novoda.noplayer.internal.listeners.InfoListeners;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps idle {@link SimpleExoPlayer} instances around so that loading new content does not pay
+ * for building renderers, load control and DRM session managers every time.
+ * <p>
+ * Every player created by the pool shares the {@link com.google.android.exoplayer2.trackselection.DefaultTrackSelector}
+ * owned by the {@link ExoPlayerCreator}, so at most one player is ever leased or warmed at any given time.
+ */
+class ExoPlayerPool {
+
+    private static final int MAX_IDLE_PLAYERS = 1;
+    private static final float FULL_VOLUME = 1f;
+
+    private final ExoPlayerCreator exoPlayerCreator;
+    private final InfoListeners infoListeners;
+    private final List<PooledPlayer> idlePlayers = new ArrayList<>(MAX_IDLE_PLAYERS);
+    private final Map<SimpleExoPlayer, PooledPlayer> leasedPlayers = new HashMap<>();
+
+    ExoPlayerPool(ExoPlayerCreator exoPlayerCreator, InfoListeners infoListeners) {
+        this.exoPlayerCreator = exoPlayerCreator;
+        this.infoListeners = infoListeners;
+    }
+
+    void prewarm(DrmSessionCreator drmSessionCreator,
+                 DefaultDrmSessionManager.EventListener drmSessionEventListener,
+                 MediaCodecSelector mediaCodecSelector) {
+        if (!idlePlayers.isEmpty() || !leasedPlayers.isEmpty()) {
+            return;
+        }
+        SimpleExoPlayer exoPlayer = exoPlayerCreator.create(drmSessionCreator, drmSessionEventListener, mediaCodecSelector);
+        idlePlayers.add(new PooledPlayer(exoPlayer, drmSessionCreator, drmSessionEventListener, mediaCodecSelector));
+    }
+
+    SimpleExoPlayer acquire(DrmSessionCreator drmSessionCreator,
+                            DefaultDrmSessionManager.EventListener drmSessionEventListener,
+                            MediaCodecSelector mediaCodecSelector) {
+        PooledPlayer pooledPlayer = removeIdlePlayerMatching(drmSessionCreator, drmSessionEventListener, mediaCodecSelector);
+        if (pooledPlayer == null) {
+            releaseIdlePlayers();
+            SimpleExoPlayer exoPlayer = exoPlayerCreator.create(drmSessionCreator, drmSessionEventListener, mediaCodecSelector);
+            pooledPlayer = new PooledPlayer(exoPlayer, drmSessionCreator, drmSessionEventListener, mediaCodecSelector);
+            notifyPoolAccess("onPlayerPoolMiss");
+        } else {
+            notifyPoolAccess("onPlayerPoolHit");
+        }
+        leasedPlayers.put(pooledPlayer.exoPlayer, pooledPlayer);
+        return pooledPlayer.exoPlayer;
+    }
+
+    private PooledPlayer removeIdlePlayerMatching(DrmSessionCreator drmSessionCreator,
+                                                  DefaultDrmSessionManager.EventListener drmSessionEventListener,
+                                                  MediaCodecSelector mediaCodecSelector) {
+        Iterator<PooledPlayer> iterator = idlePlayers.iterator();
+        while (iterator.hasNext()) {
+            PooledPlayer pooledPlayer = iterator.next();
+            if (pooledPlayer.matches(drmSessionCreator, drmSessionEventListener, mediaCodecSelector)) {
+                iterator.remove();
+                return pooledPlayer;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns a leased player to the pool in the state a freshly created one would be in, so the next
+     * content does not start playing, or keep the tracks of the previous content, before the client asks.
+     */
+    void recycle(SimpleExoPlayer exoPlayer) {
+        PooledPlayer pooledPlayer = leasedPlayers.remove(exoPlayer);
+        if (pooledPlayer == null || idlePlayers.size() >= MAX_IDLE_PLAYERS) {
+            exoPlayer.release();
+            return;
+        }
+        exoPlayer.setPlayWhenReady(false);
+        exoPlayer.stop();
+        exoPlayer.setVolume(FULL_VOLUME);
+        exoPlayerCreator.resetTrackSelection();
+        idlePlayers.add(pooledPlayer);
+    }
+
+    void releaseIdlePlayers() {
+        for (PooledPlayer idlePlayer : idlePlayers) {
+            idlePlayer.exoPlayer.release();
+        }
+        idlePlayers.clear();
+    }
+
+    private void notifyPoolAccess(String callingMethod) {
+        if (infoListeners.hasInfoListeners()) {
+            Map<String, String> callingMethodParameters = new HashMap<>();
+
+            callingMethodParameters.put("idlePlayers", String.valueOf(idlePlayers.size()));
+            callingMethodParameters.put("leasedPlayers", String.valueOf(leasedPlayers.size()));
+
+            infoListeners.onNewInfo(callingMethod, callingMethodParameters);
+        }
+    }
+
+    private static class PooledPlayer {
+
+        private final SimpleExoPlayer exoPlayer;
+        private final DrmSessionCreator drmSessionCreator;
+        private final DefaultDrmSessionManager.EventListener drmSessionEventListener;
+        private final MediaCodecSelector mediaCodecSelector;
+
+        PooledPlayer(SimpleExoPlayer exoPlayer,
+                     DrmSessionCreator drmSessionCreator,
+                     DefaultDrmSessionManager.EventListener drmSessionEventListener,
+                     MediaCodecSelector mediaCodecSelector) {
+            this.exoPlayer = exoPlayer;
+            this.drmSessionCreator = drmSessionCreator;
+            this.drmSessionEventListener = drmSessionEventListener;
+            this.mediaCodecSelector = mediaCodecSelector;
+        }
+
+        boolean matches(DrmSessionCreator drmSessionCreator,
+                        DefaultDrmSessionManager.EventListener drmSessionEventListener,
+                        MediaCodecSelector mediaCodecSelector) {
+            return this.drmSessionCreator == drmSessionCreator
+                    && this.drmSessionEventListener == drmSessionEventListener
+                    && this.mediaCodecSelector == mediaCodecSelector;
+        }
+    }
+}
@@ -8,22 +8,30 @@ import android.view.View;
 import com.google.android.exoplayer2.mediacodec.MediaCodecSelector;
 import com.novoda.noplayer.ContentType;
 import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.PlayerEvent;
 import com.novoda.noplayer.PlayerInformation;
 import com.novoda.noplayer.PlayerState;
 import com.novoda.noplayer.PlayerView;
 import com.novoda.noplayer.SurfaceHolderRequester;
+import com.novoda.noplayer.internal.DeviceQuirks;
 import com.novoda.noplayer.internal.Heart;
+import com.novoda.noplayer.internal.SeekCoordinator;
 import com.novoda.noplayer.internal.exoplayer.drm.DrmSessionCreator;
 import com.novoda.noplayer.internal.exoplayer.forwarder.ExoPlayerForwarder;
+import com.novoda.noplayer.internal.exoplayer.mediasource.MediaPreloader;
 import com.novoda.noplayer.internal.listeners.PlayerListenersHolder;
+import com.novoda.noplayer.internal.subtitles.SidecarSubtitles;
 import com.novoda.noplayer.model.AudioTracks;
 import com.novoda.noplayer.model.LoadTimeout;
+import com.novoda.noplayer.model.MediaItem;
 import com.novoda.noplayer.model.PlayerAudioTrack;
 import com.novoda.noplayer.model.PlayerSubtitleTrack;
+import com.novoda.noplayer.model.SidecarSubtitle;
 import com.novoda.noplayer.model.Timeout;
 import com.novoda.noplayer.model.VideoDuration;
 import com.novoda.noplayer.model.VideoPosition;
 
+import java.util.ArrayList;
 import java.util.List;
 
 class ExoPlayerTwoImpl implements NoPlayer {
@@ -35,6 +43,11 @@ class ExoPlayerTwoImpl implements NoPlayer {
     private final DrmSessionCreator drmSessionCreator;
     private final MediaCodecSelector mediaCodecSelector;
     private final LoadTimeout loadTimeout;
+    private final MediaPreloader mediaPreloader;
+    private final DeviceQuirks deviceQuirks;
+    private final SeekCoordinator seekCoordinator;
+    private final CueLookahead cueLookahead;
+    private final SidecarSubtitles sidecarSubtitles;
 
     @Nullable
     private PlayerView playerView;
@@ -51,7 +64,12 @@ class ExoPlayerTwoImpl implements NoPlayer {
                      LoadTimeout loadTimeoutParam,
                      Heart heart,
                      DrmSessionCreator drmSessionCreator,
-                     MediaCodecSelector mediaCodecSelector) {
+                     MediaCodecSelector mediaCodecSelector,
+                     MediaPreloader mediaPreloader,
+                     DeviceQuirks deviceQuirks,
+                     SeekCoordinator seekCoordinator,
+                     CueLookahead cueLookahead,
+                     SidecarSubtitles sidecarSubtitles) {
         this.exoPlayer = exoPlayer;
         this.listenersHolder = listenersHolder;
         this.loadTimeout = loadTimeoutParam;
@@ -59,6 +77,11 @@ class ExoPlayerTwoImpl implements NoPlayer {
         this.heart = heart;
         this.drmSessionCreator = drmSessionCreator;
         this.mediaCodecSelector = mediaCodecSelector;
+        this.mediaPreloader = mediaPreloader;
+        this.deviceQuirks = deviceQuirks;
+        this.seekCoordinator = seekCoordinator;
+        this.cueLookahead = cueLookahead;
+        this.sidecarSubtitles = sidecarSubtitles;
     }
 
     void initialise() {
@@ -70,12 +93,25 @@ class ExoPlayerTwoImpl implements NoPlayer {
         forwarder.bind(listenersHolder.getVideoSizeChangedListeners());
         forwarder.bind(listenersHolder.getBitrateChangedListeners());
         forwarder.bind(listenersHolder.getInfoListeners());
+        forwarder.bind(seekCoordinator);
+        exoPlayer.prewarm(drmSessionCreator, forwarder, mediaCodecSelector);
         listenersHolder.addPreparedListener(new PreparedListener() {
             @Override
             public void onPrepared(PlayerState playerState) {
                 loadTimeout.cancel();
             }
         });
+        listenersHolder.addBufferStateListener(new BufferStateListener() {
+            @Override
+            public void onBufferStarted() {
+                heart.setBuffering(true);
+            }
+
+            @Override
+            public void onBufferCompleted() {
+                heart.setBuffering(false);
+            }
+        });
         listenersHolder.addErrorListener(new ErrorListener() {
             @Override
             public void onError(PlayerError error) {
@@ -125,6 +161,7 @@ class ExoPlayerTwoImpl implements NoPlayer {
     public void play() throws IllegalStateException {
         heart.startBeatingHeart();
         exoPlayer.play();
+        sidecarSubtitles.refresh();
         listenersHolder.getStateChangedListeners().onVideoPlaying();
     }
 
@@ -137,6 +174,7 @@ class ExoPlayerTwoImpl implements NoPlayer {
     @Override
     public void pause() throws IllegalStateException {
         exoPlayer.pause();
+        sidecarSubtitles.refresh();
         listenersHolder.getStateChangedListeners().onVideoPaused();
         if (heart.isBeating()) {
             heart.stopBeatingHeart();
@@ -146,7 +184,9 @@ class ExoPlayerTwoImpl implements NoPlayer {
 
     @Override
     public void seekTo(VideoPosition position) throws IllegalStateException {
-        exoPlayer.seekTo(position);
+        heart.onSeekRequested();
+        seekCoordinator.seekTo(position);
+        sidecarSubtitles.refresh();
     }
 
     @Override
@@ -158,6 +198,9 @@ class ExoPlayerTwoImpl implements NoPlayer {
     @Override
     public void release() {
         stop();
+        exoPlayer.releasePooledPlayers();
+        mediaPreloader.release();
+        sidecarSubtitles.release();
         listenersHolder.clear();
     }
 
@@ -165,8 +208,12 @@ class ExoPlayerTwoImpl implements NoPlayer {
         listenersHolder.resetPreparedState();
         loadTimeout.cancel();
         heart.stopBeatingHeart();
+        seekCoordinator.reset();
+        sidecarSubtitles.clear();
         exoPlayer.release();
-        destroySurfaceByHidingVideoContainer();
+        if (deviceQuirks.has(DeviceQuirks.Quirk.DESTROY_SURFACE_BETWEEN_VIDEOS)) {
+            destroySurfaceByHidingVideoContainer();
+        }
     }
 
     private void destroySurfaceByHidingVideoContainer() {
@@ -177,22 +224,53 @@ class ExoPlayerTwoImpl implements NoPlayer {
 
     @Override
     public void loadVideo(final Uri uri, final ContentType contentType) {
-        if (exoPlayer.hasPlayedContent()) {
-            stop();
-        }
-        surfaceHolderRequester.removeCallback(onSurfaceReadyCallback);
-        onSurfaceReadyCallback = new SurfaceHolderRequester.Callback() {
+        load(new SurfaceHolderRequester.Callback() {
             @Override
             public void onSurfaceHolderReady(SurfaceHolder surfaceHolder) {
                 exoPlayer.loadVideo(surfaceHolder, drmSessionCreator, uri, contentType, forwarder, mediaCodecSelector);
             }
-        };
+        });
+    }
+
+    @Override
+    public void loadVideo(Uri uri, ContentType contentType, List<SidecarSubtitle> sidecarSubtitles) {
+        loadVideo(uri, contentType);
+        this.sidecarSubtitles.load(sidecarSubtitles);
+    }
+
+    @Override
+    public void loadPlaylist(final List<MediaItem> mediaItems) {
+        load(new SurfaceHolderRequester.Callback() {
+            @Override
+            public void onSurfaceHolderReady(SurfaceHolder surfaceHolder) {
+                exoPlayer.loadPlaylist(surfaceHolder, drmSessionCreator, mediaItems, forwarder, mediaCodecSelector);
+            }
+        });
+    }
+
+    private void load(SurfaceHolderRequester.Callback loadOnSurfaceReady) {
+        if (exoPlayer.hasPlayedContent()) {
+            stop();
+        }
+        listenersHolder.getInfoListeners().notifyPlayerEvent(PlayerEvent.Type.VIDEO_LOAD_REQUESTED);
+        surfaceHolderRequester.removeCallback(onSurfaceReadyCallback);
+        onSurfaceReadyCallback = loadOnSurfaceReady;
 
         assertPlayerViewIsAttached();
         createSurfaceByShowingVideoContainer();
         surfaceHolderRequester.requestSurfaceHolder(onSurfaceReadyCallback);
     }
 
+    @Override
+    public void enqueue(MediaItem mediaItem) throws IllegalStateException {
+        exoPlayer.enqueue(mediaItem);
+    }
+
+    @Override
+    public void skipToNext() throws IllegalStateException {
+        exoPlayer.skipToNext();
+    }
+
     private void assertPlayerViewIsAttached() {
         if (playerView == null) {
             throw new IllegalStateException("A PlayerView must be attached in order to loadVideo");
@@ -203,6 +281,11 @@ class ExoPlayerTwoImpl implements NoPlayer {
         playerView.getContainerView().setVisibility(View.VISIBLE);
     }
 
+    @Override
+    public void preload(Uri uri, ContentType contentType) {
+        mediaPreloader.preload(uri, contentType);
+    }
+
     @Override
     public void loadVideoWithTimeout(Uri uri, ContentType contentType, Timeout timeout, LoadTimeoutCallback loadTimeoutCallback) {
         loadTimeout.start(timeout, loadTimeoutCallback);
@@ -227,6 +310,7 @@ class ExoPlayerTwoImpl implements NoPlayer {
         listenersHolder.removeStateChangedListener(playerView.getStateChangedListener());
         listenersHolder.removeVideoSizeChangedListener(playerView.getVideoSizeChangedListener());
         exoPlayer.removeSubtitleRendererOutput();
+        sidecarSubtitles.hide();
         surfaceHolderRequester.removeCallback(onSurfaceReadyCallback);
         surfaceHolderRequester = null;
         this.playerView = null;
@@ -239,18 +323,31 @@ class ExoPlayerTwoImpl implements NoPlayer {
 
     @Override
     public boolean showSubtitleTrack(PlayerSubtitleTrack subtitleTrack) throws IllegalStateException {
+        if (sidecarSubtitles.isSidecarTrack(subtitleTrack)) {
+            return showSidecarSubtitleTrack(subtitleTrack);
+        }
+        sidecarSubtitles.hide();
         setSubtitleRendererOutput();
         playerView.showSubtitles();
         return exoPlayer.selectSubtitleTrack(subtitleTrack);
     }
 
+    private boolean showSidecarSubtitleTrack(PlayerSubtitleTrack subtitleTrack) {
+        exoPlayer.clearSubtitleTrack();
+        exoPlayer.removeSubtitleRendererOutput();
+        playerView.showSubtitles();
+        sidecarSubtitles.show(subtitleTrack, playerView, this);
+        return true;
+    }
+
     private void setSubtitleRendererOutput() throws IllegalStateException {
-        TextRendererOutput textRendererOutput = new TextRendererOutput(playerView);
+        TextRendererOutput textRendererOutput = new TextRendererOutput(playerView, cueLookahead);
         exoPlayer.setSubtitleRendererOutput(textRendererOutput);
     }
 
     @Override
     public void hideSubtitleTrack() throws IllegalStateException {
+        sidecarSubtitles.hide();
         exoPlayer.clearSubtitleTrack();
         playerView.hideSubtitles();
         exoPlayer.removeSubtitleRendererOutput();
@@ -263,7 +360,9 @@ class ExoPlayerTwoImpl implements NoPlayer {
 
     @Override
     public List<PlayerSubtitleTrack> getSubtitleTracks() throws IllegalStateException {
-        return exoPlayer.getSubtitleTracks();
+        List<PlayerSubtitleTrack> subtitleTracks = new ArrayList<>(exoPlayer.getSubtitleTracks());
+        subtitleTracks.addAll(sidecarSubtitles.getSubtitleTracks());
+        return subtitleTracks;
     }
 
     @Override
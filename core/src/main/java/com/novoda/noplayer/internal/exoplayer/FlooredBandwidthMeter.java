@@ -0,0 +1,27 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import com.google.android.exoplayer2.upstream.BandwidthMeter;
+
+/**
+ * Keeps the estimate handed to the adaptive track selection from falling below the bitrate it needs
+ * to select the minimum video quality, so that quality never drops under that bound.
+ */
+class FlooredBandwidthMeter implements BandwidthMeter {
+
+    private final BandwidthMeter bandwidthMeter;
+    private final long minBitrateEstimate;
+
+    FlooredBandwidthMeter(BandwidthMeter bandwidthMeter, long minBitrateEstimate) {
+        this.bandwidthMeter = bandwidthMeter;
+        this.minBitrateEstimate = minBitrateEstimate;
+    }
+
+    @Override
+    public long getBitrateEstimate() {
+        long bitrateEstimate = bandwidthMeter.getBitrateEstimate();
+        if (bitrateEstimate == NO_ESTIMATE) {
+            return NO_ESTIMATE;
+        }
+        return Math.max(bitrateEstimate, minBitrateEstimate);
+    }
+}
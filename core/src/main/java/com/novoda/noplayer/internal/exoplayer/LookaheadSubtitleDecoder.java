@@ -0,0 +1,90 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import com.google.android.exoplayer2.text.SubtitleDecoder;
+import com.google.android.exoplayer2.text.SubtitleDecoderException;
+import com.google.android.exoplayer2.text.SubtitleInputBuffer;
+import com.google.android.exoplayer2.text.SubtitleOutputBuffer;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Decodes subtitles as usual, then, as playback advances, maps the cues of the decoded subtitles that become
+ * active within the next {@link #LOOKAHEAD_WINDOW_US} into the {@link CueLookahead}.
+ * Runs on the ExoPlayer playback thread, like the {@link com.google.android.exoplayer2.text.TextRenderer} driving it.
+ */
+class LookaheadSubtitleDecoder implements SubtitleDecoder {
+
+    private static final long LOOKAHEAD_WINDOW_US = 10000000;
+
+    private final List<LookaheadSubtitleOutputBuffer> pendingSubtitles = new ArrayList<>();
+    private final SubtitleDecoder decoder;
+    private final CueLookahead cueLookahead;
+
+    private long positionUs;
+
+    LookaheadSubtitleDecoder(SubtitleDecoder decoder, CueLookahead cueLookahead) {
+        this.decoder = decoder;
+        this.cueLookahead = cueLookahead;
+    }
+
+    @Override
+    public String getName() {
+        return decoder.getName();
+    }
+
+    @Override
+    public void setPositionUs(long positionUs) {
+        this.positionUs = positionUs;
+        decoder.setPositionUs(positionUs);
+        prepareUpcomingCues();
+    }
+
+    @Override
+    public SubtitleInputBuffer dequeueInputBuffer() throws SubtitleDecoderException {
+        return decoder.dequeueInputBuffer();
+    }
+
+    @Override
+    public void queueInputBuffer(SubtitleInputBuffer inputBuffer) throws SubtitleDecoderException {
+        decoder.queueInputBuffer(inputBuffer);
+    }
+
+    @Override
+    public SubtitleOutputBuffer dequeueOutputBuffer() throws SubtitleDecoderException {
+        SubtitleOutputBuffer outputBuffer = decoder.dequeueOutputBuffer();
+        if (outputBuffer == null || outputBuffer.isEndOfStream()) {
+            return outputBuffer;
+        }
+        LookaheadSubtitleOutputBuffer subtitle = new LookaheadSubtitleOutputBuffer(outputBuffer);
+        pendingSubtitles.add(subtitle);
+        prepareUpcomingCues();
+        return subtitle;
+    }
+
+    private void prepareUpcomingCues() {
+        long lookaheadLimitUs = positionUs + LOOKAHEAD_WINDOW_US;
+        Iterator<LookaheadSubtitleOutputBuffer> iterator = pendingSubtitles.iterator();
+        while (iterator.hasNext()) {
+            LookaheadSubtitleOutputBuffer subtitle = iterator.next();
+            if (subtitle.isReleased()) {
+                iterator.remove();
+            } else {
+                subtitle.prepareCues(positionUs, lookaheadLimitUs, cueLookahead);
+            }
+        }
+    }
+
+    @Override
+    public void flush() {
+        pendingSubtitles.clear();
+        decoder.flush();
+    }
+
+    @Override
+    public void release() {
+        pendingSubtitles.clear();
+        decoder.release();
+    }
+}
@@ -0,0 +1,42 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import com.google.android.exoplayer2.Format;
+import com.google.android.exoplayer2.text.SubtitleDecoder;
+import com.google.android.exoplayer2.text.SubtitleDecoderFactory;
+import com.google.android.exoplayer2.util.MimeTypes;
+
+class LookaheadSubtitleDecoderFactory implements SubtitleDecoderFactory {
+
+    private final SubtitleDecoderFactory decoderFactory;
+    private final CueLookahead cueLookahead;
+
+    LookaheadSubtitleDecoderFactory(SubtitleDecoderFactory decoderFactory, CueLookahead cueLookahead) {
+        this.decoderFactory = decoderFactory;
+        this.cueLookahead = cueLookahead;
+    }
+
+    @Override
+    public boolean supportsFormat(Format format) {
+        return decoderFactory.supportsFormat(format);
+    }
+
+    @Override
+    public SubtitleDecoder createDecoder(Format format) {
+        SubtitleDecoder decoder = decoderFactory.createDecoder(format);
+        if (returnsStableCues(format)) {
+            return new LookaheadSubtitleDecoder(decoder, cueLookahead);
+        }
+        return decoder;
+    }
+
+    /**
+     * The {@link CueLookahead} is keyed on cue instances. TTML and WebVTT subtitles can build new cues each time
+     * they are asked for them, so cues prepared ahead would never be looked up.
+     */
+    private static boolean returnsStableCues(Format format) {
+        String mimeType = format.sampleMimeType;
+        return !MimeTypes.APPLICATION_TTML.equals(mimeType)
+                && !MimeTypes.TEXT_VTT.equals(mimeType)
+                && !MimeTypes.APPLICATION_MP4VTT.equals(mimeType);
+    }
+}
@@ -0,0 +1,59 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.text.SubtitleOutputBuffer;
+
+/**
+ * Wraps a decoded subtitle to know when the {@link com.google.android.exoplayer2.text.TextRenderer} is done with it,
+ * and how far ahead its cues have already been prepared.
+ */
+class LookaheadSubtitleOutputBuffer extends SubtitleOutputBuffer {
+
+    private static final long NOTHING_PREPARED = Long.MIN_VALUE;
+    private static final long NO_SUBSAMPLE_OFFSET = 0;
+
+    private final SubtitleOutputBuffer outputBuffer;
+
+    private long preparedUntilUs = NOTHING_PREPARED;
+    private boolean released;
+
+    LookaheadSubtitleOutputBuffer(SubtitleOutputBuffer outputBuffer) {
+        this.outputBuffer = outputBuffer;
+        setContent(outputBuffer.timeUs, outputBuffer, NO_SUBSAMPLE_OFFSET);
+        skippedOutputBufferCount = outputBuffer.skippedOutputBufferCount;
+    }
+
+    void prepareCues(long positionUs, long lookaheadLimitUs, CueLookahead cueLookahead) {
+        int index = firstUnpreparedEventIndex(positionUs);
+        int eventTimeCount = getEventTimeCount();
+        while (index != C.INDEX_UNSET && index < eventTimeCount) {
+            long eventTimeUs = getEventTime(index);
+            if (eventTimeUs > lookaheadLimitUs) {
+                return;
+            }
+            cueLookahead.prepare(getCues(eventTimeUs));
+            preparedUntilUs = eventTimeUs;
+            index++;
+        }
+    }
+
+    private int firstUnpreparedEventIndex(long positionUs) {
+        if (preparedUntilUs != NOTHING_PREPARED) {
+            return getNextEventTimeIndex(preparedUntilUs);
+        }
+        int nextEventIndex = getNextEventTimeIndex(positionUs);
+        int activeEventIndex = (nextEventIndex == C.INDEX_UNSET ? getEventTimeCount() : nextEventIndex) - 1;
+        return Math.max(0, activeEventIndex);
+    }
+
+    boolean isReleased() {
+        return released;
+    }
+
+    @Override
+    public void release() {
+        released = true;
+        clear();
+        outputBuffer.release();
+    }
+}
@@ -4,27 +4,57 @@ import android.content.Context;
 import android.os.Handler;
 
 import com.google.android.exoplayer2.mediacodec.MediaCodecSelector;
+import com.google.android.exoplayer2.trackselection.AdaptiveTrackSelection;
 import com.google.android.exoplayer2.trackselection.DefaultTrackSelector;
 import com.google.android.exoplayer2.trackselection.FixedTrackSelection;
+import com.google.android.exoplayer2.trackselection.TrackSelection;
+import com.google.android.exoplayer2.upstream.BandwidthMeter;
+import com.google.android.exoplayer2.upstream.DataSource;
+import com.google.android.exoplayer2.upstream.DefaultBandwidthMeter;
 import com.google.android.exoplayer2.upstream.DefaultDataSourceFactory;
+import com.google.android.exoplayer2.upstream.TransferListener;
+import com.google.android.exoplayer2.upstream.cache.Cache;
+import com.novoda.noplayer.internal.DeviceQuirks;
 import com.novoda.noplayer.internal.Heart;
+import com.novoda.noplayer.internal.SeekCoordinator;
 import com.novoda.noplayer.NoPlayer;
 import com.novoda.noplayer.internal.listeners.PlayerListenersHolder;
+import com.novoda.noplayer.internal.subtitles.SidecarSubtitles;
 import com.novoda.noplayer.internal.SystemClock;
+import com.novoda.noplayer.internal.exoplayer.bandwidth.BandwidthEstimateStore;
+import com.novoda.noplayer.internal.exoplayer.bandwidth.BandwidthSampleTransferListener;
 import com.novoda.noplayer.internal.exoplayer.drm.DrmSessionCreator;
 import com.novoda.noplayer.internal.exoplayer.forwarder.ExoPlayerForwarder;
 import com.novoda.noplayer.internal.exoplayer.mediasource.ExoPlayerAudioTrackSelector;
 import com.novoda.noplayer.internal.exoplayer.mediasource.ExoPlayerSubtitleTrackSelector;
 import com.novoda.noplayer.internal.exoplayer.mediasource.ExoPlayerTrackSelector;
+import com.novoda.noplayer.internal.exoplayer.mediasource.MediaPreloader;
 import com.novoda.noplayer.internal.exoplayer.mediasource.MediaSourceFactory;
+import com.novoda.noplayer.internal.exoplayer.mediasource.PreloadCache;
+import com.novoda.noplayer.internal.exoplayer.mediasource.PreloadingDataSourceFactory;
+import com.novoda.noplayer.internal.exoplayer.mediasource.SegmentCache;
+import com.novoda.noplayer.internal.exoplayer.mediasource.SegmentCacheDataSourceFactory;
+import com.novoda.noplayer.model.AdaptiveBitrate;
+import com.novoda.noplayer.model.BufferProfile;
 import com.novoda.noplayer.model.LoadTimeout;
+import com.novoda.utils.Optional;
 
 public class NoPlayerExoPlayerCreator {
 
+    public static final long NO_SEGMENT_CACHE = 0;
+
     private final InternalCreator internalCreator;
 
-    public static NoPlayerExoPlayerCreator newInstance(Handler handler) {
-        InternalCreator internalCreator = new InternalCreator(handler);
+    /**
+     * @param uiHandler    delivers the events that touch views, and heartbeats as they read the player.
+     * @param eventHandler processes media source, DRM and timeout events, may be the same as the uiHandler.
+     */
+    public static NoPlayerExoPlayerCreator newInstance(Handler uiHandler,
+                                                       Handler eventHandler,
+                                                       long segmentCacheSizeInBytes,
+                                                       BufferProfile bufferProfile,
+                                                       Optional<AdaptiveBitrate> adaptiveBitrate) {
+        InternalCreator internalCreator = new InternalCreator(uiHandler, eventHandler, segmentCacheSizeInBytes, bufferProfile, adaptiveBitrate);
         return new NoPlayerExoPlayerCreator(internalCreator);
     }
 
@@ -40,42 +70,82 @@ public class NoPlayerExoPlayerCreator {
 
     static class InternalCreator {
 
-        private final Handler handler;
+        private static final long PRELOAD_CACHE_SIZE_IN_BYTES = 16 * 1024 * 1024;
+        private static final String USER_AGENT = "user-agent";
 
-        InternalCreator(Handler handler) {
+        private final Handler uiHandler;
+        private final Handler handler;
+        private final long segmentCacheSizeInBytes;
+        private final BufferProfile bufferProfile;
+        private final Optional<AdaptiveBitrate> adaptiveBitrate;
+
+        InternalCreator(Handler uiHandler,
+                        Handler handler,
+                        long segmentCacheSizeInBytes,
+                        BufferProfile bufferProfile,
+                        Optional<AdaptiveBitrate> adaptiveBitrate) {
+            this.uiHandler = uiHandler;
             this.handler = handler;
+            this.segmentCacheSizeInBytes = segmentCacheSizeInBytes;
+            this.bufferProfile = bufferProfile;
+            this.adaptiveBitrate = adaptiveBitrate;
         }
 
         ExoPlayerTwoImpl create(Context context, DrmSessionCreator drmSessionCreator, boolean downgradeSecureDecoder) {
-            DefaultDataSourceFactory defaultDataSourceFactory = new DefaultDataSourceFactory(context, "user-agent");
-            MediaSourceFactory mediaSourceFactory = new MediaSourceFactory(defaultDataSourceFactory, handler);
-
-            DefaultTrackSelector trackSelector = new DefaultTrackSelector();
+            ExoPlayerForwarder exoPlayerForwarder = new ExoPlayerForwarder(uiHandler);
+            DefaultBandwidthMeter bandwidthMeter = new DefaultBandwidthMeter();
+            BandwidthEstimateStore bandwidthEstimateStore = BandwidthEstimateStore.newInstance(context);
+            TransferListener<Object> upstreamTransferListener = BandwidthSampleTransferListener.newInstance(bandwidthMeter, bandwidthEstimateStore);
+            DataSource.Factory upstreamDataSourceFactory = createUpstreamDataSourceFactory(context, exoPlayerForwarder, upstreamTransferListener);
+            PreloadCache preloadCache = new PreloadCache(PRELOAD_CACHE_SIZE_IN_BYTES);
+            PreloadingDataSourceFactory preloadingDataSourceFactory = new PreloadingDataSourceFactory(preloadCache, upstreamDataSourceFactory);
+            MediaSourceFactory mediaSourceFactory = new MediaSourceFactory(preloadingDataSourceFactory, handler);
+            long initialVideoBitrate = initialVideoBitrate(bandwidthEstimateStore);
+            MediaPreloader mediaPreloader = MediaPreloader.newInstance(upstreamDataSourceFactory, preloadCache, initialVideoBitrate);
 
             MediaCodecSelector mediaCodecSelector = downgradeSecureDecoder ? SecurityDowngradingCodecSelector.newInstance() : MediaCodecSelector.DEFAULT;
 
-            ExoPlayerTrackSelector exoPlayerTrackSelector = ExoPlayerTrackSelector.newInstance(trackSelector);
-            FixedTrackSelection.Factory trackSelectionFactory = new FixedTrackSelection.Factory();
-            ExoPlayerAudioTrackSelector exoPlayerAudioTrackSelector = new ExoPlayerAudioTrackSelector(exoPlayerTrackSelector, trackSelectionFactory);
+            DefaultTrackSelector trackSelector;
+            ExoPlayerAudioTrackSelector exoPlayerAudioTrackSelector;
+            ExoPlayerTrackSelector exoPlayerTrackSelector;
+            FixedTrackSelection.Factory fixedTrackSelectionFactory = new FixedTrackSelection.Factory();
+            if (adaptiveBitrate.isPresent()) {
+                TrackSelection.Factory adaptiveTrackSelectionFactory = createAdaptiveTrackSelectionFactory(
+                        adaptiveBitrate.get(),
+                        bandwidthMeter,
+                        (int) initialVideoBitrate
+                );
+                trackSelector = new DefaultTrackSelector(adaptiveTrackSelectionFactory);
+                int maxVideoBitrate = (int) adaptiveBitrate.get().maxVideoBitrate().asBitsPerSecond();
+                trackSelector.setParameters(trackSelector.getParameters().withMaxVideoBitrate(maxVideoBitrate));
+                exoPlayerTrackSelector = ExoPlayerTrackSelector.newInstance(trackSelector);
+                exoPlayerAudioTrackSelector = ExoPlayerAudioTrackSelector.newAdaptiveInstance(exoPlayerTrackSelector, adaptiveTrackSelectionFactory);
+            } else {
+                trackSelector = new DefaultTrackSelector();
+                exoPlayerTrackSelector = ExoPlayerTrackSelector.newInstance(trackSelector);
+                exoPlayerAudioTrackSelector = new ExoPlayerAudioTrackSelector(exoPlayerTrackSelector, fixedTrackSelectionFactory);
+            }
             ExoPlayerSubtitleTrackSelector exoPlayerSubtitleTrackSelector = new ExoPlayerSubtitleTrackSelector(
                     exoPlayerTrackSelector,
-                    trackSelectionFactory
+                    fixedTrackSelectionFactory
             );
 
-            ExoPlayerCreator exoPlayerCreator = new ExoPlayerCreator(context, trackSelector);
+            PlayerListenersHolder listenersHolder = new PlayerListenersHolder();
+            CueLookahead cueLookahead = new CueLookahead();
+            ExoPlayerCreator exoPlayerCreator = new ExoPlayerCreator(context, trackSelector, bufferProfile, cueLookahead);
+            ExoPlayerPool exoPlayerPool = new ExoPlayerPool(exoPlayerCreator, listenersHolder.getInfoListeners());
             RendererTypeRequesterCreator rendererTypeRequesterCreator = new RendererTypeRequesterCreator();
             ExoPlayerFacade exoPlayerFacade = new ExoPlayerFacade(
                     mediaSourceFactory,
                     exoPlayerAudioTrackSelector,
                     exoPlayerSubtitleTrackSelector,
-                    exoPlayerCreator,
+                    exoPlayerPool,
                     rendererTypeRequesterCreator
             );
 
-            PlayerListenersHolder listenersHolder = new PlayerListenersHolder();
-            ExoPlayerForwarder exoPlayerForwarder = new ExoPlayerForwarder();
             LoadTimeout loadTimeout = new LoadTimeout(new SystemClock(), handler);
-            Heart heart = Heart.newInstance(handler);
+            Heart heart = createHeart();
+            SeekCoordinator seekCoordinator = SeekCoordinator.newInstance(exoPlayerFacade, listenersHolder.getInfoListeners());
 
             return new ExoPlayerTwoImpl(
                     exoPlayerFacade,
@@ -84,7 +154,70 @@ public class NoPlayerExoPlayerCreator {
                     loadTimeout,
                     heart,
                     drmSessionCreator,
-                    mediaCodecSelector
+                    mediaCodecSelector,
+                    mediaPreloader,
+                    DeviceQuirks.newInstance(),
+                    seekCoordinator,
+                    cueLookahead,
+                    SidecarSubtitles.newInstance(context, uiHandler)
+            );
+        }
+
+        /**
+         * Heartbeat callbacks read the playhead, which is only safe on the thread that releases the player.
+         */
+        Heart createHeart() {
+            return Heart.newInstance(uiHandler);
+        }
+
+        /**
+         * Seeds the initial bitrate from the throughput measured on the current network type in previous sessions,
+         * falling back to the configured estimate.
+         */
+        private long initialVideoBitrate(BandwidthEstimateStore bandwidthEstimateStore) {
+            if (adaptiveBitrate.isAbsent()) {
+                return Long.MAX_VALUE;
+            }
+            AdaptiveBitrate adaptiveBitrate = this.adaptiveBitrate.get();
+
+            long initialBitrateEstimate = adaptiveBitrate.initialBitrateEstimate().asBitsPerSecond();
+            Optional<Long> storedEstimate = bandwidthEstimateStore.estimateForCurrentNetwork();
+            if (storedEstimate.isPresent()) {
+                initialBitrateEstimate = (long) (storedEstimate.get() * AdaptiveTrackSelection.DEFAULT_BANDWIDTH_FRACTION);
+            }
+            long minVideoBitrate = adaptiveBitrate.minVideoBitrate().asBitsPerSecond();
+            long maxVideoBitrate = adaptiveBitrate.maxVideoBitrate().asBitsPerSecond();
+            return Math.min(Math.max(initialBitrateEstimate, minVideoBitrate), maxVideoBitrate);
+        }
+
+        private static TrackSelection.Factory createAdaptiveTrackSelectionFactory(AdaptiveBitrate adaptiveBitrate,
+                                                                                  BandwidthMeter bandwidthMeter,
+                                                                                  int initialVideoBitrate) {
+            long minBitrateEstimate = (long) (adaptiveBitrate.minVideoBitrate().asBitsPerSecond() / AdaptiveTrackSelection.DEFAULT_BANDWIDTH_FRACTION);
+            return new AdaptiveTrackSelection.Factory(
+                    new FlooredBandwidthMeter(bandwidthMeter, minBitrateEstimate),
+                    initialVideoBitrate,
+                    (int) adaptiveBitrate.minDurationForQualityIncreaseMillis(),
+                    (int) adaptiveBitrate.maxDurationForQualityDecreaseMillis(),
+                    AdaptiveTrackSelection.DEFAULT_MIN_DURATION_TO_RETAIN_AFTER_DISCARD_MS,
+                    AdaptiveTrackSelection.DEFAULT_BANDWIDTH_FRACTION
+            );
+        }
+
+        private DataSource.Factory createUpstreamDataSourceFactory(Context context,
+                                                                   ExoPlayerForwarder exoPlayerForwarder,
+                                                                   TransferListener<Object> upstreamTransferListener) {
+            if (segmentCacheSizeInBytes == NO_SEGMENT_CACHE) {
+                return new DefaultDataSourceFactory(context, USER_AGENT, upstreamTransferListener);
+            }
+            Cache segmentCache = SegmentCache.obtain(context, segmentCacheSizeInBytes);
+            return SegmentCacheDataSourceFactory.newInstance(
+                    context,
+                    USER_AGENT,
+                    segmentCache,
+                    handler,
+                    exoPlayerForwarder.segmentCacheListener(),
+                    upstreamTransferListener
             );
         }
     }
@@ -31,6 +31,7 @@ import com.google.android.exoplayer2.drm.DrmSessionManager;
 import com.google.android.exoplayer2.drm.FrameworkMediaCrypto;
 import com.google.android.exoplayer2.mediacodec.MediaCodecSelector;
 import com.google.android.exoplayer2.metadata.MetadataRenderer;
+import com.google.android.exoplayer2.text.SubtitleDecoderFactory;
 import com.google.android.exoplayer2.text.TextRenderer;
 import com.google.android.exoplayer2.trackselection.TrackSelector;
 import com.google.android.exoplayer2.video.MediaCodecVideoRenderer;
@@ -86,6 +87,7 @@ class SimpleRenderersFactory implements RenderersFactory {
     int extensionRendererMode;
     private final long allowedVideoJoiningTimeMs;
     private final MediaCodecSelector mediaCodecSelector;
+    private final CueLookahead cueLookahead;
 
     /**
      * @param context                   A {@link Context}.
@@ -97,17 +99,20 @@ class SimpleRenderersFactory implements RenderersFactory {
      * @param allowedVideoJoiningTimeMs The maximum duration for which video renderers can attempt
      *                                  to seamlessly join an ongoing playback.
      * @param mediaCodecSelector        Used for selecting the codec for the video renderer.
+     * @param cueLookahead              Receives the cues of decoded subtitles ahead of their display time.
      */
     public SimpleRenderersFactory(Context context,
                                   DrmSessionManager<FrameworkMediaCrypto> drmSessionManager,
                                   @ExtensionRendererMode int extensionRendererMode,
                                   long allowedVideoJoiningTimeMs,
-                                  MediaCodecSelector mediaCodecSelector) {
+                                  MediaCodecSelector mediaCodecSelector,
+                                  CueLookahead cueLookahead) {
         this.context = context;
         this.drmSessionManager = drmSessionManager;
         this.extensionRendererMode = extensionRendererMode;
         this.allowedVideoJoiningTimeMs = allowedVideoJoiningTimeMs;
         this.mediaCodecSelector = mediaCodecSelector;
+        this.cueLookahead = cueLookahead;
     }
 
     @Override
@@ -261,7 +266,7 @@ class SimpleRenderersFactory implements RenderersFactory {
     protected void buildTextRenderers(Context context, TextRenderer.Output output,
                                       Looper outputLooper, @ExtensionRendererMode int extensionRendererMode,
                                       ArrayList<Renderer> out) {
-        out.add(new TextRenderer(output, outputLooper));
+        out.add(new TextRenderer(output, outputLooper, new LookaheadSubtitleDecoderFactory(SubtitleDecoderFactory.DEFAULT, cueLookahead)));
     }
 
     /**
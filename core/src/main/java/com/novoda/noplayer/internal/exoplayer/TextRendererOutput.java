@@ -10,16 +10,18 @@ import java.util.List;
 class TextRendererOutput {
 
     private final PlayerView playerView;
+    private final CueLookahead cueLookahead;
 
-    TextRendererOutput(PlayerView playerView) {
+    TextRendererOutput(PlayerView playerView, CueLookahead cueLookahead) {
         this.playerView = playerView;
+        this.cueLookahead = cueLookahead;
     }
 
     TextRenderer.Output output() {
         return new TextRenderer.Output() {
             @Override
             public void onCues(List<Cue> cues) {
-                TextCues textCues = ExoPlayerCueMapper.map(cues);
+                TextCues textCues = cueLookahead.obtain(cues);
                 playerView.setSubtitleCue(textCues);
             }
         };
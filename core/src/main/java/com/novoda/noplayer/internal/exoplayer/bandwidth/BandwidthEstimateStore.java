@@ -0,0 +1,94 @@
+package com.novoda.noplayer.internal.exoplayer.bandwidth;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import com.novoda.noplayer.internal.Clock;
+import com.novoda.noplayer.internal.SystemClock;
+import com.novoda.utils.Optional;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers the throughput measured while loading media, per network type, so that new players can
+ * start on a bitrate that suits the network instead of ramping up from a conservative guess.
+ * Estimates are kept in memory and written to disk at most once every {@link #MIN_PERSIST_INTERVAL_IN_MILLIS}.
+ */
+public class BandwidthEstimateStore {
+
+    private static final String PREFERENCES_NAME = "noplayer-bandwidth-estimates";
+    private static final String KEY_PREFIX = "bandwidth_estimate_";
+    private static final long NO_ESTIMATE = -1;
+    private static final int BITS_PER_BYTE = 8;
+    private static final long MILLIS_PER_SECOND = TimeUnit.SECONDS.toMillis(1);
+    private static final long MIN_SAMPLE_SIZE_IN_BYTES = 16 * 1024;
+    private static final float NEW_SAMPLE_WEIGHT = 0.3f;
+    private static final long MIN_PERSIST_INTERVAL_IN_MILLIS = TimeUnit.SECONDS.toMillis(30);
+    private static final long NEVER_PERSISTED = -1;
+
+    private final SharedPreferences sharedPreferences;
+    private final NetworkTypeProvider networkTypeProvider;
+    private final Clock clock;
+    private final Map<String, Long> estimates = new HashMap<>();
+
+    private long lastPersistedAtMillis = NEVER_PERSISTED;
+
+    public static BandwidthEstimateStore newInstance(Context context) {
+        SharedPreferences sharedPreferences = context.getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE);
+        return new BandwidthEstimateStore(sharedPreferences, NetworkTypeProvider.newInstance(context), new SystemClock());
+    }
+
+    BandwidthEstimateStore(SharedPreferences sharedPreferences, NetworkTypeProvider networkTypeProvider, Clock clock) {
+        this.sharedPreferences = sharedPreferences;
+        this.networkTypeProvider = networkTypeProvider;
+        this.clock = clock;
+    }
+
+    public synchronized Optional<Long> estimateForCurrentNetwork() {
+        long estimate = estimateFor(currentKey());
+        return estimate == NO_ESTIMATE ? Optional.<Long>absent() : Optional.of(estimate);
+    }
+
+    private long estimateFor(String key) {
+        Long estimate = estimates.get(key);
+        return estimate == null ? sharedPreferences.getLong(key, NO_ESTIMATE) : estimate;
+    }
+
+    /**
+     * Samples are blended into the stored estimate with an exponential moving average.
+     * Called from loader threads, hence synchronized.
+     * Small loads, such as manifests and initialisation segments, are too short to measure throughput and are ignored.
+     */
+    public synchronized void addSample(long bytesLoaded, long loadDurationMs) {
+        if (bytesLoaded < MIN_SAMPLE_SIZE_IN_BYTES || loadDurationMs <= 0) {
+            return;
+        }
+        long sampleBitsPerSecond = bytesLoaded * BITS_PER_BYTE * MILLIS_PER_SECOND / loadDurationMs;
+        String key = currentKey();
+        long previousEstimate = estimateFor(key);
+        long estimate = previousEstimate == NO_ESTIMATE
+                ? sampleBitsPerSecond
+                : (long) (previousEstimate * (1 - NEW_SAMPLE_WEIGHT) + sampleBitsPerSecond * NEW_SAMPLE_WEIGHT);
+        estimates.put(key, estimate);
+
+        long nowMillis = clock.getCurrentTime();
+        if (lastPersistedAtMillis == NEVER_PERSISTED || nowMillis - lastPersistedAtMillis >= MIN_PERSIST_INTERVAL_IN_MILLIS) {
+            persist();
+            lastPersistedAtMillis = nowMillis;
+        }
+    }
+
+    private void persist() {
+        SharedPreferences.Editor editor = sharedPreferences.edit();
+        for (Map.Entry<String, Long> estimate : estimates.entrySet()) {
+            editor.putLong(estimate.getKey(), estimate.getValue());
+        }
+        editor.apply();
+    }
+
+    private String currentKey() {
+        return KEY_PREFIX + networkTypeProvider.currentNetworkType();
+    }
+}
@@ -0,0 +1,74 @@
+package com.novoda.noplayer.internal.exoplayer.bandwidth;
+
+import com.google.android.exoplayer2.upstream.DataSpec;
+import com.google.android.exoplayer2.upstream.TransferListener;
+import com.novoda.noplayer.internal.Clock;
+import com.novoda.noplayer.internal.SystemClock;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Samples the throughput of network transfers into the {@link BandwidthEstimateStore}, passing every
+ * transfer on to the given {@link TransferListener}. Attached to the upstream sources only, so that
+ * loads served from the preload or segment caches never count as throughput.
+ */
+public class BandwidthSampleTransferListener implements TransferListener<Object> {
+
+    private final TransferListener<Object> transferListener;
+    private final BandwidthEstimateStore bandwidthEstimateStore;
+    private final Clock clock;
+    private final Map<Object, Transfer> transfers = new HashMap<>();
+
+    public static BandwidthSampleTransferListener newInstance(TransferListener<Object> transferListener,
+                                                              BandwidthEstimateStore bandwidthEstimateStore) {
+        return new BandwidthSampleTransferListener(transferListener, bandwidthEstimateStore, new SystemClock());
+    }
+
+    BandwidthSampleTransferListener(TransferListener<Object> transferListener, BandwidthEstimateStore bandwidthEstimateStore, Clock clock) {
+        this.transferListener = transferListener;
+        this.bandwidthEstimateStore = bandwidthEstimateStore;
+        this.clock = clock;
+    }
+
+    @Override
+    public void onTransferStart(Object source, DataSpec dataSpec) {
+        synchronized (transfers) {
+            transfers.put(source, new Transfer(clock.getCurrentTime()));
+        }
+        transferListener.onTransferStart(source, dataSpec);
+    }
+
+    @Override
+    public void onBytesTransferred(Object source, int bytesTransferred) {
+        synchronized (transfers) {
+            Transfer transfer = transfers.get(source);
+            if (transfer != null) {
+                transfer.bytesTransferred += bytesTransferred;
+            }
+        }
+        transferListener.onBytesTransferred(source, bytesTransferred);
+    }
+
+    @Override
+    public void onTransferEnd(Object source) {
+        transferListener.onTransferEnd(source);
+        Transfer transfer;
+        synchronized (transfers) {
+            transfer = transfers.remove(source);
+        }
+        if (transfer != null) {
+            bandwidthEstimateStore.addSample(transfer.bytesTransferred, clock.getCurrentTime() - transfer.startTime);
+        }
+    }
+
+    private static class Transfer {
+
+        private final long startTime;
+        private long bytesTransferred;
+
+        Transfer(long startTime) {
+            this.startTime = startTime;
+        }
+    }
+}
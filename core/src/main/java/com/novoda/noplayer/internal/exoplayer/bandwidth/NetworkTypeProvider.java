@@ -0,0 +1,37 @@
+package com.novoda.noplayer.internal.exoplayer.bandwidth;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.NetworkInfo;
+
+import java.util.Locale;
+
+public class NetworkTypeProvider {
+
+    static final String NO_NETWORK = "none";
+
+    private final ConnectivityManager connectivityManager;
+
+    public static NetworkTypeProvider newInstance(Context context) {
+        ConnectivityManager connectivityManager = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        return new NetworkTypeProvider(connectivityManager);
+    }
+
+    NetworkTypeProvider(ConnectivityManager connectivityManager) {
+        this.connectivityManager = connectivityManager;
+    }
+
+    /**
+     * @return the type of the active network, including the mobile subtype e.g. "mobile_lte", or {@link #NO_NETWORK}.
+     */
+    String currentNetworkType() {
+        NetworkInfo networkInfo = connectivityManager.getActiveNetworkInfo();
+        if (networkInfo == null || !networkInfo.isConnected()) {
+            return NO_NETWORK;
+        }
+        if (networkInfo.getType() == ConnectivityManager.TYPE_MOBILE) {
+            return ("mobile_" + networkInfo.getSubtypeName()).toLowerCase(Locale.US);
+        }
+        return networkInfo.getTypeName().toLowerCase(Locale.US);
+    }
+}
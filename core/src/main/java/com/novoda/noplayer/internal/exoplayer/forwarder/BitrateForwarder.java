@@ -22,15 +22,23 @@ class BitrateForwarder implements AdaptiveMediaSourceEventListener {
 
     @Override
     public void onDownstreamFormatChanged(int trackType, Format trackFormat, int trackSelectionReason, Object trackSelectionData, long mediaTimeMs) {
-        if (trackType == C.TRACK_TYPE_VIDEO) {
-            videoBitrate = Bitrate.fromBitsPerSecond(trackFormat.bitrate);
+        Bitrate bitrate = Bitrate.fromBitsPerSecond(trackFormat.bitrate);
+        if (isVideo(trackType) && !bitrate.equals(videoBitrate)) {
+            videoBitrate = bitrate;
             bitrateChangedListener.onBitrateChanged(audioBitrate, videoBitrate);
-        } else if (trackType == C.TRACK_TYPE_AUDIO) {
-            audioBitrate = Bitrate.fromBitsPerSecond(trackFormat.bitrate);
+        } else if (trackType == C.TRACK_TYPE_AUDIO && !bitrate.equals(audioBitrate)) {
+            audioBitrate = bitrate;
             bitrateChangedListener.onBitrateChanged(audioBitrate, videoBitrate);
         }
     }
 
+    /**
+     * HLS variants with muxed audio and video report their format changes with the default track type.
+     */
+    private static boolean isVideo(int trackType) {
+        return trackType == C.TRACK_TYPE_VIDEO || trackType == C.TRACK_TYPE_DEFAULT;
+    }
+
     @Override
     public void onLoadStarted(DataSpec dataSpec, int dataType, int trackType, Format trackFormat, int trackSelectionReason, Object trackSelectionData, long mediaStartTimeMs, long mediaEndTimeMs, long elapsedRealtimeMs) {
         // TODO: should we send?
@@ -0,0 +1,58 @@
+package com.novoda.noplayer.internal.exoplayer.forwarder;
+
+import com.google.android.exoplayer2.drm.DefaultDrmSessionManager;
+import com.novoda.noplayer.PlayerEvent;
+import com.novoda.noplayer.internal.listeners.InfoListeners;
+
+import java.util.HashMap;
+
+class DrmSessionInfoForwarder implements DefaultDrmSessionManager.EventListener {
+
+    private final InfoListeners infoListeners;
+
+    DrmSessionInfoForwarder(InfoListeners infoListeners) {
+        this.infoListeners = infoListeners;
+    }
+
+    @Override
+    public void onDrmKeysLoaded() {
+        forward(PlayerEvent.Type.DRM_KEYS_LOADED, "onDrmKeysLoaded");
+    }
+
+    @Override
+    public void onDrmSessionManagerError(Exception e) {
+        if (infoListeners.hasPlayerEventListeners()) {
+            PlayerEvent event = PlayerEvent.obtain(PlayerEvent.Type.DRM_SESSION_MANAGER_ERROR)
+                    .withError(e);
+            infoListeners.onPlayerEvent(event);
+        }
+
+        if (infoListeners.hasInfoListeners()) {
+            HashMap<String, String> callingMethodParameters = new HashMap<>();
+
+            callingMethodParameters.put("e", String.valueOf(e));
+
+            infoListeners.onNewInfo("onDrmSessionManagerError", callingMethodParameters);
+        }
+    }
+
+    @Override
+    public void onDrmKeysRestored() {
+        forward(PlayerEvent.Type.DRM_KEYS_RESTORED, "onDrmKeysRestored");
+    }
+
+    @Override
+    public void onDrmKeysRemoved() {
+        forward(PlayerEvent.Type.DRM_KEYS_REMOVED, "onDrmKeysRemoved");
+    }
+
+    private void forward(PlayerEvent.Type type, String callingMethod) {
+        if (infoListeners.hasPlayerEventListeners()) {
+            infoListeners.onPlayerEvent(PlayerEvent.obtain(type));
+        }
+
+        if (infoListeners.hasInfoListeners()) {
+            infoListeners.onNewInfo(callingMethod, new HashMap<String, String>());
+        }
+    }
+}
@@ -6,88 +6,150 @@ import com.google.android.exoplayer2.Player;
 import com.google.android.exoplayer2.Timeline;
 import com.google.android.exoplayer2.source.TrackGroupArray;
 import com.google.android.exoplayer2.trackselection.TrackSelectionArray;
-import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.PlayerEvent;
+import com.novoda.noplayer.internal.listeners.InfoListeners;
 
 import java.util.HashMap;
 
 class EventInfoForwarder implements Player.EventListener {
 
-    private final NoPlayer.InfoListener infoListener;
+    private final InfoListeners infoListeners;
 
-    EventInfoForwarder(NoPlayer.InfoListener infoListener) {
-        this.infoListener = infoListener;
+    EventInfoForwarder(InfoListeners infoListeners) {
+        this.infoListeners = infoListeners;
     }
 
     @Override
     public void onTimelineChanged(Timeline timeline, Object manifest) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
+        if (infoListeners.hasPlayerEventListeners()) {
+            infoListeners.onPlayerEvent(PlayerEvent.obtain(PlayerEvent.Type.TIMELINE_CHANGED));
+        }
 
-        callingMethodParameters.put("timeline", String.valueOf(timeline));
-        callingMethodParameters.put("manifest", String.valueOf(manifest));
+        if (infoListeners.hasInfoListeners()) {
+            HashMap<String, String> callingMethodParameters = new HashMap<>();
 
-        infoListener.onNewInfo("onTimelineChanged", callingMethodParameters);
+            callingMethodParameters.put("timeline", String.valueOf(timeline));
+            callingMethodParameters.put("manifest", String.valueOf(manifest));
+
+            infoListeners.onNewInfo("onTimelineChanged", callingMethodParameters);
+        }
     }
 
     @Override
     public void onTracksChanged(TrackGroupArray trackGroups, TrackSelectionArray trackSelections) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
+        if (infoListeners.hasPlayerEventListeners()) {
+            PlayerEvent event = PlayerEvent.obtain(PlayerEvent.Type.TRACKS_CHANGED)
+                    .withCount(trackGroups.length);
+            infoListeners.onPlayerEvent(event);
+        }
+
+        if (infoListeners.hasInfoListeners()) {
+            HashMap<String, String> callingMethodParameters = new HashMap<>();
 
-        callingMethodParameters.put("trackGroups", String.valueOf(trackGroups));
-        callingMethodParameters.put("trackSelections", String.valueOf(trackSelections));
+            callingMethodParameters.put("trackGroups", String.valueOf(trackGroups));
+            callingMethodParameters.put("trackSelections", String.valueOf(trackSelections));
 
-        infoListener.onNewInfo("onTracksChanged", callingMethodParameters);
+            infoListeners.onNewInfo("onTracksChanged", callingMethodParameters);
+        }
     }
 
     @Override
     public void onLoadingChanged(boolean isLoading) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
+        if (infoListeners.hasPlayerEventListeners()) {
+            PlayerEvent event = PlayerEvent.obtain(PlayerEvent.Type.LOADING_CHANGED)
+                    .withFlag(isLoading);
+            infoListeners.onPlayerEvent(event);
+        }
 
-        callingMethodParameters.put("isLoading", String.valueOf(isLoading));
+        if (infoListeners.hasInfoListeners()) {
+            HashMap<String, String> callingMethodParameters = new HashMap<>();
 
-        infoListener.onNewInfo("onLoadingChanged", callingMethodParameters);
+            callingMethodParameters.put("isLoading", String.valueOf(isLoading));
+
+            infoListeners.onNewInfo("onLoadingChanged", callingMethodParameters);
+        }
     }
 
     @Override
     public void onPlayerStateChanged(boolean playWhenReady, int playbackState) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
+        if (infoListeners.hasPlayerEventListeners()) {
+            PlayerEvent event = PlayerEvent.obtain(PlayerEvent.Type.PLAYER_STATE_CHANGED)
+                    .withFlag(playWhenReady)
+                    .withState(playbackState);
+            infoListeners.onPlayerEvent(event);
+        }
+
+        if (infoListeners.hasInfoListeners()) {
+            HashMap<String, String> callingMethodParameters = new HashMap<>();
 
-        callingMethodParameters.put("playWhenReady", String.valueOf(playWhenReady));
-        callingMethodParameters.put("playbackState", String.valueOf(playbackState));
+            callingMethodParameters.put("playWhenReady", String.valueOf(playWhenReady));
+            callingMethodParameters.put("playbackState", String.valueOf(playbackState));
 
-        infoListener.onNewInfo("onPlayerStateChanged", callingMethodParameters);
+            infoListeners.onNewInfo("onPlayerStateChanged", callingMethodParameters);
+        }
     }
 
     @Override
     public void onRepeatModeChanged(@Player.RepeatMode int repeatMode) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
+        if (infoListeners.hasPlayerEventListeners()) {
+            PlayerEvent event = PlayerEvent.obtain(PlayerEvent.Type.REPEAT_MODE_CHANGED)
+                    .withState(repeatMode);
+            infoListeners.onPlayerEvent(event);
+        }
 
-        callingMethodParameters.put("repeatMode", String.valueOf(repeatMode));
+        if (infoListeners.hasInfoListeners()) {
+            HashMap<String, String> callingMethodParameters = new HashMap<>();
 
-        infoListener.onNewInfo("onRepeatModeChanged", callingMethodParameters);
+            callingMethodParameters.put("repeatMode", String.valueOf(repeatMode));
+
+            infoListeners.onNewInfo("onRepeatModeChanged", callingMethodParameters);
+        }
     }
 
     @Override
     public void onPlayerError(ExoPlaybackException error) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
+        if (infoListeners.hasPlayerEventListeners()) {
+            PlayerEvent event = PlayerEvent.obtain(PlayerEvent.Type.PLAYER_ERROR)
+                    .withError(error);
+            infoListeners.onPlayerEvent(event);
+        }
+
+        if (infoListeners.hasInfoListeners()) {
+            HashMap<String, String> callingMethodParameters = new HashMap<>();
 
-        callingMethodParameters.put("error", String.valueOf(error));
+            callingMethodParameters.put("error", String.valueOf(error));
 
-        infoListener.onNewInfo("onPlayerError", callingMethodParameters);
+            infoListeners.onNewInfo("onPlayerError", callingMethodParameters);
+        }
     }
 
     @Override
     public void onPositionDiscontinuity() {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
+        if (infoListeners.hasPlayerEventListeners()) {
+            infoListeners.onPlayerEvent(PlayerEvent.obtain(PlayerEvent.Type.POSITION_DISCONTINUITY));
+        }
 
-        infoListener.onNewInfo("onPositionDiscontinuity", callingMethodParameters);
+        if (infoListeners.hasInfoListeners()) {
+            HashMap<String, String> callingMethodParameters = new HashMap<>();
+
+            infoListeners.onNewInfo("onPositionDiscontinuity", callingMethodParameters);
+        }
     }
 
     @Override
     public void onPlaybackParametersChanged(PlaybackParameters playbackParameters) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
+        if (infoListeners.hasPlayerEventListeners()) {
+            PlayerEvent event = PlayerEvent.obtain(PlayerEvent.Type.PLAYBACK_PARAMETERS_CHANGED)
+                    .withSpeed(playbackParameters.speed);
+            infoListeners.onPlayerEvent(event);
+        }
+
+        if (infoListeners.hasInfoListeners()) {
+            HashMap<String, String> callingMethodParameters = new HashMap<>();
 
-        callingMethodParameters.put("playbackParameters", String.valueOf(playbackParameters));
+            callingMethodParameters.put("playbackParameters", String.valueOf(playbackParameters));
 
-        infoListener.onNewInfo("onPlaybackParametersChanged", callingMethodParameters);
+            infoListeners.onNewInfo("onPlaybackParametersChanged", callingMethodParameters);
+        }
     }
 }
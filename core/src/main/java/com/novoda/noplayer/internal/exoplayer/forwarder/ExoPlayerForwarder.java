@@ -1,11 +1,16 @@
 package com.novoda.noplayer.internal.exoplayer.forwarder;
 
+import android.os.Handler;
+
 import com.google.android.exoplayer2.drm.DefaultDrmSessionManager;
 import com.google.android.exoplayer2.source.AdaptiveMediaSourceEventListener;
 import com.google.android.exoplayer2.source.ExtractorMediaSource;
 import com.google.android.exoplayer2.video.VideoRendererEventListener;
 import com.novoda.noplayer.NoPlayer;
 import com.novoda.noplayer.PlayerState;
+import com.novoda.noplayer.internal.SeekCoordinator;
+import com.novoda.noplayer.internal.exoplayer.mediasource.SegmentCacheListener;
+import com.novoda.noplayer.internal.listeners.InfoListeners;
 
 public class ExoPlayerForwarder {
 
@@ -14,13 +19,17 @@ public class ExoPlayerForwarder {
     private final ExoPlayerVideoRendererEventListener videoRendererEventListener;
     private final ExoPlayerExtractorMediaSourceListener extractorMediaSourceListener;
     private final ExoPlayerDrmSessionEventListener drmSessionEventListener;
+    private final ExoPlayerSegmentCacheListener segmentCacheListener;
+    private final Handler uiHandler;
 
-    public ExoPlayerForwarder() {
+    public ExoPlayerForwarder(Handler uiHandler) {
+        this.uiHandler = uiHandler;
         exoPlayerEventListener = new EventListener();
         mediaSourceEventListener = new MediaSourceEventListener();
         videoRendererEventListener = new ExoPlayerVideoRendererEventListener();
         extractorMediaSourceListener = new ExoPlayerExtractorMediaSourceListener();
         drmSessionEventListener = new ExoPlayerDrmSessionEventListener();
+        segmentCacheListener = new ExoPlayerSegmentCacheListener();
     }
 
     public EventListener exoPlayerEventListener() {
@@ -43,6 +52,10 @@ public class ExoPlayerForwarder {
         return drmSessionEventListener;
     }
 
+    public SegmentCacheListener segmentCacheListener() {
+        return segmentCacheListener;
+    }
+
     public void bind(NoPlayer.PreparedListener preparedListener, PlayerState playerState) {
         exoPlayerEventListener.add(new OnPrepareForwarder(preparedListener, playerState));
     }
@@ -54,8 +67,9 @@ public class ExoPlayerForwarder {
 
     public void bind(NoPlayer.ErrorListener errorListener) {
         exoPlayerEventListener.add(new PlayerOnErrorForwarder(errorListener));
-        extractorMediaSourceListener.add(new MediaSourceOnErrorForwarder(errorListener));
-        drmSessionEventListener.add(new DrmSessionErrorForwarder(errorListener));
+        NoPlayer.ErrorListener uiThreadErrorListener = new UiThreadErrorListener(uiHandler, errorListener);
+        extractorMediaSourceListener.add(new MediaSourceOnErrorForwarder(uiThreadErrorListener));
+        drmSessionEventListener.add(new DrmSessionErrorForwarder(uiThreadErrorListener));
     }
 
     public void bind(NoPlayer.BufferStateListener bufferStateListener) {
@@ -70,10 +84,16 @@ public class ExoPlayerForwarder {
         mediaSourceEventListener.add(new BitrateForwarder(bitrateChangedListener));
     }
 
-    public void bind(NoPlayer.InfoListener infoListeners) {
+    public void bind(SeekCoordinator seekCoordinator) {
+        exoPlayerEventListener.add(new SeekForwarder(seekCoordinator));
+    }
+
+    public void bind(InfoListeners infoListeners) {
         exoPlayerEventListener.add(new EventInfoForwarder(infoListeners));
         mediaSourceEventListener.add(new MediaSourceInfoForwarder(infoListeners));
         videoRendererEventListener.add(new VideoRendererInfoForwarder(infoListeners));
         extractorMediaSourceListener.add(new ExtractorInfoForwarder(infoListeners));
+        segmentCacheListener.add(new SegmentCacheInfoForwarder(infoListeners));
+        drmSessionEventListener.add(new DrmSessionInfoForwarder(infoListeners));
     }
 }
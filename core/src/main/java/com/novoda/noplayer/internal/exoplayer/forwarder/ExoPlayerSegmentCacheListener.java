@@ -0,0 +1,29 @@
+package com.novoda.noplayer.internal.exoplayer.forwarder;
+
+import com.novoda.noplayer.internal.exoplayer.mediasource.SegmentCacheListener;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+class ExoPlayerSegmentCacheListener implements SegmentCacheListener {
+
+    private final List<SegmentCacheListener> listeners = new CopyOnWriteArrayList<>();
+
+    public void add(SegmentCacheListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void onBytesReadFromCache(long cachedBytesRead, long cacheSizeInBytes) {
+        for (SegmentCacheListener listener : listeners) {
+            listener.onBytesReadFromCache(cachedBytesRead, cacheSizeInBytes);
+        }
+    }
+
+    @Override
+    public void onBytesReadFromUpstream(long upstreamBytesRead) {
+        for (SegmentCacheListener listener : listeners) {
+            listener.onBytesReadFromUpstream(upstreamBytesRead);
+        }
+    }
+}
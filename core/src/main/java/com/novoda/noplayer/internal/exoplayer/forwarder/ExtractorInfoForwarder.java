@@ -1,25 +1,34 @@
 package com.novoda.noplayer.internal.exoplayer.forwarder;
 
 import com.google.android.exoplayer2.source.ExtractorMediaSource;
-import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.PlayerEvent;
+import com.novoda.noplayer.internal.listeners.InfoListeners;
 
 import java.io.IOException;
 import java.util.HashMap;
 
 class ExtractorInfoForwarder implements ExtractorMediaSource.EventListener {
 
-    private final NoPlayer.InfoListener infoListener;
+    private final InfoListeners infoListeners;
 
-    ExtractorInfoForwarder(NoPlayer.InfoListener infoListener) {
-        this.infoListener = infoListener;
+    ExtractorInfoForwarder(InfoListeners infoListeners) {
+        this.infoListeners = infoListeners;
     }
 
     @Override
     public void onLoadError(IOException error) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
+        if (infoListeners.hasPlayerEventListeners()) {
+            PlayerEvent event = PlayerEvent.obtain(PlayerEvent.Type.EXTRACTOR_LOAD_ERROR)
+                    .withError(error);
+            infoListeners.onPlayerEvent(event);
+        }
 
-        callingMethodParameters.put("error", String.valueOf(error));
+        if (infoListeners.hasInfoListeners()) {
+            HashMap<String, String> callingMethodParameters = new HashMap<>();
 
-        infoListener.onNewInfo("onLoadError", callingMethodParameters);
+            callingMethodParameters.put("error", String.valueOf(error));
+
+            infoListeners.onNewInfo("onLoadError", callingMethodParameters);
+        }
     }
 }
@@ -3,124 +3,204 @@ package com.novoda.noplayer.internal.exoplayer.forwarder;
 import com.google.android.exoplayer2.Format;
 import com.google.android.exoplayer2.source.AdaptiveMediaSourceEventListener;
 import com.google.android.exoplayer2.upstream.DataSpec;
-import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.PlayerEvent;
+import com.novoda.noplayer.internal.listeners.InfoListeners;
 
 import java.io.IOException;
 import java.util.HashMap;
 
 class MediaSourceInfoForwarder implements AdaptiveMediaSourceEventListener {
 
-    private final NoPlayer.InfoListener infoListener;
+    private final InfoListeners infoListeners;
 
-    MediaSourceInfoForwarder(NoPlayer.InfoListener infoListener) {
-        this.infoListener = infoListener;
+    MediaSourceInfoForwarder(InfoListeners infoListeners) {
+        this.infoListeners = infoListeners;
     }
 
     @Override
     public void onLoadStarted(DataSpec dataSpec, int dataType, int trackType, Format trackFormat, int trackSelectionReason,
                               Object trackSelectionData, long mediaStartTimeMs, long mediaEndTimeMs, long elapsedRealtimeMs) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put("dataSpec", String.valueOf(dataSpec));
-        callingMethodParameters.put("dataType", String.valueOf(dataType));
-        callingMethodParameters.put("trackType", String.valueOf(trackType));
-        callingMethodParameters.put("trackFormat", String.valueOf(trackFormat));
-        callingMethodParameters.put("trackSelectionReason", String.valueOf(trackSelectionReason));
-        callingMethodParameters.put("trackSelectionData", String.valueOf(trackSelectionData));
-        callingMethodParameters.put("mediaStartTimeMs", String.valueOf(mediaStartTimeMs));
-        callingMethodParameters.put("mediaEndTimeMs", String.valueOf(mediaEndTimeMs));
-        callingMethodParameters.put("elapsedRealtimeMs", String.valueOf(elapsedRealtimeMs));
-
-        infoListener.onNewInfo("onLoadStarted", callingMethodParameters);
+        if (infoListeners.hasPlayerEventListeners()) {
+            PlayerEvent event = obtainLoadEvent(PlayerEvent.Type.LOAD_STARTED, dataType, trackType, trackFormat, trackSelectionReason)
+                    .withMediaTimes(mediaStartTimeMs, mediaEndTimeMs)
+                    .withElapsedRealtimeMs(elapsedRealtimeMs);
+            infoListeners.onPlayerEvent(event);
+        }
+
+        if (infoListeners.hasInfoListeners()) {
+            HashMap<String, String> callingMethodParameters = new HashMap<>();
+
+            callingMethodParameters.put("dataSpec", String.valueOf(dataSpec));
+            callingMethodParameters.put("dataType", String.valueOf(dataType));
+            callingMethodParameters.put("trackType", String.valueOf(trackType));
+            callingMethodParameters.put("trackFormat", String.valueOf(trackFormat));
+            callingMethodParameters.put("trackSelectionReason", String.valueOf(trackSelectionReason));
+            callingMethodParameters.put("trackSelectionData", String.valueOf(trackSelectionData));
+            callingMethodParameters.put("mediaStartTimeMs", String.valueOf(mediaStartTimeMs));
+            callingMethodParameters.put("mediaEndTimeMs", String.valueOf(mediaEndTimeMs));
+            callingMethodParameters.put("elapsedRealtimeMs", String.valueOf(elapsedRealtimeMs));
+
+            infoListeners.onNewInfo("onLoadStarted", callingMethodParameters);
+        }
     }
 
     @Override
     public void onLoadCompleted(DataSpec dataSpec, int dataType, int trackType, Format trackFormat, int trackSelectionReason,
                                 Object trackSelectionData, long mediaStartTimeMs, long mediaEndTimeMs, long elapsedRealtimeMs,
                                 long loadDurationMs, long bytesLoaded) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put("dataSpec", String.valueOf(dataSpec));
-        callingMethodParameters.put("dataType", String.valueOf(dataType));
-        callingMethodParameters.put("trackType", String.valueOf(trackType));
-        callingMethodParameters.put("trackFormat", String.valueOf(trackFormat));
-        callingMethodParameters.put("trackSelectionReason", String.valueOf(trackSelectionReason));
-        callingMethodParameters.put("trackSelectionData", String.valueOf(trackSelectionData));
-        callingMethodParameters.put("mediaStartTimeMs", String.valueOf(mediaStartTimeMs));
-        callingMethodParameters.put("mediaEndTimeMs", String.valueOf(mediaEndTimeMs));
-        callingMethodParameters.put("elapsedRealtimeMs", String.valueOf(elapsedRealtimeMs));
-        callingMethodParameters.put("loadDurationMs", String.valueOf(loadDurationMs));
-        callingMethodParameters.put("bytesLoaded", String.valueOf(bytesLoaded));
-
-        infoListener.onNewInfo("onLoadCompleted", callingMethodParameters);
+        if (infoListeners.hasPlayerEventListeners()) {
+            PlayerEvent event = obtainLoadEvent(PlayerEvent.Type.LOAD_COMPLETED, dataType, trackType, trackFormat, trackSelectionReason)
+                    .withMediaTimes(mediaStartTimeMs, mediaEndTimeMs)
+                    .withElapsedRealtimeMs(elapsedRealtimeMs)
+                    .withDurationMs(loadDurationMs)
+                    .withBytes(bytesLoaded);
+            infoListeners.onPlayerEvent(event);
+        }
+
+        if (infoListeners.hasInfoListeners()) {
+            HashMap<String, String> callingMethodParameters = new HashMap<>();
+
+            callingMethodParameters.put("dataSpec", String.valueOf(dataSpec));
+            callingMethodParameters.put("dataType", String.valueOf(dataType));
+            callingMethodParameters.put("trackType", String.valueOf(trackType));
+            callingMethodParameters.put("trackFormat", String.valueOf(trackFormat));
+            callingMethodParameters.put("trackSelectionReason", String.valueOf(trackSelectionReason));
+            callingMethodParameters.put("trackSelectionData", String.valueOf(trackSelectionData));
+            callingMethodParameters.put("mediaStartTimeMs", String.valueOf(mediaStartTimeMs));
+            callingMethodParameters.put("mediaEndTimeMs", String.valueOf(mediaEndTimeMs));
+            callingMethodParameters.put("elapsedRealtimeMs", String.valueOf(elapsedRealtimeMs));
+            callingMethodParameters.put("loadDurationMs", String.valueOf(loadDurationMs));
+            callingMethodParameters.put("bytesLoaded", String.valueOf(bytesLoaded));
+
+            infoListeners.onNewInfo("onLoadCompleted", callingMethodParameters);
+        }
     }
 
     @Override
     public void onLoadCanceled(DataSpec dataSpec, int dataType, int trackType, Format trackFormat, int trackSelectionReason,
                                Object trackSelectionData, long mediaStartTimeMs, long mediaEndTimeMs, long elapsedRealtimeMs,
                                long loadDurationMs, long bytesLoaded) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put("dataSpec", String.valueOf(dataSpec));
-        callingMethodParameters.put("dataType", String.valueOf(dataType));
-        callingMethodParameters.put("trackType", String.valueOf(trackType));
-        callingMethodParameters.put("trackFormat", String.valueOf(trackFormat));
-        callingMethodParameters.put("trackSelectionReason", String.valueOf(trackSelectionReason));
-        callingMethodParameters.put("trackSelectionData", String.valueOf(trackSelectionData));
-        callingMethodParameters.put("mediaStartTimeMs", String.valueOf(mediaStartTimeMs));
-        callingMethodParameters.put("mediaEndTimeMs", String.valueOf(mediaEndTimeMs));
-        callingMethodParameters.put("elapsedRealtimeMs", String.valueOf(elapsedRealtimeMs));
-        callingMethodParameters.put("loadDurationMs", String.valueOf(loadDurationMs));
-        callingMethodParameters.put("bytesLoaded", String.valueOf(bytesLoaded));
-
-        infoListener.onNewInfo("onLoadCanceled", callingMethodParameters);
+        if (infoListeners.hasPlayerEventListeners()) {
+            PlayerEvent event = obtainLoadEvent(PlayerEvent.Type.LOAD_CANCELED, dataType, trackType, trackFormat, trackSelectionReason)
+                    .withMediaTimes(mediaStartTimeMs, mediaEndTimeMs)
+                    .withElapsedRealtimeMs(elapsedRealtimeMs)
+                    .withDurationMs(loadDurationMs)
+                    .withBytes(bytesLoaded);
+            infoListeners.onPlayerEvent(event);
+        }
+
+        if (infoListeners.hasInfoListeners()) {
+            HashMap<String, String> callingMethodParameters = new HashMap<>();
+
+            callingMethodParameters.put("dataSpec", String.valueOf(dataSpec));
+            callingMethodParameters.put("dataType", String.valueOf(dataType));
+            callingMethodParameters.put("trackType", String.valueOf(trackType));
+            callingMethodParameters.put("trackFormat", String.valueOf(trackFormat));
+            callingMethodParameters.put("trackSelectionReason", String.valueOf(trackSelectionReason));
+            callingMethodParameters.put("trackSelectionData", String.valueOf(trackSelectionData));
+            callingMethodParameters.put("mediaStartTimeMs", String.valueOf(mediaStartTimeMs));
+            callingMethodParameters.put("mediaEndTimeMs", String.valueOf(mediaEndTimeMs));
+            callingMethodParameters.put("elapsedRealtimeMs", String.valueOf(elapsedRealtimeMs));
+            callingMethodParameters.put("loadDurationMs", String.valueOf(loadDurationMs));
+            callingMethodParameters.put("bytesLoaded", String.valueOf(bytesLoaded));
+
+            infoListeners.onNewInfo("onLoadCanceled", callingMethodParameters);
+        }
     }
 
     @Override
     public void onLoadError(DataSpec dataSpec, int dataType, int trackType, Format trackFormat, int trackSelectionReason,
                             Object trackSelectionData, long mediaStartTimeMs, long mediaEndTimeMs, long elapsedRealtimeMs, long loadDurationMs,
                             long bytesLoaded, IOException error, boolean wasCanceled) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put("dataSpec", String.valueOf(dataSpec));
-        callingMethodParameters.put("dataType", String.valueOf(dataType));
-        callingMethodParameters.put("trackType", String.valueOf(trackType));
-        callingMethodParameters.put("trackFormat", String.valueOf(trackFormat));
-        callingMethodParameters.put("trackSelectionReason", String.valueOf(trackSelectionReason));
-        callingMethodParameters.put("trackSelectionData", String.valueOf(trackSelectionData));
-        callingMethodParameters.put("mediaStartTimeMs", String.valueOf(mediaStartTimeMs));
-        callingMethodParameters.put("mediaEndTimeMs", String.valueOf(mediaEndTimeMs));
-        callingMethodParameters.put("elapsedRealtimeMs", String.valueOf(elapsedRealtimeMs));
-        callingMethodParameters.put("loadDurationMs", String.valueOf(loadDurationMs));
-        callingMethodParameters.put("bytesLoaded", String.valueOf(bytesLoaded));
-        callingMethodParameters.put("IOException", String.valueOf(error));
-        callingMethodParameters.put("wasCanceled", String.valueOf(wasCanceled));
-
-        infoListener.onNewInfo("onLoadError", callingMethodParameters);
+        if (infoListeners.hasPlayerEventListeners()) {
+            PlayerEvent event = obtainLoadEvent(PlayerEvent.Type.LOAD_ERROR, dataType, trackType, trackFormat, trackSelectionReason)
+                    .withMediaTimes(mediaStartTimeMs, mediaEndTimeMs)
+                    .withElapsedRealtimeMs(elapsedRealtimeMs)
+                    .withDurationMs(loadDurationMs)
+                    .withBytes(bytesLoaded)
+                    .withError(error)
+                    .withFlag(wasCanceled);
+            infoListeners.onPlayerEvent(event);
+        }
+
+        if (infoListeners.hasInfoListeners()) {
+            HashMap<String, String> callingMethodParameters = new HashMap<>();
+
+            callingMethodParameters.put("dataSpec", String.valueOf(dataSpec));
+            callingMethodParameters.put("dataType", String.valueOf(dataType));
+            callingMethodParameters.put("trackType", String.valueOf(trackType));
+            callingMethodParameters.put("trackFormat", String.valueOf(trackFormat));
+            callingMethodParameters.put("trackSelectionReason", String.valueOf(trackSelectionReason));
+            callingMethodParameters.put("trackSelectionData", String.valueOf(trackSelectionData));
+            callingMethodParameters.put("mediaStartTimeMs", String.valueOf(mediaStartTimeMs));
+            callingMethodParameters.put("mediaEndTimeMs", String.valueOf(mediaEndTimeMs));
+            callingMethodParameters.put("elapsedRealtimeMs", String.valueOf(elapsedRealtimeMs));
+            callingMethodParameters.put("loadDurationMs", String.valueOf(loadDurationMs));
+            callingMethodParameters.put("bytesLoaded", String.valueOf(bytesLoaded));
+            callingMethodParameters.put("IOException", String.valueOf(error));
+            callingMethodParameters.put("wasCanceled", String.valueOf(wasCanceled));
+
+            infoListeners.onNewInfo("onLoadError", callingMethodParameters);
+        }
     }
 
     @Override
     public void onUpstreamDiscarded(int trackType, long mediaStartTimeMs, long mediaEndTimeMs) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put("trackType", String.valueOf(trackType));
-        callingMethodParameters.put("mediaStartTimeMs", String.valueOf(mediaStartTimeMs));
-        callingMethodParameters.put("mediaEndTimeMs", String.valueOf(mediaEndTimeMs));
-
-        infoListener.onNewInfo("onUpstreamDiscarded", callingMethodParameters);
+        if (infoListeners.hasPlayerEventListeners()) {
+            PlayerEvent event = PlayerEvent.obtain(PlayerEvent.Type.UPSTREAM_DISCARDED)
+                    .withTrackType(trackType)
+                    .withMediaTimes(mediaStartTimeMs, mediaEndTimeMs);
+            infoListeners.onPlayerEvent(event);
+        }
+
+        if (infoListeners.hasInfoListeners()) {
+            HashMap<String, String> callingMethodParameters = new HashMap<>();
+
+            callingMethodParameters.put("trackType", String.valueOf(trackType));
+            callingMethodParameters.put("mediaStartTimeMs", String.valueOf(mediaStartTimeMs));
+            callingMethodParameters.put("mediaEndTimeMs", String.valueOf(mediaEndTimeMs));
+
+            infoListeners.onNewInfo("onUpstreamDiscarded", callingMethodParameters);
+        }
     }
 
     @Override
     public void onDownstreamFormatChanged(int trackType, Format trackFormat, int trackSelectionReason, Object trackSelectionData,
                                           long mediaTimeMs) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
+        if (infoListeners.hasPlayerEventListeners()) {
+            PlayerEvent event = obtainFormatEvent(PlayerEvent.Type.DOWNSTREAM_FORMAT_CHANGED, trackFormat)
+                    .withTrackType(trackType)
+                    .withTrackSelectionReason(trackSelectionReason)
+                    .withMediaTimes(mediaTimeMs, mediaTimeMs);
+            infoListeners.onPlayerEvent(event);
+        }
+
+        if (infoListeners.hasInfoListeners()) {
+            HashMap<String, String> callingMethodParameters = new HashMap<>();
+
+            callingMethodParameters.put("trackType", String.valueOf(trackType));
+            callingMethodParameters.put("trackFormat", String.valueOf(trackFormat));
+            callingMethodParameters.put("trackSelectionReason", String.valueOf(trackSelectionReason));
+            callingMethodParameters.put("trackSelectionData", String.valueOf(trackSelectionData));
+            callingMethodParameters.put("mediaTimeMs", String.valueOf(mediaTimeMs));
+
+            infoListeners.onNewInfo("onDownstreamFormatChanged", callingMethodParameters);
+        }
+    }
 
-        callingMethodParameters.put("trackType", String.valueOf(trackType));
-        callingMethodParameters.put("trackFormat", String.valueOf(trackFormat));
-        callingMethodParameters.put("trackSelectionReason", String.valueOf(trackSelectionReason));
-        callingMethodParameters.put("trackSelectionData", String.valueOf(trackSelectionData));
-        callingMethodParameters.put("mediaTimeMs", String.valueOf(mediaTimeMs));
+    private static PlayerEvent obtainLoadEvent(PlayerEvent.Type type, int dataType, int trackType, Format trackFormat, int trackSelectionReason) {
+        return obtainFormatEvent(type, trackFormat)
+                .withDataType(dataType)
+                .withTrackType(trackType)
+                .withTrackSelectionReason(trackSelectionReason);
+    }
 
-        infoListener.onNewInfo("onDownstreamFormatChanged", callingMethodParameters);
+    static PlayerEvent obtainFormatEvent(PlayerEvent.Type type, Format format) {
+        PlayerEvent event = PlayerEvent.obtain(type);
+        if (format != null) {
+            event.withBitrate(format.bitrate)
+                    .withVideoSize(format.width, format.height, format.rotationDegrees, format.pixelWidthHeightRatio);
+        }
+        return event;
     }
 }
@@ -0,0 +1,63 @@
+package com.novoda.noplayer.internal.exoplayer.forwarder;
+
+import com.google.android.exoplayer2.ExoPlaybackException;
+import com.google.android.exoplayer2.PlaybackParameters;
+import com.google.android.exoplayer2.Player;
+import com.google.android.exoplayer2.Timeline;
+import com.google.android.exoplayer2.source.TrackGroupArray;
+import com.google.android.exoplayer2.trackselection.TrackSelectionArray;
+import com.novoda.noplayer.internal.SeekCoordinator;
+
+class SeekForwarder implements Player.EventListener {
+
+    private final SeekCoordinator seekCoordinator;
+
+    SeekForwarder(SeekCoordinator seekCoordinator) {
+        this.seekCoordinator = seekCoordinator;
+    }
+
+    /**
+     * The player goes through buffering after every seek, so the first ready state after one means it has been processed.
+     */
+    @Override
+    public void onPlayerStateChanged(boolean playWhenReady, int playbackState) {
+        if (playbackState == Player.STATE_READY) {
+            seekCoordinator.onReady();
+        }
+    }
+
+    @Override
+    public void onPositionDiscontinuity() {
+        // Sent synchronously from within seekTo, so cannot tell when a seek has been processed.
+    }
+
+    @Override
+    public void onRepeatModeChanged(@Player.RepeatMode int repeatMode) {
+        // Not required.
+    }
+
+    @Override
+    public void onTimelineChanged(Timeline timeline, Object manifest) {
+        // Not required.
+    }
+
+    @Override
+    public void onTracksChanged(TrackGroupArray trackGroups, TrackSelectionArray trackSelections) {
+        // Not required.
+    }
+
+    @Override
+    public void onLoadingChanged(boolean isLoading) {
+        // Not required.
+    }
+
+    @Override
+    public void onPlayerError(ExoPlaybackException error) {
+        // Sent by ErrorForwarder.
+    }
+
+    @Override
+    public void onPlaybackParametersChanged(PlaybackParameters playbackParameters) {
+        // Not required.
+    }
+}
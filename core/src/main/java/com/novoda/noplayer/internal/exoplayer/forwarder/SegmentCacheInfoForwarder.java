@@ -0,0 +1,52 @@
+package com.novoda.noplayer.internal.exoplayer.forwarder;
+
+import com.novoda.noplayer.PlayerEvent;
+import com.novoda.noplayer.internal.exoplayer.mediasource.SegmentCacheListener;
+import com.novoda.noplayer.internal.listeners.InfoListeners;
+
+import java.util.HashMap;
+
+class SegmentCacheInfoForwarder implements SegmentCacheListener {
+
+    private final InfoListeners infoListeners;
+
+    SegmentCacheInfoForwarder(InfoListeners infoListeners) {
+        this.infoListeners = infoListeners;
+    }
+
+    @Override
+    public void onBytesReadFromCache(long cachedBytesRead, long cacheSizeInBytes) {
+        if (infoListeners.hasPlayerEventListeners()) {
+            PlayerEvent event = PlayerEvent.obtain(PlayerEvent.Type.SEGMENT_CACHE_HIT)
+                    .withBytes(cachedBytesRead)
+                    .withTotalBytes(cacheSizeInBytes);
+            infoListeners.onPlayerEvent(event);
+        }
+
+        if (infoListeners.hasInfoListeners()) {
+            HashMap<String, String> callingMethodParameters = new HashMap<>();
+
+            callingMethodParameters.put("cachedBytesRead", String.valueOf(cachedBytesRead));
+            callingMethodParameters.put("cacheSizeInBytes", String.valueOf(cacheSizeInBytes));
+
+            infoListeners.onNewInfo("onSegmentCacheHit", callingMethodParameters);
+        }
+    }
+
+    @Override
+    public void onBytesReadFromUpstream(long upstreamBytesRead) {
+        if (infoListeners.hasPlayerEventListeners()) {
+            PlayerEvent event = PlayerEvent.obtain(PlayerEvent.Type.SEGMENT_CACHE_MISS)
+                    .withBytes(upstreamBytesRead);
+            infoListeners.onPlayerEvent(event);
+        }
+
+        if (infoListeners.hasInfoListeners()) {
+            HashMap<String, String> callingMethodParameters = new HashMap<>();
+
+            callingMethodParameters.put("upstreamBytesRead", String.valueOf(upstreamBytesRead));
+
+            infoListeners.onNewInfo("onSegmentCacheMiss", callingMethodParameters);
+        }
+    }
+}
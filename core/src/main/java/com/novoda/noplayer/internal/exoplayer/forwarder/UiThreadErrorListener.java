@@ -0,0 +1,40 @@
+package com.novoda.noplayer.internal.exoplayer.forwarder;
+
+import android.os.Handler;
+
+import com.novoda.noplayer.NoPlayer;
+
+/**
+ * Errors reset the player and its {@link com.novoda.noplayer.PlayerView}, so they are always delivered on the UI thread
+ * even when raised by a media source or DRM session running on the playback thread.
+ */
+class UiThreadErrorListener implements NoPlayer.ErrorListener {
+
+    private final Handler uiHandler;
+    private final Thread uiThread;
+    private final NoPlayer.ErrorListener errorListener;
+
+    UiThreadErrorListener(Handler uiHandler, NoPlayer.ErrorListener errorListener) {
+        this(uiHandler, uiHandler.getLooper().getThread(), errorListener);
+    }
+
+    UiThreadErrorListener(Handler uiHandler, Thread uiThread, NoPlayer.ErrorListener errorListener) {
+        this.uiHandler = uiHandler;
+        this.uiThread = uiThread;
+        this.errorListener = errorListener;
+    }
+
+    @Override
+    public void onError(final NoPlayer.PlayerError error) {
+        if (Thread.currentThread() == uiThread) {
+            errorListener.onError(error);
+            return;
+        }
+        uiHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                errorListener.onError(error);
+            }
+        });
+    }
+}
@@ -5,84 +5,137 @@ import android.view.Surface;
 import com.google.android.exoplayer2.Format;
 import com.google.android.exoplayer2.decoder.DecoderCounters;
 import com.google.android.exoplayer2.video.VideoRendererEventListener;
-import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.PlayerEvent;
+import com.novoda.noplayer.internal.listeners.InfoListeners;
 
 import java.util.HashMap;
 
 class VideoRendererInfoForwarder implements VideoRendererEventListener {
 
-    private final NoPlayer.InfoListener infoListener;
+    private final InfoListeners infoListeners;
 
-    VideoRendererInfoForwarder(NoPlayer.InfoListener infoListener) {
-        this.infoListener = infoListener;
+    VideoRendererInfoForwarder(InfoListeners infoListeners) {
+        this.infoListeners = infoListeners;
     }
 
     @Override
     public void onDroppedFrames(int count, long elapsedMs) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
+        if (infoListeners.hasPlayerEventListeners()) {
+            PlayerEvent event = PlayerEvent.obtain(PlayerEvent.Type.DROPPED_FRAMES)
+                    .withCount(count)
+                    .withDurationMs(elapsedMs);
+            infoListeners.onPlayerEvent(event);
+        }
 
-        callingMethodParameters.put("count", String.valueOf(count));
-        callingMethodParameters.put("elapsedMs", String.valueOf(elapsedMs));
+        if (infoListeners.hasInfoListeners()) {
+            HashMap<String, String> callingMethodParameters = new HashMap<>();
 
-        infoListener.onNewInfo("onDroppedFrames", callingMethodParameters);
+            callingMethodParameters.put("count", String.valueOf(count));
+            callingMethodParameters.put("elapsedMs", String.valueOf(elapsedMs));
+
+            infoListeners.onNewInfo("onDroppedFrames", callingMethodParameters);
+        }
     }
 
     @Override
     public void onVideoEnabled(DecoderCounters counters) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
+        if (infoListeners.hasPlayerEventListeners()) {
+            infoListeners.onPlayerEvent(PlayerEvent.obtain(PlayerEvent.Type.VIDEO_ENABLED));
+        }
+
+        if (infoListeners.hasInfoListeners()) {
+            HashMap<String, String> callingMethodParameters = new HashMap<>();
 
-        callingMethodParameters.put("counters", String.valueOf(counters));
+            callingMethodParameters.put("counters", String.valueOf(counters));
 
-        infoListener.onNewInfo("onVideoEnabled", callingMethodParameters);
+            infoListeners.onNewInfo("onVideoEnabled", callingMethodParameters);
+        }
     }
 
     @Override
     public void onVideoDecoderInitialized(String decoderName, long initializedTimestampMs, long initializationDurationMs) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put("decoderName", String.valueOf(decoderName));
-        callingMethodParameters.put("initializedTimestampMs", String.valueOf(initializedTimestampMs));
-        callingMethodParameters.put("initializationDurationMs", String.valueOf(initializationDurationMs));
-
-        infoListener.onNewInfo("onVideoDecoderInitialized", callingMethodParameters);
+        if (infoListeners.hasPlayerEventListeners()) {
+            PlayerEvent event = PlayerEvent.obtain(PlayerEvent.Type.VIDEO_DECODER_INITIALIZED)
+                    .withElapsedRealtimeMs(initializedTimestampMs)
+                    .withDurationMs(initializationDurationMs);
+            infoListeners.onPlayerEvent(event);
+        }
+
+        if (infoListeners.hasInfoListeners()) {
+            HashMap<String, String> callingMethodParameters = new HashMap<>();
+
+            callingMethodParameters.put("decoderName", String.valueOf(decoderName));
+            callingMethodParameters.put("initializedTimestampMs", String.valueOf(initializedTimestampMs));
+            callingMethodParameters.put("initializationDurationMs", String.valueOf(initializationDurationMs));
+
+            infoListeners.onNewInfo("onVideoDecoderInitialized", callingMethodParameters);
+        }
     }
 
     @Override
     public void onVideoInputFormatChanged(Format format) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
+        if (infoListeners.hasPlayerEventListeners()) {
+            infoListeners.onPlayerEvent(MediaSourceInfoForwarder.obtainFormatEvent(PlayerEvent.Type.VIDEO_INPUT_FORMAT_CHANGED, format));
+        }
+
+        if (infoListeners.hasInfoListeners()) {
+            HashMap<String, String> callingMethodParameters = new HashMap<>();
 
-        callingMethodParameters.put("format", String.valueOf(format));
+            callingMethodParameters.put("format", String.valueOf(format));
 
-        infoListener.onNewInfo("onVideoInputFormatChanged", callingMethodParameters);
+            infoListeners.onNewInfo("onVideoInputFormatChanged", callingMethodParameters);
+        }
     }
 
     @Override
     public void onVideoSizeChanged(int width, int height, int unappliedRotationDegrees, float pixelWidthHeightRatio) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
-
-        callingMethodParameters.put("width", String.valueOf(width));
-        callingMethodParameters.put("height", String.valueOf(height));
-        callingMethodParameters.put("unappliedRotationDegrees", String.valueOf(unappliedRotationDegrees));
-        callingMethodParameters.put("pixelWidthHeightRatio", String.valueOf(pixelWidthHeightRatio));
-
-        infoListener.onNewInfo("onVideoSizeChanged", callingMethodParameters);
+        if (infoListeners.hasPlayerEventListeners()) {
+            PlayerEvent event = PlayerEvent.obtain(PlayerEvent.Type.VIDEO_SIZE_CHANGED)
+                    .withVideoSize(width, height, unappliedRotationDegrees, pixelWidthHeightRatio);
+            infoListeners.onPlayerEvent(event);
+        }
+
+        if (infoListeners.hasInfoListeners()) {
+            HashMap<String, String> callingMethodParameters = new HashMap<>();
+
+            callingMethodParameters.put("width", String.valueOf(width));
+            callingMethodParameters.put("height", String.valueOf(height));
+            callingMethodParameters.put("unappliedRotationDegrees", String.valueOf(unappliedRotationDegrees));
+            callingMethodParameters.put("pixelWidthHeightRatio", String.valueOf(pixelWidthHeightRatio));
+
+            infoListeners.onNewInfo("onVideoSizeChanged", callingMethodParameters);
+        }
     }
 
     @Override
     public void onRenderedFirstFrame(Surface surface) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
+        if (infoListeners.hasPlayerEventListeners()) {
+            infoListeners.onPlayerEvent(PlayerEvent.obtain(PlayerEvent.Type.RENDERED_FIRST_FRAME));
+        }
 
-        callingMethodParameters.put("surface", String.valueOf(surface));
+        if (infoListeners.hasInfoListeners()) {
+            HashMap<String, String> callingMethodParameters = new HashMap<>();
 
-        infoListener.onNewInfo("onRenderedFirstFrame", callingMethodParameters);
+            callingMethodParameters.put("surface", String.valueOf(surface));
+
+            infoListeners.onNewInfo("onRenderedFirstFrame", callingMethodParameters);
+        }
     }
 
     @Override
     public void onVideoDisabled(DecoderCounters counters) {
-        HashMap<String, String> callingMethodParameters = new HashMap<>();
+        if (infoListeners.hasPlayerEventListeners()) {
+            PlayerEvent event = PlayerEvent.obtain(PlayerEvent.Type.VIDEO_DISABLED)
+                    .withCount(counters.droppedOutputBufferCount);
+            infoListeners.onPlayerEvent(event);
+        }
+
+        if (infoListeners.hasInfoListeners()) {
+            HashMap<String, String> callingMethodParameters = new HashMap<>();
 
-        callingMethodParameters.put("counters", String.valueOf(counters));
+            callingMethodParameters.put("counters", String.valueOf(counters));
 
-        infoListener.onNewInfo("onVideoDisabled", callingMethodParameters);
+            infoListeners.onNewInfo("onVideoDisabled", callingMethodParameters);
+        }
     }
 }
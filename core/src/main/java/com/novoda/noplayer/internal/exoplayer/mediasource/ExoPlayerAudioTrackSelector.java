@@ -18,23 +18,67 @@ public class ExoPlayerAudioTrackSelector {
 
     private final ExoPlayerTrackSelector trackSelector;
     private final TrackSelection.Factory trackSelectionFactory;
+    private final boolean adaptive;
+
+    /**
+     * Selected audio tracks adapt between every format of their group that shares
+     * the selected language, mime type and channel count.
+     */
+    public static ExoPlayerAudioTrackSelector newAdaptiveInstance(ExoPlayerTrackSelector trackSelector,
+                                                                  TrackSelection.Factory adaptiveTrackSelectionFactory) {
+        return new ExoPlayerAudioTrackSelector(trackSelector, adaptiveTrackSelectionFactory, true);
+    }
 
     public ExoPlayerAudioTrackSelector(ExoPlayerTrackSelector trackSelector, TrackSelection.Factory trackSelectionFactory) {
+        this(trackSelector, trackSelectionFactory, false);
+    }
+
+    private ExoPlayerAudioTrackSelector(ExoPlayerTrackSelector trackSelector, TrackSelection.Factory trackSelectionFactory, boolean adaptive) {
         this.trackSelector = trackSelector;
         this.trackSelectionFactory = trackSelectionFactory;
+        this.adaptive = adaptive;
     }
 
     public boolean selectAudioTrack(PlayerAudioTrack audioTrack, RendererTypeRequester rendererTypeRequester) {
         TrackGroupArray trackGroups = trackSelector.trackGroups(AUDIO, rendererTypeRequester);
 
+        int[] formatIndices = adaptive
+                ? matchingFormatIndices(trackGroups.get(audioTrack.groupIndex()), audioTrack)
+                : new int[]{audioTrack.formatIndex()};
+
         MappingTrackSelector.SelectionOverride selectionOverride = new MappingTrackSelector.SelectionOverride(
                 trackSelectionFactory,
                 audioTrack.groupIndex(),
-                audioTrack.formatIndex()
+                formatIndices
         );
         return trackSelector.setSelectionOverride(AUDIO, rendererTypeRequester, trackGroups, selectionOverride);
     }
 
+    private static int[] matchingFormatIndices(TrackGroup trackGroup, PlayerAudioTrack audioTrack) {
+        List<Integer> matchingIndices = new ArrayList<>();
+        for (int formatIndex = 0; formatIndex < trackGroup.length; formatIndex++) {
+            Format format = trackGroup.getFormat(formatIndex);
+            if (formatIndex == audioTrack.formatIndex() || matches(format, audioTrack)) {
+                matchingIndices.add(formatIndex);
+            }
+        }
+        int[] formatIndices = new int[matchingIndices.size()];
+        for (int i = 0; i < formatIndices.length; i++) {
+            formatIndices[i] = matchingIndices.get(i);
+        }
+        return formatIndices;
+    }
+
+    private static boolean matches(Format format, PlayerAudioTrack audioTrack) {
+        return format.channelCount == audioTrack.numberOfChannels()
+                && equals(format.language, audioTrack.language())
+                && equals(format.sampleMimeType, audioTrack.mimeType());
+    }
+
+    private static boolean equals(String first, String second) {
+        return first == null ? second == null : first.equals(second);
+    }
+
     public AudioTracks getAudioTracks(RendererTypeRequester rendererTypeRequester) {
         TrackGroupArray trackGroups = trackSelector.trackGroups(AUDIO, rendererTypeRequester);
 
@@ -0,0 +1,298 @@
+package com.novoda.noplayer.internal.exoplayer.mediasource;
+
+import android.net.Uri;
+import android.support.annotation.Nullable;
+
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.source.dash.DashSegmentIndex;
+import com.google.android.exoplayer2.source.dash.manifest.AdaptationSet;
+import com.google.android.exoplayer2.source.dash.manifest.DashManifest;
+import com.google.android.exoplayer2.source.dash.manifest.DashManifestParser;
+import com.google.android.exoplayer2.source.dash.manifest.RangedUri;
+import com.google.android.exoplayer2.source.dash.manifest.Representation;
+import com.google.android.exoplayer2.source.hls.playlist.HlsMasterPlaylist;
+import com.google.android.exoplayer2.source.hls.playlist.HlsMediaPlaylist;
+import com.google.android.exoplayer2.source.hls.playlist.HlsPlaylist;
+import com.google.android.exoplayer2.source.hls.playlist.HlsPlaylistParser;
+import com.google.android.exoplayer2.upstream.DataSource;
+import com.google.android.exoplayer2.upstream.DataSpec;
+import com.google.android.exoplayer2.util.UriUtil;
+import com.novoda.noplayer.ContentType;
+import com.novoda.utils.NoPlayerLog;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fetches the manifest and the first seconds of the starting representations of a piece of content
+ * into the {@link PreloadCache}, ahead of the player asking for them.
+ * <p>
+ * The requests mirror the ones made by the ExoPlayer DASH and HLS chunk sources so that a later
+ * {@link PreloadingDataSource} can serve them without touching the network.
+ */
+public class MediaPreloader {
+
+    private static final long PRELOAD_DURATION_IN_MICROS = TimeUnit.SECONDS.toMicros(10);
+    private static final int PROGRESSIVE_PRELOAD_SIZE_IN_BYTES = 2 * 1024 * 1024;
+    private static final int BUFFER_SIZE_IN_BYTES = 16 * 1024;
+
+    private final DataSource.Factory upstreamDataSourceFactory;
+    private final PreloadCache preloadCache;
+    private final ExecutorService executor;
+    private final long initialVideoBitrate;
+
+    @Nullable
+    private Future<?> preloadInProgress;
+
+    /**
+     * @param initialVideoBitrate the bitrate the player starts video on, the highest representation within it is preloaded.
+     */
+    public static MediaPreloader newInstance(DataSource.Factory upstreamDataSourceFactory, PreloadCache preloadCache, long initialVideoBitrate) {
+        return new MediaPreloader(upstreamDataSourceFactory, preloadCache, Executors.newSingleThreadExecutor(), initialVideoBitrate);
+    }
+
+    MediaPreloader(DataSource.Factory upstreamDataSourceFactory,
+                   PreloadCache preloadCache,
+                   ExecutorService executor,
+                   long initialVideoBitrate) {
+        this.upstreamDataSourceFactory = upstreamDataSourceFactory;
+        this.preloadCache = preloadCache;
+        this.executor = executor;
+        this.initialVideoBitrate = initialVideoBitrate;
+    }
+
+    public void preload(final Uri uri, final ContentType contentType) {
+        cancel();
+        preloadInProgress = executor.submit(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    preloadContent(uri, contentType);
+                } catch (IOException | RuntimeException e) {
+                    // Preloading is only an optimisation, a failure must not surface until the content is loaded.
+                    NoPlayerLog.w(e, "Unable to preload content: %s", uri);
+                }
+            }
+        });
+    }
+
+    public void cancel() {
+        if (preloadInProgress != null) {
+            preloadInProgress.cancel(true);
+            preloadInProgress = null;
+        }
+    }
+
+    public void release() {
+        cancel();
+        executor.shutdownNow();
+        preloadCache.clear();
+    }
+
+    private void preloadContent(Uri uri, ContentType contentType) throws IOException {
+        switch (contentType) {
+            case DASH:
+                preloadDash(uri);
+                break;
+            case HLS:
+                preloadHls(uri);
+                break;
+            case H264:
+                fetch(new DataSpec(uri, 0, C.LENGTH_UNSET, null), PROGRESSIVE_PRELOAD_SIZE_IN_BYTES);
+                break;
+            default:
+                throw new UnsupportedOperationException("Content type: " + contentType + " is not supported.");
+        }
+    }
+
+    private void preloadDash(Uri uri) throws IOException {
+        DataSpec manifestDataSpec = new DataSpec(uri, DataSpec.FLAG_ALLOW_GZIP);
+        PreloadedData manifestData = fetch(manifestDataSpec, preloadCache.maxSizeInBytes());
+        if (manifestData == null || !manifestData.isComplete()) {
+            return;
+        }
+        DashManifest manifest = new DashManifestParser().parse(uri, new ByteArrayInputStream(manifestData.bytes()));
+        if (manifest.dynamic) {
+            preloadCache.remove(manifestDataSpec);
+            return;
+        }
+        if (manifest.getPeriodCount() == 0) {
+            return;
+        }
+        long periodDurationUs = manifest.getPeriodDurationUs(0);
+        List<AdaptationSet> adaptationSets = manifest.getPeriod(0).adaptationSets;
+        preloadDashRepresentation(startingRepresentationOf(adaptationSets, C.TRACK_TYPE_VIDEO), periodDurationUs);
+        preloadDashRepresentation(startingRepresentationOf(adaptationSets, C.TRACK_TYPE_AUDIO), periodDurationUs);
+    }
+
+    /**
+     * Video starts on the highest bitrate within the initial video bitrate, or the lowest when none fit,
+     * matching the {@link com.google.android.exoplayer2.trackselection.DefaultTrackSelector}; audio starts on the first representation.
+     */
+    @Nullable
+    private Representation startingRepresentationOf(List<AdaptationSet> adaptationSets, int trackType) {
+        for (AdaptationSet adaptationSet : adaptationSets) {
+            if (adaptationSet.type != trackType || adaptationSet.representations.isEmpty()) {
+                continue;
+            }
+            if (trackType != C.TRACK_TYPE_VIDEO) {
+                return adaptationSet.representations.get(0);
+            }
+            return startingVideoRepresentationOf(adaptationSet.representations);
+        }
+        return null;
+    }
+
+    private Representation startingVideoRepresentationOf(List<Representation> representations) {
+        Representation lowestBitrate = representations.get(0);
+        Representation highestFittingBitrate = null;
+        for (Representation representation : representations) {
+            int bitrate = representation.format.bitrate;
+            if (bitrate < lowestBitrate.format.bitrate) {
+                lowestBitrate = representation;
+            }
+            if (bitrate <= initialVideoBitrate && (highestFittingBitrate == null || bitrate > highestFittingBitrate.format.bitrate)) {
+                highestFittingBitrate = representation;
+            }
+        }
+        return highestFittingBitrate == null ? lowestBitrate : highestFittingBitrate;
+    }
+
+    private void preloadDashRepresentation(@Nullable Representation representation, long periodDurationUs) throws IOException {
+        if (representation == null) {
+            return;
+        }
+        DashSegmentIndex segmentIndex = representation.getIndex();
+        RangedUri initializationUri = representation.getInitializationUri();
+        RangedUri indexUri = segmentIndex == null ? representation.getIndexUri() : null;
+        RangedUri requestUri = initializationUri == null ? indexUri : initializationUri;
+        if (initializationUri != null && indexUri != null) {
+            RangedUri mergedUri = initializationUri.attemptMerge(indexUri, representation.baseUrl);
+            requestUri = mergedUri == null ? initializationUri : mergedUri;
+        }
+        if (requestUri != null) {
+            fetchComplete(dataSpecFor(representation, requestUri));
+        }
+        if (segmentIndex == null) {
+            // Segments are only known once the sidx box has been parsed by the player.
+            return;
+        }
+        int segmentCount = segmentIndex.getSegmentCount(periodDurationUs);
+        int firstSegmentNum = segmentIndex.getFirstSegmentNum();
+        long preloadedDurationUs = 0;
+        for (int segmentNum = firstSegmentNum; preloadedDurationUs < PRELOAD_DURATION_IN_MICROS; segmentNum++) {
+            if (segmentCount != DashSegmentIndex.INDEX_UNBOUNDED && segmentNum >= firstSegmentNum + segmentCount) {
+                return;
+            }
+            if (!fetchComplete(dataSpecFor(representation, segmentIndex.getSegmentUrl(segmentNum)))) {
+                return;
+            }
+            preloadedDurationUs += segmentIndex.getDurationUs(segmentNum, periodDurationUs);
+        }
+    }
+
+    private static DataSpec dataSpecFor(Representation representation, RangedUri rangedUri) {
+        return new DataSpec(
+                rangedUri.resolveUri(representation.baseUrl),
+                rangedUri.start,
+                rangedUri.length,
+                representation.getCacheKey()
+        );
+    }
+
+    private void preloadHls(Uri uri) throws IOException {
+        DataSpec playlistDataSpec = new DataSpec(uri, DataSpec.FLAG_ALLOW_GZIP);
+        HlsPlaylist playlist = fetchPlaylist(uri, playlistDataSpec);
+        if (playlist instanceof HlsMasterPlaylist) {
+            HlsMasterPlaylist masterPlaylist = (HlsMasterPlaylist) playlist;
+            if (masterPlaylist.variants.isEmpty()) {
+                return;
+            }
+            Uri variantUri = UriUtil.resolveToUri(masterPlaylist.baseUri, masterPlaylist.variants.get(0).url);
+            playlistDataSpec = new DataSpec(variantUri, DataSpec.FLAG_ALLOW_GZIP);
+            playlist = fetchPlaylist(variantUri, playlistDataSpec);
+        }
+        if (playlist instanceof HlsMediaPlaylist) {
+            preloadHlsSegments((HlsMediaPlaylist) playlist, playlistDataSpec);
+        }
+    }
+
+    @Nullable
+    private HlsPlaylist fetchPlaylist(Uri uri, DataSpec dataSpec) throws IOException {
+        PreloadedData playlistData = fetch(dataSpec, preloadCache.maxSizeInBytes());
+        if (playlistData == null || !playlistData.isComplete()) {
+            return null;
+        }
+        return new HlsPlaylistParser().parse(uri, new ByteArrayInputStream(playlistData.bytes()));
+    }
+
+    private void preloadHlsSegments(HlsMediaPlaylist mediaPlaylist, DataSpec playlistDataSpec) throws IOException {
+        if (!mediaPlaylist.hasEndTag) {
+            // Live playlists are refreshed by the player, a preloaded copy would be stale.
+            preloadCache.remove(playlistDataSpec);
+            return;
+        }
+        HlsMediaPlaylist.Segment initializationSegment = mediaPlaylist.initializationSegment;
+        if (initializationSegment != null && !fetchComplete(dataSpecFor(mediaPlaylist, initializationSegment))) {
+            return;
+        }
+        long preloadedDurationUs = 0;
+        for (HlsMediaPlaylist.Segment segment : mediaPlaylist.segments) {
+            if (preloadedDurationUs >= PRELOAD_DURATION_IN_MICROS || !fetchComplete(dataSpecFor(mediaPlaylist, segment))) {
+                return;
+            }
+            preloadedDurationUs += segment.durationUs;
+        }
+    }
+
+    private static DataSpec dataSpecFor(HlsMediaPlaylist mediaPlaylist, HlsMediaPlaylist.Segment segment) {
+        Uri segmentUri = UriUtil.resolveToUri(mediaPlaylist.baseUri, segment.url);
+        return new DataSpec(segmentUri, segment.byterangeOffset, segment.byterangeLength, null);
+    }
+
+    private boolean fetchComplete(DataSpec dataSpec) throws IOException {
+        PreloadedData data = fetch(dataSpec, preloadCache.maxSizeInBytes() - preloadCache.sizeInBytes());
+        return data != null && data.isComplete();
+    }
+
+    @Nullable
+    private PreloadedData fetch(DataSpec dataSpec, long maxSizeInBytes) throws IOException {
+        if (Thread.currentThread().isInterrupted() || maxSizeInBytes <= 0) {
+            return null;
+        }
+        PreloadedData cachedData = preloadCache.get(dataSpec);
+        if (cachedData != null) {
+            return cachedData;
+        }
+        DataSource dataSource = upstreamDataSourceFactory.createDataSource();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[BUFFER_SIZE_IN_BYTES];
+        boolean complete = false;
+        try {
+            dataSource.open(dataSpec);
+            while (outputStream.size() < maxSizeInBytes && !Thread.currentThread().isInterrupted()) {
+                int bytesToRead = (int) Math.min(buffer.length, maxSizeInBytes - outputStream.size());
+                int bytesRead = dataSource.read(buffer, 0, bytesToRead);
+                if (bytesRead == C.RESULT_END_OF_INPUT) {
+                    complete = true;
+                    break;
+                }
+                outputStream.write(buffer, 0, bytesRead);
+            }
+        } finally {
+            dataSource.close();
+        }
+        if (Thread.currentThread().isInterrupted()) {
+            return null;
+        }
+        PreloadedData data = new PreloadedData(outputStream.toByteArray(), complete);
+        preloadCache.put(dataSpec, data);
+        return data;
+    }
+}
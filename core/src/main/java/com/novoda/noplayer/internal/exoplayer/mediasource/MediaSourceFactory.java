@@ -5,6 +5,7 @@ import android.os.Handler;
 
 import com.google.android.exoplayer2.extractor.DefaultExtractorsFactory;
 import com.google.android.exoplayer2.source.AdaptiveMediaSourceEventListener;
+import com.google.android.exoplayer2.source.DynamicConcatenatingMediaSource;
 import com.google.android.exoplayer2.source.ExtractorMediaSource;
 import com.google.android.exoplayer2.source.MediaSource;
 import com.google.android.exoplayer2.source.dash.DashMediaSource;
@@ -12,6 +13,9 @@ import com.google.android.exoplayer2.source.dash.DefaultDashChunkSource;
 import com.google.android.exoplayer2.source.hls.HlsMediaSource;
 import com.google.android.exoplayer2.upstream.DataSource;
 import com.novoda.noplayer.ContentType;
+import com.novoda.noplayer.model.MediaItem;
+
+import java.util.List;
 
 public class MediaSourceFactory {
 
@@ -23,6 +27,20 @@ public class MediaSourceFactory {
         this.handler = handler;
     }
 
+    /**
+     * Creates a source that plays the given items back to back, preparing each one ahead of the end of the previous
+     * one so that there is no gap between them. More items can be added while playing.
+     */
+    public DynamicConcatenatingMediaSource createPlaylist(List<MediaItem> mediaItems,
+                                                          ExtractorMediaSource.EventListener eventListener,
+                                                          AdaptiveMediaSourceEventListener mediaSourceEventListener) {
+        DynamicConcatenatingMediaSource playlist = new DynamicConcatenatingMediaSource();
+        for (MediaItem mediaItem : mediaItems) {
+            playlist.addMediaSource(create(mediaItem.contentType(), mediaItem.uri(), eventListener, mediaSourceEventListener));
+        }
+        return playlist;
+    }
+
     public MediaSource create(ContentType contentType,
                               Uri uri,
                               ExtractorMediaSource.EventListener eventListener,
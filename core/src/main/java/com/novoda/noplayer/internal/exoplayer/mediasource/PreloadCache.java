@@ -0,0 +1,79 @@
+package com.novoda.noplayer.internal.exoplayer.mediasource;
+
+import com.google.android.exoplayer2.upstream.DataSpec;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, least recently used, in-memory store of the bytes fetched by {@link MediaPreloader}.
+ * Entries are keyed on the same uri, position and length the player will later request.
+ */
+public class PreloadCache {
+
+    private static final float LOAD_FACTOR = 0.75f;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final boolean ACCESS_ORDER = true;
+
+    private final Map<String, PreloadedData> entries = new LinkedHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, ACCESS_ORDER);
+    private final long maxSizeInBytes;
+
+    private long sizeInBytes;
+
+    public PreloadCache(long maxSizeInBytes) {
+        this.maxSizeInBytes = maxSizeInBytes;
+    }
+
+    long maxSizeInBytes() {
+        return maxSizeInBytes;
+    }
+
+    synchronized PreloadedData get(DataSpec dataSpec) {
+        return entries.get(keyFor(dataSpec));
+    }
+
+    synchronized boolean contains(DataSpec dataSpec) {
+        return entries.containsKey(keyFor(dataSpec));
+    }
+
+    synchronized void put(DataSpec dataSpec, PreloadedData data) {
+        if (data.length() > maxSizeInBytes) {
+            return;
+        }
+        PreloadedData previous = entries.put(keyFor(dataSpec), data);
+        if (previous != null) {
+            sizeInBytes -= previous.length();
+        }
+        sizeInBytes += data.length();
+        trimToSize();
+    }
+
+    synchronized void remove(DataSpec dataSpec) {
+        PreloadedData removed = entries.remove(keyFor(dataSpec));
+        if (removed != null) {
+            sizeInBytes -= removed.length();
+        }
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        sizeInBytes = 0;
+    }
+
+    synchronized long sizeInBytes() {
+        return sizeInBytes;
+    }
+
+    private void trimToSize() {
+        Iterator<PreloadedData> iterator = entries.values().iterator();
+        while (sizeInBytes > maxSizeInBytes && iterator.hasNext()) {
+            sizeInBytes -= iterator.next().length();
+            iterator.remove();
+        }
+    }
+
+    private static String keyFor(DataSpec dataSpec) {
+        return dataSpec.uri + "@" + dataSpec.absoluteStreamPosition + "+" + dataSpec.length;
+    }
+}
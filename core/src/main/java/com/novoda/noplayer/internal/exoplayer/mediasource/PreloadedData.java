@@ -0,0 +1,28 @@
+package com.novoda.noplayer.internal.exoplayer.mediasource;
+
+/**
+ * Bytes read from the start of a request. When the preload budget ran out before the
+ * end of the request, the data is incomplete and the remainder must be read from the network.
+ */
+class PreloadedData {
+
+    private final byte[] bytes;
+    private final boolean complete;
+
+    PreloadedData(byte[] bytes, boolean complete) {
+        this.bytes = bytes;
+        this.complete = complete;
+    }
+
+    byte[] bytes() {
+        return bytes;
+    }
+
+    int length() {
+        return bytes.length;
+    }
+
+    boolean isComplete() {
+        return complete;
+    }
+}
@@ -0,0 +1,92 @@
+package com.novoda.noplayer.internal.exoplayer.mediasource;
+
+import android.net.Uri;
+import android.support.annotation.Nullable;
+
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.upstream.DataSource;
+import com.google.android.exoplayer2.upstream.DataSpec;
+
+import java.io.IOException;
+
+/**
+ * Serves requests from the {@link PreloadCache} when possible, continuing from the
+ * upstream {@link DataSource} once the preloaded bytes of an incomplete entry run out.
+ */
+class PreloadingDataSource implements DataSource {
+
+    private final PreloadCache preloadCache;
+    private final DataSource upstream;
+
+    @Nullable
+    private DataSpec dataSpec;
+    @Nullable
+    private PreloadedData preloadedData;
+    private int preloadedReadPosition;
+    private boolean upstreamOpened;
+
+    PreloadingDataSource(PreloadCache preloadCache, DataSource upstream) {
+        this.preloadCache = preloadCache;
+        this.upstream = upstream;
+    }
+
+    @Override
+    public long open(DataSpec dataSpec) throws IOException {
+        this.dataSpec = dataSpec;
+        preloadedData = preloadCache.get(dataSpec);
+        preloadedReadPosition = 0;
+        if (preloadedData == null) {
+            upstreamOpened = true;
+            return upstream.open(dataSpec);
+        }
+        upstreamOpened = false;
+        return preloadedData.isComplete() ? preloadedData.length() : dataSpec.length;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int readLength) throws IOException {
+        if (preloadedData != null && preloadedReadPosition < preloadedData.length()) {
+            int bytesToRead = Math.min(readLength, preloadedData.length() - preloadedReadPosition);
+            System.arraycopy(preloadedData.bytes(), preloadedReadPosition, buffer, offset, bytesToRead);
+            preloadedReadPosition += bytesToRead;
+            return bytesToRead;
+        }
+        if (preloadedData != null && preloadedData.isComplete()) {
+            return C.RESULT_END_OF_INPUT;
+        }
+        if (!upstreamOpened) {
+            upstream.open(remainderOf(dataSpec, preloadedReadPosition));
+            upstreamOpened = true;
+        }
+        return upstream.read(buffer, offset, readLength);
+    }
+
+    private static DataSpec remainderOf(DataSpec dataSpec, int bytesAlreadyRead) {
+        long remainingLength = dataSpec.length == C.LENGTH_UNSET ? C.LENGTH_UNSET : dataSpec.length - bytesAlreadyRead;
+        return new DataSpec(
+                dataSpec.uri,
+                dataSpec.absoluteStreamPosition + bytesAlreadyRead,
+                remainingLength,
+                dataSpec.key,
+                dataSpec.flags
+        );
+    }
+
+    @Override
+    public Uri getUri() {
+        if (upstreamOpened) {
+            return upstream.getUri();
+        }
+        return dataSpec == null ? null : dataSpec.uri;
+    }
+
+    @Override
+    public void close() throws IOException {
+        preloadedData = null;
+        dataSpec = null;
+        if (upstreamOpened) {
+            upstreamOpened = false;
+            upstream.close();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.novoda.noplayer.internal.exoplayer.mediasource;
+
+import com.google.android.exoplayer2.upstream.DataSource;
+
+public class PreloadingDataSourceFactory implements DataSource.Factory {
+
+    private final PreloadCache preloadCache;
+    private final DataSource.Factory upstreamDataSourceFactory;
+
+    public PreloadingDataSourceFactory(PreloadCache preloadCache, DataSource.Factory upstreamDataSourceFactory) {
+        this.preloadCache = preloadCache;
+        this.upstreamDataSourceFactory = upstreamDataSourceFactory;
+    }
+
+    @Override
+    public DataSource createDataSource() {
+        return new PreloadingDataSource(preloadCache, upstreamDataSourceFactory.createDataSource());
+    }
+}
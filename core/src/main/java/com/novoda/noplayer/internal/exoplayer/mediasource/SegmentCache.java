@@ -0,0 +1,43 @@
+package com.novoda.noplayer.internal.exoplayer.mediasource;
+
+import android.content.Context;
+import android.support.annotation.Nullable;
+
+import com.google.android.exoplayer2.upstream.cache.Cache;
+import com.google.android.exoplayer2.upstream.cache.LeastRecentlyUsedCacheEvictor;
+import com.google.android.exoplayer2.upstream.cache.SimpleCache;
+import com.novoda.utils.NoPlayerLog;
+
+import java.io.File;
+
+/**
+ * Holds the single on-disk segment cache of the process. A {@link SimpleCache} must not share its
+ * directory with another instance, so every player is given the same one.
+ */
+public final class SegmentCache {
+
+    private static final String CACHE_DIRECTORY_NAME = "noplayer-segments";
+
+    @Nullable
+    private static Cache cache;
+    private static long cacheMaxSizeInBytes;
+
+    private SegmentCache() {
+        // Uses static methods.
+    }
+
+    public static synchronized Cache obtain(Context context, long maxSizeInBytes) {
+        if (cache == null) {
+            File cacheDirectory = new File(context.getApplicationContext().getCacheDir(), CACHE_DIRECTORY_NAME);
+            cache = new SimpleCache(cacheDirectory, new LeastRecentlyUsedCacheEvictor(maxSizeInBytes));
+            cacheMaxSizeInBytes = maxSizeInBytes;
+        } else if (cacheMaxSizeInBytes != maxSizeInBytes) {
+            NoPlayerLog.w(
+                    "Segment cache already created with a maximum size of %d bytes, ignoring requested size of %d bytes.",
+                    cacheMaxSizeInBytes,
+                    maxSizeInBytes
+            );
+        }
+        return cache;
+    }
+}
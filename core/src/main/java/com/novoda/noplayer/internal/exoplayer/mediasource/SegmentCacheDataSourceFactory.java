@@ -0,0 +1,129 @@
+package com.novoda.noplayer.internal.exoplayer.mediasource;
+
+import android.content.Context;
+import android.os.Handler;
+
+import com.google.android.exoplayer2.upstream.DataSource;
+import com.google.android.exoplayer2.upstream.DataSpec;
+import com.google.android.exoplayer2.upstream.DefaultDataSourceFactory;
+import com.google.android.exoplayer2.upstream.FileDataSource;
+import com.google.android.exoplayer2.upstream.TransferListener;
+import com.google.android.exoplayer2.upstream.cache.Cache;
+import com.google.android.exoplayer2.upstream.cache.CacheDataSink;
+import com.google.android.exoplayer2.upstream.cache.CacheDataSource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Creates {@link DataSource}s that read segments from the on-disk {@link SegmentCache} and fall back
+ * to the network, reporting the bytes served from each side to a {@link SegmentCacheListener} on the given handler.
+ * Manifests always come from the network.
+ * Network transfers are also passed on to the given {@link TransferListener}, typically the bandwidth meter.
+ */
+public class SegmentCacheDataSourceFactory implements DataSource.Factory {
+
+    private static final int CACHE_FLAGS = CacheDataSource.FLAG_IGNORE_CACHE_ON_ERROR;
+
+    private final Cache cache;
+    private final DataSource.Factory upstreamDataSourceFactory;
+    private final CacheDataSource.EventListener cacheEventListener;
+
+    public static SegmentCacheDataSourceFactory newInstance(Context context,
+                                                            String userAgent,
+                                                            Cache cache,
+                                                            Handler handler,
+                                                            SegmentCacheListener segmentCacheListener,
+                                                            TransferListener<Object> upstreamTransferListener) {
+        SegmentCacheEventDispatcher dispatcher = new SegmentCacheEventDispatcher(handler, segmentCacheListener, upstreamTransferListener);
+        DefaultDataSourceFactory upstreamDataSourceFactory = new DefaultDataSourceFactory(context, userAgent, dispatcher);
+        return new SegmentCacheDataSourceFactory(cache, upstreamDataSourceFactory, dispatcher);
+    }
+
+    SegmentCacheDataSourceFactory(Cache cache, DataSource.Factory upstreamDataSourceFactory, CacheDataSource.EventListener cacheEventListener) {
+        this.cache = cache;
+        this.upstreamDataSourceFactory = upstreamDataSourceFactory;
+        this.cacheEventListener = cacheEventListener;
+    }
+
+    @Override
+    public DataSource createDataSource() {
+        DataSource upstream = upstreamDataSourceFactory.createDataSource();
+        CacheDataSource cacheDataSource = new CacheDataSource(
+                cache,
+                upstream,
+                new FileDataSource(),
+                new CacheDataSink(cache, CacheDataSource.DEFAULT_MAX_CACHE_FILE_SIZE),
+                CACHE_FLAGS,
+                cacheEventListener
+        );
+        return new SegmentOnlyCacheDataSource(cacheDataSource, upstream);
+    }
+
+    /**
+     * Cache reads are reported once per {@link CacheDataSource} on close, upstream reads once per transfer,
+     * both from loader threads, so they are summed up here and posted to the handler.
+     */
+    static class SegmentCacheEventDispatcher implements CacheDataSource.EventListener, TransferListener<Object> {
+
+        private final Map<Object, Long> upstreamBytesBySource = new HashMap<>();
+        private final Handler handler;
+        private final SegmentCacheListener segmentCacheListener;
+        private final TransferListener<Object> upstreamTransferListener;
+
+        SegmentCacheEventDispatcher(Handler handler,
+                                    SegmentCacheListener segmentCacheListener,
+                                    TransferListener<Object> upstreamTransferListener) {
+            this.handler = handler;
+            this.segmentCacheListener = segmentCacheListener;
+            this.upstreamTransferListener = upstreamTransferListener;
+        }
+
+        @Override
+        public void onCachedBytesRead(final long cacheSizeBytes, final long cachedBytesRead) {
+            handler.post(new Runnable() {
+                @Override
+                public void run() {
+                    segmentCacheListener.onBytesReadFromCache(cachedBytesRead, cacheSizeBytes);
+                }
+            });
+        }
+
+        @Override
+        public void onTransferStart(Object source, DataSpec dataSpec) {
+            synchronized (this) {
+                upstreamBytesBySource.put(source, 0L);
+            }
+            upstreamTransferListener.onTransferStart(source, dataSpec);
+        }
+
+        @Override
+        public void onBytesTransferred(Object source, int bytesTransferred) {
+            synchronized (this) {
+                Long upstreamBytesRead = upstreamBytesBySource.get(source);
+                if (upstreamBytesRead != null) {
+                    upstreamBytesBySource.put(source, upstreamBytesRead + bytesTransferred);
+                }
+            }
+            upstreamTransferListener.onBytesTransferred(source, bytesTransferred);
+        }
+
+        @Override
+        public void onTransferEnd(Object source) {
+            upstreamTransferListener.onTransferEnd(source);
+            final Long upstreamBytesRead;
+            synchronized (this) {
+                upstreamBytesRead = upstreamBytesBySource.remove(source);
+            }
+            if (upstreamBytesRead == null || upstreamBytesRead == 0) {
+                return;
+            }
+            handler.post(new Runnable() {
+                @Override
+                public void run() {
+                    segmentCacheListener.onBytesReadFromUpstream(upstreamBytesRead);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.novoda.noplayer.internal.exoplayer.mediasource;
+
+public interface SegmentCacheListener {
+
+    void onBytesReadFromCache(long cachedBytesRead, long cacheSizeInBytes);
+
+    void onBytesReadFromUpstream(long upstreamBytesRead);
+}
@@ -0,0 +1,61 @@
+package com.novoda.noplayer.internal.exoplayer.mediasource;
+
+import android.net.Uri;
+import android.support.annotation.Nullable;
+
+import com.google.android.exoplayer2.upstream.DataSource;
+import com.google.android.exoplayer2.upstream.DataSpec;
+
+import java.io.IOException;
+
+/**
+ * Sends manifests and playlists straight to the upstream {@link DataSource}, so that live and refreshed
+ * ones are never served stale, and everything else through the caching {@link DataSource}.
+ * <p>
+ * DASH and HLS load manifests and playlists with {@link DataSpec#FLAG_ALLOW_GZIP} and without a cache key,
+ * which media segments never combine.
+ */
+class SegmentOnlyCacheDataSource implements DataSource {
+
+    private final DataSource cacheDataSource;
+    private final DataSource upstream;
+
+    @Nullable
+    private DataSource openedDataSource;
+
+    SegmentOnlyCacheDataSource(DataSource cacheDataSource, DataSource upstream) {
+        this.cacheDataSource = cacheDataSource;
+        this.upstream = upstream;
+    }
+
+    @Override
+    public long open(DataSpec dataSpec) throws IOException {
+        openedDataSource = isManifest(dataSpec) ? upstream : cacheDataSource;
+        return openedDataSource.open(dataSpec);
+    }
+
+    private static boolean isManifest(DataSpec dataSpec) {
+        return dataSpec.key == null && (dataSpec.flags & DataSpec.FLAG_ALLOW_GZIP) != 0;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int readLength) throws IOException {
+        return openedDataSource.read(buffer, offset, readLength);
+    }
+
+    @Override
+    public Uri getUri() {
+        return openedDataSource == null ? null : openedDataSource.getUri();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (openedDataSource != null) {
+            try {
+                openedDataSource.close();
+            } finally {
+                openedDataSource = null;
+            }
+        }
+    }
+}
@@ -1,30 +1,137 @@
 package com.novoda.noplayer.internal.listeners;
 
 import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.internal.Clock;
+import com.novoda.noplayer.internal.SystemClock;
 
-import java.util.Set;
-import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-class HeartbeatCallbacks implements NoPlayer.HeartbeatCallback {
+/**
+ * Delivers heartbeats to each callback at its own cadence. Callbacks registered without an interval
+ * follow the pace of the {@link com.novoda.noplayer.internal.Heart}, which speeds up while buffering or seeking.
+ */
+public class HeartbeatCallbacks implements NoPlayer.HeartbeatCallback {
 
-    private final Set<NoPlayer.HeartbeatCallback> callbacks = new CopyOnWriteArraySet<>();
+    public static final long NO_DEMAND = -1;
+
+    private static final long FOLLOW_HEART = 0;
+    private static final long UNKNOWN_HEART_INTERVAL = -1;
+    private static final long DUE_TOLERANCE_IN_MILLIS = 50;
+    private static final Runnable NO_OP = new Runnable() {
+        @Override
+        public void run() {
+            // do nothing
+        }
+    };
+
+    private final Map<NoPlayer.HeartbeatCallback, Subscription> callbacks = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    private Runnable onDemandChanged = NO_OP;
+    private volatile long heartIntervalInMillis = UNKNOWN_HEART_INTERVAL;
+
+    HeartbeatCallbacks() {
+        this(new SystemClock());
+    }
+
+    HeartbeatCallbacks(Clock clock) {
+        this.clock = clock;
+    }
 
     void registerCallback(NoPlayer.HeartbeatCallback heartbeatCallback) {
-        callbacks.add(heartbeatCallback);
+        registerCallback(heartbeatCallback, FOLLOW_HEART);
+    }
+
+    void registerCallback(NoPlayer.HeartbeatCallback heartbeatCallback, long intervalInMillis) {
+        callbacks.put(heartbeatCallback, new Subscription(intervalInMillis));
+        onDemandChanged.run();
+    }
+
+    void unregisterCallback(NoPlayer.HeartbeatCallback heartbeatCallback) {
+        callbacks.remove(heartbeatCallback);
+        onDemandChanged.run();
     }
 
     void clear() {
         callbacks.clear();
+        onDemandChanged.run();
+    }
+
+    /**
+     * @param onDemandChanged run whenever callbacks are registered or unregistered.
+     */
+    public void setOnDemandChanged(Runnable onDemandChanged) {
+        this.onDemandChanged = onDemandChanged == null ? NO_OP : onDemandChanged;
+    }
+
+    /**
+     * @param heartIntervalInMillis the current pace of the heart.
+     * @return the delay until the next callback is due a beat, or {@link #NO_DEMAND} if there are no callbacks.
+     */
+    public long nextBeatDelayInMillis(long heartIntervalInMillis) {
+        this.heartIntervalInMillis = heartIntervalInMillis;
+        long now = clock.getCurrentTime();
+        long delay = NO_DEMAND;
+        for (Subscription subscription : callbacks.values()) {
+            long delayUntilDue = subscription.delayUntilDue(now, heartIntervalInMillis);
+            delay = delay == NO_DEMAND ? delayUntilDue : Math.min(delay, delayUntilDue);
+        }
+        return delay;
     }
 
     @Override
     public void onBeat(NoPlayer player) {
-        for (NoPlayer.HeartbeatCallback callback : callbacks) {
-            callback.onBeat(player);
+        long now = clock.getCurrentTime();
+        for (Map.Entry<NoPlayer.HeartbeatCallback, Subscription> entry : callbacks.entrySet()) {
+            Subscription subscription = entry.getValue();
+            if (subscription.isDue(now, heartIntervalInMillis)) {
+                subscription.lastBeatAt = now;
+                entry.getKey().onBeat(player);
+            }
         }
     }
 
-    void unregisterCallback(NoPlayer.HeartbeatCallback heartbeatCallback) {
-        callbacks.remove(heartbeatCallback);
+    /**
+     * Beats every callback regardless of its cadence, e.g. to report the final position when pausing.
+     */
+    public void onForcedBeat(NoPlayer player) {
+        long now = clock.getCurrentTime();
+        for (Map.Entry<NoPlayer.HeartbeatCallback, Subscription> entry : callbacks.entrySet()) {
+            entry.getValue().lastBeatAt = now;
+            entry.getKey().onBeat(player);
+        }
+    }
+
+    private static class Subscription {
+
+        private static final long NEVER = Long.MIN_VALUE;
+
+        private final long intervalInMillis;
+        private long lastBeatAt = NEVER;
+
+        Subscription(long intervalInMillis) {
+            this.intervalInMillis = intervalInMillis;
+        }
+
+        boolean followsHeart() {
+            return intervalInMillis == FOLLOW_HEART;
+        }
+
+        long delayUntilDue(long now, long heartIntervalInMillis) {
+            long interval = followsHeart() ? heartIntervalInMillis : intervalInMillis;
+            if (lastBeatAt == NEVER) {
+                return interval;
+            }
+            return Math.max(0, lastBeatAt + interval - now);
+        }
+
+        boolean isDue(long now, long heartIntervalInMillis) {
+            if (lastBeatAt == NEVER || (followsHeart() && heartIntervalInMillis == UNKNOWN_HEART_INTERVAL)) {
+                return true;
+            }
+            long interval = followsHeart() ? heartIntervalInMillis : intervalInMillis;
+            return now - lastBeatAt + DUE_TOLERANCE_IN_MILLIS >= interval;
+        }
     }
 }
@@ -1,14 +1,16 @@
 package com.novoda.noplayer.internal.listeners;
 
 import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.PlayerEvent;
 
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
 
-class InfoListeners implements NoPlayer.InfoListener {
+public class InfoListeners implements NoPlayer.InfoListener, NoPlayer.PlayerEventListener {
 
     private final Set<NoPlayer.InfoListener> listeners = new CopyOnWriteArraySet<>();
+    private final Set<NoPlayer.PlayerEventListener> playerEventListeners = new CopyOnWriteArraySet<>();
 
     void add(NoPlayer.InfoListener listener) {
         listeners.add(listener);
@@ -18,8 +20,31 @@ class InfoListeners implements NoPlayer.InfoListener {
         listeners.remove(listener);
     }
 
+    void add(NoPlayer.PlayerEventListener listener) {
+        playerEventListeners.add(listener);
+    }
+
+    void remove(NoPlayer.PlayerEventListener listener) {
+        playerEventListeners.remove(listener);
+    }
+
     void clear() {
         listeners.clear();
+        playerEventListeners.clear();
+    }
+
+    /**
+     * Forwarders check this before building the parameter map so that nothing is formatted when nobody is listening.
+     */
+    public boolean hasInfoListeners() {
+        return !listeners.isEmpty();
+    }
+
+    /**
+     * Forwarders check this before obtaining a {@link PlayerEvent}.
+     */
+    public boolean hasPlayerEventListeners() {
+        return !playerEventListeners.isEmpty();
     }
 
     @Override
@@ -28,4 +53,24 @@ class InfoListeners implements NoPlayer.InfoListener {
             listener.onNewInfo(callingMethod, callingMethodParams);
         }
     }
+
+    /**
+     * Notifies the typed listeners of an event without any fields, if there are any.
+     */
+    public void notifyPlayerEvent(PlayerEvent.Type type) {
+        if (hasPlayerEventListeners()) {
+            onPlayerEvent(PlayerEvent.obtain(type));
+        }
+    }
+
+    /**
+     * Notifies every listener and then recycles the event.
+     */
+    @Override
+    public void onPlayerEvent(PlayerEvent event) {
+        for (NoPlayer.PlayerEventListener listener : playerEventListeners) {
+            listener.onPlayerEvent(event);
+        }
+        event.recycle();
+    }
 }
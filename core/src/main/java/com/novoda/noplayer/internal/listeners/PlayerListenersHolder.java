@@ -89,6 +89,16 @@ public class PlayerListenersHolder implements Listeners {
         infoListeners.remove(infoListener);
     }
 
+    @Override
+    public void addPlayerEventListener(NoPlayer.PlayerEventListener playerEventListener) {
+        infoListeners.add(playerEventListener);
+    }
+
+    @Override
+    public void removePlayerEventListener(NoPlayer.PlayerEventListener playerEventListener) {
+        infoListeners.remove(playerEventListener);
+    }
+
     @Override
     public void addBitrateChangedListener(BitrateChangedListener bitrateChangedListener) {
         bitrateChangedListeners.add(bitrateChangedListener);
@@ -104,6 +114,11 @@ public class PlayerListenersHolder implements Listeners {
         heartbeatCallbacks.registerCallback(heartbeatCallback);
     }
 
+    @Override
+    public void addHeartbeatCallback(NoPlayer.HeartbeatCallback heartbeatCallback, long intervalInMillis) {
+        heartbeatCallbacks.registerCallback(heartbeatCallback, intervalInMillis);
+    }
+
     @Override
     public void removeHeartbeatCallback(NoPlayer.HeartbeatCallback heartbeatCallback) {
         heartbeatCallbacks.unregisterCallback(heartbeatCallback);
@@ -139,11 +154,11 @@ public class PlayerListenersHolder implements Listeners {
         return stateChangedListeners;
     }
 
-    public NoPlayer.InfoListener getInfoListeners() {
+    public InfoListeners getInfoListeners() {
         return infoListeners;
     }
 
-    public NoPlayer.HeartbeatCallback getHeartbeatCallbacks() {
+    public HeartbeatCallbacks getHeartbeatCallbacks() {
         return heartbeatCallbacks;
     }
 
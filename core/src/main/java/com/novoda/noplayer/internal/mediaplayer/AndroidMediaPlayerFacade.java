@@ -3,6 +3,7 @@ package com.novoda.noplayer.internal.mediaplayer;
 import android.content.Context;
 import android.media.AudioManager;
 import android.media.MediaPlayer;
+import android.media.TimedText;
 import android.net.Uri;
 import android.view.SurfaceHolder;
 
@@ -14,7 +15,6 @@ import com.novoda.noplayer.model.PlayerSubtitleTrack;
 import com.novoda.utils.NoPlayerLog;
 
 import java.io.IOException;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -30,34 +30,48 @@ class AndroidMediaPlayerFacade {
     private final MediaPlayerForwarder forwarder;
     private final AudioManager audioManager;
     private final AndroidMediaPlayerAudioTrackSelector trackSelector;
+    private final AndroidMediaPlayerSubtitleTrackSelector subtitleTrackSelector;
     private final PlaybackStateChecker playbackStateChecker;
 
     private PlaybackState currentState = IDLE;
 
     private MediaPlayer mediaPlayer;
     private int currentBufferPercentage;
+    private PlayerSubtitleTrack selectedSubtitleTrack;
+    private MediaPlayer.OnTimedTextListener timedTextOutput;
 
     private MediaPlayerCreator mediaPlayerCreator;
 
     static AndroidMediaPlayerFacade newInstance(Context context, MediaPlayerForwarder forwarder) {
         TrackInfosFactory trackInfosFactory = new TrackInfosFactory();
         AndroidMediaPlayerAudioTrackSelector trackSelector = new AndroidMediaPlayerAudioTrackSelector(trackInfosFactory);
+        AndroidMediaPlayerSubtitleTrackSelector subtitleTrackSelector = new AndroidMediaPlayerSubtitleTrackSelector(trackInfosFactory);
         PlaybackStateChecker playbackStateChecker = new PlaybackStateChecker();
         AudioManager audioManager = (AudioManager) context.getSystemService(Context.AUDIO_SERVICE);
         MediaPlayerCreator mediaPlayerCreator = new MediaPlayerCreator();
-        return new AndroidMediaPlayerFacade(context, forwarder, audioManager, trackSelector, playbackStateChecker, mediaPlayerCreator);
+        return new AndroidMediaPlayerFacade(
+                context,
+                forwarder,
+                audioManager,
+                trackSelector,
+                subtitleTrackSelector,
+                playbackStateChecker,
+                mediaPlayerCreator
+        );
     }
 
     AndroidMediaPlayerFacade(Context context,
                              MediaPlayerForwarder forwarder,
                              AudioManager audioManager,
                              AndroidMediaPlayerAudioTrackSelector trackSelector,
+                             AndroidMediaPlayerSubtitleTrackSelector subtitleTrackSelector,
                              PlaybackStateChecker playbackStateChecker,
                              MediaPlayerCreator mediaPlayerCreator) {
         this.context = context;
         this.forwarder = forwarder;
         this.audioManager = audioManager;
         this.trackSelector = trackSelector;
+        this.subtitleTrackSelector = subtitleTrackSelector;
         this.playbackStateChecker = playbackStateChecker;
         this.mediaPlayerCreator = mediaPlayerCreator;
     }
@@ -85,6 +99,8 @@ class AndroidMediaPlayerFacade {
         mediaPlayer.setOnCompletionListener(internalCompletionListener);
         mediaPlayer.setOnErrorListener(internalErrorListener);
         mediaPlayer.setOnBufferingUpdateListener(internalBufferingUpdateListener);
+        mediaPlayer.setOnInfoListener(internalInfoListener);
+        mediaPlayer.setOnTimedTextListener(internalTimedTextListener);
         mediaPlayer.setDataSource(context, videoUri, NO_HEADERS);
         mediaPlayer.setDisplay(surfaceHolder);
         mediaPlayer.setAudioStreamType(AudioManager.STREAM_MUSIC);
@@ -96,7 +112,7 @@ class AndroidMediaPlayerFacade {
     }
 
     private void reportCreationError(Exception ex, Uri videoUri) {
-        NoPlayerLog.w(ex, "Unable to open content: " + videoUri);
+        NoPlayerLog.w(ex, "Unable to open content: %s", videoUri);
         currentState = PlaybackState.ERROR;
         internalErrorListener.onError(mediaPlayer, MediaPlayer.MEDIA_ERROR_UNKNOWN, 0);
     }
@@ -140,7 +156,7 @@ class AndroidMediaPlayerFacade {
     private final MediaPlayer.OnErrorListener internalErrorListener = new MediaPlayer.OnErrorListener() {
         @Override
         public boolean onError(MediaPlayer mp, int what, int extra) {
-            NoPlayerLog.d("Error: " + what + "," + extra);
+            NoPlayerLog.d("Error: %d,%d", what, extra);
             currentState = PlaybackState.ERROR;
             MediaPlayer.OnErrorListener onErrorForwarder = forwarder.onErrorListener();
             if (onErrorForwarder == null) {
@@ -150,6 +166,17 @@ class AndroidMediaPlayerFacade {
         }
     };
 
+    private final MediaPlayer.OnInfoListener internalInfoListener = new MediaPlayer.OnInfoListener() {
+        @Override
+        public boolean onInfo(MediaPlayer mp, int what, int extra) {
+            MediaPlayer.OnInfoListener onInfoForwarder = forwarder.onInfoListener();
+            if (onInfoForwarder == null) {
+                throw new IllegalStateException("Should bind a OnInfoListener. Cannot forward events.");
+            }
+            return onInfoForwarder.onInfo(mp, what, extra);
+        }
+    };
+
     private final MediaPlayer.OnBufferingUpdateListener internalBufferingUpdateListener = new MediaPlayer.OnBufferingUpdateListener() {
         @Override
         public void onBufferingUpdate(MediaPlayer mp, int percent) {
@@ -157,7 +184,17 @@ class AndroidMediaPlayerFacade {
         }
     };
 
+    private final MediaPlayer.OnTimedTextListener internalTimedTextListener = new MediaPlayer.OnTimedTextListener() {
+        @Override
+        public void onTimedText(MediaPlayer mp, TimedText text) {
+            if (timedTextOutput != null) {
+                timedTextOutput.onTimedText(mp, text);
+            }
+        }
+    };
+
     void release() {
+        selectedSubtitleTrack = null;
         if (hasPlayer()) {
             mediaPlayer.reset();
             mediaPlayer.release();
@@ -229,21 +266,34 @@ class AndroidMediaPlayerFacade {
         return mediaPlayer != null;
     }
 
+    void setTimedTextOutput(MediaPlayer.OnTimedTextListener timedTextOutput) {
+        this.timedTextOutput = timedTextOutput;
+    }
+
+    void removeTimedTextOutput() {
+        timedTextOutput = null;
+    }
+
     void clearSubtitleTrack() throws IllegalStateException {
         assertIsInPlaybackState();
-        NoPlayerLog.w("Tried to hide subtitle track but has not been implemented for MediaPlayer.");
+        if (selectedSubtitleTrack != null) {
+            subtitleTrackSelector.clearSubtitleTrack(mediaPlayer, selectedSubtitleTrack);
+            selectedSubtitleTrack = null;
+        }
     }
 
     boolean selectSubtitleTrack(PlayerSubtitleTrack subtitleTrack) throws IllegalStateException {
         assertIsInPlaybackState();
-        NoPlayerLog.w("Tried to show subtitle track but has not been implemented for MediaPlayer.");
-        return false;
+        boolean selected = subtitleTrackSelector.selectSubtitleTrack(mediaPlayer, subtitleTrack);
+        if (selected) {
+            selectedSubtitleTrack = subtitleTrack;
+        }
+        return selected;
     }
 
     List<PlayerSubtitleTrack> getSubtitleTracks() throws IllegalStateException {
         assertIsInPlaybackState();
-        NoPlayerLog.w("Tried to get subtitle tracks but has not been implemented for MediaPlayer.");
-        return Collections.emptyList();
+        return subtitleTrackSelector.getSubtitleTracks(mediaPlayer);
     }
 
     private void assertIsInPlaybackState() throws IllegalStateException {
@@ -9,30 +9,39 @@ import android.view.View;
 import com.novoda.noplayer.ContentType;
 import com.novoda.noplayer.Listeners;
 import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.PlayerEvent;
 import com.novoda.noplayer.PlayerInformation;
 import com.novoda.noplayer.PlayerState;
 import com.novoda.noplayer.PlayerView;
 import com.novoda.noplayer.SurfaceHolderRequester;
+import com.novoda.noplayer.internal.DeviceQuirks;
 import com.novoda.noplayer.internal.Heart;
+import com.novoda.noplayer.internal.SeekCoordinator;
 import com.novoda.noplayer.internal.listeners.PlayerListenersHolder;
 import com.novoda.noplayer.internal.mediaplayer.forwarder.MediaPlayerForwarder;
+import com.novoda.noplayer.internal.subtitles.SidecarSubtitles;
 import com.novoda.noplayer.model.AudioTracks;
 import com.novoda.noplayer.model.LoadTimeout;
+import com.novoda.noplayer.model.MediaItem;
 import com.novoda.noplayer.model.PlayerAudioTrack;
 import com.novoda.noplayer.model.PlayerSubtitleTrack;
+import com.novoda.noplayer.model.SidecarSubtitle;
 import com.novoda.noplayer.model.Timeout;
 import com.novoda.noplayer.model.VideoDuration;
 import com.novoda.noplayer.model.VideoPosition;
+import com.novoda.utils.NoPlayerLog;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 
 class AndroidMediaPlayerImpl implements NoPlayer {
 
-    private static final VideoPosition NO_SEEK_TO_POSITION = VideoPosition.INVALID;
     private static final int INITIAL_PLAY_SEEK_DELAY_IN_MILLIS = 500;
 
     private final List<SurfaceHolderRequester.Callback> surfaceHolderRequesterCallbacks = new ArrayList<>();
+    private final Deque<MediaItem> playlist = new ArrayDeque<>();
 
     private final MediaPlayerInformation mediaPlayerInformation;
     private final AndroidMediaPlayerFacade mediaPlayer;
@@ -43,14 +52,20 @@ class AndroidMediaPlayerImpl implements NoPlayer {
     private final PlayerListenersHolder listenersHolder;
     private final LoadTimeout loadTimeout;
     private final BuggyVideoDriverPreventer buggyVideoDriverPreventer;
+    private final DeviceQuirks deviceQuirks;
+    private final SeekCoordinator seekCoordinator;
+    private final SidecarSubtitles sidecarSubtitles;
 
     private int videoWidth;
     private int videoHeight;
-    private VideoPosition seekToPosition = NO_SEEK_TO_POSITION;
 
     private boolean seekingWithIntentToPlay;
+    private Runnable delayedInitialSeek;
+    private boolean playlistLoaded;
+    private boolean playWhenPrepared;
     private SurfaceHolderRequester surfaceHolderRequester;
     private View containerView;
+    private PlayerView playerView;
 
     AndroidMediaPlayerImpl(MediaPlayerInformation mediaPlayerInformation,
                            AndroidMediaPlayerFacade mediaPlayer,
@@ -60,7 +75,10 @@ class AndroidMediaPlayerImpl implements NoPlayer {
                            LoadTimeout loadTimeout,
                            Heart heart,
                            Handler handler,
-                           BuggyVideoDriverPreventer buggyVideoDriverPreventer) {
+                           BuggyVideoDriverPreventer buggyVideoDriverPreventer,
+                           DeviceQuirks deviceQuirks,
+                           SeekCoordinator seekCoordinator,
+                           SidecarSubtitles sidecarSubtitles) {
         this.mediaPlayerInformation = mediaPlayerInformation;
         this.mediaPlayer = mediaPlayer;
         this.forwarder = forwarder;
@@ -70,6 +88,9 @@ class AndroidMediaPlayerImpl implements NoPlayer {
         this.heart = heart;
         this.handler = handler;
         this.buggyVideoDriverPreventer = buggyVideoDriverPreventer;
+        this.deviceQuirks = deviceQuirks;
+        this.seekCoordinator = seekCoordinator;
+        this.sidecarSubtitles = sidecarSubtitles;
     }
 
     void initialise() {
@@ -79,6 +100,8 @@ class AndroidMediaPlayerImpl implements NoPlayer {
         forwarder.bind(listenersHolder.getVideoSizeChangedListeners());
         forwarder.bind(listenersHolder.getInfoListeners());
 
+        forwarder.bind(bufferHeartbeatCallback);
+
         bufferHeartbeatCallback.bind(forwarder.onHeartbeatListener());
 
         heart.bind(new Heart.Heartbeat(listenersHolder.getHeartbeatCallbacks(), this));
@@ -89,6 +112,29 @@ class AndroidMediaPlayerImpl implements NoPlayer {
             public void onPrepared(PlayerState playerState) {
                 loadTimeout.cancel();
                 mediaPlayer.setOnSeekCompleteListener(seekToResettingSeekListener);
+                if (playWhenPrepared) {
+                    playWhenPrepared = false;
+                    play();
+                }
+            }
+        });
+        listenersHolder.addCompletionListener(new CompletionListener() {
+            @Override
+            public void onCompletion() {
+                if (playlistLoaded && !playlist.isEmpty()) {
+                    skipToNext();
+                }
+            }
+        });
+        listenersHolder.addBufferStateListener(new BufferStateListener() {
+            @Override
+            public void onBufferStarted() {
+                heart.setBuffering(true);
+            }
+
+            @Override
+            public void onBufferCompleted() {
+                heart.setBuffering(false);
             }
         });
         listenersHolder.addErrorListener(new ErrorListener() {
@@ -109,11 +155,18 @@ class AndroidMediaPlayerImpl implements NoPlayer {
     private final MediaPlayer.OnSeekCompleteListener seekToResettingSeekListener = new MediaPlayer.OnSeekCompleteListener() {
         @Override
         public void onSeekComplete(MediaPlayer mp) {
-            seekToPosition = NO_SEEK_TO_POSITION;
+            if (seekCoordinator.onSeekProcessed()) {
+                return;
+            }
+            seekCoordinator.onReady();
+            sidecarSubtitles.refresh();
 
-            if (seekingWithIntentToPlay || isPlaying()) {
+            if (seekingWithIntentToPlay) {
                 seekingWithIntentToPlay = false;
                 play();
+                listenersHolder.getBufferStateListeners().onBufferCompleted();
+            } else if (isPlaying()) {
+                play();
             }
         }
     };
@@ -125,6 +178,7 @@ class AndroidMediaPlayerImpl implements NoPlayer {
             @Override
             public void onSurfaceHolderReady(SurfaceHolder surfaceHolder) {
                 mediaPlayer.start(surfaceHolder);
+                sidecarSubtitles.refresh();
                 listenersHolder.getStateChangedListeners().onVideoPlaying();
             }
         });
@@ -138,25 +192,40 @@ class AndroidMediaPlayerImpl implements NoPlayer {
             requestSurface(new SurfaceHolderRequester.Callback() {
                 @Override
                 public void onSurfaceHolderReady(SurfaceHolder surfaceHolder) {
-                    initialSeekWorkaround(surfaceHolder, position);
+                    if (deviceQuirks.has(DeviceQuirks.Quirk.START_BEFORE_INITIAL_SEEK)) {
+                        initialSeekWorkaround(surfaceHolder, position);
+                    } else {
+                        initialSeek(position);
+                    }
                 }
             });
         }
     }
 
+    /**
+     * Seeks straight away and starts playing once {@link MediaPlayer.OnSeekCompleteListener} reports the seek as done.
+     */
+    private void initialSeek(VideoPosition initialPlayPosition) {
+        listenersHolder.getBufferStateListeners().onBufferStarted();
+        seekWithIntentToPlay(initialPlayPosition);
+    }
+
     /**
      * Workaround to fix some devices (nexus 7 2013 in particular) from natively crashing the mediaplayer
      * by starting the mediaplayer before seeking it.
      */
     private void initialSeekWorkaround(SurfaceHolder surfaceHolder, final VideoPosition initialPlayPosition) throws IllegalStateException {
         listenersHolder.getBufferStateListeners().onBufferStarted();
+        seekingWithIntentToPlay = true;
         initialisePlaybackForSeeking(surfaceHolder);
-        handler.postDelayed(new Runnable() {
+        delayedInitialSeek = new Runnable() {
             @Override
             public void run() {
-                seekWithIntentToPlay(initialPlayPosition);
+                delayedInitialSeek = null;
+                seekTo(initialPlayPosition);
             }
-        }, INITIAL_PLAY_SEEK_DELAY_IN_MILLIS);
+        };
+        handler.postDelayed(delayedInitialSeek, INITIAL_PLAY_SEEK_DELAY_IN_MILLIS);
     }
 
     private void initialisePlaybackForSeeking(SurfaceHolder surfaceHolder) {
@@ -184,13 +253,14 @@ class AndroidMediaPlayerImpl implements NoPlayer {
 
     @Override
     public void seekTo(VideoPosition position) throws IllegalStateException {
-        seekToPosition = position;
-        mediaPlayer.seekTo(position.inImpreciseMillis());
+        heart.onSeekRequested();
+        seekCoordinator.seekTo(position);
     }
 
     @Override
     public void pause() throws IllegalStateException {
         mediaPlayer.pause();
+        sidecarSubtitles.refresh();
         if (heart.isBeating()) {
             heart.stopBeatingHeart();
             heart.forceBeat();
@@ -199,12 +269,61 @@ class AndroidMediaPlayerImpl implements NoPlayer {
     }
 
     @Override
-    public void loadVideo(final Uri uri, ContentType contentType) {
+    public void loadVideo(Uri uri, ContentType contentType) {
+        clearPlaylist();
+        load(uri);
+    }
+
+    @Override
+    public void loadVideo(Uri uri, ContentType contentType, List<SidecarSubtitle> sidecarSubtitles) {
+        loadVideo(uri, contentType);
+        this.sidecarSubtitles.load(sidecarSubtitles);
+    }
+
+    @Override
+    public void loadPlaylist(List<MediaItem> mediaItems) {
+        clearPlaylist();
+        playlist.addAll(mediaItems);
+        playlistLoaded = true;
+        if (!playlist.isEmpty()) {
+            load(playlist.poll().uri());
+        }
+    }
+
+    @Override
+    public void enqueue(MediaItem mediaItem) throws IllegalStateException {
+        assertPlaylistLoaded();
+        playlist.add(mediaItem);
+    }
+
+    @Override
+    public void skipToNext() throws IllegalStateException {
+        assertPlaylistLoaded();
+        if (!playlist.isEmpty()) {
+            playWhenPrepared = true;
+            load(playlist.poll().uri());
+        }
+    }
+
+    private void assertPlaylistLoaded() {
+        if (!playlistLoaded) {
+            throw new IllegalStateException("A playlist must be loaded before trying to change it");
+        }
+    }
+
+    private void clearPlaylist() {
+        playlist.clear();
+        playlistLoaded = false;
+        playWhenPrepared = false;
+    }
+
+    private void load(final Uri uri) {
         if (mediaPlayer.hasPlayedContent()) {
             stop();
         }
         assertPlayerViewIsAttached();
         createSurfaceByShowingVideoContainer();
+        listenersHolder.getInfoListeners().notifyPlayerEvent(PlayerEvent.Type.VIDEO_LOAD_REQUESTED);
         listenersHolder.getBufferStateListeners().onBufferStarted();
         requestSurface(new SurfaceHolderRequester.Callback() {
             @Override
@@ -224,6 +343,11 @@ class AndroidMediaPlayerImpl implements NoPlayer {
         }
     }
 
+    @Override
+    public void preload(Uri uri, ContentType contentType) {
+        NoPlayerLog.w("Tried to preload content but has not been implemented for MediaPlayer.");
+    }
+
     @Override
     public void loadVideoWithTimeout(Uri uri, ContentType contentType, Timeout timeout, LoadTimeoutCallback loadTimeoutCallback) {
         loadTimeout.start(timeout, loadTimeoutCallback);
@@ -232,11 +356,7 @@ class AndroidMediaPlayerImpl implements NoPlayer {
 
     @Override
     public VideoPosition getPlayheadPosition() throws IllegalStateException {
-        return isSeeking() ? seekToPosition : VideoPosition.fromMillis(mediaPlayer.getCurrentPosition());
-    }
-
-    private boolean isSeeking() {
-        return !seekToPosition.equals(NO_SEEK_TO_POSITION);
+        return seekCoordinator.isSeeking() ? seekCoordinator.targetPosition() : VideoPosition.fromMillis(mediaPlayer.getCurrentPosition());
     }
 
     @Override
@@ -266,6 +386,7 @@ class AndroidMediaPlayerImpl implements NoPlayer {
 
     @Override
     public void attach(PlayerView playerView) {
+        this.playerView = playerView;
         containerView = playerView.getContainerView();
         buggyVideoDriverPreventer.preventVideoDriverBug(this, containerView);
         listenersHolder.addVideoSizeChangedListener(playerView.getVideoSizeChangedListener());
@@ -279,8 +400,11 @@ class AndroidMediaPlayerImpl implements NoPlayer {
         listenersHolder.removeStateChangedListener(playerView.getStateChangedListener());
         listenersHolder.removeVideoSizeChangedListener(playerView.getVideoSizeChangedListener());
         buggyVideoDriverPreventer.clear(playerView.getContainerView());
+        sidecarSubtitles.hide();
+        mediaPlayer.removeTimedTextOutput();
         surfaceHolderRequester = null;
         containerView = null;
+        this.playerView = null;
     }
 
     private void clearSurfaceHolderCallbacks() {
@@ -297,12 +421,42 @@ class AndroidMediaPlayerImpl implements NoPlayer {
 
     @Override
     public boolean showSubtitleTrack(PlayerSubtitleTrack subtitleTrack) throws IllegalStateException {
-        return mediaPlayer.selectSubtitleTrack(subtitleTrack);
+        if (sidecarSubtitles.isSidecarTrack(subtitleTrack)) {
+            return showSidecarSubtitleTrack(subtitleTrack);
+        }
+        sidecarSubtitles.hide();
+        assertPlayerViewIsAttachedForSubtitles();
+        if (!mediaPlayer.selectSubtitleTrack(subtitleTrack)) {
+            return false;
+        }
+        mediaPlayer.setTimedTextOutput(new TimedTextOutput(playerView));
+        playerView.showSubtitles();
+        return true;
+    }
+
+    private boolean showSidecarSubtitleTrack(PlayerSubtitleTrack subtitleTrack) {
+        assertPlayerViewIsAttachedForSubtitles();
+        mediaPlayer.clearSubtitleTrack();
+        mediaPlayer.removeTimedTextOutput();
+        playerView.showSubtitles();
+        sidecarSubtitles.show(subtitleTrack, playerView, this);
+        return true;
+    }
+
+    private void assertPlayerViewIsAttachedForSubtitles() {
+        if (playerView == null) {
+            throw new IllegalStateException("A PlayerView must be attached in order to show subtitles");
+        }
     }
 
     @Override
     public void hideSubtitleTrack() throws IllegalStateException {
+        sidecarSubtitles.hide();
         mediaPlayer.clearSubtitleTrack();
+        mediaPlayer.removeTimedTextOutput();
+        if (playerView != null) {
+            playerView.hideSubtitles();
+        }
     }
 
     @Override
@@ -312,7 +466,9 @@ class AndroidMediaPlayerImpl implements NoPlayer {
 
     @Override
     public List<PlayerSubtitleTrack> getSubtitleTracks() throws IllegalStateException {
-        return mediaPlayer.getSubtitleTracks();
+        List<PlayerSubtitleTrack> subtitleTracks = new ArrayList<>(mediaPlayer.getSubtitleTracks());
+        subtitleTracks.addAll(sidecarSubtitles.getSubtitleTracks());
+        return subtitleTracks;
     }
 
     @Override
@@ -328,7 +484,9 @@ class AndroidMediaPlayerImpl implements NoPlayer {
 
     @Override
     public void release() {
+        clearPlaylist();
         stop();
+        sidecarSubtitles.release();
         listenersHolder.clear();
     }
 
@@ -336,8 +494,27 @@ class AndroidMediaPlayerImpl implements NoPlayer {
         listenersHolder.resetPreparedState();
         loadTimeout.cancel();
         heart.stopBeatingHeart();
+        seekCoordinator.reset();
+        completePendingInitialSeek();
+        sidecarSubtitles.clear();
         mediaPlayer.release();
-        destroySurfaceByHidingVideoContainer();
+        if (deviceQuirks.has(DeviceQuirks.Quirk.DESTROY_SURFACE_BETWEEN_VIDEOS)) {
+            destroySurfaceByHidingVideoContainer();
+        }
+    }
+
+    /**
+     * The buffering started by an initial seek only completes with the seek, which never comes once reset.
+     */
+    private void completePendingInitialSeek() {
+        if (delayedInitialSeek != null) {
+            handler.removeCallbacks(delayedInitialSeek);
+            delayedInitialSeek = null;
+        }
+        if (seekingWithIntentToPlay) {
+            seekingWithIntentToPlay = false;
+            listenersHolder.getBufferStateListeners().onBufferCompleted();
+        }
     }
 
     private void destroySurfaceByHidingVideoContainer() {
@@ -0,0 +1,76 @@
+package com.novoda.noplayer.internal.mediaplayer;
+
+import android.media.MediaPlayer;
+
+import com.novoda.noplayer.model.PlayerSubtitleTrack;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class AndroidMediaPlayerSubtitleTrackSelector {
+
+    private static final int NO_FORMAT = 0;
+    private static final int NO_CHANNELS = -1;
+    private static final int NO_FREQUENCY = -1;
+    private static final String NO_MIME_TYPE = "";
+
+    private final TrackInfosFactory trackInfosFactory;
+
+    AndroidMediaPlayerSubtitleTrackSelector(TrackInfosFactory trackInfosFactory) {
+        this.trackInfosFactory = trackInfosFactory;
+    }
+
+    List<PlayerSubtitleTrack> getSubtitleTracks(MediaPlayer mediaPlayer) {
+        if (mediaPlayer == null) {
+            throw new NullPointerException("You can only call getSubtitleTracks() when video is prepared.");
+        }
+
+        List<PlayerSubtitleTrack> subtitleTracks = new ArrayList<>();
+        NoPlayerTrackInfos trackInfos = trackInfosFactory.createFrom(mediaPlayer);
+
+        for (int i = 0; i < trackInfos.size(); i++) {
+            NoPlayerTrackInfo trackInfo = trackInfos.get(i);
+            if (trackInfo.type() == MediaPlayer.TrackInfo.MEDIA_TRACK_TYPE_TIMEDTEXT) {
+                subtitleTracks.add(
+                        new PlayerSubtitleTrack(
+                                i,
+                                NO_FORMAT,
+                                String.valueOf(trackInfo.hashCode()),
+                                trackInfo.language(),
+                                NO_MIME_TYPE,
+                                NO_CHANNELS,
+                                NO_FREQUENCY
+                        )
+                );
+            }
+        }
+        return subtitleTracks;
+    }
+
+    boolean selectSubtitleTrack(MediaPlayer mediaPlayer, PlayerSubtitleTrack subtitleTrack) {
+        if (mediaPlayer == null) {
+            throw new NullPointerException("You can only call selectSubtitleTrack() when video is prepared.");
+        }
+
+        int trackIndex = subtitleTrack.groupIndex();
+        if (!isTimedTextTrack(trackInfosFactory.createFrom(mediaPlayer), trackIndex)) {
+            return false;
+        }
+        mediaPlayer.selectTrack(trackIndex);
+        return true;
+    }
+
+    private boolean isTimedTextTrack(NoPlayerTrackInfos trackInfos, int trackIndex) {
+        return trackIndex >= 0
+                && trackIndex < trackInfos.size()
+                && trackInfos.get(trackIndex).type() == MediaPlayer.TrackInfo.MEDIA_TRACK_TYPE_TIMEDTEXT;
+    }
+
+    void clearSubtitleTrack(MediaPlayer mediaPlayer, PlayerSubtitleTrack subtitleTrack) {
+        if (mediaPlayer == null) {
+            throw new NullPointerException("You can only call clearSubtitleTrack() when video is prepared.");
+        }
+
+        mediaPlayer.deselectTrack(subtitleTrack.groupIndex());
+    }
+}
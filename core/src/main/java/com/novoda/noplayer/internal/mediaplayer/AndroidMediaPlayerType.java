@@ -1,6 +1,6 @@
 package com.novoda.noplayer.internal.mediaplayer;
 
-enum AndroidMediaPlayerType {
+public enum AndroidMediaPlayerType {
 
     AWESOME("AwesomePlayer"),
     NU("NuPlayer"),
@@ -3,27 +3,45 @@ package com.novoda.noplayer.internal.mediaplayer;
 import com.novoda.noplayer.NoPlayer;
 import com.novoda.noplayer.model.VideoPosition;
 
+/**
+ * Guesses buffering from the playhead not moving between heartbeats. MediaPlayer reports buffering through
+ * {@link android.media.MediaPlayer#MEDIA_INFO_BUFFERING_START} and {@link android.media.MediaPlayer#MEDIA_INFO_BUFFERING_END},
+ * so this is only a fallback that stops guessing as soon as the platform reports either of them.
+ */
 public class CheckBufferHeartbeatCallback implements NoPlayer.HeartbeatCallback {
 
     private static final int FORCED_BUFFERING_BEATS_THRESHOLD = 4;
+    private static final int PERCENT = 100;
 
     private BufferListener bufferListener = BufferListener.NULL_IMPL;
     private VideoPosition previousPosition = VideoPosition.INVALID;
     private int beatsPlayed;
+    private boolean bufferingInfoReported;
 
     public void bind(BufferListener bufferListener) {
         this.bufferListener = bufferListener;
     }
 
+    /**
+     * Called when the platform reports buffering itself. Players that do so keep doing so for every video,
+     * so guessing is not resumed afterwards.
+     */
+    public void onBufferingInfoReported() {
+        bufferingInfoReported = true;
+    }
+
     @Override
     public void onBeat(NoPlayer player) {
+        if (bufferingInfoReported) {
+            return;
+        }
         if (mediaPlayerIsUnavailable(player)) {
             stopBuffering();
             return;
         }
 
         VideoPosition currentPosition = player.getPlayheadPosition();
-        if (positionNotUpdating(currentPosition)) {
+        if (positionNotUpdating(currentPosition) && !isBufferedAhead(player, currentPosition)) {
             beatsPlayed = 0;
             startBuffering();
         } else {
@@ -39,6 +57,15 @@ public class CheckBufferHeartbeatCallback implements NoPlayer.HeartbeatCallback
         return currentPosition.equals(previousPosition);
     }
 
+    /**
+     * A playhead stuck with content buffered ahead of it is not waiting on the network.
+     */
+    private boolean isBufferedAhead(NoPlayer player, VideoPosition currentPosition) {
+        float bufferedFraction = (float) player.getBufferPercentage() / PERCENT;
+        VideoPosition bufferedPosition = player.getMediaDuration().positionAtPercentage(bufferedFraction);
+        return bufferedPosition.isAfter(currentPosition);
+    }
+
     private void stopBuffering() {
         bufferListener.onBufferComplete();
     }
@@ -0,0 +1,18 @@
+package com.novoda.noplayer.internal.mediaplayer;
+
+import com.novoda.noplayer.internal.SeekCoordinator;
+import com.novoda.noplayer.model.VideoPosition;
+
+class MediaPlayerSeeker implements SeekCoordinator.Seeker {
+
+    private final AndroidMediaPlayerFacade mediaPlayer;
+
+    MediaPlayerSeeker(AndroidMediaPlayerFacade mediaPlayer) {
+        this.mediaPlayer = mediaPlayer;
+    }
+
+    @Override
+    public void seekTo(VideoPosition position) throws IllegalStateException {
+        mediaPlayer.seekTo(position.inImpreciseMillis());
+    }
+}
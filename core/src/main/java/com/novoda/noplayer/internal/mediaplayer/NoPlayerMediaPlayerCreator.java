@@ -5,10 +5,13 @@ import android.os.Build;
 import android.os.Handler;
 
 import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.internal.DeviceQuirks;
 import com.novoda.noplayer.internal.Heart;
+import com.novoda.noplayer.internal.SeekCoordinator;
 import com.novoda.noplayer.internal.SystemClock;
 import com.novoda.noplayer.internal.listeners.PlayerListenersHolder;
 import com.novoda.noplayer.internal.mediaplayer.forwarder.MediaPlayerForwarder;
+import com.novoda.noplayer.internal.subtitles.SidecarSubtitles;
 import com.novoda.noplayer.model.LoadTimeout;
 
 public class NoPlayerMediaPlayerCreator {
@@ -43,11 +46,13 @@ public class NoPlayerMediaPlayerCreator {
             MediaPlayerForwarder forwarder = new MediaPlayerForwarder();
             AndroidMediaPlayerFacade facade = AndroidMediaPlayerFacade.newInstance(context, forwarder);
             PlayerListenersHolder listenersHolder = new PlayerListenersHolder();
-            CheckBufferHeartbeatCallback bufferHeartbeatCallback = new CheckBufferHeartbeatCallback();
             Heart heart = Heart.newInstance(handler);
             MediaPlayerTypeReader mediaPlayerTypeReader = new MediaPlayerTypeReader(new SystemProperties(), Build.VERSION.SDK_INT);
+            CheckBufferHeartbeatCallback bufferHeartbeatCallback = new CheckBufferHeartbeatCallback();
             BuggyVideoDriverPreventer preventer = new BuggyVideoDriverPreventer(mediaPlayerTypeReader);
             MediaPlayerInformation mediaPlayerInformation = new MediaPlayerInformation(mediaPlayerTypeReader);
+            DeviceQuirks deviceQuirks = DeviceQuirks.newInstance(mediaPlayerTypeReader.getPlayerType());
+            SeekCoordinator seekCoordinator = SeekCoordinator.newInstance(new MediaPlayerSeeker(facade), listenersHolder.getInfoListeners());
             return new AndroidMediaPlayerImpl(
                     mediaPlayerInformation,
                     facade,
@@ -57,7 +62,10 @@ public class NoPlayerMediaPlayerCreator {
                     loadTimeout,
                     heart,
                     handler,
-                    preventer
+                    preventer,
+                    deviceQuirks,
+                    seekCoordinator,
+                    SidecarSubtitles.newInstance(context, handler)
             );
         }
     }
@@ -0,0 +1,37 @@
+package com.novoda.noplayer.internal.mediaplayer;
+
+import android.media.MediaPlayer;
+import android.media.TimedText;
+
+import com.google.android.exoplayer2.text.Cue;
+import com.novoda.noplayer.PlayerView;
+import com.novoda.noplayer.internal.exoplayer.ExoPlayerCueMapper;
+import com.novoda.noplayer.model.NoPlayerCue;
+import com.novoda.noplayer.model.TextCues;
+
+import java.util.Collections;
+
+/**
+ * Shows the timed text pushed by the MediaPlayer for the selected in-band subtitle track.
+ * MediaPlayer sends a text without content once a cue should no longer be displayed.
+ */
+class TimedTextOutput implements MediaPlayer.OnTimedTextListener {
+
+    private static final TextCues NO_CUES = TextCues.of(Collections.<NoPlayerCue>emptyList());
+
+    private final PlayerView playerView;
+
+    TimedTextOutput(PlayerView playerView) {
+        this.playerView = playerView;
+    }
+
+    @Override
+    public void onTimedText(MediaPlayer mediaPlayer, TimedText timedText) {
+        if (timedText == null || timedText.getText() == null) {
+            playerView.setSubtitleCue(NO_CUES);
+        } else {
+            NoPlayerCue cue = ExoPlayerCueMapper.map(new Cue(timedText.getText()));
+            playerView.setSubtitleCue(TextCues.of(Collections.singletonList(cue)));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.novoda.noplayer.internal.mediaplayer.forwarder;
+
+import android.media.MediaPlayer;
+
+import com.novoda.noplayer.NoPlayer;
+
+class BufferingInfoForwarder implements MediaPlayer.OnInfoListener {
+
+    private final NoPlayer.BufferStateListener bufferStateListener;
+
+    BufferingInfoForwarder(NoPlayer.BufferStateListener bufferStateListener) {
+        this.bufferStateListener = bufferStateListener;
+    }
+
+    @Override
+    public boolean onInfo(MediaPlayer mp, int what, int extra) {
+        if (what == MediaPlayer.MEDIA_INFO_BUFFERING_START) {
+            bufferStateListener.onBufferStarted();
+            return true;
+        } else if (what == MediaPlayer.MEDIA_INFO_BUFFERING_END) {
+            bufferStateListener.onBufferCompleted();
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,22 @@
+package com.novoda.noplayer.internal.mediaplayer.forwarder;
+
+import android.media.MediaPlayer;
+
+import com.novoda.noplayer.internal.mediaplayer.CheckBufferHeartbeatCallback;
+
+class BufferingInfoHeartbeatForwarder implements MediaPlayer.OnInfoListener {
+
+    private final CheckBufferHeartbeatCallback bufferHeartbeatCallback;
+
+    BufferingInfoHeartbeatForwarder(CheckBufferHeartbeatCallback bufferHeartbeatCallback) {
+        this.bufferHeartbeatCallback = bufferHeartbeatCallback;
+    }
+
+    @Override
+    public boolean onInfo(MediaPlayer mp, int what, int extra) {
+        if (what == MediaPlayer.MEDIA_INFO_BUFFERING_START || what == MediaPlayer.MEDIA_INFO_BUFFERING_END) {
+            bufferHeartbeatCallback.onBufferingInfoReported();
+        }
+        return false;
+    }
+}
@@ -4,6 +4,7 @@ import android.media.MediaPlayer;
 
 import com.novoda.noplayer.NoPlayer;
 import com.novoda.noplayer.PlayerState;
+import com.novoda.noplayer.internal.listeners.InfoListeners;
 import com.novoda.noplayer.internal.mediaplayer.CheckBufferHeartbeatCallback;
 
 public class MediaPlayerForwarder {
@@ -13,6 +14,7 @@ public class MediaPlayerForwarder {
     private final MediaPlayerCompletionListener completionListener;
     private final MediaPlayerErrorListener errorListener;
     private final VideoSizeChangedListener videoSizeChangedListener;
+    private final MediaPlayerInfoListener infoListener;
 
     public MediaPlayerForwarder() {
         preparedListener = new MediaPlayerPreparedListener();
@@ -20,6 +22,7 @@ public class MediaPlayerForwarder {
         completionListener = new MediaPlayerCompletionListener();
         errorListener = new MediaPlayerErrorListener();
         videoSizeChangedListener = new VideoSizeChangedListener();
+        infoListener = new MediaPlayerInfoListener();
     }
 
     public void bind(NoPlayer.PreparedListener preparedListener, PlayerState playerState) {
@@ -29,9 +32,14 @@ public class MediaPlayerForwarder {
     public void bind(NoPlayer.BufferStateListener bufferStateListener, NoPlayer.ErrorListener errorListener) {
         preparedListener.add(new BufferOnPreparedListener(bufferStateListener));
         heartBeatListener.add(new BufferHeartbeatListener(bufferStateListener));
+        infoListener.add(new BufferingInfoForwarder(bufferStateListener));
         this.errorListener.add(new ErrorForwarder(bufferStateListener, errorListener));
     }
 
+    public void bind(CheckBufferHeartbeatCallback bufferHeartbeatCallback) {
+        infoListener.add(new BufferingInfoHeartbeatForwarder(bufferHeartbeatCallback));
+    }
+
     public void bind(NoPlayer.CompletionListener completionListener, NoPlayer.StateChangedListener stateChangedListener) {
         this.completionListener.add(new CompletionForwarder(completionListener));
         this.completionListener.add(new CompletionStateChangedForwarder(stateChangedListener));
@@ -41,12 +49,13 @@ public class MediaPlayerForwarder {
         this.videoSizeChangedListener.add(new VideoSizeChangedForwarder(videoSizeChangedListener));
     }
 
-    public void bind(NoPlayer.InfoListener infoListener) {
-        preparedListener.add(new OnPreparedInfoForwarder(infoListener));
-        heartBeatListener.add(new BufferInfoForwarder(infoListener));
-        completionListener.add(new CompletionInfoForwarder(infoListener));
-        errorListener.add(new ErrorInfoForwarder(infoListener));
-        videoSizeChangedListener.add(new VideoSizeChangedInfoForwarder(infoListener));
+    public void bind(InfoListeners infoListeners) {
+        preparedListener.add(new OnPreparedInfoForwarder(infoListeners));
+        heartBeatListener.add(new BufferInfoForwarder(infoListeners));
+        completionListener.add(new CompletionInfoForwarder(infoListeners));
+        errorListener.add(new ErrorInfoForwarder(infoListeners));
+        videoSizeChangedListener.add(new VideoSizeChangedInfoForwarder(infoListeners));
+        infoListener.add(new MediaPlayerInfoForwarder(infoListeners));
     }
 
     public MediaPlayer.OnPreparedListener onPreparedListener() {
@@ -68,4 +77,8 @@ public class MediaPlayerForwarder {
     public MediaPlayer.OnVideoSizeChangedListener onSizeChangedListener() {
         return videoSizeChangedListener;
     }
+
+    public MediaPlayer.OnInfoListener onInfoListener() {
+        return infoListener;
+    }
 }
@@ -0,0 +1,34 @@
+package com.novoda.noplayer.internal.mediaplayer.forwarder;
+
+import android.media.MediaPlayer;
+
+import com.novoda.noplayer.PlayerEvent;
+import com.novoda.noplayer.internal.listeners.InfoListeners;
+
+import java.util.HashMap;
+
+class MediaPlayerInfoForwarder implements MediaPlayer.OnInfoListener {
+
+    private final InfoListeners infoListeners;
+
+    MediaPlayerInfoForwarder(InfoListeners infoListeners) {
+        this.infoListeners = infoListeners;
+    }
+
+    @Override
+    public boolean onInfo(MediaPlayer mp, int what, int extra) {
+        if (what == MediaPlayer.MEDIA_INFO_VIDEO_RENDERING_START) {
+            infoListeners.notifyPlayerEvent(PlayerEvent.Type.RENDERED_FIRST_FRAME);
+        }
+
+        if (infoListeners.hasInfoListeners()) {
+            HashMap<String, String> callingMethodParameters = new HashMap<>();
+
+            callingMethodParameters.put("what", String.valueOf(what));
+            callingMethodParameters.put("extra", String.valueOf(extra));
+
+            infoListeners.onNewInfo("onInfo", callingMethodParameters);
+        }
+        return false;
+    }
+}
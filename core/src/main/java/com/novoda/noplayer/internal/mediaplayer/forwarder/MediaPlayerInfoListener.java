@@ -0,0 +1,24 @@
+package com.novoda.noplayer.internal.mediaplayer.forwarder;
+
+import android.media.MediaPlayer;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+class MediaPlayerInfoListener implements MediaPlayer.OnInfoListener {
+
+    private final List<MediaPlayer.OnInfoListener> listeners = new CopyOnWriteArrayList<>();
+
+    void add(MediaPlayer.OnInfoListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public boolean onInfo(MediaPlayer mp, int what, int extra) {
+        boolean handled = false;
+        for (MediaPlayer.OnInfoListener listener : listeners) {
+            handled |= listener.onInfo(mp, what, extra);
+        }
+        return handled;
+    }
+}
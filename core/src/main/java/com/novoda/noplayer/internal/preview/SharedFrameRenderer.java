@@ -0,0 +1,323 @@
+package com.novoda.noplayer.internal.preview;
+
+import android.annotation.TargetApi;
+import android.graphics.SurfaceTexture;
+import android.opengl.EGL14;
+import android.opengl.EGLConfig;
+import android.opengl.EGLContext;
+import android.opengl.EGLDisplay;
+import android.opengl.EGLSurface;
+import android.opengl.GLES11Ext;
+import android.opengl.GLES20;
+import android.os.Build;
+import android.os.Handler;
+import android.os.HandlerThread;
+
+import com.novoda.utils.NoPlayerLog;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Receives the frames of a single decoder into its own {@link SurfaceTexture} and draws each of them into
+ * every output texture, e.g. those of several {@link android.view.TextureView}s, on a dedicated GL thread.
+ * Every output costs one textured quad per frame, rather than a decoder each.
+ */
+@TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
+public class SharedFrameRenderer implements SurfaceTexture.OnFrameAvailableListener {
+
+    private static final String THREAD_NAME = "NoPlayerSharedFrames";
+    private static final int BYTES_PER_FLOAT = 4;
+    private static final int COORDINATES_PER_VERTEX = 2;
+    private static final int VERTEX_COUNT = 4;
+    private static final int MATRIX_SIZE = 16;
+    private static final float[] QUAD_POSITIONS = {-1, -1, 1, -1, -1, 1, 1, 1};
+    private static final float[] QUAD_TEXTURE_COORDINATES = {0, 0, 1, 0, 0, 1, 1, 1};
+    private static final int[] CONFIG_ATTRIBUTES = {
+            EGL14.EGL_RED_SIZE, 8,
+            EGL14.EGL_GREEN_SIZE, 8,
+            EGL14.EGL_BLUE_SIZE, 8,
+            EGL14.EGL_ALPHA_SIZE, 8,
+            EGL14.EGL_RENDERABLE_TYPE, EGL14.EGL_OPENGL_ES2_BIT,
+            EGL14.EGL_SURFACE_TYPE, EGL14.EGL_WINDOW_BIT | EGL14.EGL_PBUFFER_BIT,
+            EGL14.EGL_NONE
+    };
+    private static final int[] CONTEXT_ATTRIBUTES = {EGL14.EGL_CONTEXT_CLIENT_VERSION, 2, EGL14.EGL_NONE};
+    private static final int[] PBUFFER_ATTRIBUTES = {EGL14.EGL_WIDTH, 1, EGL14.EGL_HEIGHT, 1, EGL14.EGL_NONE};
+    private static final int[] WINDOW_ATTRIBUTES = {EGL14.EGL_NONE};
+    private static final String VERTEX_SHADER = ""
+            + "uniform mat4 uTextureMatrix;\n"
+            + "attribute vec4 aPosition;\n"
+            + "attribute vec4 aTextureCoordinate;\n"
+            + "varying vec2 vTextureCoordinate;\n"
+            + "void main() {\n"
+            + "  gl_Position = aPosition;\n"
+            + "  vTextureCoordinate = (uTextureMatrix * aTextureCoordinate).xy;\n"
+            + "}\n";
+    private static final String FRAGMENT_SHADER = ""
+            + "#extension GL_OES_EGL_image_external : require\n"
+            + "precision mediump float;\n"
+            + "varying vec2 vTextureCoordinate;\n"
+            + "uniform samplerExternalOES sTexture;\n"
+            + "void main() {\n"
+            + "  gl_FragColor = texture2D(sTexture, vTextureCoordinate);\n"
+            + "}\n";
+
+    private final HandlerThread thread;
+    private final Handler glHandler;
+    private final Handler callbackHandler;
+    private final Map<SurfaceTexture, Output> outputs = new LinkedHashMap<>();
+    private final float[] textureMatrix = new float[MATRIX_SIZE];
+    private final FloatBuffer quadPositions = asFloatBuffer(QUAD_POSITIONS);
+    private final FloatBuffer quadTextureCoordinates = asFloatBuffer(QUAD_TEXTURE_COORDINATES);
+
+    private EGLDisplay display = EGL14.EGL_NO_DISPLAY;
+    private EGLContext context = EGL14.EGL_NO_CONTEXT;
+    private EGLConfig config;
+    private EGLSurface idleSurface = EGL14.EGL_NO_SURFACE;
+    private int program;
+    private int textureName;
+    private SurfaceTexture input;
+
+    public interface Callback {
+
+        /**
+         * Called on the callback thread once the decoder can render into the input.
+         *
+         * @param input the texture to create the decoder {@link android.view.Surface} from.
+         */
+        void onInputAvailable(SurfaceTexture input);
+    }
+
+    public static SharedFrameRenderer newInstance(Handler callbackHandler) {
+        HandlerThread thread = new HandlerThread(THREAD_NAME);
+        thread.start();
+        return new SharedFrameRenderer(thread, new Handler(thread.getLooper()), callbackHandler);
+    }
+
+    SharedFrameRenderer(HandlerThread thread, Handler glHandler, Handler callbackHandler) {
+        this.thread = thread;
+        this.glHandler = glHandler;
+        this.callbackHandler = callbackHandler;
+    }
+
+    public void start(final Callback callback) {
+        glHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                setUpGl();
+                final SurfaceTexture availableInput = input;
+                callbackHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        callback.onInputAvailable(availableInput);
+                    }
+                });
+            }
+        });
+    }
+
+    public void addOutput(final SurfaceTexture surfaceTexture, final int width, final int height) {
+        glHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                EGLSurface eglSurface = EGL14.eglCreateWindowSurface(display, config, surfaceTexture, WINDOW_ATTRIBUTES, 0);
+                if (eglSurface == EGL14.EGL_NO_SURFACE) {
+                    NoPlayerLog.e("Unable to render shared frames into output, EGL error: %d", EGL14.eglGetError());
+                    return;
+                }
+                outputs.put(surfaceTexture, new Output(eglSurface, width, height));
+            }
+        });
+    }
+
+    public void resizeOutput(final SurfaceTexture surfaceTexture, final int width, final int height) {
+        glHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                Output output = outputs.get(surfaceTexture);
+                if (output != null) {
+                    output.width = width;
+                    output.height = height;
+                }
+            }
+        });
+    }
+
+    /**
+     * Stops drawing into the output. Its texture still belongs to the caller.
+     */
+    public void removeOutput(final SurfaceTexture surfaceTexture) {
+        glHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                destroyOutput(surfaceTexture);
+            }
+        });
+    }
+
+    /**
+     * Stops drawing into the output, then releases its texture on the GL thread so that it is never released
+     * while still being drawn into.
+     */
+    public void releaseOutput(final SurfaceTexture surfaceTexture) {
+        glHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                destroyOutput(surfaceTexture);
+                surfaceTexture.release();
+            }
+        });
+    }
+
+    private void destroyOutput(SurfaceTexture surfaceTexture) {
+        Output output = outputs.remove(surfaceTexture);
+        if (output != null) {
+            EGL14.eglMakeCurrent(display, idleSurface, idleSurface, context);
+            EGL14.eglDestroySurface(display, output.eglSurface);
+        }
+    }
+
+    /**
+     * Called on an arbitrary thread before API 21, so drawing is always handed over to the GL thread.
+     */
+    @Override
+    public void onFrameAvailable(SurfaceTexture surfaceTexture) {
+        glHandler.post(drawFrame);
+    }
+
+    private final Runnable drawFrame = new Runnable() {
+        @Override
+        public void run() {
+            if (input == null) {
+                return;
+            }
+            EGL14.eglMakeCurrent(display, idleSurface, idleSurface, context);
+            input.updateTexImage();
+            input.getTransformMatrix(textureMatrix);
+            for (Output output : outputs.values()) {
+                draw(output);
+            }
+        }
+    };
+
+    private void draw(Output output) {
+        EGL14.eglMakeCurrent(display, output.eglSurface, output.eglSurface, context);
+        GLES20.glViewport(0, 0, output.width, output.height);
+        GLES20.glUseProgram(program);
+        GLES20.glActiveTexture(GLES20.GL_TEXTURE0);
+        GLES20.glBindTexture(GLES11Ext.GL_TEXTURE_EXTERNAL_OES, textureName);
+        GLES20.glUniformMatrix4fv(GLES20.glGetUniformLocation(program, "uTextureMatrix"), 1, false, textureMatrix, 0);
+        bindAttribute("aPosition", quadPositions);
+        bindAttribute("aTextureCoordinate", quadTextureCoordinates);
+        GLES20.glDrawArrays(GLES20.GL_TRIANGLE_STRIP, 0, VERTEX_COUNT);
+        EGL14.eglSwapBuffers(display, output.eglSurface);
+    }
+
+    private void bindAttribute(String name, FloatBuffer values) {
+        int location = GLES20.glGetAttribLocation(program, name);
+        GLES20.glEnableVertexAttribArray(location);
+        GLES20.glVertexAttribPointer(location, COORDINATES_PER_VERTEX, GLES20.GL_FLOAT, false, 0, values);
+    }
+
+    /**
+     * Releases the input and stops drawing into every output, leaving their textures to their owners.
+     * The instance must not be used afterwards.
+     */
+    public void release() {
+        glHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                tearDownGl();
+                thread.quitSafely();
+            }
+        });
+    }
+
+    private void setUpGl() {
+        display = EGL14.eglGetDisplay(EGL14.EGL_DEFAULT_DISPLAY);
+        int[] version = new int[2];
+        EGL14.eglInitialize(display, version, 0, version, 1);
+        EGLConfig[] configs = new EGLConfig[1];
+        int[] configCount = new int[1];
+        EGL14.eglChooseConfig(display, CONFIG_ATTRIBUTES, 0, configs, 0, configs.length, configCount, 0);
+        config = configs[0];
+        context = EGL14.eglCreateContext(display, config, EGL14.EGL_NO_CONTEXT, CONTEXT_ATTRIBUTES, 0);
+        idleSurface = EGL14.eglCreatePbufferSurface(display, config, PBUFFER_ATTRIBUTES, 0);
+        EGL14.eglMakeCurrent(display, idleSurface, idleSurface, context);
+
+        program = createProgram();
+        int[] textureNames = new int[1];
+        GLES20.glGenTextures(1, textureNames, 0);
+        textureName = textureNames[0];
+        GLES20.glBindTexture(GLES11Ext.GL_TEXTURE_EXTERNAL_OES, textureName);
+        GLES20.glTexParameteri(GLES11Ext.GL_TEXTURE_EXTERNAL_OES, GLES20.GL_TEXTURE_MIN_FILTER, GLES20.GL_LINEAR);
+        GLES20.glTexParameteri(GLES11Ext.GL_TEXTURE_EXTERNAL_OES, GLES20.GL_TEXTURE_MAG_FILTER, GLES20.GL_LINEAR);
+        GLES20.glTexParameteri(GLES11Ext.GL_TEXTURE_EXTERNAL_OES, GLES20.GL_TEXTURE_WRAP_S, GLES20.GL_CLAMP_TO_EDGE);
+        GLES20.glTexParameteri(GLES11Ext.GL_TEXTURE_EXTERNAL_OES, GLES20.GL_TEXTURE_WRAP_T, GLES20.GL_CLAMP_TO_EDGE);
+
+        input = new SurfaceTexture(textureName);
+        input.setOnFrameAvailableListener(this);
+    }
+
+    private int createProgram() {
+        int createdProgram = GLES20.glCreateProgram();
+        GLES20.glAttachShader(createdProgram, compileShader(GLES20.GL_VERTEX_SHADER, VERTEX_SHADER));
+        GLES20.glAttachShader(createdProgram, compileShader(GLES20.GL_FRAGMENT_SHADER, FRAGMENT_SHADER));
+        GLES20.glLinkProgram(createdProgram);
+        return createdProgram;
+    }
+
+    private static int compileShader(int type, String source) {
+        int shader = GLES20.glCreateShader(type);
+        GLES20.glShaderSource(shader, source);
+        GLES20.glCompileShader(shader);
+        return shader;
+    }
+
+    private void tearDownGl() {
+        if (input != null) {
+            input.release();
+            input = null;
+        }
+        for (Output output : outputs.values()) {
+            EGL14.eglDestroySurface(display, output.eglSurface);
+        }
+        outputs.clear();
+        if (display != EGL14.EGL_NO_DISPLAY) {
+            GLES20.glDeleteTextures(1, new int[]{textureName}, 0);
+            GLES20.glDeleteProgram(program);
+            EGL14.eglMakeCurrent(display, EGL14.EGL_NO_SURFACE, EGL14.EGL_NO_SURFACE, EGL14.EGL_NO_CONTEXT);
+            EGL14.eglDestroySurface(display, idleSurface);
+            EGL14.eglDestroyContext(display, context);
+            EGL14.eglTerminate(display);
+        }
+        display = EGL14.EGL_NO_DISPLAY;
+        context = EGL14.EGL_NO_CONTEXT;
+        idleSurface = EGL14.EGL_NO_SURFACE;
+    }
+
+    private static FloatBuffer asFloatBuffer(float[] values) {
+        FloatBuffer buffer = ByteBuffer.allocateDirect(values.length * BYTES_PER_FLOAT)
+                .order(ByteOrder.nativeOrder())
+                .asFloatBuffer();
+        buffer.put(values).position(0);
+        return buffer;
+    }
+
+    private static final class Output {
+
+        private final EGLSurface eglSurface;
+        private int width;
+        private int height;
+
+        Output(EGLSurface eglSurface, int width, int height) {
+            this.eglSurface = eglSurface;
+            this.width = width;
+            this.height = height;
+        }
+    }
+}
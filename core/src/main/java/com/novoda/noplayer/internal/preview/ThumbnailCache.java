@@ -0,0 +1,52 @@
+package com.novoda.noplayer.internal.preview;
+
+import android.graphics.Bitmap;
+import android.util.LruCache;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Least recently used, in-memory store of preview thumbnails keyed on their position bucket,
+ * bounded by the number of bytes the bitmaps hold rather than by how many there are.
+ * Cached buckets are also tracked separately, so that checking for one does not count as using it.
+ */
+public class ThumbnailCache {
+
+    private final Set<Long> cachedBuckets = Collections.newSetFromMap(new ConcurrentHashMap<Long, Boolean>());
+    private final LruCache<Long, Bitmap> thumbnails;
+
+    public ThumbnailCache(int maxSizeInBytes) {
+        thumbnails = new LruCache<Long, Bitmap>(maxSizeInBytes) {
+            @Override
+            protected int sizeOf(Long bucket, Bitmap thumbnail) {
+                return thumbnail.getByteCount();
+            }
+
+            @Override
+            protected void entryRemoved(boolean evicted, Long bucket, Bitmap oldThumbnail, Bitmap newThumbnail) {
+                if (newThumbnail == null) {
+                    cachedBuckets.remove(bucket);
+                }
+            }
+        };
+    }
+
+    public Bitmap get(long bucket) {
+        return thumbnails.get(bucket);
+    }
+
+    public void put(long bucket, Bitmap thumbnail) {
+        cachedBuckets.add(bucket);
+        thumbnails.put(bucket, thumbnail);
+    }
+
+    public boolean contains(long bucket) {
+        return cachedBuckets.contains(bucket);
+    }
+
+    public void evictAll() {
+        thumbnails.evictAll();
+    }
+}
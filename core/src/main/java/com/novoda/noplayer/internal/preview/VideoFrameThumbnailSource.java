@@ -0,0 +1,81 @@
+package com.novoda.noplayer.internal.preview;
+
+import android.graphics.Bitmap;
+import android.media.MediaMetadataRetriever;
+import android.net.Uri;
+
+import com.novoda.noplayer.ThumbnailSource;
+import com.novoda.noplayer.model.VideoPosition;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decodes the key frame closest to the requested position from progressive content, using its own
+ * {@link MediaMetadataRetriever} so that the buffer of the player is left untouched. Frames are scaled
+ * down to the width of the preview so that only small bitmaps are kept around.
+ */
+public class VideoFrameThumbnailSource implements ThumbnailSource {
+
+    private static final boolean FILTER = true;
+
+    private final Uri uri;
+    private final int maxWidthInPixels;
+
+    private MediaMetadataRetriever retriever;
+    private boolean released;
+
+    public VideoFrameThumbnailSource(Uri uri, int maxWidthInPixels) {
+        this.uri = uri;
+        this.maxWidthInPixels = maxWidthInPixels;
+    }
+
+    @Override
+    public synchronized Bitmap loadThumbnail(VideoPosition position) throws IOException {
+        Bitmap frame = retriever().getFrameAtTime(
+                TimeUnit.MILLISECONDS.toMicros(position.inMillis()),
+                MediaMetadataRetriever.OPTION_CLOSEST_SYNC
+        );
+        if (frame == null) {
+            throw new IOException("No frame at " + position + " for " + uri);
+        }
+        return scaledDown(frame);
+    }
+
+    private Bitmap scaledDown(Bitmap frame) {
+        if (frame.getWidth() <= maxWidthInPixels) {
+            return frame;
+        }
+        int height = Math.max(1, frame.getHeight() * maxWidthInPixels / frame.getWidth());
+        Bitmap thumbnail = Bitmap.createScaledBitmap(frame, maxWidthInPixels, height, FILTER);
+        frame.recycle();
+        return thumbnail;
+    }
+
+    private MediaMetadataRetriever retriever() throws IOException {
+        if (released) {
+            throw new IOException("Already released, not opening " + uri);
+        }
+        if (retriever == null) {
+            MediaMetadataRetriever newRetriever = new MediaMetadataRetriever();
+            try {
+                newRetriever.setDataSource(uri.toString(), Collections.<String, String>emptyMap());
+            } catch (IllegalArgumentException e) {
+                newRetriever.release();
+                throw new IOException("Unable to open " + uri, e);
+            }
+            retriever = newRetriever;
+        }
+        return retriever;
+    }
+
+    @Override
+    public synchronized void release() {
+        released = true;
+        if (retriever != null) {
+            retriever.release();
+            retriever = null;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.novoda.noplayer.internal.subtitles;
+
+import com.novoda.noplayer.model.NoPlayerCue;
+import com.novoda.noplayer.model.TextCues;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * The cues of a whole subtitle file, indexed by the times at which the displayed cues change.
+ * Event times are kept in a sorted primitive array, so that finding the cues for a position is a binary search.
+ */
+public final class CueStore {
+
+    public static final long NO_EVENT = Long.MAX_VALUE;
+
+    private static final TextCues NO_CUES = TextCues.of(Collections.<NoPlayerCue>emptyList());
+
+    private final long[] eventTimesInMillis;
+    private final TextCues[] cuesAtEvent;
+
+    private CueStore(long[] eventTimesInMillis, TextCues[] cuesAtEvent) {
+        this.eventTimesInMillis = eventTimesInMillis;
+        this.cuesAtEvent = cuesAtEvent;
+    }
+
+    public TextCues cuesAt(long positionInMillis) {
+        int index = eventIndexAt(positionInMillis);
+        return index < 0 ? NO_CUES : cuesAtEvent[index];
+    }
+
+    /**
+     * @return the time at which the displayed cues next change, or {@link #NO_EVENT}.
+     */
+    public long nextEventTimeInMillis(long positionInMillis) {
+        int nextIndex = eventIndexAt(positionInMillis) + 1;
+        return nextIndex < eventTimesInMillis.length ? eventTimesInMillis[nextIndex] : NO_EVENT;
+    }
+
+    public int eventCount() {
+        return eventTimesInMillis.length;
+    }
+
+    private int eventIndexAt(long positionInMillis) {
+        int index = Arrays.binarySearch(eventTimesInMillis, positionInMillis);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    static class Builder {
+
+        private static final int INITIAL_CAPACITY = 64;
+
+        private long[] eventTimesInMillis = new long[INITIAL_CAPACITY];
+        private TextCues[] cuesAtEvent = new TextCues[INITIAL_CAPACITY];
+        private int size;
+
+        /**
+         * Events must be added in time order. An event at the same time as the previous one replaces it.
+         */
+        Builder addEvent(long eventTimeInMillis, TextCues cues) {
+            if (size > 0 && eventTimesInMillis[size - 1] == eventTimeInMillis) {
+                cuesAtEvent[size - 1] = cues;
+                return this;
+            }
+            if (size == eventTimesInMillis.length) {
+                eventTimesInMillis = Arrays.copyOf(eventTimesInMillis, size * 2);
+                cuesAtEvent = Arrays.copyOf(cuesAtEvent, size * 2);
+            }
+            eventTimesInMillis[size] = eventTimeInMillis;
+            cuesAtEvent[size] = cues;
+            size++;
+            return this;
+        }
+
+        CueStore build() {
+            return new CueStore(Arrays.copyOf(eventTimesInMillis, size), Arrays.copyOf(cuesAtEvent, size));
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.novoda.noplayer.internal.subtitles;
+
+import android.net.Uri;
+
+import com.google.android.exoplayer2.Format;
+import com.google.android.exoplayer2.text.Cue;
+import com.google.android.exoplayer2.text.SubtitleDecoder;
+import com.google.android.exoplayer2.text.SubtitleDecoderException;
+import com.google.android.exoplayer2.text.SubtitleDecoderFactory;
+import com.google.android.exoplayer2.text.SubtitleInputBuffer;
+import com.google.android.exoplayer2.text.SubtitleOutputBuffer;
+import com.google.android.exoplayer2.upstream.DataSource;
+import com.google.android.exoplayer2.upstream.DataSourceInputStream;
+import com.google.android.exoplayer2.upstream.DataSpec;
+import com.novoda.noplayer.internal.exoplayer.ExoPlayerCueMapper;
+import com.novoda.noplayer.model.NoPlayerCue;
+import com.novoda.noplayer.model.SidecarSubtitle;
+import com.novoda.noplayer.model.TextCues;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Downloads a {@link SidecarSubtitle} and decodes it with the ExoPlayer subtitle decoders into a {@link CueStore}.
+ * Blocks, so must not be called on the UI thread.
+ */
+class SidecarSubtitleParser {
+
+    private static final int BUFFER_SIZE_IN_BYTES = 8 * 1024;
+    private static final long DECODE_POLL_INTERVAL_IN_MILLIS = 5;
+    private static final long DECODE_TIMEOUT_IN_MILLIS = TimeUnit.SECONDS.toMillis(10);
+    private static final int NO_SELECTION_FLAGS = 0;
+
+    private final DataSource.Factory dataSourceFactory;
+    private final SubtitleDecoderFactory decoderFactory;
+
+    SidecarSubtitleParser(DataSource.Factory dataSourceFactory, SubtitleDecoderFactory decoderFactory) {
+        this.dataSourceFactory = dataSourceFactory;
+        this.decoderFactory = decoderFactory;
+    }
+
+    CueStore parse(SidecarSubtitle sidecarSubtitle) throws IOException {
+        byte[] data = read(sidecarSubtitle.uri());
+        Format format = Format.createTextSampleFormat(null, sidecarSubtitle.format().mimeType(), NO_SELECTION_FLAGS, sidecarSubtitle.language());
+        SubtitleDecoder decoder = decoderFactory.createDecoder(format);
+        try {
+            SubtitleOutputBuffer subtitle = decode(decoder, data);
+            try {
+                return toCueStore(subtitle);
+            } finally {
+                subtitle.release();
+            }
+        } catch (SubtitleDecoderException e) {
+            throw new IOException("Unable to decode " + sidecarSubtitle, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while decoding " + sidecarSubtitle, e);
+        } finally {
+            decoder.release();
+        }
+    }
+
+    private byte[] read(Uri uri) throws IOException {
+        InputStream inputStream = new DataSourceInputStream(dataSourceFactory.createDataSource(), new DataSpec(uri));
+        try {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[BUFFER_SIZE_IN_BYTES];
+            int bytesRead;
+            while ((bytesRead = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, bytesRead);
+            }
+            return outputStream.toByteArray();
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    private SubtitleOutputBuffer decode(SubtitleDecoder decoder, byte[] data) throws SubtitleDecoderException, InterruptedException, IOException {
+        SubtitleInputBuffer inputBuffer = decoder.dequeueInputBuffer();
+        inputBuffer.ensureSpaceForWrite(data.length);
+        inputBuffer.data.put(data);
+        inputBuffer.flip();
+        decoder.queueInputBuffer(inputBuffer);
+
+        long timeWaitedInMillis = 0;
+        SubtitleOutputBuffer outputBuffer = decoder.dequeueOutputBuffer();
+        while (outputBuffer == null) {
+            if (timeWaitedInMillis >= DECODE_TIMEOUT_IN_MILLIS) {
+                throw new IOException("Timed out decoding subtitles");
+            }
+            Thread.sleep(DECODE_POLL_INTERVAL_IN_MILLIS);
+            timeWaitedInMillis += DECODE_POLL_INTERVAL_IN_MILLIS;
+            outputBuffer = decoder.dequeueOutputBuffer();
+        }
+        return outputBuffer;
+    }
+
+    private CueStore toCueStore(SubtitleOutputBuffer subtitle) {
+        Map<Cue, NoPlayerCue> mappedCues = new IdentityHashMap<>();
+        CueStore.Builder builder = new CueStore.Builder();
+        for (int index = 0; index < subtitle.getEventTimeCount(); index++) {
+            long eventTimeUs = subtitle.getEventTime(index);
+            List<Cue> cues = subtitle.getCues(eventTimeUs);
+            List<NoPlayerCue> noPlayerCues = new ArrayList<>(cues.size());
+            for (Cue cue : cues) {
+                NoPlayerCue noPlayerCue = mappedCues.get(cue);
+                if (noPlayerCue == null) {
+                    noPlayerCue = ExoPlayerCueMapper.map(cue);
+                    mappedCues.put(cue, noPlayerCue);
+                }
+                noPlayerCues.add(noPlayerCue);
+            }
+            builder.addEvent(TimeUnit.MICROSECONDS.toMillis(eventTimeUs), TextCues.of(noPlayerCues));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,193 @@
+package com.novoda.noplayer.internal.subtitles;
+
+import android.content.Context;
+import android.os.Handler;
+
+import com.google.android.exoplayer2.text.SubtitleDecoderFactory;
+import com.google.android.exoplayer2.upstream.DefaultDataSourceFactory;
+import com.novoda.noplayer.PlayerState;
+import com.novoda.noplayer.PlayerView;
+import com.novoda.noplayer.model.PlayerSubtitleTrack;
+import com.novoda.noplayer.model.SidecarSubtitle;
+import com.novoda.noplayer.model.TextCues;
+import com.novoda.utils.NoPlayerLog;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Subtitles loaded from files attached to a video rather than from the video itself. Files are parsed into a
+ * {@link CueStore} on a background thread, and the shown track is drawn on the {@link PlayerView} by following
+ * the playhead, which works the same for every player. Cues are refreshed on the ui thread of the given
+ * {@link Handler}, following the playhead only while playing.
+ */
+public class SidecarSubtitles {
+
+    public static final int SIDECAR_GROUP_INDEX = -1;
+
+    private static final String USER_AGENT = "user-agent";
+    private static final int NO_VALUE = -1;
+    private static final long MAX_REFRESH_INTERVAL_IN_MILLIS = 250;
+
+    private final SidecarSubtitleParser parser;
+    private final ExecutorService executor;
+    private final Handler uiHandler;
+    private final Map<SidecarSubtitle, CueStore> cueStores = new ConcurrentHashMap<>();
+    private final Set<SidecarSubtitle> failedLoads = Collections.newSetFromMap(new ConcurrentHashMap<SidecarSubtitle, Boolean>());
+    private final List<Future<?>> pendingLoads = new ArrayList<>();
+
+    private List<SidecarSubtitle> sidecarSubtitles = Collections.emptyList();
+    private SidecarSubtitle shownSubtitle;
+    private PlayerView playerView;
+    private PlayerState playerState;
+    private TextCues displayedCues;
+
+    public static SidecarSubtitles newInstance(Context context, Handler uiHandler) {
+        SidecarSubtitleParser parser = new SidecarSubtitleParser(
+                new DefaultDataSourceFactory(context, USER_AGENT),
+                SubtitleDecoderFactory.DEFAULT
+        );
+        return new SidecarSubtitles(parser, Executors.newSingleThreadExecutor(), uiHandler);
+    }
+
+    SidecarSubtitles(SidecarSubtitleParser parser, ExecutorService executor, Handler uiHandler) {
+        this.parser = parser;
+        this.executor = executor;
+        this.uiHandler = uiHandler;
+    }
+
+    public void load(List<SidecarSubtitle> sidecarSubtitles) {
+        clear();
+        this.sidecarSubtitles = new ArrayList<>(sidecarSubtitles);
+        for (SidecarSubtitle sidecarSubtitle : sidecarSubtitles) {
+            pendingLoads.add(executor.submit(parseTask(sidecarSubtitle)));
+        }
+    }
+
+    private Runnable parseTask(final SidecarSubtitle sidecarSubtitle) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    CueStore cueStore = parser.parse(sidecarSubtitle);
+                    if (!Thread.currentThread().isInterrupted()) {
+                        cueStores.put(sidecarSubtitle, cueStore);
+                    }
+                } catch (IOException e) {
+                    onLoadFailed(sidecarSubtitle, e);
+                } catch (RuntimeException e) {
+                    onLoadFailed(sidecarSubtitle, e);
+                }
+            }
+        };
+    }
+
+    private void onLoadFailed(SidecarSubtitle sidecarSubtitle, Exception e) {
+        NoPlayerLog.w(e, "Unable to load subtitles from %s", sidecarSubtitle.uri());
+        failedLoads.add(sidecarSubtitle);
+    }
+
+    public List<PlayerSubtitleTrack> getSubtitleTracks() {
+        List<PlayerSubtitleTrack> subtitleTracks = new ArrayList<>(sidecarSubtitles.size());
+        for (int formatIndex = 0; formatIndex < sidecarSubtitles.size(); formatIndex++) {
+            SidecarSubtitle sidecarSubtitle = sidecarSubtitles.get(formatIndex);
+            subtitleTracks.add(new PlayerSubtitleTrack(
+                    SIDECAR_GROUP_INDEX,
+                    formatIndex,
+                    sidecarSubtitle.uri().toString(),
+                    sidecarSubtitle.language(),
+                    sidecarSubtitle.format().mimeType(),
+                    NO_VALUE,
+                    NO_VALUE
+            ));
+        }
+        return subtitleTracks;
+    }
+
+    public boolean isSidecarTrack(PlayerSubtitleTrack subtitleTrack) {
+        return subtitleTrack.groupIndex() == SIDECAR_GROUP_INDEX
+                && subtitleTrack.formatIndex() >= 0
+                && subtitleTrack.formatIndex() < sidecarSubtitles.size();
+    }
+
+    public void show(PlayerSubtitleTrack subtitleTrack, PlayerView playerView, PlayerState playerState) {
+        hide();
+        this.shownSubtitle = sidecarSubtitles.get(subtitleTrack.formatIndex());
+        this.playerView = playerView;
+        this.playerState = playerState;
+        uiHandler.post(refreshCues);
+    }
+
+    /**
+     * To be called when the player starts, pauses or seeks, so that the cues follow the playhead.
+     */
+    public void refresh() {
+        if (shownSubtitle == null) {
+            return;
+        }
+        uiHandler.removeCallbacks(refreshCues);
+        uiHandler.post(refreshCues);
+    }
+
+    public void hide() {
+        uiHandler.removeCallbacks(refreshCues);
+        shownSubtitle = null;
+        playerView = null;
+        playerState = null;
+        displayedCues = null;
+    }
+
+    public void clear() {
+        hide();
+        for (Future<?> pendingLoad : pendingLoads) {
+            pendingLoad.cancel(true);
+        }
+        pendingLoads.clear();
+        cueStores.clear();
+        failedLoads.clear();
+        sidecarSubtitles = Collections.emptyList();
+    }
+
+    public void release() {
+        clear();
+        executor.shutdownNow();
+    }
+
+    private final Runnable refreshCues = new Runnable() {
+        @Override
+        public void run() {
+            SidecarSubtitle subtitle = shownSubtitle;
+            PlayerView view = playerView;
+            PlayerState state = playerState;
+            if (subtitle == null || view == null || state == null) {
+                return;
+            }
+            CueStore cueStore = cueStores.get(subtitle);
+            if (cueStore == null) {
+                if (!failedLoads.contains(subtitle)) {
+                    // Still loading, check back shortly.
+                    uiHandler.postDelayed(this, MAX_REFRESH_INTERVAL_IN_MILLIS);
+                }
+                return;
+            }
+            long positionInMillis = state.getPlayheadPosition().inMillis();
+            TextCues cues = cueStore.cuesAt(positionInMillis);
+            if (!cues.equals(displayedCues)) {
+                displayedCues = cues;
+                view.setSubtitleCue(cues);
+            }
+            if (state.isPlaying()) {
+                long nextEventTimeInMillis = cueStore.nextEventTimeInMillis(positionInMillis);
+                uiHandler.postDelayed(this, Math.min(MAX_REFRESH_INTERVAL_IN_MILLIS, nextEventTimeInMillis - positionInMillis));
+            }
+        }
+    };
+}
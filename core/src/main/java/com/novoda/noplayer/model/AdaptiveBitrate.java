@@ -0,0 +1,114 @@
+package com.novoda.noplayer.model;
+
+/**
+ * Lets the player switch video quality based on the measured network throughput.
+ * Switch hysteresis is expressed as how much content must be buffered before switching up,
+ * and how little may be buffered before switching down.
+ */
+public final class AdaptiveBitrate {
+
+    private static final long DEFAULT_INITIAL_BITRATE_ESTIMATE = 800000;
+    private static final long NO_MIN_VIDEO_BITRATE = 0;
+    private static final long NO_MAX_VIDEO_BITRATE = Integer.MAX_VALUE;
+    private static final long DEFAULT_MIN_DURATION_FOR_QUALITY_INCREASE_MILLIS = 10000;
+    private static final long DEFAULT_MAX_DURATION_FOR_QUALITY_DECREASE_MILLIS = 25000;
+
+    public static final AdaptiveBitrate DEFAULT = new AdaptiveBitrate(
+            Bitrate.fromBitsPerSecond(DEFAULT_INITIAL_BITRATE_ESTIMATE),
+            Bitrate.fromBitsPerSecond(NO_MIN_VIDEO_BITRATE),
+            Bitrate.fromBitsPerSecond(NO_MAX_VIDEO_BITRATE),
+            DEFAULT_MIN_DURATION_FOR_QUALITY_INCREASE_MILLIS,
+            DEFAULT_MAX_DURATION_FOR_QUALITY_DECREASE_MILLIS
+    );
+
+    private final Bitrate initialBitrateEstimate;
+    private final Bitrate minVideoBitrate;
+    private final Bitrate maxVideoBitrate;
+    private final long minDurationForQualityIncreaseMillis;
+    private final long maxDurationForQualityDecreaseMillis;
+
+    private AdaptiveBitrate(Bitrate initialBitrateEstimate,
+                            Bitrate minVideoBitrate,
+                            Bitrate maxVideoBitrate,
+                            long minDurationForQualityIncreaseMillis,
+                            long maxDurationForQualityDecreaseMillis) {
+        if (minVideoBitrate.asBitsPerSecond() > maxVideoBitrate.asBitsPerSecond()) {
+            throw new IllegalArgumentException("Minimum video bitrate cannot exceed maximum video bitrate.");
+        }
+        if (minDurationForQualityIncreaseMillis < 0 || maxDurationForQualityDecreaseMillis < 0) {
+            throw new IllegalArgumentException("Switch durations cannot be negative.");
+        }
+        this.initialBitrateEstimate = initialBitrateEstimate;
+        this.minVideoBitrate = minVideoBitrate;
+        this.maxVideoBitrate = maxVideoBitrate;
+        this.minDurationForQualityIncreaseMillis = minDurationForQualityIncreaseMillis;
+        this.maxDurationForQualityDecreaseMillis = maxDurationForQualityDecreaseMillis;
+    }
+
+    /**
+     * @param initialBitrateEstimate bitrate assumed before any content has been downloaded.
+     * @return a copy of this {@link AdaptiveBitrate} with the given initial estimate.
+     */
+    public AdaptiveBitrate withInitialBitrateEstimate(Bitrate initialBitrateEstimate) {
+        return new AdaptiveBitrate(
+                initialBitrateEstimate,
+                minVideoBitrate,
+                maxVideoBitrate,
+                minDurationForQualityIncreaseMillis,
+                maxDurationForQualityDecreaseMillis
+        );
+    }
+
+    /**
+     * @param minVideoBitrate the player does not drop below the highest quality within this bitrate.
+     * @param maxVideoBitrate the player does not select qualities above this bitrate.
+     * @return a copy of this {@link AdaptiveBitrate} with the given video bitrate bounds.
+     * @throws IllegalArgumentException - if the minimum is larger than the maximum.
+     */
+    public AdaptiveBitrate withVideoBitrateRange(Bitrate minVideoBitrate, Bitrate maxVideoBitrate) throws IllegalArgumentException {
+        return new AdaptiveBitrate(
+                initialBitrateEstimate,
+                minVideoBitrate,
+                maxVideoBitrate,
+                minDurationForQualityIncreaseMillis,
+                maxDurationForQualityDecreaseMillis
+        );
+    }
+
+    /**
+     * @param minDurationForQualityIncreaseMillis content that must be buffered before switching to a higher quality.
+     * @param maxDurationForQualityDecreaseMillis below this much buffered content the player may switch to a lower quality.
+     * @return a copy of this {@link AdaptiveBitrate} with the given hysteresis.
+     * @throws IllegalArgumentException - if a duration is negative.
+     */
+    public AdaptiveBitrate withSwitchHysteresis(long minDurationForQualityIncreaseMillis,
+                                                long maxDurationForQualityDecreaseMillis) throws IllegalArgumentException {
+        return new AdaptiveBitrate(
+                initialBitrateEstimate,
+                minVideoBitrate,
+                maxVideoBitrate,
+                minDurationForQualityIncreaseMillis,
+                maxDurationForQualityDecreaseMillis
+        );
+    }
+
+    public Bitrate initialBitrateEstimate() {
+        return initialBitrateEstimate;
+    }
+
+    public Bitrate minVideoBitrate() {
+        return minVideoBitrate;
+    }
+
+    public Bitrate maxVideoBitrate() {
+        return maxVideoBitrate;
+    }
+
+    public long minDurationForQualityIncreaseMillis() {
+        return minDurationForQualityIncreaseMillis;
+    }
+
+    public long maxDurationForQualityDecreaseMillis() {
+        return maxDurationForQualityDecreaseMillis;
+    }
+}
@@ -18,6 +18,10 @@ public final class Bitrate {
         return bitsPerSecond / KILOBIT;
     }
 
+    public long asBitsPerSecond() {
+        return bitsPerSecond;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -0,0 +1,148 @@
+package com.novoda.noplayer.model;
+
+/**
+ * How much content the player buffers before starting, after a rebuffer and while playing.
+ * Durations are in milliseconds of media; the target buffer size caps the memory used by the buffer.
+ */
+public final class BufferProfile {
+
+    public static final long DEFAULT_TARGET_BUFFER_SIZE = 0;
+
+    private static final int KILOBYTE = 1024;
+    private static final int MEGABYTE = 1024 * KILOBYTE;
+
+    /**
+     * The ExoPlayer defaults, with a buffer size derived from the selected tracks.
+     */
+    public static final BufferProfile DEFAULT = new BufferProfile(15000, 30000, 2500, 5000, DEFAULT_TARGET_BUFFER_SIZE);
+
+    /**
+     * Starts playback as soon as a second of content is available, for devices on fast networks.
+     */
+    public static final BufferProfile FAST_START = new BufferProfile(10000, 30000, 1000, 2000, DEFAULT_TARGET_BUFFER_SIZE);
+
+    /**
+     * Keeps a short buffer capped at 8MB, for devices with little memory to spare.
+     */
+    public static final BufferProfile LOW_MEMORY = new BufferProfile(5000, 15000, 2500, 5000, 8 * MEGABYTE);
+
+    /**
+     * Keeps up to a minute of content and waits longer after a rebuffer, for unreliable networks.
+     */
+    public static final BufferProfile HIGH_RESILIENCE = new BufferProfile(30000, 60000, 2500, 10000, DEFAULT_TARGET_BUFFER_SIZE);
+
+    private final int minBufferMillis;
+    private final int maxBufferMillis;
+    private final long bufferForPlaybackMillis;
+    private final long bufferForPlaybackAfterRebufferMillis;
+    private final long targetBufferSizeInBytes;
+
+    /**
+     * @param minBufferMillis                      the player tries to keep at least this much content buffered.
+     * @param maxBufferMillis                      the player stops buffering once this much content is buffered.
+     * @param bufferForPlaybackMillis              content needed to start or resume playback after a seek.
+     * @param bufferForPlaybackAfterRebufferMillis content needed to resume playback after running out of buffer.
+     * @param targetBufferSizeInBytes              memory the buffer may use, or {@link #DEFAULT_TARGET_BUFFER_SIZE}.
+     * @return a {@link BufferProfile} with the given values.
+     * @throws IllegalArgumentException - if a value is negative or the minimum buffer is larger than the maximum.
+     */
+    public static BufferProfile custom(int minBufferMillis,
+                                       int maxBufferMillis,
+                                       long bufferForPlaybackMillis,
+                                       long bufferForPlaybackAfterRebufferMillis,
+                                       long targetBufferSizeInBytes) throws IllegalArgumentException {
+        return new BufferProfile(
+                minBufferMillis,
+                maxBufferMillis,
+                bufferForPlaybackMillis,
+                bufferForPlaybackAfterRebufferMillis,
+                targetBufferSizeInBytes
+        );
+    }
+
+    private BufferProfile(int minBufferMillis,
+                          int maxBufferMillis,
+                          long bufferForPlaybackMillis,
+                          long bufferForPlaybackAfterRebufferMillis,
+                          long targetBufferSizeInBytes) {
+        if (minBufferMillis < 0 || bufferForPlaybackMillis < 0 || bufferForPlaybackAfterRebufferMillis < 0 || targetBufferSizeInBytes < 0) {
+            throw new IllegalArgumentException("Buffer profile values cannot be negative.");
+        }
+        if (minBufferMillis > maxBufferMillis) {
+            throw new IllegalArgumentException("Minimum buffer: " + minBufferMillis + " cannot exceed maximum buffer: " + maxBufferMillis);
+        }
+        this.minBufferMillis = minBufferMillis;
+        this.maxBufferMillis = maxBufferMillis;
+        this.bufferForPlaybackMillis = bufferForPlaybackMillis;
+        this.bufferForPlaybackAfterRebufferMillis = bufferForPlaybackAfterRebufferMillis;
+        this.targetBufferSizeInBytes = targetBufferSizeInBytes;
+    }
+
+    /**
+     * Copies this profile with a cap on the memory used by the buffer.
+     *
+     * @param targetBufferSizeInBytes memory the buffer may use.
+     * @return a {@link BufferProfile} with the given target buffer size.
+     */
+    public BufferProfile withTargetBufferSizeInBytes(long targetBufferSizeInBytes) {
+        return new BufferProfile(
+                minBufferMillis,
+                maxBufferMillis,
+                bufferForPlaybackMillis,
+                bufferForPlaybackAfterRebufferMillis,
+                targetBufferSizeInBytes
+        );
+    }
+
+    public int minBufferMillis() {
+        return minBufferMillis;
+    }
+
+    public int maxBufferMillis() {
+        return maxBufferMillis;
+    }
+
+    public long bufferForPlaybackMillis() {
+        return bufferForPlaybackMillis;
+    }
+
+    public long bufferForPlaybackAfterRebufferMillis() {
+        return bufferForPlaybackAfterRebufferMillis;
+    }
+
+    public long targetBufferSizeInBytes() {
+        return targetBufferSizeInBytes;
+    }
+
+    public boolean hasTargetBufferSize() {
+        return targetBufferSizeInBytes != DEFAULT_TARGET_BUFFER_SIZE;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        BufferProfile that = (BufferProfile) o;
+
+        return minBufferMillis == that.minBufferMillis
+                && maxBufferMillis == that.maxBufferMillis
+                && bufferForPlaybackMillis == that.bufferForPlaybackMillis
+                && bufferForPlaybackAfterRebufferMillis == that.bufferForPlaybackAfterRebufferMillis
+                && targetBufferSizeInBytes == that.targetBufferSizeInBytes;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = minBufferMillis;
+        result = 31 * result + maxBufferMillis;
+        result = 31 * result + (int) (bufferForPlaybackMillis ^ (bufferForPlaybackMillis >>> 32));
+        result = 31 * result + (int) (bufferForPlaybackAfterRebufferMillis ^ (bufferForPlaybackAfterRebufferMillis >>> 32));
+        result = 31 * result + (int) (targetBufferSizeInBytes ^ (targetBufferSizeInBytes >>> 32));
+        return result;
+    }
+}
@@ -12,9 +12,9 @@ public class LoadTimeout {
     private final Clock clock;
     private final Handler handler;
 
-    private long startTime;
-    private long endTime;
-    private NoPlayer.LoadTimeoutCallback loadTimeoutCallback;
+    private volatile long startTime;
+    private volatile long endTime;
+    private volatile NoPlayer.LoadTimeoutCallback loadTimeoutCallback;
 
     public LoadTimeout(Clock clock, Handler handler) {
         this.clock = clock;
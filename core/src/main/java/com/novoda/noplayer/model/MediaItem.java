@@ -0,0 +1,60 @@
+package com.novoda.noplayer.model;
+
+import android.net.Uri;
+
+import com.novoda.noplayer.ContentType;
+
+/**
+ * A piece of content within a playlist.
+ */
+public final class MediaItem {
+
+    private final Uri uri;
+    private final ContentType contentType;
+
+    public static MediaItem from(Uri uri, ContentType contentType) {
+        return new MediaItem(uri, contentType);
+    }
+
+    private MediaItem(Uri uri, ContentType contentType) {
+        this.uri = uri;
+        this.contentType = contentType;
+    }
+
+    public Uri uri() {
+        return uri;
+    }
+
+    public ContentType contentType() {
+        return contentType;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        MediaItem mediaItem = (MediaItem) o;
+
+        return uri.equals(mediaItem.uri) && contentType == mediaItem.contentType;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = uri.hashCode();
+        result = 31 * result + contentType.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "MediaItem{" +
+                "uri=" + uri +
+                ", contentType=" + contentType +
+                '}';
+    }
+}
@@ -0,0 +1,96 @@
+package com.novoda.noplayer.model;
+
+import android.net.Uri;
+
+import com.google.android.exoplayer2.util.MimeTypes;
+
+/**
+ * A subtitle file published separately from the content it belongs to.
+ */
+public final class SidecarSubtitle {
+
+    public enum Format {
+        WEBVTT(MimeTypes.TEXT_VTT),
+        TTML(MimeTypes.APPLICATION_TTML),
+        SRT(MimeTypes.APPLICATION_SUBRIP);
+
+        private final String mimeType;
+
+        Format(String mimeType) {
+            this.mimeType = mimeType;
+        }
+
+        public String mimeType() {
+            return mimeType;
+        }
+    }
+
+    private final Uri uri;
+    private final Format format;
+    private final String language;
+
+    /**
+     * @param uri      link to the subtitle file.
+     * @param format   of the subtitle file.
+     * @param language of the subtitles, e.g. "en".
+     * @return {@link SidecarSubtitle}
+     */
+    public static SidecarSubtitle from(Uri uri, Format format, String language) {
+        return new SidecarSubtitle(uri, format, language);
+    }
+
+    private SidecarSubtitle(Uri uri, Format format, String language) {
+        this.uri = uri;
+        this.format = format;
+        this.language = language;
+    }
+
+    public Uri uri() {
+        return uri;
+    }
+
+    public Format format() {
+        return format;
+    }
+
+    public String language() {
+        return language;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        SidecarSubtitle that = (SidecarSubtitle) o;
+
+        if (uri != null ? !uri.equals(that.uri) : that.uri != null) {
+            return false;
+        }
+        if (format != that.format) {
+            return false;
+        }
+        return language != null ? language.equals(that.language) : that.language == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = uri != null ? uri.hashCode() : 0;
+        result = 31 * result + (format != null ? format.hashCode() : 0);
+        result = 31 * result + (language != null ? language.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "SidecarSubtitle{" +
+                "uri=" + uri +
+                ", format=" + format +
+                ", language='" + language + '\'' +
+                '}';
+    }
+}
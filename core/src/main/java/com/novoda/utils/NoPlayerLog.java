@@ -1,37 +1,123 @@
 package com.novoda.utils;
 
 
+import android.util.Log;
+
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.util.Locale;
 
 public abstract class NoPlayerLog {
 
+    public static final int VERBOSE = Log.VERBOSE;
+    public static final int DEBUG = Log.DEBUG;
+    public static final int INFO = Log.INFO;
+    public static final int WARN = Log.WARN;
+    public static final int ERROR = Log.ERROR;
+    public static final int ASSERT = Log.ASSERT;
+
     private static final String TAG = "No-Player";
-    private static final int DEPTH = 5;
     private static final int CLASS_SUFFIX = 5;
+    private static final Object[] NO_ARGS = new Object[0];
+
+    private static volatile boolean isEnabled = true;
+    private static volatile int minimumLevel = VERBOSE;
+    private static volatile boolean isCallerLocationEnabled = true;
+    private static volatile Sink sink = new LogcatSink();
 
-    private static boolean isEnabled = true;
+    /**
+     * Receives every line that passes the level threshold, already formatted.
+     */
+    public interface Sink {
+
+        void log(int priority, String tag, String message, Throwable throwable);
+    }
 
     public static void setLoggingEnabled(boolean enabled) {
         isEnabled = enabled;
     }
 
-    private static String logMessage(String message, Throwable throwable) {
-        String detailedMessage = getDetailedLog(message);
-        if (throwable != null) {
-            detailedMessage += "\n" + getStackTraceString(throwable);
+    /**
+     * Lines below this level are dropped before any message is formatted.
+     *
+     * @param level one of {@link #VERBOSE}, {@link #DEBUG}, {@link #INFO}, {@link #WARN}, {@link #ERROR} or {@link #ASSERT}.
+     */
+    public static void setMinimumLevel(int level) {
+        minimumLevel = level;
+    }
+
+    /**
+     * Prefixing lines with the calling thread, class, method and line requires walking the stack,
+     * which is expensive on ART. Disable it in production builds.
+     */
+    public static void setCallerLocationEnabled(boolean enabled) {
+        isCallerLocationEnabled = enabled;
+    }
+
+    /**
+     * Replaces logcat as the destination of log lines.
+     *
+     * @param newSink to route lines to, or null to restore logcat.
+     */
+    public static void setSink(Sink newSink) {
+        sink = newSink == null ? new LogcatSink() : newSink;
+    }
+
+    static boolean isLoggingEnabled() {
+        return isEnabled;
+    }
+
+    static int getMinimumLevel() {
+        return minimumLevel;
+    }
+
+    static boolean isCallerLocationEnabled() {
+        return isCallerLocationEnabled;
+    }
+
+    static Sink getSink() {
+        return sink;
+    }
+
+    public static boolean isLoggable(int level) {
+        return isEnabled && level >= minimumLevel;
+    }
+
+    private static void log(int level, Throwable throwable, String format, Object... args) {
+        if (!isLoggable(level)) {
+            return;
         }
-        return detailedMessage;
+        String message = args.length == 0 ? format : String.format(Locale.US, format, args);
+        if (isCallerLocationEnabled) {
+            message = getDetailedLog(message);
+        }
+        sink.log(level, TAG, message, throwable);
     }
 
     private static String getDetailedLog(String message) {
         Thread current = Thread.currentThread();
-        final StackTraceElement trace = current.getStackTrace()[DEPTH];
-        final String filename = trace.getFileName();
+        StackTraceElement trace = findCaller(current.getStackTrace());
+        if (trace == null) {
+            return "[" + current.getName() + "] " + message;
+        }
+        String filename = trace.getFileName();
         return "[" + current.getName() + "][" + filename.substring(0, filename.length() - CLASS_SUFFIX) + "."
                 + trace.getMethodName() + ":" + trace.getLineNumber() + "] " + message;
     }
 
+    private static StackTraceElement findCaller(StackTraceElement[] stackTrace) {
+        String loggerClassName = NoPlayerLog.class.getName();
+        boolean seenLogger = false;
+        for (StackTraceElement element : stackTrace) {
+            boolean isLogger = loggerClassName.equals(element.getClassName());
+            if (seenLogger && !isLogger && element.getFileName() != null) {
+                return element;
+            }
+            seenLogger |= isLogger;
+        }
+        return null;
+    }
+
     private static String getStackTraceString(Throwable throwable) {
 
         StringWriter sw = new StringWriter();
@@ -45,93 +131,107 @@ public abstract class NoPlayerLog {
     }
 
     public static void d(String msg) {
-        if (!isEnabled) {
-            return;
-        }
-        android.util.Log.d(TAG, logMessage(msg, null));
+        log(DEBUG, null, msg, NO_ARGS);
+    }
+
+    public static void d(String format, Object... args) {
+        log(DEBUG, null, format, args);
     }
 
     public static void d(Throwable throwable, String msg) {
-        if (!isEnabled) {
-            return;
-        }
-        android.util.Log.d(TAG, logMessage(msg, throwable));
+        log(DEBUG, throwable, msg, NO_ARGS);
+    }
+
+    public static void d(Throwable throwable, String format, Object... args) {
+        log(DEBUG, throwable, format, args);
     }
 
     public static void e(String msg) {
-        if (!isEnabled) {
-            return;
-        }
-        android.util.Log.e(TAG, logMessage(msg, null));
+        log(ERROR, null, msg, NO_ARGS);
+    }
+
+    public static void e(String format, Object... args) {
+        log(ERROR, null, format, args);
     }
 
     public static void e(Throwable throwable, String msg) {
-        if (!isEnabled) {
-            return;
-        }
-        android.util.Log.e(TAG, logMessage(msg, throwable));
+        log(ERROR, throwable, msg, NO_ARGS);
+    }
+
+    public static void e(Throwable throwable, String format, Object... args) {
+        log(ERROR, throwable, format, args);
     }
 
     public static void i(String msg) {
-        if (!isEnabled) {
-            return;
-        }
-        android.util.Log.i(TAG, logMessage(msg, null));
+        log(INFO, null, msg, NO_ARGS);
+    }
+
+    public static void i(String format, Object... args) {
+        log(INFO, null, format, args);
     }
 
     public static void i(Throwable throwable, String msg) {
-        if (!isEnabled) {
-            return;
-        }
-        android.util.Log.i(TAG, logMessage(msg, throwable));
+        log(INFO, throwable, msg, NO_ARGS);
+    }
+
+    public static void i(Throwable throwable, String format, Object... args) {
+        log(INFO, throwable, format, args);
     }
 
     public static void v(String msg) {
-        if (!isEnabled) {
-            return;
-        }
-        android.util.Log.v(TAG, logMessage(msg, null));
+        log(VERBOSE, null, msg, NO_ARGS);
+    }
+
+    public static void v(String format, Object... args) {
+        log(VERBOSE, null, format, args);
     }
 
     public static void v(Throwable throwable, String msg) {
-        if (!isEnabled) {
-            return;
-        }
-        android.util.Log.v(TAG, logMessage(msg, throwable));
+        log(VERBOSE, throwable, msg, NO_ARGS);
+    }
+
+    public static void v(Throwable throwable, String format, Object... args) {
+        log(VERBOSE, throwable, format, args);
     }
 
     public static void w(String msg) {
-        if (!isEnabled) {
-            return;
-        }
-        android.util.Log.w(TAG, logMessage(msg, null));
+        log(WARN, null, msg, NO_ARGS);
+    }
+
+    public static void w(String format, Object... args) {
+        log(WARN, null, format, args);
     }
 
     public static void w(Throwable throwable, String msg) {
-        if (!isEnabled) {
-            return;
-        }
-        android.util.Log.w(TAG, logMessage(msg, throwable));
+        log(WARN, throwable, msg, NO_ARGS);
+    }
+
+    public static void w(Throwable throwable, String format, Object... args) {
+        log(WARN, throwable, format, args);
     }
 
     public static void wtf(String msg) {
-        if (!isEnabled) {
-            return;
-        }
-        android.util.Log.wtf(TAG, logMessage(msg, null));
+        log(ASSERT, null, msg, NO_ARGS);
     }
 
     public static void wtf(Throwable throwable) {
-        if (!isEnabled) {
-            return;
-        }
-        android.util.Log.wtf(TAG, logMessage("", throwable));
+        log(ASSERT, throwable, "", NO_ARGS);
     }
 
     public static void wtf(Throwable throwable, String msg) {
-        if (!isEnabled) {
-            return;
+        log(ASSERT, throwable, msg, NO_ARGS);
+    }
+
+    private static class LogcatSink implements Sink {
+
+        @Override
+        public void log(int priority, String tag, String message, Throwable throwable) {
+            String line = throwable == null ? message : message + "\n" + getStackTraceString(throwable);
+            if (priority == ASSERT) {
+                Log.wtf(tag, line);
+            } else {
+                Log.println(priority, tag, line);
+            }
         }
-        android.util.Log.wtf(TAG, logMessage(msg, throwable));
     }
 }
@@ -0,0 +1,121 @@
+package com.novoda.noplayer;
+
+import com.novoda.noplayer.internal.Clock;
+import com.novoda.noplayer.model.VideoPosition;
+import com.novoda.utils.NoPlayerLog;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+public class FlightRecorderTest {
+
+    private static final int CAPACITY = 4;
+    private static final long NOW = 1000;
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Clock clock;
+    @Mock
+    private NoPlayer player;
+
+    private FlightRecorder flightRecorder;
+
+    @Before
+    public void setUp() {
+        NoPlayerLog.setLoggingEnabled(false);
+        given(clock.getCurrentTime()).willReturn(NOW);
+        flightRecorder = new FlightRecorder(clock, CAPACITY);
+    }
+
+    @Test
+    public void givenRecordedEvents_whenDumping_thenReturnsEntriesOldestFirst() {
+        flightRecorder.onVideoPlaying();
+        flightRecorder.onBufferStarted();
+
+        List<FlightRecorder.Entry> entries = flightRecorder.dump();
+
+        assertThat(entries).hasSize(2);
+        assertThat(entries.get(0).kind()).isEqualTo(FlightRecorder.Kind.PLAYING);
+        assertThat(entries.get(0).timestampMillis()).isEqualTo(NOW);
+        assertThat(entries.get(1).kind()).isEqualTo(FlightRecorder.Kind.BUFFER_STARTED);
+    }
+
+    @Test
+    public void givenMoreEventsThanCapacity_whenDumping_thenReturnsMostRecentEntries() {
+        flightRecorder.onVideoPlaying();
+        flightRecorder.onVideoPaused();
+        flightRecorder.onVideoPlaying();
+        flightRecorder.onBufferStarted();
+        flightRecorder.onBufferCompleted();
+
+        List<FlightRecorder.Entry> entries = flightRecorder.dump();
+
+        assertThat(entries).hasSize(CAPACITY);
+        assertThat(entries.get(0).kind()).isEqualTo(FlightRecorder.Kind.PAUSED);
+        assertThat(entries.get(CAPACITY - 1).kind()).isEqualTo(FlightRecorder.Kind.BUFFER_COMPLETED);
+    }
+
+    @Test
+    public void whenRecordingPlayerEvent_thenEntryKeepsPrimitiveFields() {
+        PlayerEvent event = PlayerEvent.obtain(PlayerEvent.Type.DROPPED_FRAMES).withCount(12).withDurationMs(500);
+
+        flightRecorder.onPlayerEvent(event);
+
+        FlightRecorder.Entry entry = flightRecorder.dump().get(0);
+        assertThat(entry.kind()).isEqualTo(FlightRecorder.Kind.PLAYER_EVENT);
+        assertThat(entry.code()).isEqualTo(PlayerEvent.Type.DROPPED_FRAMES.ordinal());
+        assertThat(entry.firstValue()).isEqualTo(12);
+        assertThat(entry.secondValue()).isEqualTo(500);
+    }
+
+    @Test
+    public void whenRecordingHeartbeat_thenEntryKeepsPlayheadPosition() {
+        given(player.getPlayheadPosition()).willReturn(VideoPosition.fromMillis(4200));
+
+        flightRecorder.onBeat(player);
+
+        FlightRecorder.Entry entry = flightRecorder.dump().get(0);
+        assertThat(entry.kind()).isEqualTo(FlightRecorder.Kind.HEARTBEAT);
+        assertThat(entry.firstValue()).isEqualTo(4200);
+    }
+
+    @Test
+    public void whenRecordingError_thenEntryKeepsTypeAndMessage() {
+        NoPlayer.PlayerError error = new NoPlayerError(PlayerErrorType.CONNECTIVITY_ERROR, "message");
+
+        flightRecorder.onError(error);
+
+        FlightRecorder.Entry entry = flightRecorder.dump().get(0);
+        assertThat(entry.kind()).isEqualTo(FlightRecorder.Kind.ERROR);
+        assertThat(entry.code()).isEqualTo(PlayerErrorType.CONNECTIVITY_ERROR.ordinal());
+        assertThat(entry.detail()).isEqualTo("message");
+        assertThat(entry.toString()).contains("ERROR CONNECTIVITY_ERROR");
+    }
+
+    @Test
+    public void givenFactory_whenCreatingRecordersForPlayers_thenEachPlayerGetsItsOwnRecorder() {
+        FlightRecorder.Factory factory = FlightRecorder.factory(CAPACITY);
+
+        FlightRecorder firstRecorder = factory.create(player);
+        FlightRecorder secondRecorder = factory.create(player);
+
+        assertThat(firstRecorder).isNotSameAs(secondRecorder);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void givenNoCapacity_whenCreatingFactory_thenThrowsIllegalArgumentException() {
+
+        FlightRecorder.factory(0);
+    }
+}
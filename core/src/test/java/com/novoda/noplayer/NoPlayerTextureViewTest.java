@@ -0,0 +1,79 @@
+package com.novoda.noplayer;
+
+import android.graphics.SurfaceTexture;
+import android.view.Surface;
+import android.view.SurfaceHolder;
+import android.view.TextureView;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+public class NoPlayerTextureViewTest {
+
+    private static final int WIDTH = 1280;
+    private static final int HEIGHT = 720;
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private TextureView textureView;
+    @Mock
+    private SurfaceTexture surfaceTexture;
+    @Mock
+    private Surface surface;
+    @Mock
+    private SurfaceHolder.Callback surfaceHolderCallback;
+
+    private TextureViewSurfaceHolder textureViewSurfaceHolder;
+
+    @Before
+    public void setUp() {
+        textureViewSurfaceHolder = new TextureViewSurfaceHolder(textureView) {
+            @Override
+            Surface createSurface(SurfaceTexture surfaceTexture) {
+                return surface;
+            }
+        };
+    }
+
+    @Test
+    public void whenBindingTextureView_thenReturnsTextureViewAsContainer() {
+        TextureView containerView = NoPlayerTextureView.bindTextureView(textureView, textureViewSurfaceHolder, surfaceHolderCallback);
+
+        assertThat(containerView).isSameAs(textureView);
+    }
+
+    @Test
+    public void whenBindingTextureView_thenListensToSurfaceTexture() {
+        NoPlayerTextureView.bindTextureView(textureView, textureViewSurfaceHolder, surfaceHolderCallback);
+
+        verify(textureView).setSurfaceTextureListener(textureViewSurfaceHolder);
+    }
+
+    @Test
+    public void givenBoundTextureView_whenSurfaceTextureBecomesAvailable_thenNotifiesSurfaceCreated() {
+        NoPlayerTextureView.bindTextureView(textureView, textureViewSurfaceHolder, surfaceHolderCallback);
+
+        textureViewSurfaceHolder.onSurfaceTextureAvailable(surfaceTexture, WIDTH, HEIGHT);
+
+        verify(surfaceHolderCallback).surfaceCreated(textureViewSurfaceHolder);
+    }
+
+    @Test
+    public void givenBoundTextureView_whenSurfaceTextureIsDestroyed_thenNotifiesSurfaceDestroyed() {
+        NoPlayerTextureView.bindTextureView(textureView, textureViewSurfaceHolder, surfaceHolderCallback);
+        textureViewSurfaceHolder.onSurfaceTextureAvailable(surfaceTexture, WIDTH, HEIGHT);
+
+        textureViewSurfaceHolder.onSurfaceTextureDestroyed(surfaceTexture);
+
+        verify(surfaceHolderCallback).surfaceDestroyed(textureViewSurfaceHolder);
+    }
+}
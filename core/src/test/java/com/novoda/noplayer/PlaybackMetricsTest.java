@@ -0,0 +1,180 @@
+package com.novoda.noplayer;
+
+import com.google.android.exoplayer2.Player;
+import com.novoda.noplayer.internal.Clock;
+import com.novoda.noplayer.model.Bitrate;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class PlaybackMetricsTest {
+
+    private static final Bitrate ANY_AUDIO_BITRATE = Bitrate.fromBitsPerSecond(128000);
+    private static final Bitrate LOW_VIDEO_BITRATE = Bitrate.fromBitsPerSecond(1000000);
+    private static final Bitrate HIGH_VIDEO_BITRATE = Bitrate.fromBitsPerSecond(3000000);
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Clock clock;
+    @Mock
+    private PlayerState playerState;
+    @Mock
+    private NoPlayer player;
+    @Mock
+    private PlaybackMetrics.ReportListener reportListener;
+
+    private PlaybackMetrics playbackMetrics;
+
+    @Before
+    public void setUp() {
+        playbackMetrics = new PlaybackMetrics(clock);
+    }
+
+    @Test
+    public void givenLoadedVideo_whenFirstFrameIsRendered_thenReportsTimeToFirstFrameAndJoinTime() {
+        at(1000);
+        event(PlayerEvent.Type.VIDEO_LOAD_REQUESTED);
+        at(1400);
+        playbackMetrics.onPrepared(playerState);
+        at(1600);
+        event(PlayerEvent.Type.RENDERED_FIRST_FRAME);
+
+        PlaybackMetrics.Snapshot snapshot = playbackMetrics.snapshot();
+
+        assertThat(snapshot.joinTimeMillis()).isEqualTo(400);
+        assertThat(snapshot.timeToFirstFrameMillis()).isEqualTo(600);
+    }
+
+    @Test
+    public void givenNoLoadedVideo_thenTimeToFirstFrameIsUnknown() {
+
+        PlaybackMetrics.Snapshot snapshot = playbackMetrics.snapshot();
+
+        assertThat(snapshot.timeToFirstFrameMillis()).isEqualTo(PlaybackMetrics.UNKNOWN);
+        assertThat(snapshot.averageSeekLatencyMillis()).isEqualTo(PlaybackMetrics.UNKNOWN);
+    }
+
+    @Test
+    public void givenPlayingVideo_whenBufferingAfterFirstFrame_thenCountsRebuffer() {
+        givenPlayingVideoAt(0);
+        at(1000);
+        playbackMetrics.onBufferStarted();
+        at(1500);
+        playbackMetrics.onBufferCompleted();
+        at(2000);
+
+        PlaybackMetrics.Snapshot snapshot = playbackMetrics.snapshot();
+
+        assertThat(snapshot.rebufferCount()).isEqualTo(1);
+        assertThat(snapshot.rebufferDurationMillis()).isEqualTo(500);
+        assertThat(snapshot.rebufferRatio()).isEqualTo(0.25);
+    }
+
+    @Test
+    public void givenSeekRequested_whenBuffering_thenDoesNotCountRebufferAndReportsSeekLatency() {
+        givenPlayingVideoAt(0);
+        at(1000);
+        event(PlayerEvent.Type.SEEK_REQUESTED);
+        playbackMetrics.onBufferStarted();
+        at(1300);
+        event(PlayerEvent.Type.SEEK_COMPLETED);
+        playbackMetrics.onBufferCompleted();
+
+        PlaybackMetrics.Snapshot snapshot = playbackMetrics.snapshot();
+
+        assertThat(snapshot.rebufferCount()).isZero();
+        assertThat(snapshot.seekCount()).isEqualTo(1);
+        assertThat(snapshot.averageSeekLatencyMillis()).isEqualTo(300);
+    }
+
+    @Test
+    public void givenCoalescedSeeks_whenSeekCompletes_thenReportsTheDurationMeasuredByTheCoordinator() {
+        givenPlayingVideoAt(0);
+        at(1000);
+        event(PlayerEvent.Type.SEEK_REQUESTED);
+        at(1300);
+        playbackMetrics.onPlayerEvent(PlayerEvent.obtain(PlayerEvent.Type.SEEK_COMPLETED).withDurationMs(450));
+
+        PlaybackMetrics.Snapshot snapshot = playbackMetrics.snapshot();
+
+        assertThat(snapshot.averageSeekLatencyMillis()).isEqualTo(450);
+    }
+
+    @Test
+    public void givenSeekRequested_whenPlayerIsReadyBeforeSeekCompletes_thenKeepsWaitingForTheSeek() {
+        givenPlayingVideoAt(0);
+        at(1000);
+        event(PlayerEvent.Type.SEEK_REQUESTED);
+        at(1100);
+        playbackMetrics.onPlayerEvent(PlayerEvent.obtain(PlayerEvent.Type.PLAYER_STATE_CHANGED).withState(Player.STATE_READY));
+
+        PlaybackMetrics.Snapshot snapshot = playbackMetrics.snapshot();
+
+        assertThat(snapshot.seekCount()).isZero();
+    }
+
+    @Test
+    public void givenDroppedFrames_thenReportsDroppedFramesPerMinute() {
+        givenPlayingVideoAt(0);
+        playbackMetrics.onPlayerEvent(PlayerEvent.obtain(PlayerEvent.Type.DROPPED_FRAMES).withCount(15));
+        at(30000);
+
+        PlaybackMetrics.Snapshot snapshot = playbackMetrics.snapshot();
+
+        assertThat(snapshot.droppedFrames()).isEqualTo(15);
+        assertThat(snapshot.droppedFramesPerMinute()).isEqualTo(30.0);
+    }
+
+    @Test
+    public void givenBitrateSwitch_thenReportsAverageAndTimeWeightedBitrate() {
+        givenPlayingVideoAt(0);
+        playbackMetrics.onBitrateChanged(ANY_AUDIO_BITRATE, LOW_VIDEO_BITRATE);
+        at(3000);
+        playbackMetrics.onBitrateChanged(ANY_AUDIO_BITRATE, HIGH_VIDEO_BITRATE);
+        at(4000);
+
+        PlaybackMetrics.Snapshot snapshot = playbackMetrics.snapshot();
+
+        assertThat(snapshot.bitrateSwitchCount()).isEqualTo(1);
+        assertThat(snapshot.averageVideoBitrate()).isEqualTo(Bitrate.fromBitsPerSecond(2000000));
+        assertThat(snapshot.timeWeightedVideoBitrate()).isEqualTo(Bitrate.fromBitsPerSecond(1500000));
+    }
+
+    @Test
+    public void givenReportListener_whenBeatingWithinInterval_thenReportsOnce() {
+        playbackMetrics.setReportListener(reportListener, 10000);
+        at(0);
+        playbackMetrics.onBeat(player);
+        at(5000);
+        playbackMetrics.onBeat(player);
+
+        verify(reportListener, times(1)).onReport(any(PlaybackMetrics.Snapshot.class));
+    }
+
+    private void givenPlayingVideoAt(long time) {
+        at(time);
+        event(PlayerEvent.Type.VIDEO_LOAD_REQUESTED);
+        event(PlayerEvent.Type.RENDERED_FIRST_FRAME);
+        playbackMetrics.onVideoPlaying();
+    }
+
+    private void event(PlayerEvent.Type type) {
+        playbackMetrics.onPlayerEvent(PlayerEvent.obtain(type));
+    }
+
+    private void at(long time) {
+        given(clock.getCurrentTime()).willReturn(time);
+    }
+}
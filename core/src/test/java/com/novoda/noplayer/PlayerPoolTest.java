@@ -0,0 +1,108 @@
+package com.novoda.noplayer;
+
+import android.content.Context;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class PlayerPoolTest {
+
+    private static final int DECODER_BUDGET = 2;
+    private static final int LOW_PRIORITY = 1;
+    private static final int HIGH_PRIORITY = 2;
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Mock
+    private Context context;
+    @Mock
+    private PlayerBuilder playerBuilder;
+    @Mock
+    private NoPlayer firstPlayer;
+    @Mock
+    private NoPlayer secondPlayer;
+    @Mock
+    private NoPlayer thirdPlayer;
+    @Mock
+    private PlayerPool.ReclaimListener reclaimListener;
+
+    private PlayerPool playerPool;
+
+    @Before
+    public void setUp() {
+        given(playerBuilder.build(context)).willReturn(firstPlayer, secondPlayer, thirdPlayer);
+        playerPool = new PlayerPool(context, playerBuilder, DECODER_BUDGET);
+    }
+
+    @Test
+    public void givenAvailableDecoders_whenAcquiring_thenBuildsPlayer() {
+
+        NoPlayer player = playerPool.acquire(LOW_PRIORITY, reclaimListener);
+
+        assertThat(player).isEqualTo(firstPlayer);
+        assertThat(playerPool.availableDecoders()).isEqualTo(1);
+    }
+
+    @Test
+    public void givenBudgetUsedByLowerPriority_whenAcquiring_thenReclaimsLowestPriorityPlayer() {
+        playerPool.acquire(LOW_PRIORITY, reclaimListener);
+        playerPool.acquire(HIGH_PRIORITY, PlayerPool.ReclaimListener.NULL_IMPL);
+
+        NoPlayer player = playerPool.acquire(HIGH_PRIORITY, PlayerPool.ReclaimListener.NULL_IMPL);
+
+        assertThat(player).isEqualTo(thirdPlayer);
+        InOrder inOrder = inOrder(firstPlayer, reclaimListener);
+        inOrder.verify(firstPlayer).stop();
+        inOrder.verify(reclaimListener).onReclaimed(firstPlayer);
+        inOrder.verify(firstPlayer).release();
+        verify(secondPlayer, never()).release();
+    }
+
+    @Test
+    public void givenBudgetUsedByEqualPriority_whenAcquiring_thenThrows() {
+        playerPool.acquire(HIGH_PRIORITY, reclaimListener);
+        playerPool.acquire(HIGH_PRIORITY, reclaimListener);
+
+        thrown.expect(UnableToCreatePlayerException.class);
+
+        playerPool.acquire(HIGH_PRIORITY, reclaimListener);
+    }
+
+    @Test
+    public void givenPriorityRaised_whenAcquiring_thenReclaimsOtherPlayer() {
+        playerPool.acquire(LOW_PRIORITY, reclaimListener);
+        playerPool.acquire(LOW_PRIORITY, reclaimListener);
+        playerPool.updatePriority(firstPlayer, HIGH_PRIORITY);
+
+        playerPool.acquire(HIGH_PRIORITY, reclaimListener);
+
+        verify(reclaimListener).onReclaimed(secondPlayer);
+        verify(firstPlayer, never()).release();
+    }
+
+    @Test
+    public void whenReleasingPlayer_thenFreesItsDecoder() {
+        NoPlayer player = playerPool.acquire(LOW_PRIORITY, reclaimListener);
+
+        playerPool.release(player);
+
+        verify(firstPlayer).release();
+        assertThat(playerPool.availableDecoders()).isEqualTo(DECODER_BUDGET);
+    }
+}
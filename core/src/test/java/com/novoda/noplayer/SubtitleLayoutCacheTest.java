@@ -0,0 +1,183 @@
+package com.novoda.noplayer;
+
+import android.graphics.Typeface;
+import android.text.Layout.Alignment;
+import android.text.Spanned;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.text.style.ClickableSpan;
+import android.text.style.StyleSpan;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class SubtitleLayoutCacheTest {
+
+    private static final String TEXT = "subtitle";
+    private static final int WIDTH = 200;
+    private static final int NARROWER_WIDTH = 120;
+    private static final float TEXT_SIZE = 20;
+    private static final float SPACING_MULT = 1;
+    private static final float SPACING_ADD = 0;
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private TextPaint textPaint;
+    @Mock
+    private StaticLayout layout;
+
+    private int layoutsCreated;
+    private SubtitleLayoutCache cache;
+
+    @Before
+    public void setUp() {
+        given(textPaint.getTextSize()).willReturn(TEXT_SIZE);
+        cache = new SubtitleLayoutCache() {
+            @Override
+            StaticLayout createLayout(CharSequence text, TextPaint textPaint, int width, Alignment alignment, float spacingMult, float spacingAdd) {
+                layoutsCreated++;
+                return mock(StaticLayout.class);
+            }
+        };
+    }
+
+    @Test
+    public void givenTextAlreadyLaidOut_whenObtainingLayout_thenReturnsCachedLayout() {
+        StaticLayout first = cache.obtain(TEXT, textPaint, WIDTH, Alignment.ALIGN_CENTER, SPACING_MULT, SPACING_ADD);
+
+        StaticLayout second = cache.obtain(TEXT, textPaint, WIDTH, Alignment.ALIGN_CENTER, SPACING_MULT, SPACING_ADD);
+
+        assertThat(second).isSameAs(first);
+        assertThat(layoutsCreated).isEqualTo(1);
+    }
+
+    @Test
+    public void givenTypefaceChanged_whenObtainingLayout_thenLaysTextOutAgain() {
+        cache.obtain(TEXT, textPaint, WIDTH, Alignment.ALIGN_CENTER, SPACING_MULT, SPACING_ADD);
+        given(textPaint.getTypeface()).willReturn(mock(Typeface.class));
+
+        cache.obtain(TEXT, textPaint, WIDTH, Alignment.ALIGN_CENTER, SPACING_MULT, SPACING_ADD);
+
+        assertThat(layoutsCreated).isEqualTo(2);
+    }
+
+    @Test
+    public void givenTextSizeChanged_whenObtainingLayout_thenLaysTextOutAgain() {
+        cache.obtain(TEXT, textPaint, WIDTH, Alignment.ALIGN_CENTER, SPACING_MULT, SPACING_ADD);
+        given(textPaint.getTextSize()).willReturn(TEXT_SIZE * 2);
+
+        cache.obtain(TEXT, textPaint, WIDTH, Alignment.ALIGN_CENTER, SPACING_MULT, SPACING_ADD);
+
+        assertThat(layoutsCreated).isEqualTo(2);
+    }
+
+    @Test
+    public void givenCacheCleared_whenObtainingLayout_thenLaysTextOutAgain() {
+        cache.obtain(TEXT, textPaint, WIDTH, Alignment.ALIGN_CENTER, SPACING_MULT, SPACING_ADD);
+        cache.clear();
+
+        cache.obtain(TEXT, textPaint, WIDTH, Alignment.ALIGN_CENTER, SPACING_MULT, SPACING_ADD);
+
+        assertThat(layoutsCreated).isEqualTo(2);
+    }
+
+    @Test
+    public void givenEquallyStyledTextInstance_whenObtainingLayout_thenReturnsCachedLayout() {
+        StaticLayout first = cache.obtain(spannedText(styleSpan(Typeface.ITALIC)), textPaint, WIDTH, Alignment.ALIGN_CENTER, SPACING_MULT, SPACING_ADD);
+
+        StaticLayout second = cache.obtain(spannedText(styleSpan(Typeface.ITALIC)), textPaint, WIDTH, Alignment.ALIGN_CENTER, SPACING_MULT, SPACING_ADD);
+
+        assertThat(second).isSameAs(first);
+        assertThat(layoutsCreated).isEqualTo(1);
+    }
+
+    @Test
+    public void givenSameTextStyledDifferently_whenObtainingLayout_thenLaysTextOutAgain() {
+        cache.obtain(spannedText(styleSpan(Typeface.ITALIC)), textPaint, WIDTH, Alignment.ALIGN_CENTER, SPACING_MULT, SPACING_ADD);
+
+        cache.obtain(spannedText(styleSpan(Typeface.BOLD)), textPaint, WIDTH, Alignment.ALIGN_CENTER, SPACING_MULT, SPACING_ADD);
+
+        assertThat(layoutsCreated).isEqualTo(2);
+    }
+
+    @Test
+    public void givenSameTextWithoutSpans_whenObtainingLayout_thenLaysTextOutAgain() {
+        cache.obtain(spannedText(styleSpan(Typeface.ITALIC)), textPaint, WIDTH, Alignment.ALIGN_CENTER, SPACING_MULT, SPACING_ADD);
+
+        cache.obtain(TEXT, textPaint, WIDTH, Alignment.ALIGN_CENTER, SPACING_MULT, SPACING_ADD);
+
+        assertThat(layoutsCreated).isEqualTo(2);
+    }
+
+    @Test
+    public void givenTextWithUnknownSpan_whenObtainingLayoutAgain_thenDoesNotCacheIt() {
+        Spanned text = spannedText(mock(ClickableSpan.class));
+        cache.obtain(text, textPaint, WIDTH, Alignment.ALIGN_CENTER, SPACING_MULT, SPACING_ADD);
+
+        cache.obtain(text, textPaint, WIDTH, Alignment.ALIGN_CENTER, SPACING_MULT, SPACING_ADD);
+
+        assertThat(layoutsCreated).isEqualTo(2);
+    }
+
+    @Test
+    public void givenLinesFitNarrowerWidth_whenCheckingLineBreaks_thenKeepsThem() {
+        givenLayoutWithLineWidths(WIDTH, 100f, 119.5f);
+
+        boolean keepsLineBreaks = SubtitleLayoutCache.keepsLineBreaksAt(layout, NARROWER_WIDTH);
+
+        assertThat(keepsLineBreaks).isTrue();
+    }
+
+    @Test
+    public void givenLineWiderThanNarrowerWidth_whenCheckingLineBreaks_thenDoesNotKeepThem() {
+        givenLayoutWithLineWidths(WIDTH, 100f, 150f);
+
+        boolean keepsLineBreaks = SubtitleLayoutCache.keepsLineBreaksAt(layout, NARROWER_WIDTH);
+
+        assertThat(keepsLineBreaks).isFalse();
+    }
+
+    @Test
+    public void givenWiderWidth_whenCheckingLineBreaks_thenDoesNotKeepThem() {
+        givenLayoutWithLineWidths(NARROWER_WIDTH, 100f);
+
+        boolean keepsLineBreaks = SubtitleLayoutCache.keepsLineBreaksAt(layout, WIDTH);
+
+        assertThat(keepsLineBreaks).isFalse();
+    }
+
+    private void givenLayoutWithLineWidths(int layoutWidth, float... lineWidths) {
+        given(layout.getWidth()).willReturn(layoutWidth);
+        given(layout.getLineCount()).willReturn(lineWidths.length);
+        for (int i = 0; i < lineWidths.length; i++) {
+            given(layout.getLineWidth(i)).willReturn(lineWidths[i]);
+        }
+    }
+
+    private static Spanned spannedText(Object... spans) {
+        Spanned text = mock(Spanned.class);
+        given(text.toString()).willReturn(TEXT);
+        given(text.length()).willReturn(TEXT.length());
+        given(text.getSpans(0, TEXT.length(), Object.class)).willReturn(spans);
+        for (Object span : spans) {
+            given(text.getSpanEnd(span)).willReturn(TEXT.length());
+        }
+        return text;
+    }
+
+    private static StyleSpan styleSpan(int style) {
+        StyleSpan span = mock(StyleSpan.class);
+        given(span.getStyle()).willReturn(style);
+        return span;
+    }
+}
@@ -0,0 +1,138 @@
+package com.novoda.noplayer;
+
+import android.graphics.Canvas;
+import android.graphics.PixelFormat;
+import android.graphics.SurfaceTexture;
+import android.view.Surface;
+import android.view.SurfaceHolder;
+import android.view.TextureView;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class TextureViewSurfaceHolderTest {
+
+    private static final int WIDTH = 1280;
+    private static final int HEIGHT = 720;
+    private static final int NEW_WIDTH = 640;
+    private static final int NEW_HEIGHT = 360;
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private TextureView textureView;
+    @Mock
+    private SurfaceTexture surfaceTexture;
+    @Mock
+    private Surface surface;
+    @Mock
+    private SurfaceHolder.Callback callback;
+    @Mock
+    private Canvas canvas;
+
+    private TextureViewSurfaceHolder surfaceHolder;
+
+    @Before
+    public void setUp() {
+        surfaceHolder = new TextureViewSurfaceHolder(textureView) {
+            @Override
+            Surface createSurface(SurfaceTexture surfaceTexture) {
+                return surface;
+            }
+        };
+        surfaceHolder.addCallback(callback);
+    }
+
+    @Test
+    public void whenSurfaceTextureBecomesAvailable_thenNotifiesSurfaceCreatedAndChanged() {
+        surfaceHolder.onSurfaceTextureAvailable(surfaceTexture, WIDTH, HEIGHT);
+
+        verify(callback).surfaceCreated(surfaceHolder);
+        verify(callback).surfaceChanged(surfaceHolder, PixelFormat.RGBA_8888, WIDTH, HEIGHT);
+    }
+
+    @Test
+    public void whenSurfaceTextureBecomesAvailable_thenExposesSurface() {
+        surfaceHolder.onSurfaceTextureAvailable(surfaceTexture, WIDTH, HEIGHT);
+
+        assertThat(surfaceHolder.getSurface()).isSameAs(surface);
+    }
+
+    @Test
+    public void givenAvailableSurfaceTexture_whenSizeChanges_thenNotifiesSurfaceChanged() {
+        surfaceHolder.onSurfaceTextureAvailable(surfaceTexture, WIDTH, HEIGHT);
+
+        surfaceHolder.onSurfaceTextureSizeChanged(surfaceTexture, NEW_WIDTH, NEW_HEIGHT);
+
+        verify(callback).surfaceChanged(surfaceHolder, PixelFormat.RGBA_8888, NEW_WIDTH, NEW_HEIGHT);
+    }
+
+    @Test
+    public void givenAvailableSurfaceTexture_whenDestroyed_thenNotifiesSurfaceDestroyedAndReleasesSurface() {
+        surfaceHolder.onSurfaceTextureAvailable(surfaceTexture, WIDTH, HEIGHT);
+
+        boolean releaseSurfaceTexture = surfaceHolder.onSurfaceTextureDestroyed(surfaceTexture);
+
+        verify(callback).surfaceDestroyed(surfaceHolder);
+        verify(surface).release();
+        assertThat(surfaceHolder.getSurface()).isNull();
+        assertThat(releaseSurfaceTexture).isTrue();
+    }
+
+    @Test
+    public void givenDestroyedSurfaceTexture_whenDestroyedAgain_thenDoesNotNotifyAgain() {
+        surfaceHolder.onSurfaceTextureAvailable(surfaceTexture, WIDTH, HEIGHT);
+        surfaceHolder.onSurfaceTextureDestroyed(surfaceTexture);
+
+        boolean releaseSurfaceTexture = surfaceHolder.onSurfaceTextureDestroyed(surfaceTexture);
+
+        verify(callback).surfaceDestroyed(surfaceHolder);
+        verify(surface).release();
+        assertThat(releaseSurfaceTexture).isTrue();
+    }
+
+    @Test
+    public void givenRemovedCallback_whenSurfaceTextureBecomesAvailable_thenDoesNotNotifyCallback() {
+        surfaceHolder.removeCallback(callback);
+
+        surfaceHolder.onSurfaceTextureAvailable(surfaceTexture, WIDTH, HEIGHT);
+
+        verify(callback, never()).surfaceCreated(surfaceHolder);
+    }
+
+    @Test
+    public void whenSettingKeepScreenOn_thenForwardsToTextureView() {
+        surfaceHolder.setKeepScreenOn(true);
+
+        verify(textureView).setKeepScreenOn(true);
+    }
+
+    @Test
+    public void givenNoSurface_whenLockingCanvas_thenReturnsNull() {
+        Canvas lockedCanvas = surfaceHolder.lockCanvas();
+
+        assertThat(lockedCanvas).isNull();
+    }
+
+    @Test
+    public void givenAvailableSurfaceTexture_whenLockingAndPostingCanvas_thenUsesSurface() {
+        given(surface.lockCanvas(null)).willReturn(canvas);
+        surfaceHolder.onSurfaceTextureAvailable(surfaceTexture, WIDTH, HEIGHT);
+
+        Canvas lockedCanvas = surfaceHolder.lockCanvas();
+        surfaceHolder.unlockCanvasAndPost(lockedCanvas);
+
+        assertThat(lockedCanvas).isSameAs(canvas);
+        verify(surface).unlockCanvasAndPost(canvas);
+    }
+}
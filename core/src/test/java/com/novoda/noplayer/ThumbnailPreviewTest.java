@@ -0,0 +1,184 @@
+package com.novoda.noplayer;
+
+import android.graphics.Bitmap;
+import android.os.Handler;
+
+import com.novoda.noplayer.internal.preview.ThumbnailCache;
+import com.novoda.noplayer.model.VideoPosition;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.mockito.stubbing.Answer;
+import org.objenesis.ObjenesisStd;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class ThumbnailPreviewTest {
+
+    private static final long INTERVAL_IN_MILLIS = 10000;
+    private static final int PREFETCH_WINDOW = 2;
+    private static final VideoPosition SCRUB_POSITION = VideoPosition.fromMillis(25000);
+    private static final VideoPosition FAR_SCRUB_POSITION = VideoPosition.fromMillis(95000);
+    private static final VideoPosition NEXT_SCRUB_POSITION = VideoPosition.fromMillis(35000);
+    private static final long SCRUB_BUCKET = 2;
+    private static final long NEXT_SCRUB_BUCKET = 3;
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private ThumbnailSource thumbnailSource;
+    @Mock
+    private ThumbnailCache cache;
+    @Mock
+    private ExecutorService executor;
+    @Mock
+    private Handler callbackHandler;
+    @Mock
+    private ThumbnailPreview.Callback callback;
+
+    private final List<Runnable> queuedTasks = new ArrayList<>();
+    private final List<Runnable> postedCallbacks = new ArrayList<>();
+    private final Bitmap thumbnail = aBitmap();
+
+    private ThumbnailPreview thumbnailPreview;
+
+    @Before
+    public void setUp() throws IOException {
+        willAnswer(collectInto(queuedTasks)).given(executor).execute(any(Runnable.class));
+        willAnswer(collectInto(postedCallbacks)).given(callbackHandler).post(any(Runnable.class));
+        given(thumbnailSource.loadThumbnail(any(VideoPosition.class))).willReturn(thumbnail);
+        thumbnailPreview = new ThumbnailPreview(thumbnailSource, cache, executor, callbackHandler, INTERVAL_IN_MILLIS, PREFETCH_WINDOW);
+    }
+
+    @Test
+    public void whenRequestingThumbnail_thenLoadsTheStartOfTheIntervalContainingThePosition() throws IOException {
+
+        thumbnailPreview.requestThumbnail(SCRUB_POSITION, callback);
+        runAll(queuedTasks);
+
+        verify(thumbnailSource).loadThumbnail(positionOf(SCRUB_BUCKET));
+        verify(cache).put(SCRUB_BUCKET, thumbnail);
+    }
+
+    @Test
+    public void whenRequestingThumbnail_thenPrefetchesTheWindowAroundIt() throws IOException {
+
+        thumbnailPreview.requestThumbnail(SCRUB_POSITION, callback);
+        runAll(queuedTasks);
+
+        verify(thumbnailSource).loadThumbnail(positionOf(0));
+        verify(thumbnailSource).loadThumbnail(positionOf(1));
+        verify(thumbnailSource).loadThumbnail(positionOf(3));
+        verify(thumbnailSource).loadThumbnail(positionOf(4));
+        verify(thumbnailSource, never()).loadThumbnail(positionOf(5));
+    }
+
+    @Test
+    public void givenPositionAtTheStart_whenRequestingThumbnail_thenOnlyPrefetchesAhead() {
+
+        thumbnailPreview.requestThumbnail(VideoPosition.BEGINNING, callback);
+
+        assertThat(queuedTasks).hasSize(PREFETCH_WINDOW + 1);
+    }
+
+    @Test
+    public void givenCachedThumbnail_whenRequestingThumbnail_thenDeliversItImmediately() {
+        given(cache.get(SCRUB_BUCKET)).willReturn(thumbnail);
+        given(cache.contains(SCRUB_BUCKET)).willReturn(true);
+
+        thumbnailPreview.requestThumbnail(SCRUB_POSITION, callback);
+
+        verify(callback).onThumbnailLoaded(positionOf(SCRUB_BUCKET), thumbnail);
+        assertThat(queuedTasks).hasSize(2 * PREFETCH_WINDOW);
+    }
+
+    @Test
+    public void givenUserScrubbedAway_whenLoading_thenSkipsThumbnailsOutsideTheWindow() throws IOException {
+        thumbnailPreview.requestThumbnail(SCRUB_POSITION, callback);
+        thumbnailPreview.requestThumbnail(FAR_SCRUB_POSITION, callback);
+
+        runAll(queuedTasks);
+
+        verify(thumbnailSource, never()).loadThumbnail(positionOf(SCRUB_BUCKET));
+    }
+
+    @Test
+    public void givenUserScrubbedOn_whenThumbnailsAreDelivered_thenOnlyDeliversTheLatestRequest() {
+        thumbnailPreview.requestThumbnail(SCRUB_POSITION, callback);
+        runAll(queuedTasks);
+        thumbnailPreview.requestThumbnail(NEXT_SCRUB_POSITION, callback);
+
+        runAll(postedCallbacks);
+
+        verify(callback, never()).onThumbnailLoaded(positionOf(SCRUB_BUCKET), thumbnail);
+        verify(callback).onThumbnailLoaded(positionOf(NEXT_SCRUB_BUCKET), thumbnail);
+    }
+
+    @Test
+    public void whenReleasing_thenReleasesTheSourceOnTheLoadingThread() {
+
+        thumbnailPreview.release();
+
+        verify(thumbnailSource, never()).release();
+        verify(executor).shutdown();
+        runAll(queuedTasks);
+        verify(thumbnailSource).release();
+        verify(cache).evictAll();
+    }
+
+    @Test
+    public void givenQueuedLoads_whenReleasing_thenSkipsThem() throws IOException {
+        thumbnailPreview.requestThumbnail(SCRUB_POSITION, callback);
+
+        thumbnailPreview.release();
+        runAll(queuedTasks);
+
+        verify(thumbnailSource, never()).loadThumbnail(any(VideoPosition.class));
+    }
+
+    private static VideoPosition positionOf(long bucket) {
+        return VideoPosition.fromMillis(bucket * INTERVAL_IN_MILLIS);
+    }
+
+    private static void runAll(List<Runnable> runnables) {
+        List<Runnable> toRun = new ArrayList<>(runnables);
+        runnables.clear();
+        for (Runnable runnable : toRun) {
+            runnable.run();
+        }
+    }
+
+    private static Answer<Void> collectInto(final List<Runnable> runnables) {
+        return new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                Runnable runnable = invocation.getArgument(0);
+                runnables.add(runnable);
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Bitmap is final and has no public constructor, thumbnails are only passed around so an empty instance will do.
+     */
+    private static Bitmap aBitmap() {
+        return new ObjenesisStd().newInstance(Bitmap.class);
+    }
+}
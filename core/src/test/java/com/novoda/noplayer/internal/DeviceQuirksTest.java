@@ -0,0 +1,62 @@
+package com.novoda.noplayer.internal;
+
+import android.os.Build;
+
+import com.novoda.noplayer.internal.mediaplayer.AndroidMediaPlayerType;
+import com.novoda.utils.Optional;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+public class DeviceQuirksTest {
+
+    private static final String QUIRKY_DEVICE = "flo";
+    private static final String OTHER_DEVICE = "bullhead";
+    private static final Optional<AndroidMediaPlayerType> NO_MEDIA_PLAYER = Optional.absent();
+
+    private static final List<DeviceQuirks.Entry> ENTRIES = Collections.singletonList(
+            DeviceQuirks.Entry.forQuirk(DeviceQuirks.Quirk.START_BEFORE_INITIAL_SEEK)
+                    .onDevices(QUIRKY_DEVICE)
+                    .onSdks(Build.VERSION_CODES.JELLY_BEAN_MR2, Build.VERSION_CODES.KITKAT)
+                    .withMediaPlayerType(AndroidMediaPlayerType.AWESOME)
+    );
+
+    @Test
+    public void givenMatchingDeviceSdkAndMediaPlayer_thenHasQuirk() {
+        DeviceQuirks deviceQuirks = new DeviceQuirks(QUIRKY_DEVICE, Build.VERSION_CODES.KITKAT, Optional.of(AndroidMediaPlayerType.AWESOME), ENTRIES);
+
+        assertThat(deviceQuirks.has(DeviceQuirks.Quirk.START_BEFORE_INITIAL_SEEK)).isTrue();
+    }
+
+    @Test
+    public void givenOtherDevice_thenDoesNotHaveQuirk() {
+        DeviceQuirks deviceQuirks = new DeviceQuirks(OTHER_DEVICE, Build.VERSION_CODES.KITKAT, Optional.of(AndroidMediaPlayerType.AWESOME), ENTRIES);
+
+        assertThat(deviceQuirks.has(DeviceQuirks.Quirk.START_BEFORE_INITIAL_SEEK)).isFalse();
+    }
+
+    @Test
+    public void givenSdkOutsideOfRange_thenDoesNotHaveQuirk() {
+        DeviceQuirks deviceQuirks = new DeviceQuirks(QUIRKY_DEVICE, Build.VERSION_CODES.LOLLIPOP, Optional.of(AndroidMediaPlayerType.AWESOME), ENTRIES);
+
+        assertThat(deviceQuirks.has(DeviceQuirks.Quirk.START_BEFORE_INITIAL_SEEK)).isFalse();
+    }
+
+    @Test
+    public void givenOtherMediaPlayerType_thenDoesNotHaveQuirk() {
+        DeviceQuirks deviceQuirks = new DeviceQuirks(QUIRKY_DEVICE, Build.VERSION_CODES.KITKAT, Optional.of(AndroidMediaPlayerType.NU), ENTRIES);
+
+        assertThat(deviceQuirks.has(DeviceQuirks.Quirk.START_BEFORE_INITIAL_SEEK)).isFalse();
+    }
+
+    @Test
+    public void givenNoMediaPlayer_whenQuirkIsSpecificToMediaPlayerType_thenDoesNotHaveQuirk() {
+        DeviceQuirks deviceQuirks = new DeviceQuirks(QUIRKY_DEVICE, Build.VERSION_CODES.KITKAT, NO_MEDIA_PLAYER, ENTRIES);
+
+        assertThat(deviceQuirks.has(DeviceQuirks.Quirk.START_BEFORE_INITIAL_SEEK)).isFalse();
+    }
+}
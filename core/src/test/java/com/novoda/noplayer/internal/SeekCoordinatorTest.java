@@ -0,0 +1,114 @@
+package com.novoda.noplayer.internal;
+
+import com.novoda.noplayer.PlayerEvent;
+import com.novoda.noplayer.internal.listeners.InfoListeners;
+import com.novoda.noplayer.model.VideoPosition;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class SeekCoordinatorTest {
+
+    private static final VideoPosition FIRST_POSITION = VideoPosition.fromMillis(1000);
+    private static final VideoPosition SECOND_POSITION = VideoPosition.fromMillis(2000);
+    private static final VideoPosition LATEST_POSITION = VideoPosition.fromMillis(3000);
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Clock clock;
+    @Mock
+    private SeekCoordinator.Seeker seeker;
+    @Mock
+    private InfoListeners infoListeners;
+
+    private SeekCoordinator seekCoordinator;
+
+    @Before
+    public void setUp() {
+        given(infoListeners.hasPlayerEventListeners()).willReturn(true);
+        seekCoordinator = new SeekCoordinator(clock, seeker, infoListeners);
+    }
+
+    @Test
+    public void whenSeeking_thenSeeksImmediately() {
+        seekCoordinator.seekTo(FIRST_POSITION);
+
+        verify(seeker).seekTo(FIRST_POSITION);
+        verify(infoListeners).notifyPlayerEvent(PlayerEvent.Type.SEEK_REQUESTED);
+    }
+
+    @Test
+    public void givenSeekInFlight_whenSeekingRepeatedly_thenOnlySeeksToLatestPositionOnceProcessed() {
+        seekCoordinator.seekTo(FIRST_POSITION);
+        seekCoordinator.seekTo(SECOND_POSITION);
+        seekCoordinator.seekTo(LATEST_POSITION);
+
+        boolean issuedCoalescedSeek = seekCoordinator.onSeekProcessed();
+
+        assertThat(issuedCoalescedSeek).isTrue();
+        verify(seeker, never()).seekTo(SECOND_POSITION);
+        verify(seeker).seekTo(LATEST_POSITION);
+        verify(infoListeners, times(1)).notifyPlayerEvent(PlayerEvent.Type.SEEK_REQUESTED);
+    }
+
+    @Test
+    public void givenSeekInFlight_thenTargetPositionIsLatestRequest() {
+        seekCoordinator.seekTo(FIRST_POSITION);
+        seekCoordinator.seekTo(LATEST_POSITION);
+
+        assertThat(seekCoordinator.isSeeking()).isTrue();
+        assertThat(seekCoordinator.targetPosition()).isEqualTo(LATEST_POSITION);
+    }
+
+    @Test
+    public void givenCoalescedSeek_whenReady_thenIssuesCoalescedSeekWithoutCompleting() {
+        seekCoordinator.seekTo(FIRST_POSITION);
+        seekCoordinator.seekTo(LATEST_POSITION);
+
+        seekCoordinator.onReady();
+
+        verify(seeker).seekTo(LATEST_POSITION);
+        assertThat(seekCoordinator.isSeeking()).isTrue();
+        verify(infoListeners, never()).onPlayerEvent(any(PlayerEvent.class));
+    }
+
+    @Test
+    public void givenSeekInFlight_whenReady_thenCompletesSeek() {
+        seekCoordinator.seekTo(FIRST_POSITION);
+
+        seekCoordinator.onReady();
+
+        assertThat(seekCoordinator.isSeeking()).isFalse();
+        verify(infoListeners).onPlayerEvent(any(PlayerEvent.class));
+    }
+
+    @Test
+    public void givenProcessedSeek_whenReady_thenReportsSeekLatency() {
+        given(clock.getCurrentTime()).willReturn(1000L);
+        seekCoordinator.seekTo(FIRST_POSITION);
+        seekCoordinator.onSeekProcessed();
+        given(clock.getCurrentTime()).willReturn(1250L);
+
+        seekCoordinator.onReady();
+
+        ArgumentCaptor<PlayerEvent> eventCaptor = ArgumentCaptor.forClass(PlayerEvent.class);
+        verify(infoListeners).onPlayerEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().type()).isEqualTo(PlayerEvent.Type.SEEK_COMPLETED);
+        assertThat(eventCaptor.getValue().durationMs()).isEqualTo(250);
+        assertThat(seekCoordinator.isSeeking()).isFalse();
+    }
+}
@@ -0,0 +1,80 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import com.google.android.exoplayer2.LoadControl;
+import com.google.android.exoplayer2.upstream.DefaultAllocator;
+import com.novoda.noplayer.model.BufferProfile;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+public class BufferProfileLoadControlTest {
+
+    private static final long BUFFERED_DURATION_US = 1000;
+    private static final boolean REBUFFERING = false;
+    private static final boolean TRIM_ON_RESET = true;
+    private static final int ALLOCATION_SIZE_IN_BYTES = 256;
+    private static final int TARGET_BUFFER_SIZE_IN_BYTES = 4 * ALLOCATION_SIZE_IN_BYTES;
+    private static final BufferProfile CAPPED_PROFILE = BufferProfile.LOW_MEMORY.withTargetBufferSizeInBytes(TARGET_BUFFER_SIZE_IN_BYTES);
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private LoadControl defaultLoadControl;
+
+    private DefaultAllocator allocator;
+
+    @Before
+    public void setUp() {
+        allocator = new DefaultAllocator(TRIM_ON_RESET, ALLOCATION_SIZE_IN_BYTES);
+    }
+
+    @Test
+    public void givenNoTargetBufferSize_whenCheckingShouldContinueLoading_thenDefersToDefaultLoadControl() {
+        given(defaultLoadControl.shouldContinueLoading(BUFFERED_DURATION_US)).willReturn(true);
+        givenBytesAllocated(2 * TARGET_BUFFER_SIZE_IN_BYTES);
+        BufferProfileLoadControl loadControl = new BufferProfileLoadControl(allocator, defaultLoadControl, BufferProfile.DEFAULT);
+
+        assertThat(loadControl.shouldContinueLoading(BUFFERED_DURATION_US)).isTrue();
+    }
+
+    @Test
+    public void givenTargetBufferSizeReached_whenCheckingShouldContinueLoading_thenStopsLoading() {
+        given(defaultLoadControl.shouldContinueLoading(BUFFERED_DURATION_US)).willReturn(true);
+        givenBytesAllocated(TARGET_BUFFER_SIZE_IN_BYTES);
+        BufferProfileLoadControl loadControl = new BufferProfileLoadControl(allocator, defaultLoadControl, CAPPED_PROFILE);
+
+        assertThat(loadControl.shouldContinueLoading(BUFFERED_DURATION_US)).isFalse();
+    }
+
+    @Test
+    public void givenTargetBufferSizeNotReached_whenCheckingShouldContinueLoading_thenContinuesLoading() {
+        given(defaultLoadControl.shouldContinueLoading(BUFFERED_DURATION_US)).willReturn(true);
+        givenBytesAllocated(TARGET_BUFFER_SIZE_IN_BYTES - ALLOCATION_SIZE_IN_BYTES);
+        BufferProfileLoadControl loadControl = new BufferProfileLoadControl(allocator, defaultLoadControl, CAPPED_PROFILE);
+
+        assertThat(loadControl.shouldContinueLoading(BUFFERED_DURATION_US)).isTrue();
+    }
+
+    @Test
+    public void givenTargetBufferSizeReached_whenCheckingShouldStartPlayback_thenStartsPlayback() {
+        given(defaultLoadControl.shouldStartPlayback(BUFFERED_DURATION_US, REBUFFERING)).willReturn(false);
+        givenBytesAllocated(TARGET_BUFFER_SIZE_IN_BYTES);
+        BufferProfileLoadControl loadControl = new BufferProfileLoadControl(allocator, defaultLoadControl, CAPPED_PROFILE);
+
+        assertThat(loadControl.shouldStartPlayback(BUFFERED_DURATION_US, REBUFFERING)).isTrue();
+    }
+
+    private void givenBytesAllocated(int bytes) {
+        for (int allocated = 0; allocated < bytes; allocated += ALLOCATION_SIZE_IN_BYTES) {
+            allocator.allocate();
+        }
+    }
+}
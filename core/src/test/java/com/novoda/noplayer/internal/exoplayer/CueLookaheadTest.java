@@ -0,0 +1,55 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import com.google.android.exoplayer2.text.Cue;
+import com.novoda.noplayer.model.TextCues;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+public class CueLookaheadTest {
+
+    private static final Cue FIRST_CUE = new Cue("first cue");
+    private static final Cue SECOND_CUE = new Cue("second cue");
+
+    private CueLookahead cueLookahead;
+
+    @Before
+    public void setUp() {
+        cueLookahead = new CueLookahead();
+    }
+
+    @Test
+    public void givenPreparedCues_whenObtaining_thenReusesPreparedCues() {
+        List<Cue> cues = Arrays.asList(FIRST_CUE, SECOND_CUE);
+        cueLookahead.prepare(cues);
+        TextCues preparedCues = cueLookahead.obtain(cues);
+
+        TextCues textCues = cueLookahead.obtain(Collections.singletonList(SECOND_CUE));
+
+        assertThat(textCues.get(0)).isSameAs(preparedCues.get(1));
+    }
+
+    @Test
+    public void givenUnpreparedCues_whenObtaining_thenMapsCues() {
+        List<Cue> cues = Arrays.asList(FIRST_CUE, SECOND_CUE);
+
+        TextCues textCues = cueLookahead.obtain(cues);
+
+        assertThat(textCues.size()).isEqualTo(2);
+        assertThat(textCues.get(0).text()).isEqualTo(FIRST_CUE.text);
+    }
+
+    @Test
+    public void givenNoCues_whenObtaining_thenReturnsEmptyCues() {
+
+        TextCues textCues = cueLookahead.obtain(null);
+
+        assertThat(textCues.isEmpty()).isTrue();
+    }
+}
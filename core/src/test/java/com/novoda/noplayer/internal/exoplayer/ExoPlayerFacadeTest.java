@@ -3,9 +3,13 @@ package com.novoda.noplayer.internal.exoplayer;
 import android.net.Uri;
 import android.view.SurfaceHolder;
 
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.Player;
 import com.google.android.exoplayer2.SimpleExoPlayer;
+import com.google.android.exoplayer2.Timeline;
 import com.google.android.exoplayer2.drm.DefaultDrmSessionManager;
 import com.google.android.exoplayer2.mediacodec.MediaCodecSelector;
+import com.google.android.exoplayer2.source.DynamicConcatenatingMediaSource;
 import com.google.android.exoplayer2.source.MediaSource;
 import com.novoda.noplayer.ContentType;
 import com.novoda.noplayer.internal.exoplayer.drm.DrmSessionCreator;
@@ -14,6 +18,7 @@ import com.novoda.noplayer.internal.exoplayer.mediasource.ExoPlayerAudioTrackSel
 import com.novoda.noplayer.internal.exoplayer.mediasource.ExoPlayerSubtitleTrackSelector;
 import com.novoda.noplayer.internal.exoplayer.mediasource.MediaSourceFactory;
 import com.novoda.noplayer.model.AudioTracks;
+import com.novoda.noplayer.model.MediaItem;
 import com.novoda.noplayer.model.PlayerAudioTrack;
 import com.novoda.noplayer.model.PlayerAudioTrackFixture;
 import com.novoda.noplayer.model.PlayerSubtitleTrack;
@@ -21,6 +26,7 @@ import com.novoda.noplayer.model.VideoDuration;
 import com.novoda.noplayer.model.VideoPosition;
 
 import java.util.Collections;
+import java.util.List;
 
 import org.junit.Before;
 import org.junit.Rule;
@@ -38,6 +44,7 @@ import static org.fest.assertions.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -68,11 +75,19 @@ public class ExoPlayerFacadeTest {
         public ExpectedException thrown = ExpectedException.none();
 
         @Test
-        public void whenResetting_thenReleasesUnderlyingPlayer() {
+        public void whenResetting_thenDoesNotRecycleUnderlyingPlayer() {
 
             facade.release();
 
-            verify(exoPlayer, never()).release();
+            verify(exoPlayerPool, never()).recycle(exoPlayer);
+        }
+
+        @Test
+        public void whenReleasingPooledPlayers_thenReleasesIdlePlayers() {
+
+            facade.releasePooledPlayers();
+
+            verify(exoPlayerPool).releaseIdlePlayers();
         }
 
         @Test
@@ -184,6 +199,9 @@ public class ExoPlayerFacadeTest {
         private static final PlayerAudioTrack PLAYER_AUDIO_TRACK = PlayerAudioTrackFixture.aPlayerAudioTrack().build();
         private static final AudioTracks AUDIO_TRACKS = AudioTracks.from(Collections.singletonList(PLAYER_AUDIO_TRACK));
 
+        @Rule
+        public ExpectedException thrown = ExpectedException.none();
+
         @Override
         public void setUp() {
             super.setUp();
@@ -196,10 +214,17 @@ public class ExoPlayerFacadeTest {
         }
 
         @Test
-        public void whenResetting_thenReleasesUnderlyingPlayer() {
+        public void whenResetting_thenRecyclesUnderlyingPlayer() {
             facade.release();
 
-            verify(exoPlayer).release();
+            verify(exoPlayerPool).recycle(exoPlayer);
+        }
+
+        @Test
+        public void whenResetting_thenRemovesPlayerEventListener() {
+            facade.release();
+
+            verify(exoPlayer).removeListener(exoPlayerForwarder.exoPlayerEventListener());
         }
 
         @Test
@@ -345,6 +370,78 @@ public class ExoPlayerFacadeTest {
 
             assertThat(audioTracks).isEqualTo(AUDIO_TRACKS);
         }
+
+        @Test
+        public void whenEnqueuing_thenThrowsIllegalStateException() {
+            thrown.expect(ExceptionMatcher.matches("A playlist must be loaded before trying to change it", IllegalStateException.class));
+
+            facade.enqueue(MediaItem.from(uri, ANY_CONTENT_TYPE));
+        }
+    }
+
+    public static class GivenPlaylistIsLoaded extends Base {
+
+        private static final int FIRST_WINDOW_INDEX = 0;
+        private static final int NEXT_WINDOW_INDEX = 1;
+        private static final int WINDOW_COUNT = 2;
+
+        @Mock
+        Timeline timeline;
+
+        private DynamicConcatenatingMediaSource playlist;
+
+        @Override
+        public void setUp() {
+            super.setUp();
+            playlist = new DynamicConcatenatingMediaSource();
+            List<MediaItem> mediaItems = Collections.singletonList(MediaItem.from(uri, ANY_CONTENT_TYPE));
+            given(
+                    mediaSourceFactory.createPlaylist(
+                            mediaItems,
+                            exoPlayerForwarder.extractorMediaSourceListener(),
+                            exoPlayerForwarder.mediaSourceEventListener()
+                    )
+            ).willReturn(playlist);
+            given(exoPlayer.getCurrentTimeline()).willReturn(timeline);
+            given(timeline.getWindowCount()).willReturn(WINDOW_COUNT);
+            given(exoPlayer.getCurrentWindowIndex()).willReturn(FIRST_WINDOW_INDEX);
+            given(exoPlayer.getRepeatMode()).willReturn(Player.REPEAT_MODE_OFF);
+
+            facade.loadPlaylist(surfaceHolder, drmSessionCreator, mediaItems, exoPlayerForwarder, mediaCodecSelector);
+        }
+
+        @Test
+        public void whenLoadingPlaylist_thenPreparesInternalExoPlayerWithPlaylist() {
+            verify(exoPlayer).prepare(playlist, RESET_POSITION, DO_NOT_RESET_STATE);
+        }
+
+        @Test
+        public void whenEnqueuing_thenAddsMediaSourceToPlaylist() {
+            MediaSource mediaSource = givenMediaSource();
+
+            facade.enqueue(MediaItem.from(uri, ANY_CONTENT_TYPE));
+
+            assertThat(playlist.getSize()).isEqualTo(1);
+            assertThat(playlist.getMediaSource(0)).isEqualTo(mediaSource);
+        }
+
+        @Test
+        public void givenNextItemInPlaylist_whenSkippingToNext_thenSeeksToNextWindow() {
+            given(timeline.getNextWindowIndex(FIRST_WINDOW_INDEX, Player.REPEAT_MODE_OFF)).willReturn(NEXT_WINDOW_INDEX);
+
+            facade.skipToNext();
+
+            verify(exoPlayer).seekToDefaultPosition(NEXT_WINDOW_INDEX);
+        }
+
+        @Test
+        public void givenPlayingLastItemOfPlaylist_whenSkippingToNext_thenDoesNotSeek() {
+            given(timeline.getNextWindowIndex(FIRST_WINDOW_INDEX, Player.REPEAT_MODE_OFF)).willReturn(C.INDEX_UNSET);
+
+            facade.skipToNext();
+
+            verify(exoPlayer, never()).seekToDefaultPosition(anyInt());
+        }
     }
 
     public abstract static class Base {
@@ -376,20 +473,21 @@ public class ExoPlayerFacadeTest {
         MediaCodecSelector mediaCodecSelector;
         @Mock
         SurfaceHolder surfaceHolder;
+        @Mock
+        ExoPlayerPool exoPlayerPool;
 
         ExoPlayerFacade facade;
 
         @Before
         public void setUp() {
-            ExoPlayerCreator exoPlayerCreator = mock(ExoPlayerCreator.class);
             given(exoPlayerForwarder.drmSessionEventListener()).willReturn(drmSessionEventListener);
-            given(exoPlayerCreator.create(drmSessionCreator, drmSessionEventListener, mediaCodecSelector)).willReturn(exoPlayer);
+            given(exoPlayerPool.acquire(drmSessionCreator, drmSessionEventListener, mediaCodecSelector)).willReturn(exoPlayer);
             when(rendererTypeRequesterCreator.createfrom(exoPlayer)).thenReturn(rendererTypeRequester);
             facade = new ExoPlayerFacade(
                     mediaSourceFactory,
                     audioTrackSelector,
                     subtitleTrackSelector,
-                    exoPlayerCreator,
+                    exoPlayerPool,
                     rendererTypeRequesterCreator
             );
         }
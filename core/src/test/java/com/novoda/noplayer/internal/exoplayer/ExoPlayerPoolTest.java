@@ -0,0 +1,151 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import com.google.android.exoplayer2.SimpleExoPlayer;
+import com.google.android.exoplayer2.drm.DefaultDrmSessionManager;
+import com.google.android.exoplayer2.mediacodec.MediaCodecSelector;
+import com.novoda.noplayer.internal.exoplayer.drm.DrmSessionCreator;
+import com.novoda.noplayer.internal.listeners.InfoListeners;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMapOf;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class ExoPlayerPoolTest {
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private ExoPlayerCreator exoPlayerCreator;
+    @Mock
+    private InfoListeners infoListeners;
+    @Mock
+    private DrmSessionCreator drmSessionCreator;
+    @Mock
+    private DefaultDrmSessionManager.EventListener drmSessionEventListener;
+    @Mock
+    private MediaCodecSelector mediaCodecSelector;
+    @Mock
+    private SimpleExoPlayer exoPlayer;
+
+    private ExoPlayerPool pool;
+
+    @Before
+    public void setUp() {
+        given(exoPlayerCreator.create(drmSessionCreator, drmSessionEventListener, mediaCodecSelector)).willReturn(exoPlayer);
+        given(infoListeners.hasInfoListeners()).willReturn(true);
+        pool = new ExoPlayerPool(exoPlayerCreator, infoListeners);
+    }
+
+    @Test
+    public void givenEmptyPool_whenAcquiring_thenCreatesPlayer() {
+        SimpleExoPlayer acquiredPlayer = pool.acquire(drmSessionCreator, drmSessionEventListener, mediaCodecSelector);
+
+        assertThat(acquiredPlayer).isSameAs(exoPlayer);
+        verify(infoListeners).onNewInfo(eq("onPlayerPoolMiss"), anyMapOf(String.class, String.class));
+    }
+
+    @Test
+    public void givenNoInfoListeners_whenAcquiring_thenDoesNotNotifyPoolAccess() {
+        given(infoListeners.hasInfoListeners()).willReturn(false);
+
+        pool.acquire(drmSessionCreator, drmSessionEventListener, mediaCodecSelector);
+
+        verify(infoListeners, never()).onNewInfo(anyString(), anyMapOf(String.class, String.class));
+    }
+
+    @Test
+    public void givenPrewarmedPool_whenAcquiring_thenReusesPlayer() {
+        pool.prewarm(drmSessionCreator, drmSessionEventListener, mediaCodecSelector);
+
+        SimpleExoPlayer acquiredPlayer = pool.acquire(drmSessionCreator, drmSessionEventListener, mediaCodecSelector);
+
+        assertThat(acquiredPlayer).isSameAs(exoPlayer);
+        verify(exoPlayerCreator, times(1)).create(drmSessionCreator, drmSessionEventListener, mediaCodecSelector);
+        verify(infoListeners).onNewInfo(eq("onPlayerPoolHit"), anyMapOf(String.class, String.class));
+    }
+
+    @Test
+    public void givenLeasedPlayer_whenPrewarming_thenDoesNotCreateAnotherPlayer() {
+        pool.acquire(drmSessionCreator, drmSessionEventListener, mediaCodecSelector);
+
+        pool.prewarm(drmSessionCreator, drmSessionEventListener, mediaCodecSelector);
+
+        verify(exoPlayerCreator, times(1)).create(drmSessionCreator, drmSessionEventListener, mediaCodecSelector);
+    }
+
+    @Test
+    public void givenLeasedPlayer_whenRecycling_thenStopsPlayerWithoutReleasing() {
+        pool.acquire(drmSessionCreator, drmSessionEventListener, mediaCodecSelector);
+
+        pool.recycle(exoPlayer);
+
+        verify(exoPlayer).stop();
+        verify(exoPlayer, never()).release();
+    }
+
+    @Test
+    public void givenLeasedPlayer_whenRecycling_thenResetsPlayerBeforeReuse() {
+        pool.acquire(drmSessionCreator, drmSessionEventListener, mediaCodecSelector);
+
+        pool.recycle(exoPlayer);
+
+        verify(exoPlayer).setPlayWhenReady(false);
+        verify(exoPlayer).setVolume(1f);
+        verify(exoPlayerCreator).resetTrackSelection();
+    }
+
+    @Test
+    public void givenRecycledPlayer_whenAcquiringWithSameConfiguration_thenReusesPlayer() {
+        pool.acquire(drmSessionCreator, drmSessionEventListener, mediaCodecSelector);
+        pool.recycle(exoPlayer);
+
+        SimpleExoPlayer acquiredPlayer = pool.acquire(drmSessionCreator, drmSessionEventListener, mediaCodecSelector);
+
+        assertThat(acquiredPlayer).isSameAs(exoPlayer);
+        verify(exoPlayerCreator, times(1)).create(drmSessionCreator, drmSessionEventListener, mediaCodecSelector);
+    }
+
+    @Test
+    public void givenRecycledPlayer_whenAcquiringWithDifferentConfiguration_thenReleasesIdlePlayer() {
+        MediaCodecSelector otherMediaCodecSelector = mock(MediaCodecSelector.class);
+        given(exoPlayerCreator.create(drmSessionCreator, drmSessionEventListener, otherMediaCodecSelector)).willReturn(mock(SimpleExoPlayer.class));
+        pool.acquire(drmSessionCreator, drmSessionEventListener, mediaCodecSelector);
+        pool.recycle(exoPlayer);
+
+        pool.acquire(drmSessionCreator, drmSessionEventListener, otherMediaCodecSelector);
+
+        verify(exoPlayer).release();
+    }
+
+    @Test
+    public void givenUnknownPlayer_whenRecycling_thenReleasesPlayer() {
+        SimpleExoPlayer unknownPlayer = mock(SimpleExoPlayer.class);
+
+        pool.recycle(unknownPlayer);
+
+        verify(unknownPlayer).release();
+    }
+
+    @Test
+    public void givenIdlePlayer_whenReleasingIdlePlayers_thenReleasesPlayer() {
+        pool.prewarm(drmSessionCreator, drmSessionEventListener, mediaCodecSelector);
+
+        pool.releaseIdlePlayers();
+
+        verify(exoPlayer).release();
+    }
+}
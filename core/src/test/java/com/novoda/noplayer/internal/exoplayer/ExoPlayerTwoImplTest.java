@@ -14,12 +14,19 @@ import com.novoda.noplayer.PlayerInformation;
 import com.novoda.noplayer.PlayerType;
 import com.novoda.noplayer.PlayerView;
 import com.novoda.noplayer.SurfaceHolderRequester;
+import com.novoda.noplayer.internal.Clock;
+import com.novoda.noplayer.internal.DeviceQuirks;
 import com.novoda.noplayer.internal.Heart;
+import com.novoda.noplayer.internal.SeekCoordinator;
 import com.novoda.noplayer.internal.exoplayer.drm.DrmSessionCreator;
 import com.novoda.noplayer.internal.exoplayer.forwarder.ExoPlayerForwarder;
 import com.novoda.noplayer.internal.exoplayer.mediasource.ExoPlayerTrackSelector;
+import com.novoda.noplayer.internal.exoplayer.mediasource.MediaPreloader;
+import com.novoda.noplayer.internal.listeners.InfoListeners;
 import com.novoda.noplayer.internal.listeners.PlayerListenersHolder;
+import com.novoda.noplayer.internal.subtitles.SidecarSubtitles;
 import com.novoda.noplayer.model.LoadTimeout;
+import com.novoda.noplayer.model.MediaItem;
 import com.novoda.noplayer.model.PlayerSubtitleTrack;
 import com.novoda.noplayer.model.TextCues;
 import com.novoda.noplayer.model.Timeout;
@@ -93,6 +100,13 @@ public class ExoPlayerTwoImplTest {
             verify(forwarder).bind(infoListener);
         }
 
+        @Test
+        public void whenInitialisingPlayer_thenPrewarmsUnderlyingPlayer() {
+            player.initialise();
+
+            verify(exoPlayerFacade).prewarm(drmSessionCreator, forwarder, mediaCodecSelector);
+        }
+
         @Test
         public void whenInitialisingPlayer_thenBindsHeart() {
             player.initialise();
@@ -197,10 +211,28 @@ public class ExoPlayerTwoImplTest {
             verify(stateChangedListener).onVideoStopped();
             verify(loadTimeout).cancel();
             verify(heart).stopBeatingHeart();
-            verify(containerView).setVisibility(View.GONE);
             verify(exoPlayerFacade).release();
         }
 
+        @Test
+        public void givenAttachedPlayerView_whenStopping_thenKeepsSurfaceAlive() {
+            player.attach(playerView);
+
+            player.stop();
+
+            verify(containerView, never()).setVisibility(View.GONE);
+        }
+
+        @Test
+        public void givenDeviceThatCannotReuseSurfaces_whenStopping_thenDestroysSurfaceByHidingContainer() {
+            given(deviceQuirks.has(DeviceQuirks.Quirk.DESTROY_SURFACE_BETWEEN_VIDEOS)).willReturn(true);
+            player.attach(playerView);
+
+            player.stop();
+
+            verify(containerView).setVisibility(View.GONE);
+        }
+
         @Test
         public void givenAttachedPlayerView_whenReleasing_thenPlayerResourcesAreReleased() {
             player.attach(playerView);
@@ -211,7 +243,6 @@ public class ExoPlayerTwoImplTest {
             verify(stateChangedListener).onVideoStopped();
             verify(loadTimeout).cancel();
             verify(heart).stopBeatingHeart();
-            verify(containerView).setVisibility(View.GONE);
             verify(exoPlayerFacade).release();
             verify(listenersHolder).clear();
         }
@@ -225,6 +256,16 @@ public class ExoPlayerTwoImplTest {
             verify(exoPlayerFacade).loadVideo(surfaceHolder, drmSessionCreator, uri, ANY_CONTENT_TYPE, forwarder, mediaCodecSelector);
         }
 
+        @Test
+        public void whenLoadingPlaylist_thenDelegatesLoadingToFacade() {
+            List<MediaItem> mediaItems = Arrays.asList(MediaItem.from(uri, ANY_CONTENT_TYPE), MediaItem.from(uri, ANY_CONTENT_TYPE));
+            player.attach(playerView);
+
+            player.loadPlaylist(mediaItems);
+
+            verify(exoPlayerFacade).loadPlaylist(surfaceHolder, drmSessionCreator, mediaItems, forwarder, mediaCodecSelector);
+        }
+
         @Test
         public void whenLoadingVideoWithTimeout_thenDelegatesLoadingToFacade() {
             player.attach(playerView);
@@ -389,6 +430,27 @@ public class ExoPlayerTwoImplTest {
             verify(exoPlayerFacade).release();
         }
 
+        @Test
+        public void whenReleasing_thenReleasesPooledPlayers() {
+            player.release();
+
+            verify(exoPlayerFacade).releasePooledPlayers();
+        }
+
+        @Test
+        public void whenReleasing_thenReleasesMediaPreloader() {
+            player.release();
+
+            verify(mediaPreloader).release();
+        }
+
+        @Test
+        public void whenPreloading_thenPreloadsContent() {
+            player.preload(URI, ANY_CONTENT_TYPE);
+
+            verify(mediaPreloader).preload(URI, ANY_CONTENT_TYPE);
+        }
+
         @Test
         public void whenStartingPlayback_thenStartsBeatingHeart() {
 
@@ -404,6 +466,20 @@ public class ExoPlayerTwoImplTest {
             verify(stateChangedListener).onVideoPaused();
         }
 
+        @Test
+        public void whenStartingPlayback_thenRefreshesSidecarSubtitles() {
+            player.play();
+
+            verify(sidecarSubtitles).refresh();
+        }
+
+        @Test
+        public void whenPausing_thenRefreshesSidecarSubtitles() {
+            player.pause();
+
+            verify(sidecarSubtitles).refresh();
+        }
+
         @Test
         public void givenHeartIsBeating_whenPausing_thenStopsBeatingHeart() {
             given(heart.isBeating()).willReturn(IS_BEATING);
@@ -543,6 +619,18 @@ public class ExoPlayerTwoImplTest {
             return ExoPlayerCueMapper.map(cueList);
         }
 
+        @Test
+        public void givenSidecarSubtitleTrack_whenSelectingSubtitlesTrack_thenShowsSidecarSubtitlesInsteadOfEmbeddedOnes() {
+            PlayerSubtitleTrack playerSubtitleTrack = PlayerSubtitleTrackFixture.anInstance().build();
+            given(sidecarSubtitles.isSidecarTrack(playerSubtitleTrack)).willReturn(true);
+
+            boolean success = player.showSubtitleTrack(playerSubtitleTrack);
+
+            assertThat(success).isTrue();
+            verify(sidecarSubtitles).show(playerSubtitleTrack, playerView, player);
+            verify(exoPlayerFacade).clearSubtitleTrack();
+        }
+
         @Test
         public void whenClearingSubtitles_thenHidesPlayerSubtitlesView() {
             player.hideSubtitleTrack();
@@ -587,7 +675,7 @@ public class ExoPlayerTwoImplTest {
         @Mock
         NoPlayer.StateChangedListener stateChangedListener;
         @Mock
-        NoPlayer.InfoListener infoListener;
+        InfoListeners infoListener;
         @Mock
         NoPlayer.BitrateChangedListener bitrateChangedListener;
         @Mock
@@ -599,7 +687,15 @@ public class ExoPlayerTwoImplTest {
         @Mock
         MediaCodecSelector mediaCodecSelector;
         @Mock
+        MediaPreloader mediaPreloader;
+        @Mock
+        Clock clock;
+        @Mock
         View containerView;
+        @Mock
+        DeviceQuirks deviceQuirks;
+        @Mock
+        SidecarSubtitles sidecarSubtitles;
 
         ExoPlayerTwoImpl player;
 
@@ -634,7 +730,12 @@ public class ExoPlayerTwoImplTest {
                     loadTimeout,
                     heart,
                     drmSessionCreator,
-                    mediaCodecSelector
+                    mediaCodecSelector,
+                    mediaPreloader,
+                    deviceQuirks,
+                    new SeekCoordinator(clock, exoPlayerFacade, infoListener),
+                    new CueLookahead(),
+                    sidecarSubtitles
             );
         }
     }
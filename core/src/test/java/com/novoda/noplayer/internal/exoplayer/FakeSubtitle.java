@@ -0,0 +1,83 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.text.Cue;
+import com.google.android.exoplayer2.text.Subtitle;
+import com.google.android.exoplayer2.text.SubtitleOutputBuffer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A subtitle showing a single, stable cue from each of its event times until the next one.
+ */
+class FakeSubtitle implements Subtitle {
+
+    private final List<Long> eventTimesUs = new ArrayList<>();
+    private final List<List<Cue>> cues = new ArrayList<>();
+
+    FakeSubtitle withCueAt(long eventTimeUs, String text) {
+        eventTimesUs.add(eventTimeUs);
+        cues.add(Collections.singletonList(new Cue(text)));
+        return this;
+    }
+
+    @Override
+    public int getNextEventTimeIndex(long timeUs) {
+        for (int index = 0; index < eventTimesUs.size(); index++) {
+            if (eventTimesUs.get(index) > timeUs) {
+                return index;
+            }
+        }
+        return C.INDEX_UNSET;
+    }
+
+    @Override
+    public int getEventTimeCount() {
+        return eventTimesUs.size();
+    }
+
+    @Override
+    public long getEventTime(int index) {
+        return eventTimesUs.get(index);
+    }
+
+    @Override
+    public List<Cue> getCues(long timeUs) {
+        int nextEventIndex = getNextEventTimeIndex(timeUs);
+        int activeEventIndex = (nextEventIndex == C.INDEX_UNSET ? eventTimesUs.size() : nextEventIndex) - 1;
+        if (activeEventIndex < 0) {
+            return Collections.emptyList();
+        }
+        return cues.get(activeEventIndex);
+    }
+
+    List<Cue> cuesAt(int index) {
+        return cues.get(index);
+    }
+
+    FakeOutputBuffer asOutputBuffer() {
+        return new FakeOutputBuffer(this);
+    }
+
+    static class FakeOutputBuffer extends SubtitleOutputBuffer {
+
+        private static final long NO_SUBSAMPLE_OFFSET = 0;
+
+        private boolean released;
+
+        FakeOutputBuffer(Subtitle subtitle) {
+            setContent(0, subtitle, NO_SUBSAMPLE_OFFSET);
+        }
+
+        boolean isReleased() {
+            return released;
+        }
+
+        @Override
+        public void release() {
+            released = true;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import com.google.android.exoplayer2.upstream.BandwidthMeter;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+public class FlooredBandwidthMeterTest {
+
+    private static final long MIN_BITRATE_ESTIMATE = 1000;
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private BandwidthMeter bandwidthMeter;
+
+    private FlooredBandwidthMeter flooredBandwidthMeter;
+
+    @Before
+    public void setUp() {
+        flooredBandwidthMeter = new FlooredBandwidthMeter(bandwidthMeter, MIN_BITRATE_ESTIMATE);
+    }
+
+    @Test
+    public void givenNoEstimate_whenGettingBitrateEstimate_thenReturnsNoEstimate() {
+        given(bandwidthMeter.getBitrateEstimate()).willReturn(BandwidthMeter.NO_ESTIMATE);
+
+        assertThat(flooredBandwidthMeter.getBitrateEstimate()).isEqualTo(BandwidthMeter.NO_ESTIMATE);
+    }
+
+    @Test
+    public void givenEstimateBelowFloor_whenGettingBitrateEstimate_thenReturnsFloor() {
+        given(bandwidthMeter.getBitrateEstimate()).willReturn(MIN_BITRATE_ESTIMATE - 1);
+
+        assertThat(flooredBandwidthMeter.getBitrateEstimate()).isEqualTo(MIN_BITRATE_ESTIMATE);
+    }
+
+    @Test
+    public void givenEstimateAboveFloor_whenGettingBitrateEstimate_thenReturnsEstimate() {
+        given(bandwidthMeter.getBitrateEstimate()).willReturn(MIN_BITRATE_ESTIMATE + 1);
+
+        assertThat(flooredBandwidthMeter.getBitrateEstimate()).isEqualTo(MIN_BITRATE_ESTIMATE + 1);
+    }
+}
@@ -0,0 +1,70 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import com.google.android.exoplayer2.Format;
+import com.google.android.exoplayer2.text.SubtitleDecoder;
+import com.google.android.exoplayer2.text.SubtitleDecoderFactory;
+import com.google.android.exoplayer2.util.MimeTypes;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+public class LookaheadSubtitleDecoderFactoryTest {
+
+    private static final String ANY_ID = "id";
+    private static final int NO_SELECTION_FLAGS = 0;
+    private static final String ANY_LANGUAGE = "en";
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private SubtitleDecoderFactory decoderFactory;
+    @Mock
+    private SubtitleDecoder decoder;
+    @Mock
+    private CueLookahead cueLookahead;
+
+    private LookaheadSubtitleDecoderFactory lookaheadDecoderFactory;
+
+    @Before
+    public void setUp() {
+        given(decoderFactory.createDecoder(any(Format.class))).willReturn(decoder);
+        lookaheadDecoderFactory = new LookaheadSubtitleDecoderFactory(decoderFactory, cueLookahead);
+    }
+
+    @Test
+    public void givenSubripFormat_whenCreatingDecoder_thenDecodesWithLookahead() {
+
+        SubtitleDecoder subtitleDecoder = lookaheadDecoderFactory.createDecoder(textFormat(MimeTypes.APPLICATION_SUBRIP));
+
+        assertThat(subtitleDecoder).isInstanceOf(LookaheadSubtitleDecoder.class);
+    }
+
+    @Test
+    public void givenTtmlFormat_whenCreatingDecoder_thenDecodesWithoutLookahead() {
+
+        SubtitleDecoder subtitleDecoder = lookaheadDecoderFactory.createDecoder(textFormat(MimeTypes.APPLICATION_TTML));
+
+        assertThat(subtitleDecoder).isSameAs(decoder);
+    }
+
+    @Test
+    public void givenWebVttFormat_whenCreatingDecoder_thenDecodesWithoutLookahead() {
+
+        SubtitleDecoder subtitleDecoder = lookaheadDecoderFactory.createDecoder(textFormat(MimeTypes.TEXT_VTT));
+
+        assertThat(subtitleDecoder).isSameAs(decoder);
+    }
+
+    private static Format textFormat(String sampleMimeType) {
+        return Format.createTextSampleFormat(ANY_ID, sampleMimeType, NO_SELECTION_FLAGS, ANY_LANGUAGE);
+    }
+}
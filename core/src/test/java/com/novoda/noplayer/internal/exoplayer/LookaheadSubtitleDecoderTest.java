@@ -0,0 +1,103 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import com.google.android.exoplayer2.text.SubtitleDecoder;
+import com.google.android.exoplayer2.text.SubtitleDecoderException;
+import com.google.android.exoplayer2.text.SubtitleOutputBuffer;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class LookaheadSubtitleDecoderTest {
+
+    private static final long FIRST_EVENT_US = 1000000;
+    private static final long SECOND_EVENT_US = 5000000;
+    private static final long THIRD_EVENT_US = 20000000;
+    private static final long POSITION_BEFORE_THIRD_EVENT_US = 10000000;
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private SubtitleDecoder decoder;
+    @Mock
+    private CueLookahead cueLookahead;
+
+    private FakeSubtitle subtitle;
+    private LookaheadSubtitleDecoder lookaheadDecoder;
+
+    @Before
+    public void setUp() throws SubtitleDecoderException {
+        subtitle = new FakeSubtitle()
+                .withCueAt(FIRST_EVENT_US, "first cue")
+                .withCueAt(SECOND_EVENT_US, "second cue")
+                .withCueAt(THIRD_EVENT_US, "third cue");
+        given(decoder.dequeueOutputBuffer()).willReturn(subtitle.asOutputBuffer());
+        lookaheadDecoder = new LookaheadSubtitleDecoder(decoder, cueLookahead);
+    }
+
+    @Test
+    public void givenNoDecodedSubtitle_whenDequeuingOutputBuffer_thenReturnsNull() throws SubtitleDecoderException {
+        given(decoder.dequeueOutputBuffer()).willReturn(null);
+
+        SubtitleOutputBuffer outputBuffer = lookaheadDecoder.dequeueOutputBuffer();
+
+        assertThat(outputBuffer).isNull();
+    }
+
+    @Test
+    public void whenDequeuingOutputBuffer_thenPreparesCuesWithinTheLookahead() throws SubtitleDecoderException {
+
+        lookaheadDecoder.dequeueOutputBuffer();
+
+        verify(cueLookahead).prepare(subtitle.cuesAt(0));
+        verify(cueLookahead).prepare(subtitle.cuesAt(1));
+        verify(cueLookahead, never()).prepare(subtitle.cuesAt(2));
+    }
+
+    @Test
+    public void givenDecodedSubtitle_whenPlaybackAdvances_thenPreparesUpcomingCues() throws SubtitleDecoderException {
+        lookaheadDecoder.dequeueOutputBuffer();
+
+        lookaheadDecoder.setPositionUs(POSITION_BEFORE_THIRD_EVENT_US);
+
+        verify(cueLookahead).prepare(subtitle.cuesAt(2));
+    }
+
+    @Test
+    public void givenReleasedSubtitle_whenPlaybackAdvances_thenDoesNotPrepareItsCues() throws SubtitleDecoderException {
+        SubtitleOutputBuffer outputBuffer = lookaheadDecoder.dequeueOutputBuffer();
+        outputBuffer.release();
+
+        lookaheadDecoder.setPositionUs(POSITION_BEFORE_THIRD_EVENT_US);
+
+        verify(cueLookahead, never()).prepare(subtitle.cuesAt(2));
+    }
+
+    @Test
+    public void givenFlushedDecoder_whenPlaybackAdvances_thenDoesNotPrepareCuesOfEarlierSubtitles() throws SubtitleDecoderException {
+        lookaheadDecoder.dequeueOutputBuffer();
+        lookaheadDecoder.flush();
+
+        lookaheadDecoder.setPositionUs(POSITION_BEFORE_THIRD_EVENT_US);
+
+        verify(decoder).flush();
+        verify(cueLookahead, never()).prepare(subtitle.cuesAt(2));
+    }
+
+    @Test
+    public void whenSettingPosition_thenForwardsPositionToDecoder() {
+
+        lookaheadDecoder.setPositionUs(POSITION_BEFORE_THIRD_EVENT_US);
+
+        verify(decoder).setPositionUs(POSITION_BEFORE_THIRD_EVENT_US);
+    }
+}
@@ -0,0 +1,108 @@
+package com.novoda.noplayer.internal.exoplayer;
+
+import com.google.android.exoplayer2.text.Cue;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class LookaheadSubtitleOutputBufferTest {
+
+    private static final long FIRST_EVENT_US = 1000000;
+    private static final long SECOND_EVENT_US = 5000000;
+    private static final long THIRD_EVENT_US = 20000000;
+    private static final long LOOKAHEAD_WINDOW_US = 10000000;
+    private static final long POSITION_BEFORE_THIRD_EVENT_US = THIRD_EVENT_US - LOOKAHEAD_WINDOW_US;
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private CueLookahead cueLookahead;
+
+    private FakeSubtitle subtitle;
+    private FakeSubtitle.FakeOutputBuffer outputBuffer;
+    private LookaheadSubtitleOutputBuffer lookaheadOutputBuffer;
+
+    @Before
+    public void setUp() {
+        subtitle = new FakeSubtitle()
+                .withCueAt(FIRST_EVENT_US, "first cue")
+                .withCueAt(SECOND_EVENT_US, "second cue")
+                .withCueAt(THIRD_EVENT_US, "third cue");
+        outputBuffer = subtitle.asOutputBuffer();
+        lookaheadOutputBuffer = new LookaheadSubtitleOutputBuffer(outputBuffer);
+    }
+
+    @Test
+    public void whenPreparingCues_thenPreparesCuesWithinTheLookahead() {
+
+        lookaheadOutputBuffer.prepareCues(0, LOOKAHEAD_WINDOW_US, cueLookahead);
+
+        verify(cueLookahead).prepare(cuesAt(0));
+        verify(cueLookahead).prepare(cuesAt(1));
+        verify(cueLookahead, never()).prepare(cuesAt(2));
+    }
+
+    @Test
+    public void givenPreparedCues_whenPreparingFurtherAhead_thenOnlyPreparesNewCues() {
+        lookaheadOutputBuffer.prepareCues(0, LOOKAHEAD_WINDOW_US, cueLookahead);
+
+        lookaheadOutputBuffer.prepareCues(POSITION_BEFORE_THIRD_EVENT_US, THIRD_EVENT_US, cueLookahead);
+
+        verify(cueLookahead).prepare(cuesAt(0));
+        verify(cueLookahead).prepare(cuesAt(1));
+        verify(cueLookahead).prepare(cuesAt(2));
+    }
+
+    @Test
+    public void givenPositionAfterAnEvent_whenPreparingCues_thenStartsFromTheActiveCue() {
+
+        lookaheadOutputBuffer.prepareCues(POSITION_BEFORE_THIRD_EVENT_US, THIRD_EVENT_US, cueLookahead);
+
+        verify(cueLookahead, never()).prepare(cuesAt(0));
+        verify(cueLookahead).prepare(cuesAt(1));
+        verify(cueLookahead).prepare(cuesAt(2));
+    }
+
+    @Test
+    public void givenNoEventsWithinTheLookahead_whenPreparingCues_thenPreparesNothing() {
+        FakeSubtitle laterSubtitle = new FakeSubtitle().withCueAt(THIRD_EVENT_US, "third cue");
+        LookaheadSubtitleOutputBuffer laterOutputBuffer = new LookaheadSubtitleOutputBuffer(laterSubtitle.asOutputBuffer());
+
+        laterOutputBuffer.prepareCues(0, LOOKAHEAD_WINDOW_US, cueLookahead);
+
+        verify(cueLookahead, never()).prepare(ArgumentMatchers.<Cue>anyList());
+    }
+
+    @Test
+    public void whenGettingCues_thenDelegatesToTheWrappedSubtitle() {
+
+        List<Cue> cues = lookaheadOutputBuffer.getCues(SECOND_EVENT_US);
+
+        assertThat(cues).isSameAs(cuesAt(1));
+    }
+
+    @Test
+    public void whenReleasing_thenReleasesTheWrappedBuffer() {
+
+        lookaheadOutputBuffer.release();
+
+        assertThat(lookaheadOutputBuffer.isReleased()).isTrue();
+        assertThat(outputBuffer.isReleased()).isTrue();
+    }
+
+    private List<Cue> cuesAt(int index) {
+        return subtitle.cuesAt(index);
+    }
+}
@@ -1,8 +1,15 @@
 package com.novoda.noplayer.internal.exoplayer;
 
 import android.content.Context;
+import android.os.Handler;
 
+import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.internal.Heart;
 import com.novoda.noplayer.internal.exoplayer.drm.DrmSessionCreator;
+import com.novoda.noplayer.internal.listeners.HeartbeatCallbacks;
+import com.novoda.noplayer.model.AdaptiveBitrate;
+import com.novoda.noplayer.model.BufferProfile;
+import com.novoda.utils.Optional;
 
 import org.junit.Before;
 import org.junit.Rule;
@@ -11,8 +18,10 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 
 public class NoPlayerExoPlayerCreatorTest {
 
@@ -29,6 +38,14 @@ public class NoPlayerExoPlayerCreatorTest {
     private DrmSessionCreator drmSessionCreator;
     @Mock
     private NoPlayerExoPlayerCreator.InternalCreator internalCreator;
+    @Mock
+    private Handler uiHandler;
+    @Mock
+    private Handler eventHandler;
+    @Mock
+    private HeartbeatCallbacks heartbeatCallbacks;
+    @Mock
+    private NoPlayer noPlayer;
 
     private NoPlayerExoPlayerCreator creator;
 
@@ -44,4 +61,22 @@ public class NoPlayerExoPlayerCreatorTest {
 
         verify(player).initialise();
     }
+
+    @Test
+    public void givenSeparateEventHandler_whenBeatingHeart_thenBeatsOnUiHandler() {
+        NoPlayerExoPlayerCreator.InternalCreator eventThreadCreator = new NoPlayerExoPlayerCreator.InternalCreator(
+                uiHandler,
+                eventHandler,
+                NoPlayerExoPlayerCreator.NO_SEGMENT_CACHE,
+                BufferProfile.DEFAULT,
+                Optional.<AdaptiveBitrate>absent()
+        );
+        Heart heart = eventThreadCreator.createHeart();
+        heart.bind(new Heart.Heartbeat(heartbeatCallbacks, noPlayer));
+
+        heart.startBeatingHeart();
+
+        verify(uiHandler).post(any(Runnable.class));
+        verifyZeroInteractions(eventHandler);
+    }
 }
@@ -0,0 +1,133 @@
+package com.novoda.noplayer.internal.exoplayer.bandwidth;
+
+import android.content.SharedPreferences;
+
+import com.novoda.noplayer.internal.Clock;
+import com.novoda.utils.Optional;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class BandwidthEstimateStoreTest {
+
+    private static final String NETWORK_TYPE = "wifi";
+    private static final String KEY = "bandwidth_estimate_wifi";
+    private static final long NO_ESTIMATE = -1;
+    private static final long ONE_MEGABYTE = 1024 * 1024;
+    private static final long ONE_SECOND_IN_MILLIS = 1000;
+    private static final long ONE_MEGABYTE_PER_SECOND_IN_BITS = ONE_MEGABYTE * 8;
+    private static final long NOW_IN_MILLIS = 100000;
+    private static final long BEFORE_PERSIST_INTERVAL_IN_MILLIS = NOW_IN_MILLIS + 29999;
+    private static final long AFTER_PERSIST_INTERVAL_IN_MILLIS = NOW_IN_MILLIS + 30000;
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private SharedPreferences sharedPreferences;
+    @Mock
+    private SharedPreferences.Editor editor;
+    @Mock
+    private NetworkTypeProvider networkTypeProvider;
+    @Mock
+    private Clock clock;
+
+    private BandwidthEstimateStore store;
+
+    @Before
+    public void setUp() {
+        given(networkTypeProvider.currentNetworkType()).willReturn(NETWORK_TYPE);
+        given(sharedPreferences.edit()).willReturn(editor);
+        given(editor.putLong(anyString(), anyLong())).willReturn(editor);
+        given(sharedPreferences.getLong(KEY, NO_ESTIMATE)).willReturn(NO_ESTIMATE);
+        given(clock.getCurrentTime()).willReturn(NOW_IN_MILLIS);
+        store = new BandwidthEstimateStore(sharedPreferences, networkTypeProvider, clock);
+    }
+
+    @Test
+    public void givenNoStoredEstimate_whenGettingEstimate_thenReturnsAbsent() {
+        Optional<Long> estimate = store.estimateForCurrentNetwork();
+
+        assertThat(estimate.isAbsent()).isTrue();
+    }
+
+    @Test
+    public void givenStoredEstimate_whenGettingEstimate_thenReturnsEstimateForCurrentNetwork() {
+        given(sharedPreferences.getLong(KEY, NO_ESTIMATE)).willReturn(ONE_MEGABYTE_PER_SECOND_IN_BITS);
+
+        Optional<Long> estimate = store.estimateForCurrentNetwork();
+
+        assertThat(estimate.get()).isEqualTo(ONE_MEGABYTE_PER_SECOND_IN_BITS);
+    }
+
+    @Test
+    public void givenNoStoredEstimate_whenAddingSample_thenStoresSampleBitrate() {
+        store.addSample(ONE_MEGABYTE, ONE_SECOND_IN_MILLIS);
+
+        verify(editor).putLong(KEY, ONE_MEGABYTE_PER_SECOND_IN_BITS);
+        verify(editor).apply();
+    }
+
+    @Test
+    public void givenStoredEstimate_whenAddingSample_thenBlendsSampleIntoEstimate() {
+        given(sharedPreferences.getLong(KEY, NO_ESTIMATE)).willReturn(ONE_MEGABYTE_PER_SECOND_IN_BITS);
+
+        store.addSample(2 * ONE_MEGABYTE, ONE_SECOND_IN_MILLIS);
+
+        verify(editor).putLong(KEY, (long) (ONE_MEGABYTE_PER_SECOND_IN_BITS * (1 - 0.3f) + 2 * ONE_MEGABYTE_PER_SECOND_IN_BITS * 0.3f));
+    }
+
+    @Test
+    public void givenRecentlyPersistedEstimate_whenAddingSample_thenDoesNotPersistAgain() {
+        store.addSample(ONE_MEGABYTE, ONE_SECOND_IN_MILLIS);
+        given(clock.getCurrentTime()).willReturn(BEFORE_PERSIST_INTERVAL_IN_MILLIS);
+
+        store.addSample(2 * ONE_MEGABYTE, ONE_SECOND_IN_MILLIS);
+
+        verify(editor, times(1)).apply();
+    }
+
+    @Test
+    public void givenRecentlyPersistedEstimate_whenAddingSample_thenReturnsBlendedEstimate() {
+        store.addSample(ONE_MEGABYTE, ONE_SECOND_IN_MILLIS);
+        given(clock.getCurrentTime()).willReturn(BEFORE_PERSIST_INTERVAL_IN_MILLIS);
+
+        store.addSample(2 * ONE_MEGABYTE, ONE_SECOND_IN_MILLIS);
+
+        Optional<Long> estimate = store.estimateForCurrentNetwork();
+        assertThat(estimate.get()).isEqualTo((long) (ONE_MEGABYTE_PER_SECOND_IN_BITS * (1 - 0.3f) + 2 * ONE_MEGABYTE_PER_SECOND_IN_BITS * 0.3f));
+    }
+
+    @Test
+    public void givenPersistIntervalElapsed_whenAddingSample_thenPersistsBlendedEstimate() {
+        store.addSample(ONE_MEGABYTE, ONE_SECOND_IN_MILLIS);
+        given(clock.getCurrentTime()).willReturn(BEFORE_PERSIST_INTERVAL_IN_MILLIS);
+        store.addSample(2 * ONE_MEGABYTE, ONE_SECOND_IN_MILLIS);
+        given(clock.getCurrentTime()).willReturn(AFTER_PERSIST_INTERVAL_IN_MILLIS);
+
+        store.addSample(2 * ONE_MEGABYTE, ONE_SECOND_IN_MILLIS);
+
+        long firstBlend = (long) (ONE_MEGABYTE_PER_SECOND_IN_BITS * (1 - 0.3f) + 2 * ONE_MEGABYTE_PER_SECOND_IN_BITS * 0.3f);
+        verify(editor).putLong(KEY, (long) (firstBlend * (1 - 0.3f) + 2 * ONE_MEGABYTE_PER_SECOND_IN_BITS * 0.3f));
+        verify(editor, times(2)).apply();
+    }
+
+    @Test
+    public void givenSmallLoad_whenAddingSample_thenIgnoresSample() {
+        store.addSample(1024, ONE_SECOND_IN_MILLIS);
+
+        verify(sharedPreferences, never()).edit();
+    }
+}
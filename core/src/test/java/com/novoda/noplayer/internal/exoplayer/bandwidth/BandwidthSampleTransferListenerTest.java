@@ -0,0 +1,62 @@
+package com.novoda.noplayer.internal.exoplayer.bandwidth;
+
+import com.google.android.exoplayer2.upstream.DataSpec;
+import com.google.android.exoplayer2.upstream.TransferListener;
+import com.novoda.noplayer.internal.Clock;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+public class BandwidthSampleTransferListenerTest {
+
+    private static final Object ANY_SOURCE = new Object();
+    private static final DataSpec ANY_DATA_SPEC = null;
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private TransferListener<Object> transferListener;
+    @Mock
+    private BandwidthEstimateStore bandwidthEstimateStore;
+    @Mock
+    private Clock clock;
+
+    private BandwidthSampleTransferListener listener;
+
+    @Before
+    public void setUp() {
+        listener = new BandwidthSampleTransferListener(transferListener, bandwidthEstimateStore, clock);
+    }
+
+    @Test
+    public void whenTransferEnds_thenAddsSampleOfBytesOverTransferDuration() {
+        given(clock.getCurrentTime()).willReturn(1000L);
+        listener.onTransferStart(ANY_SOURCE, ANY_DATA_SPEC);
+        listener.onBytesTransferred(ANY_SOURCE, 40000);
+        listener.onBytesTransferred(ANY_SOURCE, 60000);
+        given(clock.getCurrentTime()).willReturn(1500L);
+
+        listener.onTransferEnd(ANY_SOURCE);
+
+        verify(bandwidthEstimateStore).addSample(100000, 500);
+    }
+
+    @Test
+    public void whenTransferring_thenForwardsTransferEvents() {
+        listener.onTransferStart(ANY_SOURCE, ANY_DATA_SPEC);
+        listener.onBytesTransferred(ANY_SOURCE, 1024);
+        listener.onTransferEnd(ANY_SOURCE);
+
+        verify(transferListener).onTransferStart(ANY_SOURCE, ANY_DATA_SPEC);
+        verify(transferListener).onBytesTransferred(ANY_SOURCE, 1024);
+        verify(transferListener).onTransferEnd(ANY_SOURCE);
+    }
+}
@@ -0,0 +1,93 @@
+package com.novoda.noplayer.internal.exoplayer.forwarder;
+
+import com.google.android.exoplayer2.Player;
+import com.novoda.noplayer.PlayerEvent;
+import com.novoda.noplayer.internal.Clock;
+import com.novoda.noplayer.internal.SeekCoordinator;
+import com.novoda.noplayer.internal.listeners.InfoListeners;
+import com.novoda.noplayer.model.VideoPosition;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.mockito.stubbing.Answer;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class SeekForwarderTest {
+
+    private static final VideoPosition FIRST_POSITION = VideoPosition.fromMillis(1000);
+    private static final VideoPosition SECOND_POSITION = VideoPosition.fromMillis(2000);
+    private static final boolean PLAY_WHEN_READY = true;
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Clock clock;
+    @Mock
+    private SeekCoordinator.Seeker seeker;
+    @Mock
+    private InfoListeners infoListeners;
+
+    private SeekCoordinator seekCoordinator;
+    private SeekForwarder seekForwarder;
+
+    @Before
+    public void setUp() {
+        given(infoListeners.hasPlayerEventListeners()).willReturn(true);
+        seekCoordinator = new SeekCoordinator(clock, seeker, infoListeners);
+        seekForwarder = new SeekForwarder(seekCoordinator);
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                // ExoPlayer reports the discontinuity from within seekTo.
+                seekForwarder.onPositionDiscontinuity();
+                return null;
+            }
+        }).when(seeker).seekTo(any(VideoPosition.class));
+    }
+
+    @Test
+    public void givenBackToBackSeeks_whenPlayerBecomesReadyAfterEach_thenIssuesBothAndCompletesOnce() {
+        given(clock.getCurrentTime()).willReturn(1000L);
+        seekCoordinator.seekTo(FIRST_POSITION);
+        seekCoordinator.seekTo(SECOND_POSITION);
+        verify(seeker, never()).seekTo(SECOND_POSITION);
+
+        seekForwarder.onPlayerStateChanged(PLAY_WHEN_READY, Player.STATE_BUFFERING);
+        seekForwarder.onPlayerStateChanged(PLAY_WHEN_READY, Player.STATE_READY);
+        verify(seeker).seekTo(SECOND_POSITION);
+        verify(infoListeners, never()).onPlayerEvent(any(PlayerEvent.class));
+
+        given(clock.getCurrentTime()).willReturn(1400L);
+        seekForwarder.onPlayerStateChanged(PLAY_WHEN_READY, Player.STATE_BUFFERING);
+        seekForwarder.onPlayerStateChanged(PLAY_WHEN_READY, Player.STATE_READY);
+
+        ArgumentCaptor<PlayerEvent> eventCaptor = ArgumentCaptor.forClass(PlayerEvent.class);
+        verify(infoListeners).onPlayerEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().type()).isEqualTo(PlayerEvent.Type.SEEK_COMPLETED);
+        assertThat(eventCaptor.getValue().durationMs()).isEqualTo(400);
+        assertThat(seekCoordinator.isSeeking()).isFalse();
+    }
+
+    @Test
+    public void givenCompletedSeek_whenSeekingAgain_thenIssuesSeekImmediately() {
+        seekCoordinator.seekTo(FIRST_POSITION);
+        seekForwarder.onPlayerStateChanged(PLAY_WHEN_READY, Player.STATE_READY);
+
+        seekCoordinator.seekTo(SECOND_POSITION);
+
+        verify(seeker).seekTo(SECOND_POSITION);
+    }
+}
@@ -0,0 +1,53 @@
+package com.novoda.noplayer.internal.exoplayer.forwarder;
+
+import android.os.Handler;
+
+import com.novoda.noplayer.NoPlayer;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class UiThreadErrorListenerTest {
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Handler uiHandler;
+    @Mock
+    private NoPlayer.ErrorListener errorListener;
+    @Mock
+    private NoPlayer.PlayerError error;
+
+    @Test
+    public void givenOnUiThread_whenErrorOccurs_thenNotifiesImmediately() {
+        UiThreadErrorListener listener = new UiThreadErrorListener(uiHandler, Thread.currentThread(), errorListener);
+
+        listener.onError(error);
+
+        verify(errorListener).onError(error);
+        verifyZeroInteractions(uiHandler);
+    }
+
+    @Test
+    public void givenOnBackgroundThread_whenErrorOccurs_thenPostsToUiThread() {
+        UiThreadErrorListener listener = new UiThreadErrorListener(uiHandler, new Thread(), errorListener);
+
+        listener.onError(error);
+
+        verify(errorListener, never()).onError(any(NoPlayer.PlayerError.class));
+        ArgumentCaptor<Runnable> runnableCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(uiHandler).post(runnableCaptor.capture());
+        runnableCaptor.getValue().run();
+        verify(errorListener).onError(error);
+    }
+}
@@ -72,6 +72,30 @@ public class ExoPlayerAudioTrackSelectorTest {
         assertThat(selectionOverride.tracks).contains(THIRD_TRACK);
     }
 
+    @Test
+    public void givenAdaptiveSelector_whenSelectingAudioTrack_thenSelectsAllFormatsMatchingTrack() {
+        exoPlayerAudioTrackSelector = ExoPlayerAudioTrackSelector.newAdaptiveInstance(trackSelector, trackSelectionFactory);
+        Format matchingFormat = AudioFormatFixture.anAudioFormat()
+                .withLanguage(ANY_LANGUAGE)
+                .withSampleMimeType(ANY_MIME_TYPE)
+                .withChannelCount(ANY_NUMBER_OF_CHANNELS)
+                .build();
+        Format otherLanguageFormat = AudioFormatFixture.anAudioFormat()
+                .withLanguage("other_language")
+                .withSampleMimeType(ANY_MIME_TYPE)
+                .withChannelCount(ANY_NUMBER_OF_CHANNELS)
+                .build();
+        TrackGroupArray trackGroups = new TrackGroupArray(
+                new TrackGroup(AudioFormatFixture.anAudioFormat().build()),
+                new TrackGroup(matchingFormat, otherLanguageFormat, matchingFormat)
+        );
+        given(trackSelector.trackGroups(TrackType.AUDIO, rendererTypeRequester)).willReturn(trackGroups);
+
+        ArgumentCaptor<MappingTrackSelector.SelectionOverride> argumentCaptor = whenSelectingAudioTrack(trackGroups);
+
+        assertThat(argumentCaptor.getValue().tracks).isEqualTo(new int[]{FIRST_TRACK, THIRD_TRACK});
+    }
+
     @Test
     public void givenTrackSelectorContainsUnsupportedTracks_whenGettingAudioTracks_thenReturnsOnlySupportedTracks() {
         givenTrackSelectorContainsUnsupportedTracks();
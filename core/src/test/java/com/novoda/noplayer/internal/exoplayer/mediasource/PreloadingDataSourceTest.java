@@ -0,0 +1,84 @@
+package com.novoda.noplayer.internal.exoplayer.mediasource;
+
+import android.net.Uri;
+
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.upstream.DataSource;
+import com.google.android.exoplayer2.upstream.DataSpec;
+
+import java.io.IOException;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class PreloadingDataSourceTest {
+
+    private static final byte[] PRELOADED_BYTES = {1, 2, 3};
+    private static final boolean COMPLETE = true;
+    private static final boolean INCOMPLETE = false;
+    private static final int ANY_OFFSET = 0;
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private DataSource upstream;
+    @Mock
+    private Uri uri;
+
+    private final PreloadCache preloadCache = new PreloadCache(1024);
+    private DataSpec dataSpec;
+    private PreloadingDataSource dataSource;
+
+    @Before
+    public void setUp() {
+        dataSpec = new DataSpec(uri, 0, C.LENGTH_UNSET, null);
+        dataSource = new PreloadingDataSource(preloadCache, upstream);
+    }
+
+    @Test
+    public void givenNothingPreloaded_whenOpening_thenOpensUpstream() throws IOException {
+        dataSource.open(dataSpec);
+
+        verify(upstream).open(dataSpec);
+    }
+
+    @Test
+    public void givenCompletePreload_whenReading_thenServesPreloadedBytesWithoutOpeningUpstream() throws IOException {
+        preloadCache.put(dataSpec, new PreloadedData(PRELOADED_BYTES, COMPLETE));
+        byte[] buffer = new byte[PRELOADED_BYTES.length];
+
+        long length = dataSource.open(dataSpec);
+        int bytesRead = dataSource.read(buffer, ANY_OFFSET, buffer.length);
+
+        assertThat(length).isEqualTo(PRELOADED_BYTES.length);
+        assertThat(bytesRead).isEqualTo(PRELOADED_BYTES.length);
+        assertThat(buffer).isEqualTo(PRELOADED_BYTES);
+        assertThat(dataSource.read(buffer, ANY_OFFSET, buffer.length)).isEqualTo(C.RESULT_END_OF_INPUT);
+        verify(upstream, never()).open(any(DataSpec.class));
+    }
+
+    @Test
+    public void givenIncompletePreload_whenPreloadedBytesAreExhausted_thenContinuesFromUpstream() throws IOException {
+        preloadCache.put(dataSpec, new PreloadedData(PRELOADED_BYTES, INCOMPLETE));
+        byte[] buffer = new byte[PRELOADED_BYTES.length];
+        dataSource.open(dataSpec);
+        dataSource.read(buffer, ANY_OFFSET, buffer.length);
+
+        dataSource.read(buffer, ANY_OFFSET, buffer.length);
+
+        ArgumentCaptor<DataSpec> argumentCaptor = ArgumentCaptor.forClass(DataSpec.class);
+        verify(upstream).open(argumentCaptor.capture());
+        assertThat(argumentCaptor.getValue().absoluteStreamPosition).isEqualTo(PRELOADED_BYTES.length);
+    }
+}
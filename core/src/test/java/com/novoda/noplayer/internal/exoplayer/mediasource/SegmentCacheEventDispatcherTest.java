@@ -0,0 +1,97 @@
+package com.novoda.noplayer.internal.exoplayer.mediasource;
+
+import android.net.Uri;
+import android.os.Handler;
+
+import com.google.android.exoplayer2.upstream.DataSpec;
+import com.google.android.exoplayer2.upstream.TransferListener;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.mockito.stubbing.Answer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class SegmentCacheEventDispatcherTest {
+
+    private static final Object SOURCE = new Object();
+    private static final Object OTHER_SOURCE = new Object();
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Handler handler;
+    @Mock
+    private SegmentCacheListener segmentCacheListener;
+    @Mock
+    private TransferListener<Object> upstreamTransferListener;
+    @Mock
+    private Uri uri;
+
+    private DataSpec dataSpec;
+
+    private SegmentCacheDataSourceFactory.SegmentCacheEventDispatcher dispatcher;
+
+    @Before
+    public void setUp() {
+        dataSpec = new DataSpec(uri);
+        doAnswer(new Answer<Boolean>() {
+            @Override
+            public Boolean answer(InvocationOnMock invocation) throws Throwable {
+                Runnable runnable = invocation.getArgument(0);
+                runnable.run();
+                return true;
+            }
+        }).when(handler).post(any(Runnable.class));
+        dispatcher = new SegmentCacheDataSourceFactory.SegmentCacheEventDispatcher(handler, segmentCacheListener, upstreamTransferListener);
+    }
+
+    @Test
+    public void whenCachedBytesAreRead_thenNotifiesCacheHit() {
+        dispatcher.onCachedBytesRead(1000, 200);
+
+        verify(segmentCacheListener).onBytesReadFromCache(200, 1000);
+    }
+
+    @Test
+    public void givenTransferInProgress_whenTransferEnds_thenNotifiesTotalUpstreamBytes() {
+        dispatcher.onTransferStart(SOURCE, dataSpec);
+        dispatcher.onBytesTransferred(SOURCE, 100);
+        dispatcher.onBytesTransferred(OTHER_SOURCE, 50);
+        dispatcher.onBytesTransferred(SOURCE, 25);
+
+        dispatcher.onTransferEnd(SOURCE);
+
+        verify(segmentCacheListener).onBytesReadFromUpstream(125);
+    }
+
+    @Test
+    public void givenNoBytesTransferred_whenTransferEnds_thenDoesNotNotify() {
+        dispatcher.onTransferStart(SOURCE, dataSpec);
+
+        dispatcher.onTransferEnd(SOURCE);
+
+        verify(segmentCacheListener, never()).onBytesReadFromUpstream(anyLong());
+    }
+
+    @Test
+    public void whenBytesAreTransferred_thenForwardsToUpstreamTransferListener() {
+        dispatcher.onTransferStart(SOURCE, dataSpec);
+        dispatcher.onBytesTransferred(SOURCE, 100);
+        dispatcher.onTransferEnd(SOURCE);
+
+        verify(upstreamTransferListener).onTransferStart(SOURCE, dataSpec);
+        verify(upstreamTransferListener).onBytesTransferred(SOURCE, 100);
+        verify(upstreamTransferListener).onTransferEnd(SOURCE);
+    }
+}
@@ -0,0 +1,71 @@
+package com.novoda.noplayer.internal.exoplayer.mediasource;
+
+import android.net.Uri;
+
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.upstream.DataSource;
+import com.google.android.exoplayer2.upstream.DataSpec;
+
+import java.io.IOException;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class SegmentOnlyCacheDataSourceTest {
+
+    private static final String ANY_CACHE_KEY = "representation-key";
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private DataSource cacheDataSource;
+    @Mock
+    private DataSource upstream;
+    @Mock
+    private Uri uri;
+
+    private SegmentOnlyCacheDataSource dataSource;
+
+    @Before
+    public void setUp() {
+        dataSource = new SegmentOnlyCacheDataSource(cacheDataSource, upstream);
+    }
+
+    @Test
+    public void givenManifestRequest_whenOpening_thenOpensUpstream() throws IOException {
+        DataSpec manifestDataSpec = new DataSpec(uri, DataSpec.FLAG_ALLOW_GZIP);
+
+        dataSource.open(manifestDataSpec);
+
+        verify(upstream).open(manifestDataSpec);
+        verify(cacheDataSource, never()).open(any(DataSpec.class));
+    }
+
+    @Test
+    public void givenSegmentRequest_whenOpening_thenOpensCache() throws IOException {
+        DataSpec segmentDataSpec = new DataSpec(uri, 0, C.LENGTH_UNSET, ANY_CACHE_KEY);
+
+        dataSource.open(segmentDataSpec);
+
+        verify(cacheDataSource).open(segmentDataSpec);
+        verify(upstream, never()).open(any(DataSpec.class));
+    }
+
+    @Test
+    public void givenOpenedSegment_whenClosing_thenClosesCache() throws IOException {
+        dataSource.open(new DataSpec(uri, 0, C.LENGTH_UNSET, null));
+
+        dataSource.close();
+
+        verify(cacheDataSource).close();
+    }
+}
@@ -0,0 +1,130 @@
+package com.novoda.noplayer.internal.listeners;
+
+import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.internal.Clock;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class HeartbeatCallbacksTest {
+
+    private static final long HEART_INTERVAL = 500;
+    private static final long SLOW_INTERVAL = 2000;
+    private static final long NON_MULTIPLE_INTERVAL = 700;
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Clock clock;
+    @Mock
+    private NoPlayer player;
+    @Mock
+    private NoPlayer.HeartbeatCallback heartCallback;
+    @Mock
+    private NoPlayer.HeartbeatCallback slowCallback;
+    @Mock
+    private Runnable onDemandChanged;
+
+    private HeartbeatCallbacks heartbeatCallbacks;
+
+    @Before
+    public void setUp() {
+        heartbeatCallbacks = new HeartbeatCallbacks(clock);
+    }
+
+    @Test
+    public void givenNoCallbacks_thenThereIsNoDemand() {
+
+        long delay = heartbeatCallbacks.nextBeatDelayInMillis(HEART_INTERVAL);
+
+        assertThat(delay).isEqualTo(HeartbeatCallbacks.NO_DEMAND);
+    }
+
+    @Test
+    public void givenOnlySlowCallback_thenDemandsSlowInterval() {
+        heartbeatCallbacks.registerCallback(slowCallback, SLOW_INTERVAL);
+
+        long delay = heartbeatCallbacks.nextBeatDelayInMillis(HEART_INTERVAL);
+
+        assertThat(delay).isEqualTo(SLOW_INTERVAL);
+    }
+
+    @Test
+    public void givenCallbackFollowingHeart_thenDemandsHeartInterval() {
+        heartbeatCallbacks.registerCallback(heartCallback);
+        heartbeatCallbacks.registerCallback(slowCallback, SLOW_INTERVAL);
+
+        long delay = heartbeatCallbacks.nextBeatDelayInMillis(HEART_INTERVAL);
+
+        assertThat(delay).isEqualTo(HEART_INTERVAL);
+    }
+
+    @Test
+    public void givenCallbacksWithDifferentCadences_whenBeating_thenEachReceivesBeatsAtItsOwnCadence() {
+        heartbeatCallbacks.registerCallback(heartCallback);
+        heartbeatCallbacks.registerCallback(slowCallback, SLOW_INTERVAL);
+
+        for (long time = 0; time <= SLOW_INTERVAL; time += HEART_INTERVAL) {
+            given(clock.getCurrentTime()).willReturn(time);
+            heartbeatCallbacks.onBeat(player);
+        }
+
+        verify(heartCallback, times(5)).onBeat(player);
+        verify(slowCallback, times(2)).onBeat(player);
+    }
+
+    @Test
+    public void givenCallbacksWithNonMultipleCadences_whenBeatingAtRequestedDelays_thenEachReceivesBeatsAtItsOwnCadence() {
+        heartbeatCallbacks.registerCallback(heartCallback, HEART_INTERVAL);
+        heartbeatCallbacks.registerCallback(slowCallback, NON_MULTIPLE_INTERVAL);
+
+        for (long time = 0; time <= 2100; time += heartbeatCallbacks.nextBeatDelayInMillis(HEART_INTERVAL)) {
+            given(clock.getCurrentTime()).willReturn(time);
+            heartbeatCallbacks.onBeat(player);
+        }
+
+        verify(heartCallback, times(5)).onBeat(player);
+        verify(slowCallback, times(4)).onBeat(player);
+    }
+
+    @Test
+    public void givenBeatenCallback_thenDemandsRemainingTimeUntilItIsDue() {
+        heartbeatCallbacks.registerCallback(slowCallback, SLOW_INTERVAL);
+        given(clock.getCurrentTime()).willReturn(0L);
+        heartbeatCallbacks.onBeat(player);
+        given(clock.getCurrentTime()).willReturn(1500L);
+
+        long delay = heartbeatCallbacks.nextBeatDelayInMillis(HEART_INTERVAL);
+
+        assertThat(delay).isEqualTo(500);
+    }
+
+    @Test
+    public void whenForcingBeat_thenEveryCallbackReceivesBeat() {
+        heartbeatCallbacks.registerCallback(slowCallback, SLOW_INTERVAL);
+        heartbeatCallbacks.onBeat(player);
+
+        heartbeatCallbacks.onForcedBeat(player);
+
+        verify(slowCallback, times(2)).onBeat(player);
+    }
+
+    @Test
+    public void whenRegisteringCallback_thenNotifiesDemandChanged() {
+        heartbeatCallbacks.setOnDemandChanged(onDemandChanged);
+
+        heartbeatCallbacks.registerCallback(heartCallback);
+
+        verify(onDemandChanged).run();
+    }
+}
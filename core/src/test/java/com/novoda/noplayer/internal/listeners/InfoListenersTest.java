@@ -0,0 +1,98 @@
+package com.novoda.noplayer.internal.listeners;
+
+import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.PlayerEvent;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+public class InfoListenersTest {
+
+    private static final Map<String, String> ANY_PARAMETERS = Collections.emptyMap();
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private NoPlayer.InfoListener infoListener;
+
+    @Mock
+    private NoPlayer.PlayerEventListener playerEventListener;
+
+    private InfoListeners infoListeners;
+
+    @Before
+    public void setUp() {
+        infoListeners = new InfoListeners();
+    }
+
+    @Test
+    public void givenNoListeners_thenReportsNoListeners() {
+
+        assertThat(infoListeners.hasInfoListeners()).isFalse();
+        assertThat(infoListeners.hasPlayerEventListeners()).isFalse();
+    }
+
+    @Test
+    public void givenInfoListener_whenNotifyingOfNewInfo_thenListenerIsNotified() {
+        infoListeners.add(infoListener);
+
+        infoListeners.onNewInfo("onLoadStarted", ANY_PARAMETERS);
+
+        assertThat(infoListeners.hasInfoListeners()).isTrue();
+        verify(infoListener).onNewInfo("onLoadStarted", ANY_PARAMETERS);
+    }
+
+    @Test
+    public void givenPlayerEventListener_whenNotifyingOfPlayerEvent_thenListenerIsNotified() {
+        infoListeners.add(playerEventListener);
+        PlayerEvent event = PlayerEvent.obtain(PlayerEvent.Type.DROPPED_FRAMES);
+
+        infoListeners.onPlayerEvent(event);
+
+        assertThat(infoListeners.hasPlayerEventListeners()).isTrue();
+        verify(playerEventListener).onPlayerEvent(event);
+    }
+
+    @Test
+    public void whenNotifyingOfPlayerEvent_thenEventIsRecycled() {
+        PlayerEvent event = PlayerEvent.obtain(PlayerEvent.Type.DROPPED_FRAMES).withCount(3);
+
+        infoListeners.onPlayerEvent(event);
+
+        assertThat(event.type()).isNull();
+        assertThat(event.count()).isZero();
+    }
+
+    @Test
+    public void givenRecycledEvent_whenObtaining_thenEventIsReused() {
+        PlayerEvent event = PlayerEvent.obtain(PlayerEvent.Type.DROPPED_FRAMES);
+        infoListeners.onPlayerEvent(event);
+
+        PlayerEvent reusedEvent = PlayerEvent.obtain(PlayerEvent.Type.LOAD_STARTED);
+
+        assertThat(reusedEvent).isSameAs(event);
+        assertThat(reusedEvent.type()).isEqualTo(PlayerEvent.Type.LOAD_STARTED);
+    }
+
+    @Test
+    public void whenClearing_thenReportsNoListeners() {
+        infoListeners.add(infoListener);
+        infoListeners.add(playerEventListener);
+
+        infoListeners.clear();
+
+        assertThat(infoListeners.hasInfoListeners()).isFalse();
+        assertThat(infoListeners.hasPlayerEventListeners()).isFalse();
+    }
+}
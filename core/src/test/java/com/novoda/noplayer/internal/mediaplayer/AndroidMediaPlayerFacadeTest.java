@@ -75,6 +75,8 @@ public class AndroidMediaPlayerFacadeTest {
     @Mock
     private AndroidMediaPlayerAudioTrackSelector trackSelector;
     @Mock
+    private AndroidMediaPlayerSubtitleTrackSelector subtitleTrackSelector;
+    @Mock
     private PlaybackStateChecker playbackStateChecker;
     @Mock
     private MediaPlayerCreator mediaPlayerCreator;
@@ -103,7 +105,15 @@ public class AndroidMediaPlayerFacadeTest {
     public void setUp() {
         NoPlayerLog.setLoggingEnabled(false);
 
-        facade = new AndroidMediaPlayerFacade(context, forwarder, audioManager, trackSelector, playbackStateChecker, mediaPlayerCreator);
+        facade = new AndroidMediaPlayerFacade(
+                context,
+                forwarder,
+                audioManager,
+                trackSelector,
+                subtitleTrackSelector,
+                playbackStateChecker,
+                mediaPlayerCreator
+        );
 
         given(mediaPlayerCreator.createMediaPlayer()).willReturn(mediaPlayer);
         given(playbackStateChecker.isInPlaybackState(eq(mediaPlayer), any(PlaybackStateChecker.PlaybackState.class))).willReturn(IS_IN_PLAYBACK_STATE);
@@ -503,21 +513,50 @@ public class AndroidMediaPlayerFacadeTest {
     }
 
     @Test
-    public void whenGettingSubtitleTracks_thenReturnsEmptyList() {
+    public void whenGettingSubtitleTracks_thenDelegatesToSubtitleTrackSelector() {
         givenMediaPlayerIsPrepared();
+        List<PlayerSubtitleTrack> expectedSubtitleTracks = Collections.singletonList(mock(PlayerSubtitleTrack.class));
+        given(subtitleTrackSelector.getSubtitleTracks(mediaPlayer)).willReturn(expectedSubtitleTracks);
 
         List<PlayerSubtitleTrack> subtitleTracks = facade.getSubtitleTracks();
 
-        assertThat(subtitleTracks).isEmpty();
+        assertThat(subtitleTracks).isEqualTo(expectedSubtitleTracks);
+    }
+
+    @Test
+    public void whenSelectingSubtitleTrack_thenDelegatesToSubtitleTrackSelector() {
+        givenMediaPlayerIsPrepared();
+        PlayerSubtitleTrack subtitleTrack = mock(PlayerSubtitleTrack.class);
+        given(subtitleTrackSelector.selectSubtitleTrack(mediaPlayer, subtitleTrack)).willReturn(true);
+
+        boolean result = facade.selectSubtitleTrack(subtitleTrack);
+
+        assertThat(result).isTrue();
+    }
+
+    @Test
+    public void givenSelectedSubtitleTrack_whenClearingSubtitleTrack_thenDeselectsSelectedTrack() {
+        givenMediaPlayerIsPrepared();
+        PlayerSubtitleTrack subtitleTrack = mock(PlayerSubtitleTrack.class);
+        given(subtitleTrackSelector.selectSubtitleTrack(mediaPlayer, subtitleTrack)).willReturn(true);
+        facade.selectSubtitleTrack(subtitleTrack);
+
+        facade.clearSubtitleTrack();
+
+        verify(subtitleTrackSelector).clearSubtitleTrack(mediaPlayer, subtitleTrack);
     }
 
     @Test
-    public void whenSelectingSubtitleTrack_thenReturnsFalse() {
+    public void givenBoundTimedTextOutput_andMediaPlayerIsPrepared_whenReceivingTimedText_thenForwardsTimedText() {
+        MediaPlayer.OnTimedTextListener timedTextOutput = mock(MediaPlayer.OnTimedTextListener.class);
+        facade.setTimedTextOutput(timedTextOutput);
         givenMediaPlayerIsPrepared();
+        ArgumentCaptor<MediaPlayer.OnTimedTextListener> argumentCaptor = ArgumentCaptor.forClass(MediaPlayer.OnTimedTextListener.class);
+        verify(mediaPlayer).setOnTimedTextListener(argumentCaptor.capture());
 
-        boolean result = facade.selectSubtitleTrack(mock(PlayerSubtitleTrack.class));
+        argumentCaptor.getValue().onTimedText(mediaPlayer, null);
 
-        assertThat(result).isFalse();
+        verify(timedTextOutput).onTimedText(mediaPlayer, null);
     }
 
     @Test
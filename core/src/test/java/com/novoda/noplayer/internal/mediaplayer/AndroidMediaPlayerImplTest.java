@@ -11,18 +11,26 @@ import com.novoda.noplayer.NoPlayer;
 import com.novoda.noplayer.PlayerInformation;
 import com.novoda.noplayer.PlayerView;
 import com.novoda.noplayer.SurfaceHolderRequester;
+import com.novoda.noplayer.internal.Clock;
+import com.novoda.noplayer.internal.DeviceQuirks;
 import com.novoda.noplayer.internal.Heart;
+import com.novoda.noplayer.internal.SeekCoordinator;
+import com.novoda.noplayer.internal.listeners.InfoListeners;
 import com.novoda.noplayer.internal.listeners.PlayerListenersHolder;
 import com.novoda.noplayer.internal.mediaplayer.forwarder.MediaPlayerForwarder;
+import com.novoda.noplayer.internal.subtitles.SidecarSubtitles;
 import com.novoda.noplayer.model.AudioTracks;
 import com.novoda.noplayer.model.LoadTimeout;
+import com.novoda.noplayer.model.MediaItem;
 import com.novoda.noplayer.model.PlayerAudioTrack;
 import com.novoda.noplayer.model.PlayerAudioTrackFixture;
+import com.novoda.noplayer.model.PlayerSubtitleTrack;
 import com.novoda.noplayer.model.Timeout;
 import com.novoda.noplayer.model.VideoDuration;
 import com.novoda.noplayer.model.VideoPosition;
 import com.novoda.utils.NoPlayerLog;
 
+import java.util.Arrays;
 import java.util.Collections;
 
 import org.junit.Before;
@@ -47,6 +55,7 @@ import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @RunWith(Enclosed.class)
@@ -91,6 +100,13 @@ public class AndroidMediaPlayerImplTest {
             verify(listenersHolder).addHeartbeatCallback(checkBufferHeartbeatCallback);
         }
 
+        @Test
+        public void whenInitialising_thenBindsBufferHeartbeatCallbackToBufferingInfo() {
+            player.initialise();
+
+            verify(forwarder).bind(checkBufferHeartbeatCallback);
+        }
+
         @Test
         public void givenInitialised_whenCallingOnPrepared_thenCancelsTimeout() {
             player.initialise();
@@ -387,10 +403,28 @@ public class AndroidMediaPlayerImplTest {
             verify(loadTimeout).cancel();
             verify(heart).stopBeatingHeart();
             verify(mediaPlayer).release();
-            verify(containerView).setVisibility(View.GONE);
             verify(listenersHolder, never()).clear();
         }
 
+        @Test
+        public void givenAttachedPlayerView_whenStopping_thenKeepsSurfaceAlive() {
+            player.attach(playerView);
+
+            player.stop();
+
+            verify(containerView, never()).setVisibility(View.GONE);
+        }
+
+        @Test
+        public void givenDeviceThatCannotReuseSurfaces_whenStopping_thenDestroysSurfaceByHidingContainer() {
+            given(deviceQuirks.has(DeviceQuirks.Quirk.DESTROY_SURFACE_BETWEEN_VIDEOS)).willReturn(true);
+            player.attach(playerView);
+
+            player.stop();
+
+            verify(containerView).setVisibility(View.GONE);
+        }
+
         @Test
         public void givenAttachedPlayerView_whenReleasing_thenPlayerResourcesAreReleased() {
             player.attach(playerView);
@@ -402,7 +436,6 @@ public class AndroidMediaPlayerImplTest {
             verify(loadTimeout).cancel();
             verify(heart).stopBeatingHeart();
             verify(mediaPlayer).release();
-            verify(containerView).setVisibility(View.GONE);
             verify(listenersHolder).clear();
         }
     }
@@ -454,6 +487,39 @@ public class AndroidMediaPlayerImplTest {
             verify(loadTimeout).start(ANY_TIMEOUT, ANY_LOAD_TIMEOUT_CALLBACK);
         }
 
+        @Test
+        public void whenSelectingSubtitleTrack_thenShowsTimedTextOnPlayerSubtitlesView() {
+            PlayerSubtitleTrack subtitleTrack = mock(PlayerSubtitleTrack.class);
+            given(mediaPlayer.selectSubtitleTrack(subtitleTrack)).willReturn(true);
+
+            boolean success = player.showSubtitleTrack(subtitleTrack);
+
+            assertThat(success).isTrue();
+            verify(playerView).showSubtitles();
+            verify(mediaPlayer).setTimedTextOutput(any(TimedTextOutput.class));
+        }
+
+        @Test
+        public void givenSelectingSubtitleTrackFails_whenShowingSubtitleTrack_thenDoesNotShowSubtitles() {
+            PlayerSubtitleTrack subtitleTrack = mock(PlayerSubtitleTrack.class);
+            given(mediaPlayer.selectSubtitleTrack(subtitleTrack)).willReturn(false);
+
+            boolean success = player.showSubtitleTrack(subtitleTrack);
+
+            assertThat(success).isFalse();
+            verify(playerView, never()).showSubtitles();
+            verify(mediaPlayer, never()).setTimedTextOutput(any(TimedTextOutput.class));
+        }
+
+        @Test
+        public void whenClearingSubtitles_thenHidesPlayerSubtitlesView() {
+            player.hideSubtitleTrack();
+
+            verify(mediaPlayer).clearSubtitleTrack();
+            verify(mediaPlayer).removeTimedTextOutput();
+            verify(playerView).hideSubtitles();
+        }
+
         @Test
         public void whenLoadingVideo_thenShowsContainerView() {
             player.loadVideo(URI, ContentType.HLS);
@@ -572,7 +638,8 @@ public class AndroidMediaPlayerImplTest {
         }
 
         @Test
-        public void givenPositionThatDiffersFromPlayheadPosition_whenStartingPlayAtVideoPosition_thenInitialisesPlaybackForSeeking() {
+        public void givenDeviceNeedsStartBeforeInitialSeek_whenStartingPlayAtDifferentVideoPosition_thenInitialisesPlaybackForSeeking() {
+            given(deviceQuirks.has(DeviceQuirks.Quirk.START_BEFORE_INITIAL_SEEK)).willReturn(true);
             VideoPosition differentPosition = givenPositionThatDiffersFromPlayheadPosition();
 
             player.play(differentPosition);
@@ -581,7 +648,8 @@ public class AndroidMediaPlayerImplTest {
         }
 
         @Test
-        public void givenPositionThatDiffersFromPlayheadPosition_whenStartingPlayAtVideoPosition_thenSeeksToVideoPosition() {
+        public void givenDeviceNeedsStartBeforeInitialSeek_whenStartingPlayAtDifferentVideoPosition_thenSeeksToVideoPositionAfterDelay() {
+            given(deviceQuirks.has(DeviceQuirks.Quirk.START_BEFORE_INITIAL_SEEK)).willReturn(true);
             VideoPosition differentPosition = givenPositionThatDiffersFromPlayheadPosition();
 
             player.play(differentPosition);
@@ -592,6 +660,68 @@ public class AndroidMediaPlayerImplTest {
             verify(mediaPlayer).seekTo(differentPosition.inImpreciseMillis());
         }
 
+        @Test
+        public void givenDeviceWithoutQuirks_whenStartingPlayAtDifferentVideoPosition_thenSeeksImmediatelyWithoutStarting() {
+            VideoPosition differentPosition = givenPositionThatDiffersFromPlayheadPosition();
+
+            player.play(differentPosition);
+
+            verify(mediaPlayer).seekTo(differentPosition.inImpreciseMillis());
+            verify(mediaPlayer, never()).start(surfaceHolder);
+            verify(handler, never()).postDelayed(any(Runnable.class), Mockito.anyLong());
+        }
+
+        @Test
+        public void givenDeviceWithoutQuirks_whenInitialSeekCompletes_thenPlaysAndCompletesBuffering() {
+            player.initialise();
+            VideoPosition differentPosition = givenPositionThatDiffersFromPlayheadPosition();
+            player.play(differentPosition);
+
+            givenOnSeekCompleteListener().onSeekComplete(null);
+
+            verify(mediaPlayer).start(surfaceHolder);
+            verify(bufferStateListener).onBufferCompleted();
+        }
+
+        @Test
+        public void givenDeviceNeedsStartBeforeInitialSeek_whenInitialSeekCompletes_thenPlaysAndCompletesBuffering() {
+            player.initialise();
+            given(deviceQuirks.has(DeviceQuirks.Quirk.START_BEFORE_INITIAL_SEEK)).willReturn(true);
+            VideoPosition differentPosition = givenPositionThatDiffersFromPlayheadPosition();
+            player.play(differentPosition);
+            ArgumentCaptor<Runnable> runnableCaptor = ArgumentCaptor.forClass(Runnable.class);
+            verify(handler).postDelayed(runnableCaptor.capture(), eq(DELAY_MILLIS));
+            runnableCaptor.getValue().run();
+
+            givenOnSeekCompleteListener().onSeekComplete(null);
+
+            verify(bufferStateListener).onBufferCompleted();
+        }
+
+        @Test
+        public void givenDeviceNeedsStartBeforeInitialSeek_whenStoppingBeforeSeeking_thenCancelsSeekAndCompletesBuffering() {
+            given(deviceQuirks.has(DeviceQuirks.Quirk.START_BEFORE_INITIAL_SEEK)).willReturn(true);
+            VideoPosition differentPosition = givenPositionThatDiffersFromPlayheadPosition();
+            player.play(differentPosition);
+            ArgumentCaptor<Runnable> runnableCaptor = ArgumentCaptor.forClass(Runnable.class);
+            verify(handler).postDelayed(runnableCaptor.capture(), eq(DELAY_MILLIS));
+
+            player.stop();
+
+            verify(handler).removeCallbacks(runnableCaptor.getValue());
+            verify(bufferStateListener).onBufferCompleted();
+        }
+
+        @Test
+        public void givenInitialSeekInProgress_whenStopping_thenCompletesBuffering() {
+            VideoPosition differentPosition = givenPositionThatDiffersFromPlayheadPosition();
+            player.play(differentPosition);
+
+            player.stop();
+
+            verify(bufferStateListener).onBufferCompleted();
+        }
+
         @Test
         public void givenPlayerIsAlreadyPlaying_whenPlaying_thenNotifiesVideoPlaying() {
             given(mediaPlayer.isPlaying()).willReturn(IS_NOT_PLAYING);
@@ -601,11 +731,65 @@ public class AndroidMediaPlayerImplTest {
             verify(stateChangedListener).onVideoPlaying();
         }
 
+        @Test
+        public void givenPlaylistIsLoaded_whenEnqueuingAndSkippingToNext_thenPreparesEnqueuedItem() {
+            player.loadPlaylist(Collections.singletonList(MediaItem.from(URI, ContentType.H264)));
+
+            player.enqueue(MediaItem.from(NEXT_URI, ContentType.H264));
+            player.skipToNext();
+
+            verify(mediaPlayer).prepareVideo(NEXT_URI, surfaceHolder);
+        }
+
+        @Test
+        public void givenPlayingLastItemOfPlaylist_whenSkippingToNext_thenDoesNotPrepareAnotherVideo() {
+            player.loadPlaylist(Collections.singletonList(MediaItem.from(URI, ContentType.H264)));
+
+            player.skipToNext();
+
+            verify(mediaPlayer, times(1)).prepareVideo(any(Uri.class), any(SurfaceHolder.class));
+        }
+
+        @Test
+        public void givenPlaylistWithNextItem_whenCurrentItemCompletes_thenPreparesNextItem() {
+            player.initialise();
+            player.loadPlaylist(Arrays.asList(MediaItem.from(URI, ContentType.H264), MediaItem.from(NEXT_URI, ContentType.H264)));
+
+            givenCompletionListener().onCompletion();
+
+            verify(mediaPlayer).prepareVideo(NEXT_URI, surfaceHolder);
+        }
+
+        @Test
+        public void givenPlayingLastItemOfPlaylist_whenItCompletes_thenDoesNotPrepareAnotherVideo() {
+            player.initialise();
+            player.loadPlaylist(Collections.singletonList(MediaItem.from(URI, ContentType.H264)));
+
+            givenCompletionListener().onCompletion();
+
+            verify(mediaPlayer, times(1)).prepareVideo(any(Uri.class), any(SurfaceHolder.class));
+        }
+
+        private NoPlayer.CompletionListener givenCompletionListener() {
+            ArgumentCaptor<NoPlayer.CompletionListener> completionListenerCaptor = ArgumentCaptor.forClass(NoPlayer.CompletionListener.class);
+            verify(listenersHolder).addCompletionListener(completionListenerCaptor.capture());
+            return completionListenerCaptor.getValue();
+        }
+
         private VideoPosition givenPositionThatDiffersFromPlayheadPosition() {
             given(mediaPlayer.getCurrentPosition()).willReturn(VideoPosition.BEGINNING.inImpreciseMillis());
             return VideoPosition.fromMillis(1);
         }
 
+        private MediaPlayer.OnSeekCompleteListener givenOnSeekCompleteListener() {
+            ArgumentCaptor<NoPlayer.PreparedListener> preparedListenerCaptor = ArgumentCaptor.forClass(NoPlayer.PreparedListener.class);
+            verify(listenersHolder).addPreparedListener(preparedListenerCaptor.capture());
+            preparedListenerCaptor.getValue().onPrepared(player);
+            ArgumentCaptor<MediaPlayer.OnSeekCompleteListener> seekCompleteListenerCaptor = ArgumentCaptor.forClass(MediaPlayer.OnSeekCompleteListener.class);
+            verify(mediaPlayer).setOnSeekCompleteListener(seekCompleteListenerCaptor.capture());
+            return seekCompleteListenerCaptor.getValue();
+        }
+
         private void thenInitialisesPlaybackForSeeking() {
             InOrder inOrder = inOrder(mediaPlayer);
 
@@ -618,6 +802,7 @@ public class AndroidMediaPlayerImplTest {
     public static abstract class Base {
 
         static final Uri URI = Mockito.mock(Uri.class);
+        static final Uri NEXT_URI = Mockito.mock(Uri.class);
         static final int TEN_SECONDS = 10;
         static final Timeout ANY_TIMEOUT = Timeout.fromSeconds(TEN_SECONDS);
         static final NoPlayer.LoadTimeoutCallback ANY_LOAD_TIMEOUT_CALLBACK = new NoPlayer.LoadTimeoutCallback() {
@@ -649,6 +834,10 @@ public class AndroidMediaPlayerImplTest {
         @Mock
         BuggyVideoDriverPreventer buggyVideoDriverPreventer;
         @Mock
+        DeviceQuirks deviceQuirks;
+        @Mock
+        Clock clock;
+        @Mock
         NoPlayer.PreparedListener preparedListener;
         @Mock
         NoPlayer.BufferStateListener bufferStateListener;
@@ -659,7 +848,7 @@ public class AndroidMediaPlayerImplTest {
         @Mock
         NoPlayer.VideoSizeChangedListener videoSizeChangedListener;
         @Mock
-        NoPlayer.InfoListener infoListener;
+        InfoListeners infoListener;
         @Mock
         NoPlayer.StateChangedListener stateChangedListener;
         @Mock
@@ -680,6 +869,8 @@ public class AndroidMediaPlayerImplTest {
         CheckBufferHeartbeatCallback.BufferListener bufferListener;
         @Mock
         View containerView;
+        @Mock
+        SidecarSubtitles sidecarSubtitles;
 
         AndroidMediaPlayerImpl player;
 
@@ -723,7 +914,10 @@ public class AndroidMediaPlayerImplTest {
                     loadTimeout,
                     heart,
                     handler,
-                    buggyVideoDriverPreventer
+                    buggyVideoDriverPreventer,
+                    deviceQuirks,
+                    new SeekCoordinator(clock, new MediaPlayerSeeker(mediaPlayer), infoListener),
+                    sidecarSubtitles
             );
         }
     }
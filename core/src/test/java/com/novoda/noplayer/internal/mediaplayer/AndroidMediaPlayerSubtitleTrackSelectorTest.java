@@ -0,0 +1,152 @@
+package com.novoda.noplayer.internal.mediaplayer;
+
+import android.media.MediaPlayer;
+
+import com.novoda.noplayer.model.PlayerSubtitleTrack;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static utils.ExceptionMatcher.matches;
+
+public class AndroidMediaPlayerSubtitleTrackSelectorTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    private static final int NO_FORMAT = 0;
+    private static final int NO_CHANNELS = -1;
+    private static final int NO_FREQUENCY = -1;
+    private static final int AUDIO_TRACK_INDEX = 1;
+    private static final int SUBTITLE_TRACK_INDEX = 2;
+    private static final int OUT_OF_RANGE_TRACK_INDEX = 3;
+
+    private static final String NO_MIME_TYPE = "";
+    private static final String ANY_LANGUAGE = "english";
+
+    private static final NoPlayerTrackInfo TIMED_TEXT_TRACK_INFO = mock(NoPlayerTrackInfo.class);
+    private static final NoPlayerTrackInfo VIDEO_TRACK_INFO = mock(NoPlayerTrackInfo.class);
+    private static final NoPlayerTrackInfo AUDIO_TRACK_INFO = mock(NoPlayerTrackInfo.class);
+
+    @Mock
+    private TrackInfosFactory trackInfosFactory;
+    @Mock
+    private MediaPlayer mediaPlayer;
+
+    private AndroidMediaPlayerSubtitleTrackSelector trackSelector;
+
+    @Before
+    public void setUp() {
+        trackSelector = new AndroidMediaPlayerSubtitleTrackSelector(trackInfosFactory);
+    }
+
+    @Test
+    public void givenNullMediaPlayer_whenGettingSubtitleTracks_thenThrowsNullPointer() {
+        thrown.expect(matches("You can only call getSubtitleTracks() when video is prepared.", NullPointerException.class));
+
+        trackSelector.getSubtitleTracks(null);
+    }
+
+    @Test
+    public void givenTrackSelectorContainsOtherTracks_whenGettingSubtitleTracks_thenReturnsOnlyTimedTextTracks() {
+        givenTrackSelectorContainsOtherTracks();
+
+        List<PlayerSubtitleTrack> subtitleTracks = trackSelector.getSubtitleTracks(mediaPlayer);
+
+        assertThat(subtitleTracks).isEqualTo(expectedSubtitleTracks());
+    }
+
+    @Test
+    public void whenSelectingSubtitleTrack_thenMediaPlayerSelectsSubtitleTrack() {
+        givenTrackSelectorContainsOtherTracks();
+        PlayerSubtitleTrack subtitleTrack = mock(PlayerSubtitleTrack.class);
+        given(subtitleTrack.groupIndex()).willReturn(SUBTITLE_TRACK_INDEX);
+
+        boolean success = trackSelector.selectSubtitleTrack(mediaPlayer, subtitleTrack);
+
+        assertThat(success).isTrue();
+        verify(mediaPlayer).selectTrack(SUBTITLE_TRACK_INDEX);
+    }
+
+    @Test
+    public void givenTrackIsNotTimedText_whenSelectingSubtitleTrack_thenReturnsFalseWithoutSelecting() {
+        givenTrackSelectorContainsOtherTracks();
+        PlayerSubtitleTrack subtitleTrack = mock(PlayerSubtitleTrack.class);
+        given(subtitleTrack.groupIndex()).willReturn(AUDIO_TRACK_INDEX);
+
+        boolean success = trackSelector.selectSubtitleTrack(mediaPlayer, subtitleTrack);
+
+        assertThat(success).isFalse();
+        verify(mediaPlayer, never()).selectTrack(anyInt());
+    }
+
+    @Test
+    public void givenTrackIndexOutOfRange_whenSelectingSubtitleTrack_thenReturnsFalseWithoutSelecting() {
+        givenTrackSelectorContainsOtherTracks();
+        PlayerSubtitleTrack subtitleTrack = mock(PlayerSubtitleTrack.class);
+        given(subtitleTrack.groupIndex()).willReturn(OUT_OF_RANGE_TRACK_INDEX);
+
+        boolean success = trackSelector.selectSubtitleTrack(mediaPlayer, subtitleTrack);
+
+        assertThat(success).isFalse();
+        verify(mediaPlayer, never()).selectTrack(anyInt());
+    }
+
+    @Test
+    public void whenClearingSubtitleTrack_thenMediaPlayerDeselectsSubtitleTrack() {
+        PlayerSubtitleTrack subtitleTrack = mock(PlayerSubtitleTrack.class);
+        given(subtitleTrack.groupIndex()).willReturn(SUBTITLE_TRACK_INDEX);
+
+        trackSelector.clearSubtitleTrack(mediaPlayer, subtitleTrack);
+
+        verify(mediaPlayer).deselectTrack(SUBTITLE_TRACK_INDEX);
+    }
+
+    private void givenTrackSelectorContainsOtherTracks() {
+        given(TIMED_TEXT_TRACK_INFO.type()).willReturn(MediaPlayer.TrackInfo.MEDIA_TRACK_TYPE_TIMEDTEXT);
+        given(TIMED_TEXT_TRACK_INFO.language()).willReturn(ANY_LANGUAGE);
+        given(VIDEO_TRACK_INFO.type()).willReturn(MediaPlayer.TrackInfo.MEDIA_TRACK_TYPE_VIDEO);
+        given(AUDIO_TRACK_INFO.type()).willReturn(MediaPlayer.TrackInfo.MEDIA_TRACK_TYPE_AUDIO);
+
+        NoPlayerTrackInfos noPlayerTrackInfos = new NoPlayerTrackInfos(
+                Arrays.asList(
+                        VIDEO_TRACK_INFO,
+                        AUDIO_TRACK_INFO,
+                        TIMED_TEXT_TRACK_INFO
+                )
+        );
+        given(trackInfosFactory.createFrom(mediaPlayer)).willReturn(noPlayerTrackInfos);
+    }
+
+    private List<PlayerSubtitleTrack> expectedSubtitleTracks() {
+        return Collections.singletonList(
+                new PlayerSubtitleTrack(
+                        SUBTITLE_TRACK_INDEX,
+                        NO_FORMAT,
+                        String.valueOf(TIMED_TEXT_TRACK_INFO.hashCode()),
+                        ANY_LANGUAGE,
+                        NO_MIME_TYPE,
+                        NO_CHANNELS,
+                        NO_FREQUENCY
+                )
+        );
+    }
+}
@@ -0,0 +1,84 @@
+package com.novoda.noplayer.internal.mediaplayer;
+
+import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.model.VideoDuration;
+import com.novoda.noplayer.model.VideoPosition;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class CheckBufferHeartbeatCallbackTest {
+
+    private static final VideoDuration DURATION = VideoDuration.fromMillis(100000);
+    private static final VideoPosition POSITION = VideoPosition.fromMillis(20000);
+    private static final int BUFFERED_BEHIND_POSITION = 10;
+    private static final int BUFFERED_AHEAD_OF_POSITION = 50;
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private CheckBufferHeartbeatCallback.BufferListener bufferListener;
+    @Mock
+    private NoPlayer player;
+
+    private CheckBufferHeartbeatCallback callback;
+
+    @Before
+    public void setUp() {
+        given(player.isPlaying()).willReturn(true);
+        given(player.getMediaDuration()).willReturn(DURATION);
+        given(player.getPlayheadPosition()).willReturn(POSITION);
+        callback = new CheckBufferHeartbeatCallback();
+        callback.bind(bufferListener);
+    }
+
+    @Test
+    public void givenBufferingInfoReported_whenBeatingWithPositionNotUpdating_thenDoesNotStartBuffering() {
+        given(player.getBufferPercentage()).willReturn(BUFFERED_BEHIND_POSITION);
+        callback.onBufferingInfoReported();
+
+        callback.onBeat(player);
+        callback.onBeat(player);
+
+        verify(bufferListener, never()).onBufferStart();
+    }
+
+    @Test
+    public void givenBufferingInfoReported_whenBeatingWithPlayerUnavailable_thenDoesNotCompleteBuffering() {
+        given(player.isPlaying()).willReturn(false);
+        callback.onBufferingInfoReported();
+
+        callback.onBeat(player);
+
+        verify(bufferListener, never()).onBufferComplete();
+    }
+
+    @Test
+    public void givenPositionNotUpdatingAndNothingBufferedAhead_whenBeating_thenStartsBuffering() {
+        given(player.getBufferPercentage()).willReturn(BUFFERED_BEHIND_POSITION);
+
+        callback.onBeat(player);
+        callback.onBeat(player);
+
+        verify(bufferListener).onBufferStart();
+    }
+
+    @Test
+    public void givenPositionNotUpdatingButContentBufferedAhead_whenBeating_thenDoesNotStartBuffering() {
+        given(player.getBufferPercentage()).willReturn(BUFFERED_AHEAD_OF_POSITION);
+
+        callback.onBeat(player);
+        callback.onBeat(player);
+
+        verify(bufferListener, never()).onBufferStart();
+    }
+}
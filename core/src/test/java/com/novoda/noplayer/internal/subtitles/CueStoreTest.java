@@ -0,0 +1,81 @@
+package com.novoda.noplayer.internal.subtitles;
+
+import com.novoda.noplayer.model.NoPlayerCue;
+import com.novoda.noplayer.model.TextCues;
+
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class CueStoreTest {
+
+    private static final TextCues FIRST_CUES = TextCues.of(Collections.singletonList(mock(NoPlayerCue.class)));
+    private static final TextCues SECOND_CUES = TextCues.of(Collections.singletonList(mock(NoPlayerCue.class)));
+    private static final TextCues NO_CUES = TextCues.of(Collections.<NoPlayerCue>emptyList());
+
+    private CueStore cueStore;
+
+    @Before
+    public void setUp() {
+        cueStore = new CueStore.Builder()
+                .addEvent(1000, FIRST_CUES)
+                .addEvent(2000, NO_CUES)
+                .addEvent(3000, SECOND_CUES)
+                .build();
+    }
+
+    @Test
+    public void givenPositionBeforeFirstEvent_thenHasNoCues() {
+
+        TextCues cues = cueStore.cuesAt(500);
+
+        assertThat(cues.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void givenPositionAtEvent_thenHasCuesOfThatEvent() {
+
+        TextCues cues = cueStore.cuesAt(1000);
+
+        assertThat(cues).isEqualTo(FIRST_CUES);
+    }
+
+    @Test
+    public void givenPositionBetweenEvents_thenHasCuesOfPreviousEvent() {
+
+        TextCues cues = cueStore.cuesAt(3500);
+
+        assertThat(cues).isEqualTo(SECOND_CUES);
+    }
+
+    @Test
+    public void givenPositionBetweenEvents_thenNextEventIsTheFollowingOne() {
+
+        long nextEventTime = cueStore.nextEventTimeInMillis(1500);
+
+        assertThat(nextEventTime).isEqualTo(2000);
+    }
+
+    @Test
+    public void givenPositionAfterLastEvent_thenThereIsNoNextEvent() {
+
+        long nextEventTime = cueStore.nextEventTimeInMillis(3000);
+
+        assertThat(nextEventTime).isEqualTo(CueStore.NO_EVENT);
+    }
+
+    @Test
+    public void givenEventsAtTheSameTime_whenBuilding_thenKeepsTheLastOne() {
+        CueStore cueStore = new CueStore.Builder()
+                .addEvent(1000, FIRST_CUES)
+                .addEvent(1000, SECOND_CUES)
+                .build();
+
+        assertThat(cueStore.eventCount()).isEqualTo(1);
+        assertThat(cueStore.cuesAt(1000)).isEqualTo(SECOND_CUES);
+    }
+}
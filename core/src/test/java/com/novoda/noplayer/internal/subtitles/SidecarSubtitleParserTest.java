@@ -0,0 +1,162 @@
+package com.novoda.noplayer.internal.subtitles;
+
+import android.net.Uri;
+
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.Format;
+import com.google.android.exoplayer2.text.Cue;
+import com.google.android.exoplayer2.text.Subtitle;
+import com.google.android.exoplayer2.text.SubtitleDecoder;
+import com.google.android.exoplayer2.text.SubtitleDecoderException;
+import com.google.android.exoplayer2.text.SubtitleDecoderFactory;
+import com.google.android.exoplayer2.text.SubtitleInputBuffer;
+import com.google.android.exoplayer2.text.SubtitleOutputBuffer;
+import com.google.android.exoplayer2.upstream.DataSource;
+import com.google.android.exoplayer2.upstream.DataSpec;
+import com.novoda.noplayer.model.SidecarSubtitle;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.mockito.stubbing.Answer;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+public class SidecarSubtitleParserTest {
+
+    private static final byte[] SUBTITLE_FILE = "WEBVTT".getBytes();
+    private static final long FIRST_EVENT_US = 1000000;
+    private static final long SECOND_EVENT_US = 2000000;
+    private static final String FIRST_CUE_TEXT = "first cue";
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Mock
+    private DataSource.Factory dataSourceFactory;
+    @Mock
+    private DataSource dataSource;
+    @Mock
+    private SubtitleDecoderFactory decoderFactory;
+    @Mock
+    private SubtitleDecoder decoder;
+    @Mock
+    private Subtitle subtitle;
+    @Mock
+    private Uri uri;
+
+    private final SubtitleInputBuffer inputBuffer = new SubtitleInputBuffer();
+    private final ReleasableOutputBuffer outputBuffer = new ReleasableOutputBuffer();
+
+    private SidecarSubtitle sidecarSubtitle;
+    private SidecarSubtitleParser parser;
+
+    @Before
+    public void setUp() throws IOException, SubtitleDecoderException {
+        sidecarSubtitle = SidecarSubtitle.from(uri, SidecarSubtitle.Format.WEBVTT, "en");
+        givenSubtitleFileDownloads();
+        given(decoderFactory.createDecoder(any(Format.class))).willReturn(decoder);
+        given(decoder.dequeueInputBuffer()).willReturn(inputBuffer);
+        given(decoder.dequeueOutputBuffer()).willReturn(outputBuffer);
+        given(subtitle.getEventTimeCount()).willReturn(2);
+        given(subtitle.getEventTime(0)).willReturn(FIRST_EVENT_US);
+        given(subtitle.getEventTime(1)).willReturn(SECOND_EVENT_US);
+        given(subtitle.getCues(FIRST_EVENT_US)).willReturn(Collections.singletonList(new Cue(FIRST_CUE_TEXT)));
+        given(subtitle.getCues(SECOND_EVENT_US)).willReturn(Collections.<Cue>emptyList());
+        outputBuffer.setContent(0, subtitle, 0);
+
+        parser = new SidecarSubtitleParser(dataSourceFactory, decoderFactory);
+    }
+
+    @Test
+    public void whenParsing_thenDecodesTheDownloadedFile() throws IOException, SubtitleDecoderException {
+
+        parser.parse(sidecarSubtitle);
+
+        ArgumentCaptor<DataSpec> dataSpecCaptor = ArgumentCaptor.forClass(DataSpec.class);
+        verify(dataSource).open(dataSpecCaptor.capture());
+        assertThat(dataSpecCaptor.getValue().uri).isSameAs(uri);
+        verify(decoder).queueInputBuffer(inputBuffer);
+        assertThat(inputBuffer.data.limit()).isEqualTo(SUBTITLE_FILE.length);
+    }
+
+    @Test
+    public void whenParsing_thenStoresTheCuesOfEachEvent() throws IOException {
+
+        CueStore cueStore = parser.parse(sidecarSubtitle);
+
+        assertThat(cueStore.eventCount()).isEqualTo(2);
+        assertThat(cueStore.cuesAt(1000).get(0).text()).isEqualTo(FIRST_CUE_TEXT);
+        assertThat(cueStore.cuesAt(2000).isEmpty()).isTrue();
+    }
+
+    @Test
+    public void whenParsing_thenReleasesTheSubtitleAndDecoder() throws IOException {
+
+        parser.parse(sidecarSubtitle);
+
+        assertThat(outputBuffer.released).isTrue();
+        verify(decoder).release();
+    }
+
+    @Test
+    public void givenDecodingFails_whenParsing_thenThrowsIOException() throws IOException, SubtitleDecoderException {
+        given(decoder.dequeueOutputBuffer()).willThrow(new SubtitleDecoderException("invalid file"));
+
+        thrown.expect(IOException.class);
+
+        parser.parse(sidecarSubtitle);
+    }
+
+    @Test
+    public void givenDecodingFails_whenParsing_thenReleasesTheDecoder() throws SubtitleDecoderException {
+        given(decoder.dequeueOutputBuffer()).willThrow(new SubtitleDecoderException("invalid file"));
+
+        try {
+            parser.parse(sidecarSubtitle);
+        } catch (IOException e) {
+            // expected.
+        }
+
+        verify(decoder).release();
+    }
+
+    private void givenSubtitleFileDownloads() throws IOException {
+        given(dataSourceFactory.createDataSource()).willReturn(dataSource);
+        given(dataSource.read(any(byte[].class), anyInt(), anyInt())).willAnswer(new Answer<Integer>() {
+            @Override
+            public Integer answer(InvocationOnMock invocation) throws Throwable {
+                byte[] buffer = invocation.getArgument(0);
+                Integer offset = invocation.getArgument(1);
+                System.arraycopy(SUBTITLE_FILE, 0, buffer, offset, SUBTITLE_FILE.length);
+                return SUBTITLE_FILE.length;
+            }
+        }).willReturn(C.RESULT_END_OF_INPUT);
+    }
+
+    private static class ReleasableOutputBuffer extends SubtitleOutputBuffer {
+
+        private boolean released;
+
+        @Override
+        public void release() {
+            released = true;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.novoda.noplayer.internal.subtitles;
+
+import android.net.Uri;
+import android.os.Handler;
+
+import com.novoda.noplayer.PlayerState;
+import com.novoda.noplayer.PlayerView;
+import com.novoda.noplayer.model.NoPlayerCue;
+import com.novoda.noplayer.model.PlayerSubtitleTrack;
+import com.novoda.noplayer.model.SidecarSubtitle;
+import com.novoda.noplayer.model.TextCues;
+import com.novoda.noplayer.model.VideoPosition;
+import com.novoda.utils.NoPlayerLog;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.mockito.stubbing.Answer;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willReturn;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class SidecarSubtitlesTest {
+
+    private static final TextCues FIRST_CUES = TextCues.of(Collections.singletonList(mock(NoPlayerCue.class)));
+    private static final TextCues SECOND_CUES = TextCues.of(Collections.singletonList(mock(NoPlayerCue.class)));
+    private static final long FIRST_EVENT_IN_MILLIS = 1000;
+    private static final long SECOND_EVENT_IN_MILLIS = 2000;
+    private static final long CLOSE_TO_SECOND_EVENT_IN_MILLIS = 1900;
+    private static final long MAX_REFRESH_INTERVAL_IN_MILLIS = 250;
+    private static final String LANGUAGE = "en";
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private SidecarSubtitleParser parser;
+    @Mock
+    private ExecutorService executor;
+    @Mock
+    private Handler uiHandler;
+    @Mock
+    private Uri uri;
+    @Mock
+    private PlayerView playerView;
+    @Mock
+    private PlayerState playerState;
+
+    private SidecarSubtitle sidecarSubtitle;
+    private SidecarSubtitles sidecarSubtitles;
+
+    @Before
+    public void setUp() throws IOException {
+        NoPlayerLog.setLoggingEnabled(false);
+        sidecarSubtitle = SidecarSubtitle.from(uri, SidecarSubtitle.Format.WEBVTT, LANGUAGE);
+        CueStore cueStore = new CueStore.Builder()
+                .addEvent(FIRST_EVENT_IN_MILLIS, FIRST_CUES)
+                .addEvent(SECOND_EVENT_IN_MILLIS, SECOND_CUES)
+                .build();
+        given(parser.parse(sidecarSubtitle)).willReturn(cueStore);
+        given(playerState.getPlayheadPosition()).willReturn(VideoPosition.fromMillis(FIRST_EVENT_IN_MILLIS));
+        givenExecutorRunsLoads();
+        sidecarSubtitles = new SidecarSubtitles(parser, executor, uiHandler);
+    }
+
+    @Test
+    public void givenLoadedSubtitles_whenGettingSubtitleTracks_thenReturnsSidecarTracks() {
+        sidecarSubtitles.load(Collections.singletonList(sidecarSubtitle));
+
+        List<PlayerSubtitleTrack> subtitleTracks = sidecarSubtitles.getSubtitleTracks();
+
+        assertThat(subtitleTracks).hasSize(1);
+        assertThat(subtitleTracks.get(0).groupIndex()).isEqualTo(SidecarSubtitles.SIDECAR_GROUP_INDEX);
+        assertThat(subtitleTracks.get(0).language()).isEqualTo(LANGUAGE);
+        assertThat(sidecarSubtitles.isSidecarTrack(subtitleTracks.get(0))).isTrue();
+    }
+
+    @Test
+    public void givenLoadedSubtitle_whenShowing_thenDisplaysCuesAtThePlayhead() {
+        sidecarSubtitles.load(Collections.singletonList(sidecarSubtitle));
+
+        showSidecarTrack();
+
+        verify(playerView).setSubtitleCue(FIRST_CUES);
+    }
+
+    @Test
+    public void givenPlaying_whenShowing_thenRefreshesAtTheNextEvent() {
+        given(playerState.isPlaying()).willReturn(true);
+        given(playerState.getPlayheadPosition()).willReturn(VideoPosition.fromMillis(CLOSE_TO_SECOND_EVENT_IN_MILLIS));
+        sidecarSubtitles.load(Collections.singletonList(sidecarSubtitle));
+
+        Runnable refreshCues = showSidecarTrack();
+
+        verify(uiHandler).postDelayed(refreshCues, SECOND_EVENT_IN_MILLIS - CLOSE_TO_SECOND_EVENT_IN_MILLIS);
+    }
+
+    @Test
+    public void givenPaused_whenShowing_thenDoesNotRefreshAgain() {
+        given(playerState.isPlaying()).willReturn(false);
+        sidecarSubtitles.load(Collections.singletonList(sidecarSubtitle));
+
+        showSidecarTrack();
+
+        verify(uiHandler, never()).postDelayed(any(Runnable.class), anyLong());
+    }
+
+    @Test
+    public void givenSubtitleStillLoading_whenShowing_thenChecksBackShortly() {
+        willReturn(mock(Future.class)).given(executor).submit(any(Runnable.class));
+        sidecarSubtitles.load(Collections.singletonList(sidecarSubtitle));
+
+        Runnable refreshCues = showSidecarTrack();
+
+        verify(uiHandler).postDelayed(refreshCues, MAX_REFRESH_INTERVAL_IN_MILLIS);
+        verify(playerView, never()).setSubtitleCue(any(TextCues.class));
+    }
+
+    @Test
+    public void givenSubtitleFailsToDownload_whenShowing_thenStopsCheckingForCues() throws IOException {
+        willThrow(new IOException("download failed")).given(parser).parse(sidecarSubtitle);
+        sidecarSubtitles.load(Collections.singletonList(sidecarSubtitle));
+
+        showSidecarTrack();
+
+        verify(uiHandler, never()).postDelayed(any(Runnable.class), anyLong());
+    }
+
+    @Test
+    public void givenSubtitleFormatCannotBeDecoded_whenShowing_thenStopsCheckingForCues() throws IOException {
+        willThrow(new IllegalArgumentException("no decoder")).given(parser).parse(sidecarSubtitle);
+        sidecarSubtitles.load(Collections.singletonList(sidecarSubtitle));
+
+        showSidecarTrack();
+
+        verify(uiHandler, never()).postDelayed(any(Runnable.class), anyLong());
+    }
+
+    @Test
+    public void whenReleasing_thenStopsLoading() {
+
+        sidecarSubtitles.release();
+
+        verify(executor).shutdownNow();
+    }
+
+    private void givenExecutorRunsLoads() {
+        given(executor.submit(any(Runnable.class))).willAnswer(new Answer<Future<?>>() {
+            @Override
+            public Future<?> answer(InvocationOnMock invocation) throws Throwable {
+                Runnable load = invocation.getArgument(0);
+                load.run();
+                return mock(Future.class);
+            }
+        });
+    }
+
+    private Runnable showSidecarTrack() {
+        PlayerSubtitleTrack subtitleTrack = sidecarSubtitles.getSubtitleTracks().get(0);
+        sidecarSubtitles.show(subtitleTrack, playerView, playerState);
+        ArgumentCaptor<Runnable> refreshCuesCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(uiHandler).post(refreshCuesCaptor.capture());
+        Runnable refreshCues = refreshCuesCaptor.getValue();
+        refreshCues.run();
+        return refreshCues;
+    }
+}
@@ -0,0 +1,31 @@
+package com.novoda.noplayer.model;
+
+import org.junit.Test;
+
+import static org.fest.assertions.api.Assertions.assertThat;
+
+public class BufferProfileTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void givenMinimumBufferLargerThanMaximum_whenCreatingCustomProfile_thenThrows() {
+        BufferProfile.custom(2000, 1000, 500, 500, BufferProfile.DEFAULT_TARGET_BUFFER_SIZE);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void givenNegativeValue_whenCreatingCustomProfile_thenThrows() {
+        BufferProfile.custom(1000, 2000, -1, 500, BufferProfile.DEFAULT_TARGET_BUFFER_SIZE);
+    }
+
+    @Test
+    public void givenTargetBufferSize_whenCreatingProfile_thenHasTargetBufferSize() {
+        BufferProfile bufferProfile = BufferProfile.DEFAULT.withTargetBufferSizeInBytes(1024);
+
+        assertThat(bufferProfile.hasTargetBufferSize()).isTrue();
+        assertThat(bufferProfile.targetBufferSizeInBytes()).isEqualTo(1024);
+    }
+
+    @Test
+    public void givenDefaultProfile_thenHasNoTargetBufferSize() {
+        assertThat(BufferProfile.DEFAULT.hasTargetBufferSize()).isFalse();
+    }
+}
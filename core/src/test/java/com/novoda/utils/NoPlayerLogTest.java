@@ -0,0 +1,102 @@
+package com.novoda.utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class NoPlayerLogTest {
+
+    private static final String TAG = "No-Player";
+
+    @Rule
+    public MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private NoPlayerLog.Sink sink;
+
+    private boolean previousLoggingEnabled;
+    private int previousMinimumLevel;
+    private boolean previousCallerLocationEnabled;
+    private NoPlayerLog.Sink previousSink;
+
+    @Before
+    public void setUp() {
+        previousLoggingEnabled = NoPlayerLog.isLoggingEnabled();
+        previousMinimumLevel = NoPlayerLog.getMinimumLevel();
+        previousCallerLocationEnabled = NoPlayerLog.isCallerLocationEnabled();
+        previousSink = NoPlayerLog.getSink();
+
+        NoPlayerLog.setLoggingEnabled(true);
+        NoPlayerLog.setMinimumLevel(NoPlayerLog.VERBOSE);
+        NoPlayerLog.setCallerLocationEnabled(false);
+        NoPlayerLog.setSink(sink);
+    }
+
+    @After
+    public void tearDown() {
+        NoPlayerLog.setLoggingEnabled(previousLoggingEnabled);
+        NoPlayerLog.setMinimumLevel(previousMinimumLevel);
+        NoPlayerLog.setCallerLocationEnabled(previousCallerLocationEnabled);
+        NoPlayerLog.setSink(previousSink);
+    }
+
+    @Test
+    public void whenLoggingWithFormatArgs_thenSinkReceivesFormattedMessage() {
+
+        NoPlayerLog.d("Error: %d,%d", 1, 2);
+
+        verify(sink).log(eq(NoPlayerLog.DEBUG), eq(TAG), eq("Error: 1,2"), (Throwable) isNull());
+    }
+
+    @Test
+    public void givenLevelBelowThreshold_whenLogging_thenArgumentsAreNotFormatted() {
+        NoPlayerLog.setMinimumLevel(NoPlayerLog.WARN);
+        Object argument = mock(Object.class);
+
+        NoPlayerLog.d("value: %s", argument);
+
+        verifyZeroInteractions(sink);
+    }
+
+    @Test
+    public void givenLevelAtThreshold_whenLogging_thenSinkReceivesMessage() {
+        NoPlayerLog.setMinimumLevel(NoPlayerLog.WARN);
+        Throwable throwable = new Throwable();
+
+        NoPlayerLog.w(throwable, "warning");
+
+        verify(sink).log(NoPlayerLog.WARN, TAG, "warning", throwable);
+    }
+
+    @Test
+    public void givenLoggingDisabled_whenLogging_thenSinkIsNotCalled() {
+        NoPlayerLog.setLoggingEnabled(false);
+
+        NoPlayerLog.e("error");
+
+        verify(sink, never()).log(anyInt(), anyString(), anyString(), (Throwable) isNull());
+    }
+
+    @Test
+    public void givenCallerLocationEnabled_whenLogging_thenMessageIsPrefixedWithCaller() {
+        NoPlayerLog.setCallerLocationEnabled(true);
+
+        NoPlayerLog.i("info");
+
+        verify(sink).log(eq(NoPlayerLog.INFO), eq(TAG), contains("NoPlayerLogTest.givenCallerLocationEnabled_whenLogging_thenMessageIsPrefixedWithCaller"), (Throwable) isNull());
+    }
+}
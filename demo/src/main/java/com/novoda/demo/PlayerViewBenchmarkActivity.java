@@ -0,0 +1,212 @@
+package com.novoda.demo;
+
+import android.animation.AnimatorSet;
+import android.animation.ObjectAnimator;
+import android.animation.ValueAnimator;
+import android.app.Activity;
+import android.net.Uri;
+import android.os.Bundle;
+import android.view.Choreographer;
+import android.view.LayoutInflater;
+import android.view.TextureView;
+import android.view.View;
+import android.view.ViewGroup;
+
+import com.novoda.noplayer.ContentType;
+import com.novoda.noplayer.NoPlayer;
+import com.novoda.noplayer.NoPlayerTextureView;
+import com.novoda.noplayer.PlayerBuilder;
+import com.novoda.noplayer.PlayerState;
+import com.novoda.noplayer.PlayerView;
+import com.novoda.noplayer.SharedFramePlayerView;
+import com.novoda.utils.NoPlayerLog;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the frame pacing of the {@link android.view.SurfaceView} and {@link TextureView} backed player views
+ * while the video is translated and faded, as it would be in a list or a transition.
+ * <p>
+ * Run with {@code adb shell am start -n com.novoda.demo/.PlayerViewBenchmarkActivity -e mode <surface|texture|shared>}
+ * and read the frame intervals from logcat once the run is over. {@code shared} also renders into
+ * {@link #PREVIEW_COUNT} previews from the same decoder. For the GPU cost of each mode, reset the counters with
+ * {@code adb shell dumpsys gfxinfo com.novoda.demo reset} before the run and dump them after it.
+ */
+public class PlayerViewBenchmarkActivity extends Activity {
+
+    private static final String EXTRA_MODE = "mode";
+    private static final String MODE_SURFACE = "surface";
+    private static final String MODE_TEXTURE = "texture";
+    private static final String MODE_SHARED = "shared";
+    private static final String URI_VIDEO_MP4 = "http://yt-dash-mse-test.commondatastorage.googleapis.com/media/car-20120827-85.mp4";
+    private static final int PREVIEW_COUNT = 3;
+    private static final long BENCHMARK_DURATION_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final long ANIMATION_DURATION_MILLIS = 1500;
+    private static final float ANIMATION_TRANSLATION_FRACTION = 0.25f;
+    private static final float ANIMATION_MINIMUM_ALPHA = 0.5f;
+    private static final float JANK_THRESHOLD = 1.5f;
+    private static final int MAX_RECORDED_FRAMES = 4096;
+
+    private final long[] frameIntervalsNanos = new long[MAX_RECORDED_FRAMES];
+
+    private String mode;
+    private NoPlayer player;
+    private SharedFramePlayerView sharedFramePlayerView;
+    private AnimatorSet animation;
+    private int recordedFrames;
+    private long firstFrameTimeNanos;
+    private long lastFrameTimeNanos;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_player_view_benchmark);
+        mode = getIntent().hasExtra(EXTRA_MODE) ? getIntent().getStringExtra(EXTRA_MODE) : MODE_TEXTURE;
+
+        ViewGroup playerContainer = (ViewGroup) findViewById(R.id.player_container);
+        PlayerView playerView = inflatePlayerView(playerContainer);
+
+        player = new PlayerBuilder().build(this);
+        player.getListeners().addPreparedListener(new NoPlayer.PreparedListener() {
+            @Override
+            public void onPrepared(PlayerState playerState) {
+                player.play();
+                startBenchmark();
+            }
+        });
+        player.attach(playerView);
+    }
+
+    private PlayerView inflatePlayerView(ViewGroup playerContainer) {
+        LayoutInflater inflater = LayoutInflater.from(this);
+        if (MODE_SURFACE.equals(mode)) {
+            View surfaceView = inflater.inflate(R.layout.benchmark_surface_player, playerContainer, false);
+            playerContainer.addView(surfaceView);
+            return (PlayerView) surfaceView;
+        }
+        NoPlayerTextureView textureView = (NoPlayerTextureView) inflater.inflate(R.layout.benchmark_texture_player, playerContainer, false);
+        playerContainer.addView(textureView);
+        if (MODE_SHARED.equals(mode) && SharedFramePlayerView.isSupported()) {
+            sharedFramePlayerView = SharedFramePlayerView.newInstance(textureView);
+            addPreviews(sharedFramePlayerView);
+            return sharedFramePlayerView;
+        }
+        return textureView;
+    }
+
+    private void addPreviews(SharedFramePlayerView sharedFramePlayerView) {
+        ViewGroup previews = (ViewGroup) findViewById(R.id.previews);
+        LayoutInflater inflater = LayoutInflater.from(this);
+        for (int i = 0; i < PREVIEW_COUNT; i++) {
+            TextureView preview = (TextureView) inflater.inflate(R.layout.benchmark_preview, previews, false);
+            previews.addView(preview);
+            sharedFramePlayerView.addPreview(preview);
+        }
+    }
+
+    @Override
+    protected void onStart() {
+        super.onStart();
+        player.loadVideo(Uri.parse(URI_VIDEO_MP4), ContentType.H264);
+    }
+
+    private void startBenchmark() {
+        View animatedView = findViewById(R.id.player_container);
+        float translation = animatedView.getWidth() * ANIMATION_TRANSLATION_FRACTION;
+        animation = new AnimatorSet();
+        animation.playTogether(
+                repeating(ObjectAnimator.ofFloat(animatedView, View.TRANSLATION_X, -translation, translation)),
+                repeating(ObjectAnimator.ofFloat(animatedView, View.ALPHA, 1f, ANIMATION_MINIMUM_ALPHA))
+        );
+        animation.start();
+        recordedFrames = 0;
+        firstFrameTimeNanos = 0;
+        Choreographer.getInstance().postFrameCallback(recordFrame);
+    }
+
+    private static ObjectAnimator repeating(ObjectAnimator animator) {
+        animator.setDuration(ANIMATION_DURATION_MILLIS);
+        animator.setRepeatCount(ValueAnimator.INFINITE);
+        animator.setRepeatMode(ValueAnimator.REVERSE);
+        return animator;
+    }
+
+    private final Choreographer.FrameCallback recordFrame = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            if (firstFrameTimeNanos == 0) {
+                firstFrameTimeNanos = frameTimeNanos;
+            } else if (recordedFrames < MAX_RECORDED_FRAMES) {
+                frameIntervalsNanos[recordedFrames] = frameTimeNanos - lastFrameTimeNanos;
+                recordedFrames++;
+            }
+            lastFrameTimeNanos = frameTimeNanos;
+
+            if (frameTimeNanos - firstFrameTimeNanos < BENCHMARK_DURATION_NANOS && recordedFrames < MAX_RECORDED_FRAMES) {
+                Choreographer.getInstance().postFrameCallback(this);
+            } else {
+                stopBenchmark();
+            }
+        }
+    };
+
+    private void stopBenchmark() {
+        if (animation != null) {
+            animation.cancel();
+            animation = null;
+        }
+        Choreographer.getInstance().removeFrameCallback(recordFrame);
+        if (recordedFrames == 0) {
+            return;
+        }
+        long[] intervals = Arrays.copyOf(frameIntervalsNanos, recordedFrames);
+        Arrays.sort(intervals);
+        long vsyncIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / getWindowManager().getDefaultDisplay().getRefreshRate());
+        int jankyFrames = 0;
+        long totalNanos = 0;
+        for (long interval : intervals) {
+            totalNanos += interval;
+            if (interval > vsyncIntervalNanos * JANK_THRESHOLD) {
+                jankyFrames++;
+            }
+        }
+        NoPlayerLog.i(
+                "Frame pacing [%s]: frames=%d mean=%.2fms p50=%.2fms p90=%.2fms p99=%.2fms max=%.2fms janky=%.1f%%",
+                mode,
+                intervals.length,
+                toMillis(totalNanos / intervals.length),
+                toMillis(percentile(intervals, 50)),
+                toMillis(percentile(intervals, 90)),
+                toMillis(percentile(intervals, 99)),
+                toMillis(intervals[intervals.length - 1]),
+                100f * jankyFrames / intervals.length
+        );
+        recordedFrames = 0;
+    }
+
+    private static long percentile(long[] sortedValues, int percentile) {
+        int index = (int) Math.ceil(percentile / 100d * sortedValues.length) - 1;
+        return sortedValues[Math.max(0, index)];
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    protected void onStop() {
+        super.onStop();
+        stopBenchmark();
+        player.stop();
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        player.release();
+        if (sharedFramePlayerView != null) {
+            sharedFramePlayerView.release();
+        }
+    }
+}